@@ -3,6 +3,7 @@ package projekt.poistenie;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Hlavná aplikačná trieda pre systém Evidencie Poistenia.
@@ -14,9 +15,11 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
  * - @ComponentScan: umožňuje hľadanie Spring komponentov v definovaných balíčkoch
  *
  * Anotácia @EnableJpaRepositories aktivuje JPA repozitáre pre prácu s databázou.
+ * Anotácia @EnableScheduling zapína plánované úlohy (napr. snímky histórie štatistík).
  */
 @SpringBootApplication
 @EnableJpaRepositories
+@EnableScheduling
 public class MainApplication {
 
     /**
@@ -0,0 +1,78 @@
+package projekt.poistenie.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Konfigurácia cache druhej úrovne Hibernate.
+ *
+ * Regióny sa vytvárajú v lokálnom JCache provideri Caffeine s ohraničenou veľkosťou
+ * a TTL podľa CacheVlastnosti a hotový CacheManager sa odovzdá Hibernate. Región,
+ * ktorý v nastaveniach chýba, Hibernate pri štarte odmietne (missing_cache_strategy=fail),
+ * takže žiadny región nemôže nekontrolovane rásť.
+ *
+ * Provider je lokálny - zmena na jednej inštancii aplikácie neinvaliduje cache ostatných
+ * a tie by až do TTL regiónu vracali zastarané entity. Pri nasadení na viac inštancií
+ * sa preto cache druhej úrovne vypína (poistenie.cache.l2=false).
+ *
+ * Natívne zápisy v repozitároch štatistík uvádzajú dotknutú tabuľku (HINT_NATIVE_SPACES),
+ * inak by Hibernate po každom z nich vyprázdnil všetky regióny.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheVlastnosti.class)
+public class CacheConfiguration {
+
+    /**
+     * Región časových značiek zmien tabuliek pre cache dopytov. Nesmie expirovať
+     * ani sa vytláčať, inak by cache dopytov mohla vrátiť zastaraný výsledok.
+     */
+    static final String CASOVE_ZNACKY = "default-update-timestamps-region";
+
+    /**
+     * Vytvorí CacheManager so všetkými regiónmi cache druhej úrovne.
+     *
+     * @param vlastnosti veľkosť a TTL regiónov
+     * @return CacheManager pre Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheVlastnosti vlastnosti) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        Map<String, CacheVlastnosti.Region> regiony = vlastnosti.regiony() != null ? vlastnosti.regiony() : Map.of();
+        regiony.forEach((nazov, region) -> cacheManager.createCache(nazov, konfiguracia(
+                OptionalLong.of(region.maxVelkost()),
+                region.ttl() != null ? OptionalLong.of(region.ttl().toNanos()) : OptionalLong.empty())));
+        cacheManager.createCache(CASOVE_ZNACKY, konfiguracia(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    /**
+     * Odovzdá CacheManager Hibernate namiesto toho, aby si ho vytváral sám z konfiguračného súboru.
+     *
+     * @param hibernateCacheManager CacheManager s regiónmi
+     * @return úprava nastavení Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return nastavenia -> nastavenia.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> konfiguracia(OptionalLong maxVelkost, OptionalLong ttlNanos) {
+        CaffeineConfiguration<Object, Object> konfiguracia = new CaffeineConfiguration<>();
+        // Hibernate ukladá do cache vlastné nemenné záznamy, kópia pri každom čítaní je zbytočná
+        konfiguracia.setStoreByValue(false);
+        konfiguracia.setMaximumSize(maxVelkost);
+        konfiguracia.setExpireAfterWrite(ttlNanos);
+        return konfiguracia;
+    }
+}
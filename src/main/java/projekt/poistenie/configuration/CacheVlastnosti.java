@@ -0,0 +1,24 @@
+package projekt.poistenie.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Nastavenia regiónov cache druhej úrovne (poistenie.cache.regiony.&lt;región&gt;.*).
+ *
+ * @param regiony nastavenia podľa názvu regiónu
+ */
+@ConfigurationProperties(prefix = "poistenie.cache")
+public record CacheVlastnosti(Map<String, Region> regiony) {
+
+    /**
+     * Ohraničenie jedného regiónu.
+     *
+     * @param maxVelkost najväčší počet záznamov, staršie sa vytláčajú (W-TinyLFU)
+     * @param ttl        doba platnosti záznamu od zápisu
+     */
+    public record Region(long maxVelkost, Duration ttl) {
+    }
+}
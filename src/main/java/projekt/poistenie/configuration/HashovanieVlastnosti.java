@@ -0,0 +1,21 @@
+package projekt.poistenie.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Nastavenia hashovania hesiel (poistenie.hashovanie.*).
+ *
+ * @param sila    cena BCrypt (log2 počtu kôl), pri zmene sa heslá prehashujú pri prihlásení
+ * @param vlakna  počet vlákien, ktoré naraz hashujú
+ * @param fronta  najväčší počet hesiel čakajúcich na voľné vlákno
+ * @param cakanie najdlhšie čakanie požiadavky na výsledok
+ */
+@ConfigurationProperties(prefix = "poistenie.hashovanie")
+public record HashovanieVlastnosti(@DefaultValue("10") int sila,
+                                   @DefaultValue("2") int vlakna,
+                                   @DefaultValue("50") int fronta,
+                                   @DefaultValue("5s") Duration cakanie) {
+}
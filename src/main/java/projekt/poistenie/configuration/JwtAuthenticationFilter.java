@@ -0,0 +1,66 @@
+package projekt.poistenie.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.web.filter.OncePerRequestFilter;
+import projekt.poistenie.service.JwtService;
+
+import java.io.IOException;
+
+/**
+ * Filter bezstavového reťazca pre API: prihlási požiadavku podľa tokenu
+ * v hlavičke "Authorization: Bearer &lt;token&gt;".
+ *
+ * Neplatný alebo expirovaný token hneď ukončí požiadavku s 401 - nepokračuje
+ * sa ako anonymný používateľ. Kontext sa nikam neukladá, pre každú požiadavku
+ * sa zostaví z tokenu nanovo.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * Predpona hodnoty hlavičky Authorization s tokenom.
+     */
+    public static final String PREDPONA = "Bearer ";
+
+    private final JwtService jwtService;
+    private final AuthenticationEntryPoint entryPoint;
+
+    /**
+     * Konštruktor so závislosťami.
+     *
+     * @param jwtService overovanie tokenov
+     * @param entryPoint odpoveď pri neplatnom tokene
+     */
+    public JwtAuthenticationFilter(JwtService jwtService, AuthenticationEntryPoint entryPoint) {
+        this.jwtService = jwtService;
+        this.entryPoint = entryPoint;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String hlavicka = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (hlavicka == null || !hlavicka.startsWith(PREDPONA)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            SecurityContext kontext = SecurityContextHolder.createEmptyContext();
+            kontext.setAuthentication(jwtService.over(hlavicka.substring(PREDPONA.length()).trim()));
+            SecurityContextHolder.setContext(kontext);
+        } catch (AuthenticationException e) {
+            SecurityContextHolder.clearContext();
+            entryPoint.commence(request, response, e);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,56 @@
+package projekt.poistenie.configuration;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Kontrola jedinečnosti e-mailov poistencov pri štarte.
+ *
+ * E-mail poistenca je prirodzený kľúč s obmedzením UNIQUE "uk_poistenec_email".
+ * Na databáze, kde sú e-maily duplicitné, ho ddl-auto=update nevytvorí (chybu len
+ * zaloguje) a vyhľadanie podľa prirodzeného kľúča by pri duplicite zlyhalo až
+ * za behu. Aplikácia preto v takom prípade nenaštartuje - duplicity treba vyriešiť
+ * skriptom db/poistenec-email-unikatny.sql.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class PoistenecEmailKontrola {
+
+    // Najviac toľko duplicitných e-mailov sa uvedie v chybe
+    private static final int UKAZKA = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param jdbcTemplate JDBC prístup k tabuľke poistencov
+     */
+    @Autowired
+    public PoistenecEmailKontrola(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Overí, že žiadny e-mail nepatrí viacerým poistencom.
+     *
+     * @throws IllegalStateException ak sú v tabuľke duplicitné e-maily
+     */
+    @PostConstruct
+    public void over() {
+        List<String> duplicity = jdbcTemplate.queryForList(
+                "select email from poistenec where email is not null group by email having count(*) > 1 limit "
+                        + (UKAZKA + 1), String.class);
+        if (!duplicity.isEmpty()) {
+            throw new IllegalStateException("Tabuľka poistenec obsahuje duplicitné e-maily "
+                    + duplicity.subList(0, Math.min(UKAZKA, duplicity.size()))
+                    + (duplicity.size() > UKAZKA ? " a ďalšie" : "")
+                    + ". Pred spustením ich vyriešte skriptom db/poistenec-email-unikatny.sql.");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package projekt.poistenie.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import projekt.poistenie.exceptions.HashovaniePretazeneException;
+import projekt.poistenie.service.AccountService;
+import projekt.poistenie.service.OhranicenyPasswordEncoder;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Overovanie prihlasovacích údajov cez AccountService s cache prihlásených používateľov
+ * a s hashovaním na ohraničenom poole (OhranicenyPasswordEncoder).
+ *
+ * Plný pool sa pri prihlásení hlási ako AuthenticationServiceException s príčinou
+ * HashovaniePretazeneException, aby ju prihlasovací filter odovzdal failure handleru
+ * (ten vráti 503) namiesto chyby 500.
+ *
+ * Ak má hash účtu inú cenu BCrypt, než je nastavená, heslo sa po úspešnom prihlásení
+ * prehashuje na pozadí - prihlásenie na to nečaká a pri plnom poole sa prehashovanie
+ * len odloží na ďalšie prihlásenie. Uloženie nového hashu do databázy beží na vlastnom
+ * virtuálnom vlákne, nie na vlákne poolu hashovania - čakanie na spojenie či zámok
+ * riadku by inak blokovalo hashovanie ostatných prihlásení.
+ */
+public class PrihlasovanieAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PrihlasovanieAuthenticationProvider.class);
+
+    private final AccountService accountService;
+    private final OhranicenyPasswordEncoder passwordEncoder;
+
+    /**
+     * Executor pre uloženie prehashovaného hesla (jedno virtuálne vlákno na zápis).
+     */
+    private final Executor zapis = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Konštruktor so závislosťami.
+     *
+     * @param accountService   načítanie účtov a uloženie prehashovaného hesla
+     * @param passwordEncoder  enkodér s ohraničeným poolom
+     * @param userCache        cache prihlásených používateľov
+     */
+    public PrihlasovanieAuthenticationProvider(AccountService accountService,
+                                               OhranicenyPasswordEncoder passwordEncoder,
+                                               UserCache userCache) {
+        this.accountService = accountService;
+        this.passwordEncoder = passwordEncoder;
+        setUserDetailsService(accountService);
+        setPasswordEncoder(passwordEncoder);
+        setUserCache(userCache);
+    }
+
+    @Override
+    protected UserDetails retrieveUser(String username, UsernamePasswordAuthenticationToken authentication) {
+        // Pri neexistujúcom účte sa heslo tiež porovnáva (ochrana pred meraním času)
+        try {
+            return super.retrieveUser(username, authentication);
+        } catch (HashovaniePretazeneException e) {
+            throw new AuthenticationServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication) {
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+        } catch (HashovaniePretazeneException e) {
+            throw new AuthenticationServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            prehashuj(user, authentication.getCredentials().toString());
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+
+    private void prehashuj(UserDetails user, String heslo) {
+        try {
+            passwordEncoder.encodeNaPozadi(heslo)
+                    .thenAcceptAsync(hash -> accountService.updatePassword(user, hash), zapis)
+                    .exceptionally(chyba -> {
+                        LOG.warn("Heslo používateľa {} sa nepodarilo prehashovať", user.getUsername(), chyba);
+                        return null;
+                    });
+        } catch (HashovaniePretazeneException e) {
+            // Pool je plný - prehashuje sa pri ďalšom prihlásení
+        }
+    }
+}
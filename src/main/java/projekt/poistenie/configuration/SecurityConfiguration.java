@@ -1,13 +1,32 @@
 package projekt.poistenie.configuration;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import projekt.poistenie.exceptions.HashovaniePretazeneException;
+import projekt.poistenie.service.AccountService;
+import projekt.poistenie.service.AccountUserCache;
+import projekt.poistenie.service.JwtService;
+import projekt.poistenie.service.OhranicenyPasswordEncoder;
 
 @Configuration                      // Označuje triedu ako Spring konfiguracnú
 @EnableWebSecurity                  // Zapína webovú bezpečnosť v aplikácii
@@ -15,12 +34,59 @@ import org.springframework.security.web.SecurityFilterChain;
         securedEnabled = true,
         jsr250Enabled = true
 )
+@EnableConfigurationProperties(HashovanieVlastnosti.class)
 public class SecurityConfiguration {
 
     /**
-     * Definuje poradie a pravidlá bezpečnostných filtrov (SecurityFilterChain).
+     * Bezstavový reťazec pre klientov API: vydanie tokenu (POST /api/token) a požiadavky
+     * na /api/** s hlavičkou "Authorization: Bearer". Nevytvára ani nečíta HTTP session,
+     * používateľa zostaví z podpísaného tokenu bez dopytu do databázy, takže požiadavky
+     * môže obslúžiť ktorákoľvek inštancia bez "sticky sessions".
+     *
+     * Požiadavky na /api/** bez tokenu (napr. našepkávač v prehliadači) ostávajú
+     * v reťazci so session nižšie.
      */
     @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, JwtService jwtService) throws Exception {
+        AuthenticationEntryPoint neprihlaseny = new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED);
+        return http
+                .securityMatcher(apiPoziadavky())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.POST, "/api/token").permitAll()
+                        .anyRequest().authenticated()
+                )
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Token neposiela prehliadač automaticky ako cookie, CSRF tu nehrozí
+                .csrf(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .exceptionHandling(chyby -> chyby.authenticationEntryPoint(neprihlaseny))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, neprihlaseny),
+                        UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+
+    /**
+     * Požiadavky obsluhované bezstavovým reťazcom pre API.
+     */
+    private static RequestMatcher apiPoziadavky() {
+        RequestMatcher api = AntPathRequestMatcher.antMatcher("/api/**");
+        RequestMatcher sTokenom = request -> {
+            String hlavicka = request.getHeader(HttpHeaders.AUTHORIZATION);
+            return hlavicka != null && hlavicka.startsWith(JwtAuthenticationFilter.PREDPONA);
+        };
+        return new OrRequestMatcher(
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/token"),
+                request -> api.matches(request) && sTokenom.matches(request)
+        );
+    }
+
+    /**
+     * Definuje poradie a pravidlá bezpečnostných filtrov (SecurityFilterChain)
+     * pre webové stránky s prihlásením cez formulár a HTTP session.
+     */
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .authorizeHttpRequests(auth -> auth
@@ -46,6 +112,8 @@ public class SecurityConfiguration {
                         .defaultSuccessUrl("/poistenci", true)
                         // Parameter pre používateľské meno (e-mail)
                         .usernameParameter("email")
+                        // Plný pool hashovania vráti 503, ostatné chyby späť na formulár
+                        .failureHandler(prihlasenieZlyhalo())
                         .permitAll()
                 )
                 .logout(logout -> logout
@@ -58,10 +126,38 @@ public class SecurityConfiguration {
     }
 
     /**
-     * Bean a používa na hashovanie hesiel pomocou BCrypt algoritmu.
+     * Overovanie prihlasovacích údajov cez AccountService s cache prihlásených používateľov,
+     * aby sa účet pri každom prihlásení nenačítaval z databázy.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PrihlasovanieAuthenticationProvider authenticationProvider(AccountService accountService,
+                                                                      OhranicenyPasswordEncoder passwordEncoder,
+                                                                      AccountUserCache accountUserCache) {
+        return new PrihlasovanieAuthenticationProvider(accountService, passwordEncoder, accountUserCache);
+    }
+
+    /**
+     * Bean a používa na hashovanie hesiel pomocou BCrypt algoritmu
+     * na ohraničenom poole vlákien mimo vlákien požiadaviek.
+     */
+    @Bean
+    public OhranicenyPasswordEncoder passwordEncoder(HashovanieVlastnosti vlastnosti) {
+        return new OhranicenyPasswordEncoder(vlastnosti.sila(), vlastnosti.vlakna(),
+                vlastnosti.fronta(), vlastnosti.cakanie());
+    }
+
+    /**
+     * Neúspešné prihlásenie pre plný pool hashovania vráti 503, inak presmeruje
+     * späť na prihlasovaciu stránku.
+     */
+    private static AuthenticationFailureHandler prihlasenieZlyhalo() {
+        AuthenticationFailureHandler formular = new SimpleUrlAuthenticationFailureHandler("/account/login?error");
+        return (request, response, exception) -> {
+            if (exception.getCause() instanceof HashovaniePretazeneException) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, exception.getMessage());
+            } else {
+                formular.onAuthenticationFailure(request, response, exception);
+            }
+        };
     }
 }
@@ -0,0 +1,38 @@
+package projekt.poistenie.controllers;
+
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import projekt.poistenie.dtos.CacheStatistikyDTO;
+import projekt.poistenie.service.CacheService;
+
+/**
+ * Kontrolér so štatistikami cache druhej úrovne (zásahy a minutia regiónov).
+ */
+@Controller
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    /**
+     * Konštruktor na vkladanie služby CacheService.
+     *
+     * @param cacheService služba nad cache druhej úrovne
+     */
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    /**
+     * Spracováva požiadavky GET na „/api/cache/statistiky“. Prístupné len administrátorovi.
+     *
+     * @return zásahy a minutia regiónov cache od štartu aplikácie
+     */
+    @GetMapping("/api/cache/statistiky")
+    @ResponseBody
+    @Secured("ROLE_ADMIN")
+    public CacheStatistikyDTO getStatistiky() {
+        return cacheService.getStatistiky();
+    }
+}
@@ -0,0 +1,135 @@
+package projekt.poistenie.controllers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import projekt.poistenie.service.ExportService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Kontrolér pre CSV export poistencov a poistných zmlúv.
+ *
+ * Odpoveď je StreamingResponseBody: zápis beží mimo vlákna požiadavky (asynchrónne
+ * spracovanie Spring MVC) a odosiela sa po chunkoch bez Content-Length, takže
+ * veľký export neblokuje vlákna servera ani nedrží celý súbor v pamäti.
+ *
+ * Dlhý limit asynchrónnej odpovede ("poistenie.export.timeout") sa nastavuje len
+ * požiadavkám exportu, ostatné asynchrónne odpovede (a spojenia do databázy,
+ * ktoré držia) ostávajú pod predvoleným limitom.
+ */
+@Controller
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType GZIP = new MediaType("application", "gzip");
+
+    private static final Object TIMEOUT_EXPORTU = ExportController.class.getName() + ".timeout";
+
+    private final ExportService exportService;
+    private final Duration timeout;
+
+    /**
+     * Konštruktor na vkladanie služby ExportService.
+     *
+     * @param exportService služba na export do CSV
+     * @param timeout       maximálna doba jedného exportu
+     */
+    public ExportController(ExportService exportService,
+                            @Value("${poistenie.export.timeout:PT30M}") Duration timeout) {
+        this.exportService = exportService;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Spracováva požiadavky GET na „/export/poistenci“.
+     * Exportovať môže len administrátor.
+     *
+     * @param gzip    true, ak sa má súbor komprimovať (stiahne sa .csv.gz)
+     * @param request aktuálna požiadavka (limit asynchrónnej odpovede)
+     * @return prúdová odpoveď s CSV všetkých poistencov
+     */
+    @GetMapping("/export/poistenci")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportPoistencov(
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip, WebRequest request) {
+        nastavTimeout(request);
+        return odpoved("poistenci", gzip, exportService::exportPoistencov);
+    }
+
+    /**
+     * Spracováva požiadavky GET na „/export/zmluvy“.
+     * Exportovať môže len administrátor.
+     *
+     * @param gzip    true, ak sa má súbor komprimovať (stiahne sa .csv.gz)
+     * @param request aktuálna požiadavka (limit asynchrónnej odpovede)
+     * @return prúdová odpoveď s CSV všetkých poistných zmlúv
+     */
+    @GetMapping("/export/zmluvy")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportZmluv(
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip, WebRequest request) {
+        nastavTimeout(request);
+        return odpoved("zmluvy", gzip, exportService::exportZmluv);
+    }
+
+    /**
+     * Zaregistruje pre túto požiadavku interceptor, ktorý tesne pred začatím
+     * asynchrónneho spracovania prúdovej odpovede nastaví limit exportu.
+     * StreamingResponseBody vlastný limit nemá, inak by platil globálny.
+     */
+    private void nastavTimeout(WebRequest request) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(TIMEOUT_EXPORTU,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        if (asyncRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(timeout.toMillis());
+                        }
+                    }
+                });
+    }
+
+    private static ResponseEntity<StreamingResponseBody> odpoved(String nazov, boolean gzip, Export export) {
+        String subor = nazov + "-" + LocalDate.now() + (gzip ? ".csv.gz" : ".csv");
+        StreamingResponseBody telo = vystup -> {
+            if (gzip) {
+                GZIPOutputStream komprimovany = new GZIPOutputStream(vystup, true);
+                export.zapis(komprimovany);
+                komprimovany.finish();
+            } else {
+                export.zapis(vystup);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(subor).build().toString())
+                .body(telo);
+    }
+
+    /**
+     * Zápis jedného exportu do výstupu.
+     */
+    @FunctionalInterface
+    private interface Export {
+        long zapis(OutputStream vystup) throws IOException;
+    }
+}
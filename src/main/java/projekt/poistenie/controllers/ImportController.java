@@ -0,0 +1,66 @@
+package projekt.poistenie.controllers;
+
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import projekt.poistenie.dtos.ImportVysledokDTO;
+import projekt.poistenie.service.ImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Kontrolér pre hromadný import poistencov a poistných zmlúv zo súborov CSV.
+ */
+@Controller
+public class ImportController {
+
+    private final ImportService importService;
+
+    /**
+     * Konštruktor na vkladanie služby ImportService.
+     *
+     * @param importService služba na hromadný import
+     */
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Spracováva požiadavky POST na „/api/import/poistenci“ (multipart, pole "subor").
+     * Importovať môže len administrátor.
+     *
+     * @param subor CSV súbor s poistencami
+     * @return počty a chyby jednotlivých riadkov
+     * @throws IOException pri chybe čítania súboru
+     */
+    @PostMapping("/api/import/poistenci")
+    @ResponseBody
+    @Secured("ROLE_ADMIN")
+    public ImportVysledokDTO importujPoistencov(@RequestParam("subor") MultipartFile subor) throws IOException {
+        try (InputStream csv = subor.getInputStream()) {
+            return importService.importujPoistencov(csv);
+        }
+    }
+
+    /**
+     * Spracováva požiadavky POST na „/api/import/zmluvy“ (multipart, pole "subor").
+     * Poistenci, na ktorých sa zmluvy odkazujú e-mailom, musia už existovať.
+     * Importovať môže len administrátor.
+     *
+     * @param subor CSV súbor so zmluvami
+     * @return počty a chyby jednotlivých riadkov
+     * @throws IOException pri chybe čítania súboru
+     */
+    @PostMapping("/api/import/zmluvy")
+    @ResponseBody
+    @Secured("ROLE_ADMIN")
+    public ImportVysledokDTO importujZmluvy(@RequestParam("subor") MultipartFile subor) throws IOException {
+        try (InputStream csv = subor.getInputStream()) {
+            return importService.importujZmluvy(csv);
+        }
+    }
+}
@@ -2,6 +2,10 @@ package projekt.poistenie.controllers;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -9,11 +13,17 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistenecDetailDTO;
+import projekt.poistenie.dtos.PoistenecKurzor;
+import projekt.poistenie.dtos.VysledokHladaniaDTO;
 import projekt.poistenie.entities.RelationType;
 import projekt.poistenie.exceptions.PoistenecNotFoundException;
 import projekt.poistenie.service.PoistenecService;
+import projekt.poistenie.service.VlastnictvoService;
+import projekt.poistenie.service.VyhladavanieService;
 
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Kontrolér pre správu poistencov - umožňuje zobrazovanie, vytváranie, úpravu a mazanie.
@@ -22,12 +32,34 @@ import java.util.Collections;
 @RequestMapping("/poistenci")
 public class PoistenecController {
 
+    /**
+     * Najväčší povolený počet poistencov na jednej strane zoznamu.
+     */
+    private static final int MAX_VELKOST_STRANY = 200;
+
+    /**
+     * Najväčší počet návrhov našepkávača.
+     */
+    private static final int MAX_NAVRHOV = 20;
+
     /**
      * Služba pre prácu s poistencami, obsahuje biznis logiku.
      */
     @Autowired
     private PoistenecService poistenecService;
 
+    /**
+     * Služba pre fulltextové vyhľadávanie poistencov.
+     */
+    @Autowired
+    private VyhladavanieService vyhladavanieService;
+
+    /**
+     * Služba na kontrolu vlastníctva poistencov z pamäte.
+     */
+    @Autowired
+    private VlastnictvoService vlastnictvoService;
+
     /**
      * Pridáva spoločné atribúty pre všetky metódy kontroléra.
      * Táto metóda sa vykoná pred každou metódou kontroléra.
@@ -42,19 +74,35 @@ public class PoistenecController {
 
     /**
      * Zobrazenie zoznamu poistencov.
-     * Administrátor vidí všetkých poistencov, bežný používateľ len svoje záznamy.
+     * Administrátor vidí všetkých poistencov po stranách zoradených podľa priezviska,
+     * alebo výsledky vyhľadávania zoradené podľa zhody, bežný používateľ len svoje záznamy.
      *
      * @param model model pre Thymeleaf šablónu
      * @param authentication autentifikačný objekt prihlaseného používateľa
+     * @param po kurzor, za ktorým začína strana (odkaz "Ďalšia")
+     * @param pred kurzor, pred ktorým končí strana (odkaz "Predošlá")
+     * @param velkost počet poistencov na strane
+     * @param q hľadaný text (ak je zadaný, zobrazia sa výsledky vyhľadávania)
+     * @param strana číslo strany výsledkov vyhľadávania (od 0)
      * @return cesta k šablóne so zoznamom poistencov
      */
     @GetMapping
-    public String list(Model model, Authentication authentication) {
+    public String list(Model model, Authentication authentication,
+                       @RequestParam(value = "po", required = false) String po,
+                       @RequestParam(value = "pred", required = false) String pred,
+                       @RequestParam(value = "velkost", defaultValue = "50") int velkost,
+                       @RequestParam(value = "q", required = false) String q,
+                       @RequestParam(value = "strana", defaultValue = "0") int strana) {
         try {
             // Rozlíšenie oprávnení - admin vidí všetkých, bežný používateľ len seba
-            model.addAttribute("poistenci", isAdmin(authentication) ?
-                    poistenecService.findAll() :
-                    Collections.singletonList(poistenecService.findByEmail(authentication.getName())));
+            if (isAdmin(authentication) && q != null && !q.isBlank()) {
+                addVysledkyHladania(model, q, strana, velkost);
+            } else if (isAdmin(authentication)) {
+                addStrana(model, po, pred, velkost);
+            } else {
+                model.addAttribute("poistenci",
+                        Collections.singletonList(poistenecService.findByEmail(authentication.getName())));
+            }
         } catch (Exception exception) {
             // V prípade chyby (napr. používateľ nemá vytvorený profil poistenca)
             model.addAttribute("poistenci", Collections.emptyList());
@@ -63,6 +111,26 @@ public class PoistenecController {
         return "pages/poistenec/zoznam";
     }
 
+    /**
+     * Našepkávač poistencov pre formuláre zmlúv - vráti najlepšie zhody podľa
+     * začiatku mena, priezviska alebo e-mailu vo formáte JSON. Odpovedá z indexu
+     * v pamäti, takže formulár nemusí načítať všetkých poistencov.
+     *
+     * @param q začiatok hľadaného textu
+     * @param limit najväčší počet návrhov
+     * @return návrhy poistencov zoradené podľa zhody
+     */
+    @GetMapping("/naseptavac")
+    @ResponseBody
+    @Secured("ROLE_ADMIN")
+    public List<VysledokHladaniaDTO> naseptavac(@RequestParam(value = "q", defaultValue = "") String q,
+                                                @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (q.isBlank()) {
+            return Collections.emptyList();
+        }
+        return vyhladavanieService.naseptajPoistencov(q, Math.max(1, Math.min(limit, MAX_NAVRHOV)));
+    }
+
     /**
      * Zobrazenie detailu poistenca.
      *
@@ -74,9 +142,9 @@ public class PoistenecController {
     @GetMapping("/{id}")
     public String detail(@PathVariable Long id, Model model, Authentication authentication) {
         try {
-            // Načítanie poistenca a kontrola oprávnení
-            PoistenecDTO poistenec = poistenecService.findById(id);
-            if (!canAccess(authentication, poistenec.getEmail())) return "redirect:/poistenci";
+            // Kontrola oprávnení a načítanie detailu poistenca so zmluvami
+            if (!canAccess(authentication, id)) return "redirect:/poistenci";
+            PoistenecDetailDTO poistenec = poistenecService.findDetailById(id);
 
             // Pridanie poistenca do modelu pre zobrazenie v šablóne
             model.addAttribute("poistenec", poistenec);
@@ -149,9 +217,9 @@ public class PoistenecController {
     @GetMapping("/{id}/oprav")
     public String editForm(@PathVariable Long id, Model model, Authentication authentication) {
         try {
-            // Načítanie poistenca a kontrola oprávnení
+            // Kontrola oprávnení a načítanie poistenca
+            if (!canAccess(authentication, id)) return "redirect:/poistenci";
             PoistenecDTO poistenec = poistenecService.findById(id);
-            if (!canAccess(authentication, poistenec.getEmail())) return "redirect:/poistenci";
 
             // Pridanie poistenca do modelu pre zobrazenie v šablóne
             model.addAttribute("poistenec", poistenec);
@@ -183,12 +251,11 @@ public class PoistenecController {
         if (bindingResult.hasErrors()) return "pages/poistenec/oprav";
 
         try {
-            // Načítanie existujúceho poistenca a kontrola oprávnení
-            PoistenecDTO existingPoistenec = poistenecService.findById(id);
-            if (!canAccess(authentication, existingPoistenec.getEmail())) return "redirect:/poistenci";
+            // Kontrola oprávnení
+            if (!canAccess(authentication, id)) return "redirect:/poistenci";
 
-            // Bežný používateľ nemôže zmeniť svoj email
-            if (!isAdmin(authentication) && !existingPoistenec.getEmail().equals(poistenec.getEmail())) {
+            // Bežný používateľ nemôže zmeniť svoj email (jeho poistenec má email z prihlásenia)
+            if (!isAdmin(authentication) && !authentication.getName().equalsIgnoreCase(poistenec.getEmail())) {
                 redirectAttributes.addFlashAttribute("error", "Nemôžete zmeniť email.");
                 return "redirect:/poistenci/" + id + "/oprav";
             }
@@ -216,16 +283,15 @@ public class PoistenecController {
     @GetMapping("/{id}/vymaz")
     public String delete(@PathVariable Long id, Authentication authentication, RedirectAttributes redirectAttributes) {
         try {
-            // Načítanie poistenca a kontrola oprávnení
-            PoistenecDTO poistenec = poistenecService.findById(id);
-            if (!canAccess(authentication, poistenec.getEmail())) return "redirect:/poistenci";
+            // Kontrola oprávnení
+            if (!canAccess(authentication, id)) return "redirect:/poistenci";
 
             // Vymazanie poistenca
             poistenecService.delete(id);
             redirectAttributes.addFlashAttribute("success", "Poistenie odstránené.");
 
-            // Ak používateľ vymazal sám seba a nie je admin, odhlásime ho
-            if (authentication.getName().equals(poistenec.getEmail()) && !isAdmin(authentication)) {
+            // Bežný používateľ môže vymazať len seba - odhlásime ho
+            if (!isAdmin(authentication)) {
                 return "redirect:/account/logout";
             }
             return "redirect:/poistenci";
@@ -248,6 +314,54 @@ public class PoistenecController {
         return "redirect:/poistenci";
     }
 
+    /**
+     * Načíta stranu poistencov podľa kurzora a pridá ju do modelu spolu s kurzormi
+     * susedných strán (null, ak strana v danom smere neexistuje).
+     *
+     * @param model model pre Thymeleaf šablónu
+     * @param po kurzor pre stranu za ním
+     * @param pred kurzor pre stranu pred ním (má prednosť)
+     * @param velkost požadovaný počet poistencov na strane
+     */
+    private void addStrana(Model model, String po, String pred, int velkost) {
+        boolean dozadu = pred != null;
+        PoistenecKurzor kurzor = PoistenecKurzor.decode(dozadu ? pred : po);
+        int velkostStrany = Math.max(1, Math.min(velkost, MAX_VELKOST_STRANY));
+
+        Slice<PoistenecDTO> strana = poistenecService.findStrana(kurzor, dozadu, velkostStrany);
+        List<PoistenecDTO> poistenci = strana.getContent();
+
+        // Pri čítaní dozadu hovorí hasNext() o stranách pred touto; za ňou je strana, z ktorej sa prišlo
+        boolean jePredosla = dozadu ? strana.hasNext() : kurzor != null;
+        boolean jeDalsia = dozadu ? kurzor != null : strana.hasNext();
+
+        model.addAttribute("poistenci", poistenci);
+        model.addAttribute("velkost", velkostStrany);
+        model.addAttribute("predoslaStrana", jePredosla && !poistenci.isEmpty()
+                ? PoistenecKurzor.of(poistenci.get(0)).encode() : null);
+        model.addAttribute("dalsiaStrana", jeDalsia && !poistenci.isEmpty()
+                ? PoistenecKurzor.of(poistenci.get(poistenci.size() - 1)).encode() : null);
+    }
+
+    /**
+     * Vyhľadá poistencov podľa textu a pridá do modelu stranu výsledkov zoradených podľa zhody.
+     *
+     * @param model model pre Thymeleaf šablónu
+     * @param q hľadaný text
+     * @param strana číslo strany (od 0)
+     * @param velkost požadovaný počet poistencov na strane
+     */
+    private void addVysledkyHladania(Model model, String q, int strana, int velkost) {
+        int velkostStrany = Math.max(1, Math.min(velkost, MAX_VELKOST_STRANY));
+        Page<PoistenecDTO> vysledky = vyhladavanieService.hladajPoistencov(q,
+                PageRequest.of(Math.max(0, strana), velkostStrany));
+
+        model.addAttribute("poistenci", vysledky.getContent());
+        model.addAttribute("velkost", velkostStrany);
+        model.addAttribute("q", q);
+        model.addAttribute("vysledkyHladania", vysledky);
+    }
+
     /**
      * Kontroluje, či má používateľ administrátorské oprávnenia.
      *
@@ -261,13 +375,15 @@ public class PoistenecController {
 
     /**
      * Kontroluje, či má používateľ oprávnenie pristupovať k záznamu.
-     * Administrátor má prístup ku všetkým záznamom, bežný používateľ len k svojim.
+     * Administrátor má prístup ku všetkým záznamom, bežný používateľ len k svojim
+     * (overí sa z cache vlastníctva bez načítania poistenca).
      *
      * @param authentication autentifikačný objekt prihlaseného používateľa
-     * @param email email poistenca v zázname
+     * @param poistenecId ID poistenca v zázname
      * @return true ak má používateľ oprávnenie na prístup, inak false
      */
-    private boolean canAccess(Authentication authentication, String email) {
-        return isAdmin(authentication) || (authentication != null && authentication.getName().equals(email));
+    private boolean canAccess(Authentication authentication, Long poistenecId) {
+        return isAdmin(authentication)
+                || (authentication != null && vlastnictvoService.vlastniPoistenca(authentication.getName(), poistenecId));
     }
 }
\ No newline at end of file
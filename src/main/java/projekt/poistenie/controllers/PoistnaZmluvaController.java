@@ -3,19 +3,32 @@ package projekt.poistenie.controllers;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponents;
+import projekt.poistenie.dtos.PoistenecDTO;
 import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.ZmluvaFilterDTO;
+import projekt.poistenie.dtos.ZmluvaKurzor;
 import projekt.poistenie.entities.RelationType;
 import projekt.poistenie.exceptions.AccessDeniedException;
+import projekt.poistenie.exceptions.PoistenecNotFoundException;
 import projekt.poistenie.service.PoistnaZmluvaService;
 import projekt.poistenie.service.PoistenecService;
+import projekt.poistenie.service.VlastnictvoService;
+import projekt.poistenie.service.VyhladavanieService;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Kontrolér pre správu poistných zmlúv - zabezpečuje zobrazovanie zoznamu zmlúv,
@@ -25,6 +38,11 @@ import java.util.Collections;
 @RequestMapping("/poistnezmluvy")
 public class PoistnaZmluvaController {
 
+    /**
+     * Najväčší povolený počet zmlúv na jednej strane zoznamu.
+     */
+    private static final int MAX_VELKOST_STRANY = 200;
+
     /**
      * Služba pre prácu s poistnými zmluvami.
      */
@@ -36,17 +54,33 @@ public class PoistnaZmluvaController {
      */
     private final PoistenecService poistenecService;
 
+    /**
+     * Služba pre fulltextové vyhľadávanie zmlúv.
+     */
+    private final VyhladavanieService vyhladavanieService;
+
+    /**
+     * Služba na kontrolu vlastníctva zmlúv a poistencov z pamäte.
+     */
+    private final VlastnictvoService vlastnictvoService;
+
     /**
      * Konštruktor pre vloženie závislostí (dependency injection).
      *
      * @param poistnaZmluvaService služba pre operácie s poistnými zmluvami
      * @param poistenecService služba pre operácie s poistencami
+     * @param vyhladavanieService služba pre fulltextové vyhľadávanie
+     * @param vlastnictvoService služba na kontrolu vlastníctva
      */
     @Autowired
     public PoistnaZmluvaController(PoistnaZmluvaService poistnaZmluvaService,
-                                   PoistenecService poistenecService) {
+                                   PoistenecService poistenecService,
+                                   VyhladavanieService vyhladavanieService,
+                                   VlastnictvoService vlastnictvoService) {
         this.poistnaZmluvaService = poistnaZmluvaService;
         this.poistenecService = poistenecService;
+        this.vyhladavanieService = vyhladavanieService;
+        this.vlastnictvoService = vlastnictvoService;
     }
 
     /**
@@ -72,7 +106,8 @@ public class PoistnaZmluvaController {
 
     /**
      * Pripraví model pre zobrazenie vo formulári - pridá dostupných poistencov
-     * podľa oprávnení používateľa.
+     * podľa oprávnení používateľa. Administrátor vyberá poistenca cez našepkávač,
+     * do modelu ide preto len práve vybraný poistenec zmluvy (ak nejaký je).
      *
      * @param model model pre Thymeleaf šablónu
      * @param authentication autentifikačný objekt prihlaseného používateľa
@@ -88,8 +123,7 @@ public class PoistnaZmluvaController {
         // Pre formuláre vytvorenia a úpravy pridať zoznam dostupných poistencov
         if ("novy".equals(viewName) || "oprav".equals(viewName)) {
             if (isAdmin) {
-                // Administrátor vidí všetkých poistencov
-                model.addAttribute("poistenci", poistenecService.findAll());
+                model.addAttribute("poistenci", vybranyPoistenec(model));
             } else {
                 try {
                     // Bežný používateľ vidí len seba
@@ -106,6 +140,104 @@ public class PoistnaZmluvaController {
         }
     }
 
+    /**
+     * Vráti poistenca zmluvy z modelu formulára ako jediný záznam pre výber.
+     * Pri úprave stačia údaje zo zmluvy, po chybe validácie sa poistenec načíta podľa ID.
+     *
+     * @param model model s atribútom "poistnaZmluva"
+     * @return zoznam s vybraným poistencom alebo prázdny zoznam
+     */
+    private List<PoistenecDTO> vybranyPoistenec(Model model) {
+        if (!(model.getAttribute("poistnaZmluva") instanceof PoistnaZmluvaDTO zmluva)
+                || zmluva.getPoistenecId() == null) {
+            return Collections.emptyList();
+        }
+        if (zmluva.getPoistenecMeno() != null && zmluva.getPoistenecPriezvisko() != null) {
+            PoistenecDTO poistenec = new PoistenecDTO();
+            poistenec.setId(zmluva.getPoistenecId());
+            poistenec.setMeno(zmluva.getPoistenecMeno());
+            poistenec.setPriezvisko(zmluva.getPoistenecPriezvisko());
+            return Collections.singletonList(poistenec);
+        }
+        try {
+            return Collections.singletonList(poistenecService.findById(zmluva.getPoistenecId()));
+        } catch (PoistenecNotFoundException exception) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Načíta stranu zmlúv podľa filtra a kurzora a pridá ju do modelu spolu s počtom
+     * vyhovujúcich zmlúv a odkazmi na susedné strany (null, ak strana neexistuje).
+     * Odkazy zachovávajú filter a zoradenie z aktuálnej URL.
+     *
+     * @param model model pre Thymeleaf šablónu
+     * @param filter filter a zoradenie
+     * @param po kurzor pre stranu za ním
+     * @param pred kurzor pre stranu pred ním (má prednosť)
+     * @param velkost požadovaný počet zmlúv na strane
+     */
+    private void addStrana(Model model, ZmluvaFilterDTO filter, String po, String pred, int velkost) {
+        boolean dozadu = pred != null;
+        ZmluvaKurzor kurzor = ZmluvaKurzor.decode(dozadu ? pred : po, filter.getRazenie());
+        int velkostStrany = Math.max(1, Math.min(velkost, MAX_VELKOST_STRANY));
+
+        Slice<PoistnaZmluvaDTO> strana = poistnaZmluvaService.findStrana(filter, kurzor, dozadu, velkostStrany);
+        List<PoistnaZmluvaDTO> zmluvy = strana.getContent();
+
+        // Pri čítaní dozadu hovorí hasNext() o stranách pred touto; za ňou je strana, z ktorej sa prišlo
+        boolean jePredosla = dozadu ? strana.hasNext() : kurzor != null;
+        boolean jeDalsia = dozadu ? kurzor != null : strana.hasNext();
+
+        model.addAttribute("zmluvy", zmluvy);
+        long pocet = poistnaZmluvaService.count(filter);
+        // Počet s filtrom je ohraničený - nad limit sa zobrazí len "10 000+"
+        model.addAttribute("pocetZmluv", !filter.isPrazdny() && pocet > PoistnaZmluvaService.MAX_POCET
+                ? String.format(Locale.ROOT, "%,d+", PoistnaZmluvaService.MAX_POCET).replace(',', ' ')
+                : pocet);
+        model.addAttribute("predoslaStrana", jePredosla && !zmluvy.isEmpty()
+                ? odkazNaStranu("pred", ZmluvaKurzor.of(filter.getRazenie(), zmluvy.get(0))) : null);
+        model.addAttribute("dalsiaStrana", jeDalsia && !zmluvy.isEmpty()
+                ? odkazNaStranu("po", ZmluvaKurzor.of(filter.getRazenie(), zmluvy.get(zmluvy.size() - 1))) : null);
+    }
+
+    /**
+     * Vyhľadá zmluvy podľa čísla zmluvy a druhu poistenia a pridá do modelu stranu
+     * výsledkov zoradených podľa zhody.
+     *
+     * @param model model pre Thymeleaf šablónu
+     * @param q hľadaný text
+     * @param strana číslo strany (od 0)
+     * @param velkost požadovaný počet zmlúv na strane
+     */
+    private void addVysledkyHladania(Model model, String q, int strana, int velkost) {
+        int velkostStrany = Math.max(1, Math.min(velkost, MAX_VELKOST_STRANY));
+        Page<PoistnaZmluvaDTO> vysledky = vyhladavanieService.hladajZmluvy(q,
+                PageRequest.of(Math.max(0, strana), velkostStrany));
+
+        model.addAttribute("zmluvy", vysledky.getContent());
+        model.addAttribute("pocetZmluv", vysledky.getTotalElements());
+        model.addAttribute("velkost", velkostStrany);
+        model.addAttribute("q", q);
+        model.addAttribute("vysledkyHladania", vysledky);
+    }
+
+    /**
+     * Zostaví URL aktuálnej požiadavky s novým kurzorom.
+     *
+     * @param parameter "po" alebo "pred"
+     * @param kurzor kurzor strany
+     * @return relatívna URL so zachovaným filtrom
+     */
+    private static String odkazNaStranu(String parameter, ZmluvaKurzor kurzor) {
+        UriComponents url = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("po")
+                .replaceQueryParam("pred")
+                .replaceQueryParam(parameter, kurzor.encode())
+                .build();
+        return url.getPath() + "?" + url.getQuery();
+    }
+
     /**
      * Spracováva chyby validácie formulára - pripraví model a vráti správny pohľad.
      *
@@ -122,22 +254,46 @@ public class PoistnaZmluvaController {
 
     /**
      * Zobrazenie zoznamu poistných zmlúv.
+     * Administrátor vidí všetky zmluvy po stranách s filtrom a zoradením
+     * alebo výsledky vyhľadávania zoradené podľa zhody, bežný používateľ len svoje zmluvy.
      *
+     * @param filter filter a zoradenie z parametrov URL
+     * @param po kurzor, za ktorým začína strana (odkaz "Ďalšia")
+     * @param pred kurzor, pred ktorým končí strana (odkaz "Predošlá")
+     * @param velkost počet zmlúv na strane
+     * @param q hľadaný text (ak je zadaný, zobrazia sa výsledky vyhľadávania namiesto filtra)
+     * @param strana číslo strany výsledkov vyhľadávania (od 0)
      * @param model model pre Thymeleaf šablónu
      * @param authentication autentifikačný objekt prihlaseného používateľa
      * @return cesta k šablóne so zoznamom zmlúv
      */
     @GetMapping
-    public String listAll(Model model, Authentication authentication) {
+    public String listAll(@ModelAttribute("filter") ZmluvaFilterDTO filter,
+                          @RequestParam(value = "po", required = false) String po,
+                          @RequestParam(value = "pred", required = false) String pred,
+                          @RequestParam(value = "velkost", defaultValue = "50") int velkost,
+                          @RequestParam(value = "q", required = false) String q,
+                          @RequestParam(value = "strana", defaultValue = "0") int strana,
+                          Model model, Authentication authentication) {
         boolean isAdmin = hasAdminRole(authentication);
         String userEmail = getUserEmail(authentication);
+        model.addAttribute("relations", RelationType.values());
 
         try {
-            // Rozlíšenie oprávnení - admin vidí všetky zmluvy, bežný používateľ len svoje
-            model.addAttribute("zmluvy", isAdmin ? poistnaZmluvaService.findAll() : poistnaZmluvaService.findByPoistenecEmail(userEmail));
+            // Rozlíšenie oprávnení - admin vidí všetky zmluvy po stranách, bežný používateľ len svoje
+            if (isAdmin && q != null && !q.isBlank()) {
+                addVysledkyHladania(model, q, strana, velkost);
+            } else if (isAdmin) {
+                addStrana(model, filter, po, pred, velkost);
+            } else {
+                List<PoistnaZmluvaDTO> zmluvy = poistnaZmluvaService.findByPoistenecEmail(userEmail);
+                model.addAttribute("zmluvy", zmluvy);
+                model.addAttribute("pocetZmluv", zmluvy.size());
+            }
         } catch (EntityNotFoundException exception) {
             // Používateľ nemá vytvorený profil poistenca alebo žiadne zmluvy
             model.addAttribute("zmluvy", Collections.emptyList());
+            model.addAttribute("pocetZmluv", 0);
             model.addAttribute("warning",
                     "Nemáte vytvorený žiadny profil poistenca. " +
                             "Prosím, najprv si vytvorte profil poistenca.");
@@ -179,7 +335,7 @@ public class PoistnaZmluvaController {
         try {
             // Kontrola oprávnení - bežný používateľ môže vytvoriť zmluvy len pre seba
             if (!hasAdminRole(authentication) &&
-                    !poistenecService.isOwnedByEmail(poistnaZmluvaDTO.getPoistenecId(), getUserEmail(authentication))) {
+                    !vlastnictvoService.vlastniPoistenca(getUserEmail(authentication), poistnaZmluvaDTO.getPoistenecId())) {
                 throw new AccessDeniedException("Nemáte oprávnenie vytvoriť poistenie pre iného používateľa.");
             }
 
@@ -307,13 +463,14 @@ public class PoistnaZmluvaController {
     }
     /**
      * Kontroluje, či má používateľ prístup k danej poistnej zmluve.
-     * Administrátor má prístup ku všetkým zmluvám, bežný používateľ len k svojim.
+     * Administrátor má prístup ku všetkým zmluvám, bežný používateľ len k svojim
+     * (overí sa z cache vlastníctva bez dopytu do databázy).
      *
      * @param zmluvaId ID poistnej zmluvy
      * @param authentication autentifikačný objekt prihlaseného používateľa
      * @return true ak má používateľ oprávnenie, inak false
      */
     private boolean hasAccessToZmluva(Long zmluvaId, Authentication authentication) {
-        return hasAdminRole(authentication) || poistnaZmluvaService.belongsToEmail(zmluvaId, getUserEmail(authentication));
+        return hasAdminRole(authentication) || vlastnictvoService.vlastniZmluvu(getUserEmail(authentication), zmluvaId);
     }
 }
\ No newline at end of file
@@ -1,10 +1,30 @@
 package projekt.poistenie.controllers;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import projekt.poistenie.dtos.StatistikyDTO;
+import projekt.poistenie.dtos.StatistikyHistoriaDTO;
+import projekt.poistenie.dtos.StatistikyObdobieDTO;
+import projekt.poistenie.entities.StatistikyHistoria.Granularita;
+import projekt.poistenie.service.StatistikyDenService;
+import projekt.poistenie.service.StatistikyHistoriaService;
 import projekt.poistenie.service.StatistikyService;
+import projekt.poistenie.service.VerziaDatService;
+
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Kontrolér na spracovanie požiadaviek súvisiacich so štatistikami.
@@ -13,14 +33,27 @@ import projekt.poistenie.service.StatistikyService;
 public class StatistikyController {
 
     private final StatistikyService statistikyService;
+    private final StatistikyHistoriaService statistikyHistoriaService;
+    private final VerziaDatService verziaDatService;
+    private final StatistikyDenService statistikyDenService;
 
     /**
-     * Konštruktor na vkladanie služby StatistikyService.
+     * Konštruktor na vkladanie služieb StatistikyService, StatistikyHistoriaService,
+     * VerziaDatService a StatistikyDenService.
      *
-     * @param statistikyService služba na načítanie štatistík
+     * @param statistikyService         služba na načítanie štatistík
+     * @param statistikyHistoriaService služba na načítanie histórie štatistík
+     * @param verziaDatService          služba s verziou dát (ETag)
+     * @param statistikyDenService      služba s dennými košíkmi štatistík
      */
-    public StatistikyController(StatistikyService statistikyService) {
+    public StatistikyController(StatistikyService statistikyService,
+                                StatistikyHistoriaService statistikyHistoriaService,
+                                VerziaDatService verziaDatService,
+                                StatistikyDenService statistikyDenService) {
         this.statistikyService = statistikyService;
+        this.statistikyHistoriaService = statistikyHistoriaService;
+        this.verziaDatService = verziaDatService;
+        this.statistikyDenService = statistikyDenService;
     }
 
     /**
@@ -39,6 +72,7 @@ public class StatistikyController {
             model.addAttribute("pocetPoisteni", statistics.getPocetPoisteni());
             model.addAttribute("pocetUdalosti", statistics.getPocetUdalosti());
             model.addAttribute("rozdeleniePodlaTypu", statistics.getRozdeleniePodlaTypu());
+            model.addAttribute("sumy", statistics.getSumy());
 
             return "pages/statistiky/statistiky";
         } catch (Exception e) {
@@ -46,4 +80,83 @@ public class StatistikyController {
             return "pages/error";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Spracováva požiadavky GET na „/api/statistiky“.
+     * Vracia kompletné globálne štatistiky vo formáte JSON so silným ETag-om.
+     * Ak klient pošle If-None-Match so značkou aktuálnej verzie dát, odpovie sa 304
+     * bez výpočtu štatistík, len s čítaním verzie dát.
+     *
+     * @param request požiadavka (hlavička If-None-Match)
+     * @return štatistiky s hlavičkou ETag alebo null pri odpovedi 304
+     */
+    @GetMapping("/api/statistiky")
+    @ResponseBody
+    public ResponseEntity<StatistikyDTO> renderStatisticsJson(WebRequest request) {
+        // ETag sa určí pred výpočtom: ak sa dáta medzitým zmenia, klient dostane
+        // novšie dáta so staršou značkou a pri ďalšej požiadavke ich načíta znova
+        String etag = verziaDatService.getEtag(LocalDate.now());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(statistikyService.getGlobalStatistics());
+    }
+
+    /**
+     * Spracováva požiadavky GET na „/statistiky/historia“.
+     * Vracia trend štatistík za zadané obdobie vo formáte JSON. Číta len predpočítané
+     * historické snímky, nie živé tabuľky zmlúv.
+     *
+     * @param od          prvý deň obdobia (ISO dátum, vrátane)
+     * @param doDatum     posledný deň obdobia (ISO dátum, vrátane)
+     * @param granularita voliteľná granularita (HODINA alebo DEN), inak sa zvolí podľa dĺžky obdobia
+     * @return zoznam historických snímkov zoradený podľa času
+     */
+    @GetMapping("/statistiky/historia")
+    @ResponseBody
+    public List<StatistikyHistoriaDTO> renderHistory(
+            @RequestParam("od") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate od,
+            @RequestParam("do") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate doDatum,
+            @RequestParam(value = "granularita", required = false) Granularita granularita) {
+        if (od.isAfter(doDatum)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parameter 'od' musí byť pred parametrom 'do'.");
+        }
+        return statistikyHistoriaService.findHistory(od, doDatum, granularita);
+    }
+
+    /**
+     * Spracováva požiadavky GET na „/statistiky/obdobie“.
+     * Vracia vo formáte JSON nové zmluvy v období, zmluvy platné k poslednému dňu
+     * obdobia a poistné udalosti podľa mesiacov. Pre platnosť k jednému dňu stačí
+     * zadať rovnaký dátum do oboch parametrov.
+     *
+     * @param od      prvý deň obdobia (ISO dátum, vrátane)
+     * @param doDatum posledný deň obdobia (ISO dátum, vrátane)
+     * @return štatistiky za obdobie
+     */
+    @GetMapping("/statistiky/obdobie")
+    @ResponseBody
+    public StatistikyObdobieDTO renderPeriod(
+            @RequestParam("od") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate od,
+            @RequestParam("do") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate doDatum) {
+        if (od.isAfter(doDatum)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parameter 'od' musí byť pred parametrom 'do'.");
+        }
+        return statistikyService.getStatistikyZaObdobie(od, doDatum);
+    }
+
+    /**
+     * Spracováva požiadavky POST na „/api/statistiky/obdobie/prestavba“.
+     * Prestavia denné košíky a ročné súhrny zo zmlúv a udalostí (oprava po zásahu
+     * priamo do databázy). Prístupné len administrátorovi.
+     */
+    @PostMapping("/api/statistiky/obdobie/prestavba")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Secured("ROLE_ADMIN")
+    public void rebuildPeriodBuckets() {
+        statistikyDenService.rebuild();
+    }
+}
@@ -0,0 +1,41 @@
+package projekt.poistenie.controllers;
+
+import jakarta.validation.Valid;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+import projekt.poistenie.dtos.PrihlasenieDTO;
+import projekt.poistenie.dtos.TokenDTO;
+import projekt.poistenie.service.JwtService;
+
+/**
+ * Kontrolér, ktorý klientom API vydáva podpísané tokeny namiesto prihlásenia do session.
+ */
+@Controller
+public class TokenController {
+
+    private final JwtService jwtService;
+
+    /**
+     * Konštruktor na vkladanie služby JwtService.
+     *
+     * @param jwtService služba na vydávanie tokenov
+     */
+    public TokenController(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Spracováva požiadavky POST na „/api/token“ (JSON s e-mailom a heslom).
+     * Pri nesprávnych údajoch vráti 401, pri plnom poole hashovania 503.
+     *
+     * @param prihlasenie e-mail a heslo
+     * @return token pre hlavičku "Authorization: Bearer &lt;token&gt;"
+     */
+    @PostMapping("/api/token")
+    @ResponseBody
+    public TokenDTO vydajToken(@Valid @RequestBody PrihlasenieDTO prihlasenie) {
+        return jwtService.vydaj(prihlasenie.getEmail(), prihlasenie.getPassword());
+    }
+}
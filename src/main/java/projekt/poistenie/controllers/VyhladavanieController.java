@@ -0,0 +1,59 @@
+package projekt.poistenie.controllers;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import projekt.poistenie.dtos.VysledkyHladaniaDTO;
+import projekt.poistenie.service.VyhladavanieService;
+
+import java.util.Collections;
+
+/**
+ * Kontrolér pre fulltextové vyhľadávanie poistencov a poistných zmlúv.
+ */
+@Controller
+public class VyhladavanieController {
+
+    /**
+     * Najväčší povolený počet výsledkov na jednej strane.
+     */
+    private static final int MAX_VELKOST_STRANY = 200;
+
+    private final VyhladavanieService vyhladavanieService;
+
+    /**
+     * Konštruktor na vkladanie služby VyhladavanieService.
+     *
+     * @param vyhladavanieService služba na fulltextové vyhľadávanie
+     */
+    public VyhladavanieController(VyhladavanieService vyhladavanieService) {
+        this.vyhladavanieService = vyhladavanieService;
+    }
+
+    /**
+     * Spracováva požiadavky GET na „/api/hladat“.
+     * Vracia stranu poistencov a zmlúv zodpovedajúcich dopytu vo formáte JSON,
+     * zoradených podľa skóre zhody. Odpovedá priamo z indexu v pamäti bez dopytu do databázy.
+     * Hľadať vo všetkých záznamoch môže len administrátor.
+     *
+     * @param q hľadaný text
+     * @param strana číslo strany (od 0)
+     * @param velkost počet výsledkov na strane
+     * @return strana výsledkov vyhľadávania
+     */
+    @GetMapping("/api/hladat")
+    @ResponseBody
+    @Secured("ROLE_ADMIN")
+    public VysledkyHladaniaDTO hladaj(@RequestParam(value = "q", defaultValue = "") String q,
+                                      @RequestParam(value = "strana", defaultValue = "0") int strana,
+                                      @RequestParam(value = "velkost", defaultValue = "20") int velkost) {
+        int velkostStrany = Math.max(1, Math.min(velkost, MAX_VELKOST_STRANY));
+        if (q.isBlank()) {
+            return new VysledkyHladaniaDTO(q, 0, 0, velkostStrany, Collections.emptyList());
+        }
+        return vyhladavanieService.hladaj(q, PageRequest.of(Math.max(0, strana), velkostStrany));
+    }
+}
@@ -0,0 +1,60 @@
+package projekt.poistenie.dtos;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) so štatistikami cache druhej úrovne od štartu aplikácie -
+ * zásahy a minutia jednotlivých regiónov a cache dopytov. Medzi regiónmi je aj cache
+ * prihlásených používateľov, ktorá nie je súčasťou Hibernate.
+ */
+public class CacheStatistikyDTO {
+
+    private final List<Region> regiony;
+    private final long zasahyDopytov;
+    private final long minutiaDopytov;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param regiony        štatistiky regiónov zoradené podľa názvu
+     * @param zasahyDopytov  počet dopytov obslúžených z cache dopytov
+     * @param minutiaDopytov počet cacheovateľných dopytov, ktoré išli do databázy
+     */
+    public CacheStatistikyDTO(List<Region> regiony, long zasahyDopytov, long minutiaDopytov) {
+        this.regiony = regiony;
+        this.zasahyDopytov = zasahyDopytov;
+        this.minutiaDopytov = minutiaDopytov;
+    }
+
+    /**
+     * @return štatistiky regiónov zoradené podľa názvu
+     */
+    public List<Region> getRegiony() {
+        return regiony;
+    }
+
+    /**
+     * @return počet dopytov obslúžených z cache dopytov
+     */
+    public long getZasahyDopytov() {
+        return zasahyDopytov;
+    }
+
+    /**
+     * @return počet cacheovateľných dopytov, ktoré išli do databázy
+     */
+    public long getMinutiaDopytov() {
+        return minutiaDopytov;
+    }
+
+    /**
+     * Štatistiky jedného regiónu.
+     *
+     * @param nazov    názov regiónu
+     * @param zasahy   počet čítaní nájdených v cache
+     * @param minutia  počet čítaní, ktoré v cache neboli
+     * @param vlozenia počet záznamov vložených do cache
+     */
+    public record Region(String nazov, long zasahy, long minutia, long vlozenia) {
+    }
+}
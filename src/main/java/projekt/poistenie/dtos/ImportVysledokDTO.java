@@ -0,0 +1,57 @@
+package projekt.poistenie.dtos;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) s výsledkom hromadného importu - počty záznamov
+ * a chyby jednotlivých riadkov súboru.
+ */
+public class ImportVysledokDTO {
+
+    private final long spracovane;
+    private final long vlozene;
+    private final List<Chyba> chyby;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param spracovane počet dátových riadkov súboru
+     * @param vlozene počet vložených záznamov
+     * @param chyby chyby riadkov, ktoré sa nevložili (zoradené podľa riadku)
+     */
+    public ImportVysledokDTO(long spracovane, long vlozene, List<Chyba> chyby) {
+        this.spracovane = spracovane;
+        this.vlozene = vlozene;
+        this.chyby = chyby;
+    }
+
+    /**
+     * @return počet dátových riadkov súboru
+     */
+    public long getSpracovane() {
+        return spracovane;
+    }
+
+    /**
+     * @return počet vložených záznamov
+     */
+    public long getVlozene() {
+        return vlozene;
+    }
+
+    /**
+     * @return chyby riadkov, ktoré sa nevložili
+     */
+    public List<Chyba> getChyby() {
+        return chyby;
+    }
+
+    /**
+     * Chyba jedného riadku súboru.
+     *
+     * @param riadok číslo riadku v súbore (hlavička je riadok 1)
+     * @param sprava popis chyby
+     */
+    public record Chyba(long riadok, String sprava) {
+    }
+}
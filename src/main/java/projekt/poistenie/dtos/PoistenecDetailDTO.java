@@ -0,0 +1,67 @@
+package projekt.poistenie.dtos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read model pre detail poistenca - údaje poistenca, jeho zmluvy a počty
+ * poistných udalostí jednotlivých zmlúv.
+ *
+ * Zostavuje sa z dvoch pevných dopytov (poistenec, zmluvy s počtami udalostí),
+ * takže cena detailu nerastie s počtom zmlúv poistenca.
+ */
+public class PoistenecDetailDTO extends PoistenecDTO {
+
+    /** Zmluvy poistenca zoradené podľa ID. */
+    private List<PoistnaZmluvaDTO> zmluvy = new ArrayList<>();
+
+    /** Počet poistných udalostí podľa ID zmluvy. */
+    private Map<Long, Long> pocetUdalosti = new HashMap<>();
+
+    /**
+     * Vráti zmluvy poistenca.
+     *
+     * @return zoznam zmlúv
+     */
+    public List<PoistnaZmluvaDTO> getZmluvy() {
+        return zmluvy;
+    }
+
+    /**
+     * Nastaví zmluvy poistenca.
+     *
+     * @param zmluvy zoznam zmlúv
+     */
+    public void setZmluvy(List<PoistnaZmluvaDTO> zmluvy) {
+        this.zmluvy = zmluvy;
+    }
+
+    /**
+     * Vráti počty poistných udalostí podľa ID zmluvy.
+     *
+     * @return mapa ID zmluvy - počet udalostí
+     */
+    public Map<Long, Long> getPocetUdalosti() {
+        return pocetUdalosti;
+    }
+
+    /**
+     * Nastaví počty poistných udalostí podľa ID zmluvy.
+     *
+     * @param pocetUdalosti mapa ID zmluvy - počet udalostí
+     */
+    public void setPocetUdalosti(Map<Long, Long> pocetUdalosti) {
+        this.pocetUdalosti = pocetUdalosti;
+    }
+
+    /**
+     * Vráti počet poistných udalostí na všetkých zmluvách poistenca.
+     *
+     * @return súčet udalostí
+     */
+    public long getPocetUdalostiSpolu() {
+        return pocetUdalosti.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
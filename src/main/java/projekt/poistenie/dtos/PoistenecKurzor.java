@@ -0,0 +1,77 @@
+package projekt.poistenie.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Kurzor stránkovania zoznamu poistencov - pozícia v poradí (priezvisko, id).
+ * V URL sa prenáša ako nepriehľadný reťazec (Base64), aby ho klient neupravoval
+ * a aby diakritika v priezvisku nerobila problémy.
+ */
+public final class PoistenecKurzor {
+
+    /** Priezvisko poistenca na hranici strany. */
+    private final String priezvisko;
+
+    /** ID poistenca na hranici strany (rozlišuje rovnaké priezviská). */
+    private final long id;
+
+    /**
+     * Vytvorí kurzor na pozícii daného poistenca.
+     *
+     * @param priezvisko priezvisko poistenca
+     * @param id         ID poistenca
+     */
+    public PoistenecKurzor(String priezvisko, long id) {
+        this.priezvisko = priezvisko;
+        this.id = id;
+    }
+
+    /**
+     * Vytvorí kurzor na pozícii poistenca z DTO.
+     *
+     * @param poistenec poistenec na hranici strany
+     * @return kurzor
+     */
+    public static PoistenecKurzor of(PoistenecDTO poistenec) {
+        return new PoistenecKurzor(poistenec.getPriezvisko(), poistenec.getId());
+    }
+
+    /**
+     * Dekóduje kurzor z URL.
+     *
+     * @param hodnota zakódovaný kurzor
+     * @return kurzor alebo null, ak hodnota chýba alebo je neplatná (zobrazí sa prvá strana)
+     */
+    public static PoistenecKurzor decode(String hodnota) {
+        if (hodnota == null || hodnota.isBlank()) {
+            return null;
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(hodnota), StandardCharsets.UTF_8);
+            int oddelovac = text.indexOf(':');
+            if (oddelovac < 0) {
+                return null;
+            }
+            return new PoistenecKurzor(text.substring(oddelovac + 1), Long.parseLong(text.substring(0, oddelovac)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return kurzor zakódovaný pre URL
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + priezvisko).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getPriezvisko() {
+        return priezvisko;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
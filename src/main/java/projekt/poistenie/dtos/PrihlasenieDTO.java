@@ -0,0 +1,47 @@
+package projekt.poistenie.dtos;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object (DTO) s prihlasovacími údajmi klienta API, ktorý žiada o token.
+ */
+public class PrihlasenieDTO {
+
+    /** Email používateľa – nemôže byť prázdny a musí byť platný e-mail. */
+    @NotBlank(message = "Email je povinný")
+    @Email(message = "Zadajte platný email")
+    private String email;
+
+    /** Heslo – nemôže byť prázdne. */
+    @NotBlank(message = "Heslo je povinné")
+    private String password;
+
+    /**
+     * @return email používateľa
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * @param email nastaví email používateľa
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * @return heslo v čitateľnej podobe
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * @param password nastaví heslo
+     */
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
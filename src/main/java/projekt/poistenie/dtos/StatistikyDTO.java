@@ -44,6 +44,11 @@ public class StatistikyDTO {
      */
     private Map<String, Long> zmluvyPodlaStavu;
 
+    /**
+     * Finančné ukazovatele poistných súm (celkovo a podľa typu poistenia).
+     */
+    private StatistikySumyDTO sumy;
+
     /**
      * Hlavný konštruktor so všetkými parametrami.
      *
@@ -53,19 +58,48 @@ public class StatistikyDTO {
      * @param rozdeleniePodlaTypu rozdelenie zmlúv podľa typu poistenia
      * @param aktivneZmluvy počet aktívnych zmlúv
      * @param zmluvyPodlaStavu rozdelenie zmlúv podľa stavu
+     * @param sumy finančné ukazovatele poistných súm
      */
     public StatistikyDTO(long pocetPoistenych,
                          long pocetPoisteni,
                          long pocetUdalosti,
                          Map<String, Long> rozdeleniePodlaTypu,
                          long aktivneZmluvy,
-                         Map<String, Long> zmluvyPodlaStavu) {
+                         Map<String, Long> zmluvyPodlaStavu,
+                         StatistikySumyDTO sumy) {
         this.pocetPoistenych = pocetPoistenych;
         this.pocetPoisteni = pocetPoisteni;
         this.pocetUdalosti = pocetUdalosti;
         this.rozdeleniePodlaTypu = rozdeleniePodlaTypu;
         this.aktivneZmluvy = aktivneZmluvy;
         this.zmluvyPodlaStavu = zmluvyPodlaStavu;
+        this.sumy = sumy;
+    }
+
+    /**
+     * Konštruktor so šiestimi parametrami.
+     * Používa sa, keď nie sú k dispozícii finančné ukazovatele.
+     *
+     * @param pocetPoistenych celkový počet poistených osôb
+     * @param pocetPoisteni celkový počet poistných zmlúv
+     * @param pocetUdalosti celkový počet poistných udalostí
+     * @param rozdeleniePodlaTypu rozdelenie zmlúv podľa typu poistenia
+     * @param aktivneZmluvy počet aktívnych zmlúv
+     * @param zmluvyPodlaStavu rozdelenie zmlúv podľa stavu
+     */
+    public StatistikyDTO(long pocetPoistenych,
+                         long pocetPoisteni,
+                         long pocetUdalosti,
+                         Map<String, Long> rozdeleniePodlaTypu,
+                         long aktivneZmluvy,
+                         Map<String, Long> zmluvyPodlaStavu) {
+        this(pocetPoistenych,
+                pocetPoisteni,
+                pocetUdalosti,
+                rozdeleniePodlaTypu,
+                aktivneZmluvy,
+                zmluvyPodlaStavu,
+                StatistikySumyDTO.prazdne());
     }
 
     /**
@@ -161,4 +195,13 @@ public class StatistikyDTO {
     public Map<String, Long> getZmluvyPodlaStavu() {
         return zmluvyPodlaStavu;
     }
-}
\ No newline at end of file
+
+    /**
+     * Získa finančné ukazovatele poistných súm.
+     *
+     * @return poistné sumy celkovo a podľa typu poistenia
+     */
+    public StatistikySumyDTO getSumy() {
+        return sumy;
+    }
+}
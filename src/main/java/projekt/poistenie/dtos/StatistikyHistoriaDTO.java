@@ -0,0 +1,61 @@
+package projekt.poistenie.dtos;
+
+import projekt.poistenie.entities.StatistikyHistoria.Granularita;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) pre jeden bod historického trendu štatistík.
+ * Spája čas a granularitu snímku so štatistickými údajmi v tvare StatistikyDTO.
+ */
+public class StatistikyHistoriaDTO {
+
+    /**
+     * Začiatok obdobia, ktoré snímok reprezentuje.
+     */
+    private final LocalDateTime cas;
+
+    /**
+     * Granularita snímku (hodinový alebo denný).
+     */
+    private final Granularita granularita;
+
+    /**
+     * Štatistické údaje platné v čase snímku.
+     */
+    private final StatistikyDTO statistiky;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param cas začiatok obdobia snímku
+     * @param granularita granularita snímku
+     * @param statistiky štatistické údaje snímku
+     */
+    public StatistikyHistoriaDTO(LocalDateTime cas, Granularita granularita, StatistikyDTO statistiky) {
+        this.cas = cas;
+        this.granularita = granularita;
+        this.statistiky = statistiky;
+    }
+
+    /**
+     * @return začiatok obdobia snímku
+     */
+    public LocalDateTime getCas() {
+        return cas;
+    }
+
+    /**
+     * @return granularita snímku
+     */
+    public Granularita getGranularita() {
+        return granularita;
+    }
+
+    /**
+     * @return štatistické údaje snímku
+     */
+    public StatistikyDTO getStatistiky() {
+        return statistiky;
+    }
+}
@@ -0,0 +1,107 @@
+package projekt.poistenie.dtos;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) pre štatistiky za zvolené obdobie.
+ * Obsahuje nové zmluvy v období, zmluvy platné k poslednému dňu obdobia
+ * a poistné udalosti rozdelené podľa mesiacov.
+ */
+public class StatistikyObdobieDTO {
+
+    /**
+     * Prvý deň obdobia (vrátane).
+     */
+    private final LocalDate od;
+
+    /**
+     * Posledný deň obdobia (vrátane).
+     */
+    private final LocalDate doDatum;
+
+    /**
+     * Počet zmlúv, ktorým v období začala platnosť, podľa druhu poistenia.
+     */
+    private final Map<String, Long> noveZmluvy;
+
+    /**
+     * Počet zmlúv platných k poslednému dňu obdobia podľa druhu poistenia.
+     */
+    private final Map<String, Long> aktivneZmluvy;
+
+    /**
+     * Počet poistných udalostí v období podľa mesiacov (kľúč "RRRR-MM").
+     */
+    private final Map<String, Long> udalostiPodlaMesiacov;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param od prvý deň obdobia
+     * @param doDatum posledný deň obdobia
+     * @param noveZmluvy nové zmluvy podľa druhu poistenia
+     * @param aktivneZmluvy platné zmluvy podľa druhu poistenia
+     * @param udalostiPodlaMesiacov poistné udalosti podľa mesiacov
+     */
+    public StatistikyObdobieDTO(LocalDate od,
+                                LocalDate doDatum,
+                                Map<String, Long> noveZmluvy,
+                                Map<String, Long> aktivneZmluvy,
+                                Map<String, Long> udalostiPodlaMesiacov) {
+        this.od = od;
+        this.doDatum = doDatum;
+        this.noveZmluvy = noveZmluvy;
+        this.aktivneZmluvy = aktivneZmluvy;
+        this.udalostiPodlaMesiacov = udalostiPodlaMesiacov;
+    }
+
+    /**
+     * @return prvý deň obdobia
+     */
+    public LocalDate getOd() {
+        return od;
+    }
+
+    /**
+     * @return posledný deň obdobia
+     */
+    public LocalDate getDoDatum() {
+        return doDatum;
+    }
+
+    /**
+     * @return nové zmluvy podľa druhu poistenia
+     */
+    public Map<String, Long> getNoveZmluvy() {
+        return noveZmluvy;
+    }
+
+    /**
+     * @return celkový počet nových zmlúv v období
+     */
+    public long getNoveZmluvySpolu() {
+        return noveZmluvy.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return platné zmluvy podľa druhu poistenia k poslednému dňu obdobia
+     */
+    public Map<String, Long> getAktivneZmluvy() {
+        return aktivneZmluvy;
+    }
+
+    /**
+     * @return celkový počet platných zmlúv k poslednému dňu obdobia
+     */
+    public long getAktivneZmluvySpolu() {
+        return aktivneZmluvy.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return poistné udalosti podľa mesiacov
+     */
+    public Map<String, Long> getUdalostiPodlaMesiacov() {
+        return udalostiPodlaMesiacov;
+    }
+}
@@ -0,0 +1,139 @@
+package projekt.poistenie.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object (DTO) pre finančné ukazovatele poistných súm jednej skupiny zmlúv.
+ * Počet, súčet a priemer sú presné; minimum, maximum a percentily pochádzajú
+ * zo sketchu a majú relatívnu chybu najviac 1 %. Pri prázdnej skupine sú
+ * odvodené hodnoty null.
+ */
+public class StatistikySumaDTO {
+
+    /**
+     * Počet zmlúv v skupine.
+     */
+    private final long pocet;
+
+    /**
+     * Súčet poistných súm v eurách.
+     */
+    private final BigDecimal sucet;
+
+    /**
+     * Priemerná poistná suma.
+     */
+    private final Double priemer;
+
+    /**
+     * Najmenšia poistná suma (približne).
+     */
+    private final Double min;
+
+    /**
+     * Najväčšia poistná suma (približne).
+     */
+    private final Double max;
+
+    /**
+     * Medián poistnej sumy (približne).
+     */
+    private final Double p50;
+
+    /**
+     * 90. percentil poistnej sumy (približne).
+     */
+    private final Double p90;
+
+    /**
+     * 99. percentil poistnej sumy (približne).
+     */
+    private final Double p99;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param pocet počet zmlúv
+     * @param sucet súčet poistných súm
+     * @param priemer priemerná poistná suma
+     * @param min najmenšia poistná suma
+     * @param max najväčšia poistná suma
+     * @param p50 medián
+     * @param p90 90. percentil
+     * @param p99 99. percentil
+     */
+    public StatistikySumaDTO(long pocet, BigDecimal sucet, Double priemer, Double min, Double max,
+                             Double p50, Double p90, Double p99) {
+        this.pocet = pocet;
+        this.sucet = sucet;
+        this.priemer = priemer;
+        this.min = min;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    /**
+     * @return ukazovatele prázdnej skupiny
+     */
+    public static StatistikySumaDTO prazdne() {
+        return new StatistikySumaDTO(0, BigDecimal.ZERO, null, null, null, null, null, null);
+    }
+
+    /**
+     * @return počet zmlúv
+     */
+    public long getPocet() {
+        return pocet;
+    }
+
+    /**
+     * @return súčet poistných súm
+     */
+    public BigDecimal getSucet() {
+        return sucet;
+    }
+
+    /**
+     * @return priemerná poistná suma
+     */
+    public Double getPriemer() {
+        return priemer;
+    }
+
+    /**
+     * @return najmenšia poistná suma
+     */
+    public Double getMin() {
+        return min;
+    }
+
+    /**
+     * @return najväčšia poistná suma
+     */
+    public Double getMax() {
+        return max;
+    }
+
+    /**
+     * @return medián poistnej sumy
+     */
+    public Double getP50() {
+        return p50;
+    }
+
+    /**
+     * @return 90. percentil poistnej sumy
+     */
+    public Double getP90() {
+        return p90;
+    }
+
+    /**
+     * @return 99. percentil poistnej sumy
+     */
+    public Double getP99() {
+        return p99;
+    }
+}
@@ -0,0 +1,53 @@
+package projekt.poistenie.dtos;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) pre finančné ukazovatele poistných súm
+ * celého portfólia a jednotlivých druhov poistenia.
+ */
+public class StatistikySumyDTO {
+
+    /**
+     * Ukazovatele za všetky zmluvy.
+     */
+    private final StatistikySumaDTO celkom;
+
+    /**
+     * Ukazovatele podľa druhu poistenia.
+     */
+    private final Map<String, StatistikySumaDTO> podlaTypu;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param celkom ukazovatele za všetky zmluvy
+     * @param podlaTypu ukazovatele podľa druhu poistenia
+     */
+    public StatistikySumyDTO(StatistikySumaDTO celkom, Map<String, StatistikySumaDTO> podlaTypu) {
+        this.celkom = celkom;
+        this.podlaTypu = podlaTypu;
+    }
+
+    /**
+     * @return ukazovatele bez zmlúv
+     */
+    public static StatistikySumyDTO prazdne() {
+        return new StatistikySumyDTO(StatistikySumaDTO.prazdne(), Collections.emptyMap());
+    }
+
+    /**
+     * @return ukazovatele za všetky zmluvy
+     */
+    public StatistikySumaDTO getCelkom() {
+        return celkom;
+    }
+
+    /**
+     * @return ukazovatele podľa druhu poistenia
+     */
+    public Map<String, StatistikySumaDTO> getPodlaTypu() {
+        return podlaTypu;
+    }
+}
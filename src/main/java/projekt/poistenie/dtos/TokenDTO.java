@@ -0,0 +1,46 @@
+package projekt.poistenie.dtos;
+
+/**
+ * Data Transfer Object (DTO) s podpísaným tokenom pre klientov API.
+ * Klient ho posiela v hlavičke "Authorization: Bearer &lt;token&gt;".
+ */
+public class TokenDTO {
+
+    private final String token;
+    private final String typ;
+    private final long platnost;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param token    podpísaný token (JWT)
+     * @param typ      typ tokenu pre hlavičku Authorization
+     * @param platnost počet sekúnd do vypršania tokenu
+     */
+    public TokenDTO(String token, String typ, long platnost) {
+        this.token = token;
+        this.typ = typ;
+        this.platnost = platnost;
+    }
+
+    /**
+     * @return podpísaný token (JWT)
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * @return typ tokenu pre hlavičku Authorization ("Bearer")
+     */
+    public String getTyp() {
+        return typ;
+    }
+
+    /**
+     * @return počet sekúnd do vypršania tokenu
+     */
+    public long getPlatnost() {
+        return platnost;
+    }
+}
@@ -0,0 +1,68 @@
+package projekt.poistenie.dtos;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) pre jednu stranu výsledkov fulltextového vyhľadávania
+ * zoradených podľa skóre.
+ */
+public class VysledkyHladaniaDTO {
+
+    private final String dotaz;
+    private final long celkom;
+    private final int strana;
+    private final int velkost;
+    private final List<VysledokHladaniaDTO> vysledky;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param dotaz hľadaný text
+     * @param celkom počet všetkých nájdených záznamov
+     * @param strana číslo strany (od 0)
+     * @param velkost veľkosť strany
+     * @param vysledky nájdené záznamy na tejto strane
+     */
+    public VysledkyHladaniaDTO(String dotaz, long celkom, int strana, int velkost, List<VysledokHladaniaDTO> vysledky) {
+        this.dotaz = dotaz;
+        this.celkom = celkom;
+        this.strana = strana;
+        this.velkost = velkost;
+        this.vysledky = vysledky;
+    }
+
+    /**
+     * @return hľadaný text
+     */
+    public String getDotaz() {
+        return dotaz;
+    }
+
+    /**
+     * @return počet všetkých nájdených záznamov
+     */
+    public long getCelkom() {
+        return celkom;
+    }
+
+    /**
+     * @return číslo strany (od 0)
+     */
+    public int getStrana() {
+        return strana;
+    }
+
+    /**
+     * @return veľkosť strany
+     */
+    public int getVelkost() {
+        return velkost;
+    }
+
+    /**
+     * @return nájdené záznamy na tejto strane
+     */
+    public List<VysledokHladaniaDTO> getVysledky() {
+        return vysledky;
+    }
+}
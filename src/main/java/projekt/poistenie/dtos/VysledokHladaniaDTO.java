@@ -0,0 +1,84 @@
+package projekt.poistenie.dtos;
+
+/**
+ * Data Transfer Object (DTO) pre jeden výsledok fulltextového vyhľadávania -
+ * poistenca alebo poistnú zmluvu s textom na zobrazenie a odkazom na detail.
+ */
+public class VysledokHladaniaDTO {
+
+    /**
+     * Typ nájdeného záznamu.
+     */
+    public enum Typ {
+        POISTENEC,
+        ZMLUVA
+    }
+
+    private final Typ typ;
+    private final long id;
+    private final String titulok;
+    private final String popis;
+    private final String odkaz;
+    private final int skore;
+
+    /**
+     * Hlavný konštruktor so všetkými parametrami.
+     *
+     * @param typ typ nájdeného záznamu
+     * @param id ID záznamu
+     * @param titulok hlavný text (meno poistenca, číslo zmluvy)
+     * @param popis doplňujúci text (e-mail a mesto, druh poistenia)
+     * @param odkaz relatívna URL detailu záznamu
+     * @param skore skóre zhody (vyššie je lepšie)
+     */
+    public VysledokHladaniaDTO(Typ typ, long id, String titulok, String popis, String odkaz, int skore) {
+        this.typ = typ;
+        this.id = id;
+        this.titulok = titulok;
+        this.popis = popis;
+        this.odkaz = odkaz;
+        this.skore = skore;
+    }
+
+    /**
+     * @return typ nájdeného záznamu
+     */
+    public Typ getTyp() {
+        return typ;
+    }
+
+    /**
+     * @return ID záznamu
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return hlavný text
+     */
+    public String getTitulok() {
+        return titulok;
+    }
+
+    /**
+     * @return doplňujúci text
+     */
+    public String getPopis() {
+        return popis;
+    }
+
+    /**
+     * @return relatívna URL detailu záznamu
+     */
+    public String getOdkaz() {
+        return odkaz;
+    }
+
+    /**
+     * @return skóre zhody
+     */
+    public int getSkore() {
+        return skore;
+    }
+}
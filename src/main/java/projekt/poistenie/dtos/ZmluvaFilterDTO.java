@@ -0,0 +1,143 @@
+package projekt.poistenie.dtos;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import projekt.poistenie.entities.RelationType;
+
+import java.time.LocalDate;
+
+/**
+ * ZmluvaFilterDTO prenáša filter a zoradenie zoznamu poistných zmlúv
+ * z parametrov URL. Nevyplnené polia sa pri filtrovaní ignorujú.
+ */
+public class ZmluvaFilterDTO {
+
+    /**
+     * Stĺpce, podľa ktorých možno zoznam zoradiť. Pri zhode rozhoduje vždy ID,
+     * takže poradie je jednoznačné a dá sa podľa neho stránkovať kurzorom.
+     */
+    public enum Razenie {
+        ID("id"),
+        CISLO_ZMLUVY("cisloZmluvy"),
+        DRUH_POISTENIA("druhPoistenia"),
+        PLATNOST_OD("platnostOd"),
+        PLATNOST_DO("platnostDo"),
+        SUMA("suma");
+
+        private final String atribut;
+
+        Razenie(String atribut) {
+            this.atribut = atribut;
+        }
+
+        /**
+         * @return názov atribútu entity PoistnaZmluva
+         */
+        public String getAtribut() {
+            return atribut;
+        }
+    }
+
+    /** Presný druh poistenia. */
+    private String druhPoistenia;
+
+    /** Vzťah poistenca k zmluve. */
+    private RelationType relation;
+
+    /** Začiatok obdobia - zmluva musí platiť aspoň v jeden deň obdobia. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate platnaOd;
+
+    /** Koniec obdobia (vrátane). */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate platnaDo;
+
+    /** Najmenšia poistná suma (vrátane). */
+    private Double sumaOd;
+
+    /** Najväčšia poistná suma (vrátane). */
+    private Double sumaDo;
+
+    /** Stĺpec zoradenia. */
+    private Razenie razenie = Razenie.ID;
+
+    /** Zostupné zoradenie. */
+    private boolean zostupne;
+
+    /**
+     * @return true, ak filter neobmedzuje žiadnu zmluvu (zoradenie sa nepočíta)
+     */
+    public boolean isPrazdny() {
+        return (druhPoistenia == null || druhPoistenia.isBlank())
+                && relation == null
+                && platnaOd == null
+                && platnaDo == null
+                && sumaOd == null
+                && sumaDo == null;
+    }
+
+    // ---------------------- Gettery a Settery ----------------------
+
+    public String getDruhPoistenia() {
+        return druhPoistenia;
+    }
+
+    public void setDruhPoistenia(String druhPoistenia) {
+        this.druhPoistenia = druhPoistenia;
+    }
+
+    public RelationType getRelation() {
+        return relation;
+    }
+
+    public void setRelation(RelationType relation) {
+        this.relation = relation;
+    }
+
+    public LocalDate getPlatnaOd() {
+        return platnaOd;
+    }
+
+    public void setPlatnaOd(LocalDate platnaOd) {
+        this.platnaOd = platnaOd;
+    }
+
+    public LocalDate getPlatnaDo() {
+        return platnaDo;
+    }
+
+    public void setPlatnaDo(LocalDate platnaDo) {
+        this.platnaDo = platnaDo;
+    }
+
+    public Double getSumaOd() {
+        return sumaOd;
+    }
+
+    public void setSumaOd(Double sumaOd) {
+        this.sumaOd = sumaOd;
+    }
+
+    public Double getSumaDo() {
+        return sumaDo;
+    }
+
+    public void setSumaDo(Double sumaDo) {
+        this.sumaDo = sumaDo;
+    }
+
+    public Razenie getRazenie() {
+        return razenie;
+    }
+
+    public void setRazenie(Razenie razenie) {
+        this.razenie = razenie == null ? Razenie.ID : razenie;
+    }
+
+    public boolean isZostupne() {
+        return zostupne;
+    }
+
+    public void setZostupne(boolean zostupne) {
+        this.zostupne = zostupne;
+    }
+}
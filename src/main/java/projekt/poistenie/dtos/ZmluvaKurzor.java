@@ -0,0 +1,104 @@
+package projekt.poistenie.dtos;
+
+import projekt.poistenie.dtos.ZmluvaFilterDTO.Razenie;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Kurzor stránkovania zoznamu zmlúv - pozícia v poradí (stĺpec zoradenia, id).
+ * V URL sa prenáša ako nepriehľadný reťazec (Base64).
+ */
+public final class ZmluvaKurzor {
+
+    /** Stĺpec zoradenia, pre ktorý kurzor platí. */
+    private final Razenie razenie;
+
+    /** Hodnota stĺpca zoradenia na hranici strany (pri zoradení podľa ID null). */
+    private final Comparable<?> hodnota;
+
+    /** ID zmluvy na hranici strany. */
+    private final long id;
+
+    /**
+     * Vytvorí kurzor.
+     *
+     * @param razenie stĺpec zoradenia
+     * @param hodnota hodnota stĺpca zoradenia
+     * @param id      ID zmluvy
+     */
+    public ZmluvaKurzor(Razenie razenie, Comparable<?> hodnota, long id) {
+        this.razenie = razenie;
+        this.hodnota = hodnota;
+        this.id = id;
+    }
+
+    /**
+     * Vytvorí kurzor na pozícii zmluvy pre dané zoradenie.
+     *
+     * @param razenie stĺpec zoradenia
+     * @param zmluva  zmluva na hranici strany
+     * @return kurzor
+     */
+    public static ZmluvaKurzor of(Razenie razenie, PoistnaZmluvaDTO zmluva) {
+        Comparable<?> hodnota = switch (razenie) {
+            case ID -> null;
+            case CISLO_ZMLUVY -> zmluva.getCisloZmluvy();
+            case DRUH_POISTENIA -> zmluva.getDruhPoistenia();
+            case PLATNOST_OD -> zmluva.getPlatnostOd();
+            case PLATNOST_DO -> zmluva.getPlatnostDo();
+            case SUMA -> zmluva.getSuma();
+        };
+        return new ZmluvaKurzor(razenie, hodnota, zmluva.getId());
+    }
+
+    /**
+     * Dekóduje kurzor z URL.
+     *
+     * @param hodnota zakódovaný kurzor
+     * @param razenie aktuálne zoradenie zoznamu
+     * @return kurzor alebo null, ak chýba, je neplatný alebo patrí inému zoradeniu
+     */
+    public static ZmluvaKurzor decode(String hodnota, Razenie razenie) {
+        if (hodnota == null || hodnota.isBlank()) {
+            return null;
+        }
+        try {
+            String[] casti = new String(Base64.getUrlDecoder().decode(hodnota), StandardCharsets.UTF_8).split(":", 3);
+            if (casti.length != 3 || Razenie.valueOf(casti[0]) != razenie) {
+                return null;
+            }
+            String text = casti[2];
+            Comparable<?> hodnotaStlpca = switch (razenie) {
+                case ID -> null;
+                case CISLO_ZMLUVY, DRUH_POISTENIA -> text;
+                case PLATNOST_OD, PLATNOST_DO -> LocalDate.parse(text);
+                case SUMA -> Double.valueOf(text);
+            };
+            return new ZmluvaKurzor(razenie, hodnotaStlpca, Long.parseLong(casti[1]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return kurzor zakódovaný pre URL
+     */
+    public String encode() {
+        String text = razenie.name() + ":" + id + ":" + (hodnota == null ? "" : hodnota);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Razenie getRazenie() {
+        return razenie;
+    }
+
+    public Comparable<?> getHodnota() {
+        return hodnota;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
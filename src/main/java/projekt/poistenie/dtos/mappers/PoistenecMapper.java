@@ -3,7 +3,9 @@ package projekt.poistenie.dtos.mappers;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistenecDetailDTO;
 import projekt.poistenie.entities.Poistenec;
+import projekt.poistenie.repository.PoistenecPrehlad;
 
 /**
  * MapStruct mapper pre konverziu medzi PoistenecDTO a Poistenec entitou.
@@ -30,6 +32,24 @@ public interface PoistenecMapper {
      */
     PoistenecDTO toDto(Poistenec source);
 
+    /**
+     * Premení projekciu poistenca na PoistenecDTO.
+     * Používa sa pri zobrazení zoznamu a detailu bez načítania entity.
+     *
+     * @param source projekcia načítaná z repozitára
+     * @return DTO pripravené pre šablónu alebo JSON odpoveď
+     */
+    PoistenecDTO toDto(PoistenecPrehlad source);
+
+    /**
+     * Premení projekciu poistenca na read model detailu.
+     * Zmluvy a počty udalostí dopĺňa služba z ďalšieho dopytu.
+     *
+     * @param source projekcia načítaná z repozitára
+     * @return detail poistenca bez zmlúv
+     */
+    PoistenecDetailDTO toDetailDto(PoistenecPrehlad source);
+
     /**
      * Aktualizuje existujúcu Poistenec entitu dátami z DTO.
      * Používa sa pri úprave existujúceho záznamu (update).
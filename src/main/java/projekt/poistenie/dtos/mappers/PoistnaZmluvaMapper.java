@@ -1,9 +1,12 @@
 package projekt.poistenie.dtos.mappers;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import projekt.poistenie.dtos.PoistnaZmluvaDTO;
 import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.repository.PoistnaZmluvaPrehlad;
+import projekt.poistenie.repository.ZmluvaPoistencaPrehlad;
 
 /**
  * Rozhranie pre mapovanie medzi entitou PoistnaZmluva a jej DTO objektom.
@@ -24,13 +27,38 @@ public interface PoistnaZmluvaMapper {
     PoistnaZmluva toEntity(PoistnaZmluvaDTO source);
 
     /**
-     * Konvertuje entitu na DTO objekt.
+     * Konvertuje entitu na DTO objekt vrátane ID a mena poistenca.
+     * Poistenec je LAZY, volajúci ho má načítať spolu so zmluvou (entity graph),
+     * inak prístup k menu spustí ďalší SELECT.
      *
      * @param source zdrojová entita poistnej zmluvy
      * @return novovytvorený DTO objekt s dátami z entity
      */
+    @Mapping(target = "poistenecId", source = "poistenec.id")
+    @Mapping(target = "poistenecMeno", source = "poistenec.meno")
+    @Mapping(target = "poistenecPriezvisko", source = "poistenec.priezvisko")
     PoistnaZmluvaDTO toDto(PoistnaZmluva source);
 
+    /**
+     * Konvertuje projekciu zmluvy na DTO objekt (zoznam a detail bez načítania entity).
+     *
+     * @param source projekcia poistnej zmluvy
+     * @return novovytvorený DTO objekt s dátami z projekcie
+     */
+    PoistnaZmluvaDTO toDto(PoistnaZmluvaPrehlad source);
+
+    /**
+     * Konvertuje projekciu zmluvy z detailu poistenca na DTO objekt.
+     * Poistenca dopĺňa volajúci, projekcia ho neobsahuje.
+     *
+     * @param source projekcia zmluvy s počtom udalostí
+     * @return novovytvorený DTO objekt s dátami z projekcie
+     */
+    @Mapping(target = "poistenecId", ignore = true)
+    @Mapping(target = "poistenecMeno", ignore = true)
+    @Mapping(target = "poistenecPriezvisko", ignore = true)
+    PoistnaZmluvaDTO toDto(ZmluvaPoistencaPrehlad source);
+
     /**
      * Aktualizuje existujúcu entitu PoistnaZmluva údajmi z DTO objektu.
      * Parameter @MappingTarget označuje cieľový objekt, ktorý sa má aktualizovať.
@@ -2,7 +2,12 @@ package projekt.poistenie.dtos.mappers;
 
 import org.springframework.stereotype.Component;
 import projekt.poistenie.dtos.StatistikyDTO;
+import projekt.poistenie.dtos.StatistikyHistoriaDTO;
 import projekt.poistenie.entities.Statistiky;
+import projekt.poistenie.entities.StatistikyHistoria;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
 
 /**
  * Mapper pre konverziu medzi entitou Statistiky a jej DTO objektom.
@@ -43,4 +48,67 @@ public class StatistikyMapper {
                 entity.getPocetUdalosti()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Vytvorí historický snímok z aktuálnych štatistík.
+     *
+     * @param dto aktuálne štatistiky
+     * @param granularita granularita snímku
+     * @param cas začiatok obdobia, ktoré snímok reprezentuje
+     * @return nová entita StatistikyHistoria
+     */
+    public StatistikyHistoria toHistoria(StatistikyDTO dto, StatistikyHistoria.Granularita granularita, LocalDateTime cas) {
+        StatistikyHistoria historia = new StatistikyHistoria();
+        historia.setGranularita(granularita);
+        historia.setCas(cas);
+        historia.setPocetPoistenych(dto.getPocetPoistenych());
+        historia.setPocetPoisteni(dto.getPocetPoisteni());
+        historia.setPocetUdalosti(dto.getPocetUdalosti());
+        historia.setAktivneZmluvy(dto.getAktivneZmluvy());
+        historia.setRozdeleniePodlaTypu(new HashMap<>(dto.getRozdeleniePodlaTypu()));
+        historia.setZmluvyPodlaStavu(new HashMap<>(dto.getZmluvyPodlaStavu()));
+        return historia;
+    }
+
+    /**
+     * Vytvorí kópiu snímku s inou granularitou a časom (pri zhrnutí hodinových snímkov do denného).
+     *
+     * @param zdroj pôvodný snímok
+     * @param granularita granularita nového snímku
+     * @param cas začiatok obdobia nového snímku
+     * @return nová entita StatistikyHistoria
+     */
+    public StatistikyHistoria copyHistoria(StatistikyHistoria zdroj, StatistikyHistoria.Granularita granularita, LocalDateTime cas) {
+        StatistikyHistoria historia = new StatistikyHistoria();
+        historia.setGranularita(granularita);
+        historia.setCas(cas);
+        historia.setPocetPoistenych(zdroj.getPocetPoistenych());
+        historia.setPocetPoisteni(zdroj.getPocetPoisteni());
+        historia.setPocetUdalosti(zdroj.getPocetUdalosti());
+        historia.setAktivneZmluvy(zdroj.getAktivneZmluvy());
+        historia.setRozdeleniePodlaTypu(new HashMap<>(zdroj.getRozdeleniePodlaTypu()));
+        historia.setZmluvyPodlaStavu(new HashMap<>(zdroj.getZmluvyPodlaStavu()));
+        return historia;
+    }
+
+    /**
+     * Konvertuje historický snímok na DTO pre API.
+     *
+     * @param entity historický snímok
+     * @return DTO s časom, granularitou a štatistikami snímku
+     */
+    public StatistikyHistoriaDTO toHistoriaDto(StatistikyHistoria entity) {
+        return new StatistikyHistoriaDTO(
+                entity.getCas(),
+                entity.getGranularita(),
+                new StatistikyDTO(
+                        entity.getPocetPoistenych(),
+                        entity.getPocetPoisteni(),
+                        entity.getPocetUdalosti(),
+                        entity.getRozdeleniePodlaTypu(),
+                        entity.getAktivneZmluvy(),
+                        entity.getZmluvyPodlaStavu()
+                )
+        );
+    }
+}
@@ -1,6 +1,13 @@
 package projekt.poistenie.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,17 +19,26 @@ import java.util.List;
 /**
  * Entita Account predstavuje používateľský účet v DB (tabuľka "accounts")
  * a implementuje UserDetails pre Spring Security.
+ *
+ * Účet sa pri prihlásení hľadá podľa e-mailu - e-mail je preto prirodzený kľúč
+ * a účet aj jeho e-mail sú v cache druhej úrovne (regióny "account" a "account-email").
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "account")
+@NaturalIdCache(region = "account-email")
 @Table(name = "accounts")
 public class Account implements UserDetails {
 
-    /** Primárny kľúč, auto-generovaný pri vložení záznamu. */
+    /** Primárny kľúč, pridelený z bloku sekvencie pri uložení. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "accounts_seq")
+    @GenericGenerator(name = "accounts_seq", type = PoolovySekvencnyGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "accounts_seq"))
     private Long id;
 
     /** E-mail používateľa, musí byť jedinečný a nesmie byť null. */
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -1,19 +1,42 @@
 package projekt.poistenie.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Entita Poistenec reprezentuje klienta v systéme.
  * Mapuje sa na tabuľku "poistenec" v databáze.
+ * Index nad (priezvisko, id) slúži stránkovaniu zoznamu poistencov podľa kurzora.
+ *
+ * Entita je v cache druhej úrovne (región "poistenec") a e-mail je prirodzený
+ * kľúč s vlastnou cache (región "poistenec-email"), takže opakované načítanie
+ * podľa id alebo e-mailu nejde do databázy.
+ *
+ * Jedinečnosť e-mailu vynucuje obmedzenie "uk_poistenec_email". Existujúcu databázu
+ * s duplicitnými e-mailmi treba pred nasadením zjednotiť skriptom
+ * db/poistenec-email-unikatny.sql (inak štart zastaví PoistenecEmailKontrola).
  */
 @Entity
-@Table(name = "poistenec")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "poistenec")
+@NaturalIdCache(region = "poistenec-email")
+@Table(name = "poistenec", indexes = {
+        @Index(name = "idx_poistenec_priezvisko_id", columnList = "priezvisko, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_poistenec_email", columnNames = "email"))
 public class Poistenec {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "poistenec_seq")
+    @GenericGenerator(name = "poistenec_seq", type = PoolovySekvencnyGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "poistenec_seq"))
     private Long id;
 
     /** Meno poistenca. */
@@ -22,7 +45,8 @@ public class Poistenec {
     /** Priezvisko poistenca. */
     private String priezvisko;
 
-    /** E-mail poistenca. */
+    /** E-mail poistenca - jedinečný prirodzený kľúč (meniteľný pri úprave poistenca). */
+    @NaturalId(mutable = true)
     private String email;
 
     /** Telefónne číslo poistenca. */
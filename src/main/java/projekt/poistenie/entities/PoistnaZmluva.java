@@ -1,6 +1,13 @@
 package projekt.poistenie.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -10,17 +17,32 @@ import java.util.List;
  * informácie o poistnej zmluve vrátane vzťahu k poistencovi a poistným udalostiam.
  *
  * Je mapovaná na tabuľku "poistne_zmluvy" v databáze.
+ * Indexy nad druhom poistenia a platnosťou slúžia agregačným dopytom štatistík,
+ * indexy nad koncom platnosti a sumou filtrovaniu a zoraďovaniu zoznamu zmlúv.
+ *
+ * Zmluva je v cache druhej úrovne (región "poistna-zmluva"), číslo zmluvy je
+ * prirodzený kľúč s cache v regióne "poistna-zmluva-cislo".
  */
 @Entity
-@Table(name = "poistne_zmluvy")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "poistna-zmluva")
+@NaturalIdCache(region = "poistna-zmluva-cislo")
+@Table(name = "poistne_zmluvy", indexes = {
+        @Index(name = "idx_zmluva_druh_poistenia", columnList = "druh_poistenia"),
+        @Index(name = "idx_zmluva_platnost", columnList = "platnost_od, platnost_do"),
+        @Index(name = "idx_zmluva_platnost_do", columnList = "platnost_do"),
+        @Index(name = "idx_zmluva_suma", columnList = "suma")
+})
 public class PoistnaZmluva {
 
     /**
      * Jedinečný identifikátor poistnej zmluvy.
-     * Hodnota je generovaná automaticky databázou pri vložení nového záznamu.
+     * Hodnota sa prideľuje z bloku sekvencie (PoolovySekvencnyGenerator).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "poistne_zmluvy_seq")
+    @GenericGenerator(name = "poistne_zmluvy_seq", type = PoolovySekvencnyGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "poistne_zmluvy_seq"))
     private Long id;
 
     /**
@@ -48,6 +70,7 @@ public class PoistnaZmluva {
      * Jedinečné číslo poistnej zmluvy.
      * Číslo musí byť unikátne v celej databáze a nesmie byť null.
      */
+    @NaturalId(mutable = true)
     @Column(name = "cislo_zmluvy", nullable = false, unique = true)
     private String cisloZmluvy;
 
@@ -0,0 +1,46 @@
+package projekt.poistenie.entities;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Generátor identifikátorov zo sekvencie s optimalizátorom "pooled".
+ *
+ * Jedno volanie NEXTVAL rezervuje blok VELKOST_ALOKACIE identifikátorov, ďalšie
+ * sa prideľujú v pamäti. Na rozdiel od GenerationType.IDENTITY Hibernate pozná id
+ * pred INSERT-om, môže ho odložiť do flush a poslať INSERT-y po dávkach
+ * (hibernate.jdbc.batch_size).
+ *
+ * Veľkosť bloku sa číta z nastavenia poistenie.id.allocation-size (v Spring Boot
+ * spring.jpa.properties.poistenie.id.allocation-size), takže sa nemusí meniť
+ * v anotáciách entít. Sekvencia v databáze musí mať rovnaký INCREMENT BY, inak
+ * Hibernate pri štarte zlyhá - pri zmene nastavenia treba sekvencie upraviť
+ * (ALTER SEQUENCE ... INCREMENT BY).
+ */
+public class PoolovySekvencnyGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Nastavenie s veľkosťou bloku identifikátorov.
+     */
+    public static final String VELKOST_ALOKACIE = "poistenie.id.allocation-size";
+
+    /**
+     * Veľkosť bloku, ak nie je nastavená (rovnaká ako predvolená v JPA).
+     */
+    public static final int PREDVOLENA_VELKOST_ALOKACIE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        ConfigurationService nastavenia = serviceRegistry.getService(ConfigurationService.class);
+        int velkost = nastavenia.getSetting(VELKOST_ALOKACIE, StandardConverters.INTEGER, PREDVOLENA_VELKOST_ALOKACIE);
+        parameters.putIfAbsent(INCREMENT_PARAM, String.valueOf(velkost));
+        parameters.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
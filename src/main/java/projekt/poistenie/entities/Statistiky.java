@@ -2,8 +2,24 @@ package projekt.poistenie.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
+/**
+ * Entita Statistiky predstavuje živé počítadlá pre dashboard štatistík.
+ * Tabuľka "statistiky" obsahuje jediný riadok, ktorý sa v rámci transakcií
+ * služieb pri každom vytvorení, úprave a vymazaní atomicky navyšuje alebo znižuje,
+ * takže čítanie štatistík nezávisí od počtu zmlúv v databáze.
+ *
+ * Rozdelenie zmlúv podľa typu poistenia je uložené v tabuľke
+ * "statistiky_podla_typu" (entita {@link StatistikyPodlaTypu}).
+ *
+ * Riadok nesie aj verziu dát - zvyšuje sa v transakcii každej zmeny, takže ju
+ * všetky inštancie aplikácie čítajú rovnakú (ETag a cache štatistík).
+ */
 @Entity
+@Table(name = "statistiky")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -11,7 +27,9 @@ import lombok.*;
 public class Statistiky {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "statistiky_seq")
+    @GenericGenerator(name = "statistiky_seq", type = PoolovySekvencnyGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "statistiky_seq"))
     private Long id;
 
     // Celkový počet poistencov
@@ -25,5 +43,8 @@ public class Statistiky {
     // Celkový počet poistných udalostí
     @Column(nullable = false)
     private long pocetUdalosti;
-}
 
+    // Verzia dát, z ktorých sa počítajú štatistiky
+    @Column(nullable = false)
+    private long verzia;
+}
@@ -0,0 +1,60 @@
+package projekt.poistenie.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Denný košík štatistík pre jeden druh poistenia (tabuľka "statistiky_den").
+ * Pre každý deň drží počet zmlúv, ktorým v ten deň začína platnosť, počet zmlúv,
+ * ktorým v ten deň platnosť končí (posledný platný deň), a počet poistných udalostí.
+ *
+ * Dopyty za obdobie sčítavajú košíky (prefixové súčty), takže ich cena závisí
+ * od počtu dní, nie od počtu zmlúv.
+ */
+@Entity
+@Table(name = "statistiky_den")
+@IdClass(StatistikyDen.Kluc.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistikyDen {
+
+    // Deň košíka
+    @Id
+    @Column(nullable = false)
+    private LocalDate den;
+
+    // Druh poistenia (rovnaká hodnota ako PoistnaZmluva.druhPoistenia)
+    @Id
+    @Column(name = "druh_poistenia", nullable = false)
+    private String druhPoistenia;
+
+    // Počet zmlúv s platnostOd v tento deň
+    @Column(nullable = false)
+    private long zaciatky;
+
+    // Počet zmlúv s platnostDo v tento deň
+    @Column(nullable = false)
+    private long konce;
+
+    // Počet poistných udalostí s dátumom v tento deň
+    @Column(nullable = false)
+    private long udalosti;
+
+    /**
+     * Zložený primárny kľúč košíka (deň + druh poistenia).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Kluc implements Serializable {
+        private LocalDate den;
+        private String druhPoistenia;
+    }
+}
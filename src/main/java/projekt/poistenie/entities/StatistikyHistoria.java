@@ -0,0 +1,72 @@
+package projekt.poistenie.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Historický snímok štatistík (tabuľka "statistiky_historia").
+ * Obsahuje tie isté hodnoty ako živé počítadlá {@link Statistiky} doplnené o rozdelenie
+ * podľa typu a stavu, uložené k času snímku. Rozdelenia sú uložené ako JSON priamo
+ * v riadku, takže čítanie trendu je jeden dopyt nad predpočítanými riadkami.
+ */
+@Entity
+@Table(name = "statistiky_historia",
+        uniqueConstraints = @UniqueConstraint(name = "uk_historia_granularita_cas", columnNames = {"granularita", "cas"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class StatistikyHistoria {
+
+    /** Granularita snímku - hodinové sa držia krátko, denné roky. */
+    public enum Granularita {
+        HODINA, DEN
+    }
+
+    @Id
+    @GeneratedValue(generator = "statistiky_historia_seq")
+    @GenericGenerator(name = "statistiky_historia_seq", type = PoolovySekvencnyGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "statistiky_historia_seq"))
+    private Long id;
+
+    // Granularita snímku
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularita granularita;
+
+    // Začiatok obdobia, ktoré snímok reprezentuje (celá hodina alebo deň)
+    @Column(nullable = false)
+    private LocalDateTime cas;
+
+    // Celkový počet poistencov
+    @Column(nullable = false)
+    private long pocetPoistenych;
+
+    // Celkový počet poistných zmlúv
+    @Column(nullable = false)
+    private long pocetPoisteni;
+
+    // Celkový počet poistných udalostí
+    @Column(nullable = false)
+    private long pocetUdalosti;
+
+    // Počet aktívnych zmlúv v čase snímku
+    @Column(nullable = false)
+    private long aktivneZmluvy;
+
+    // Rozdelenie zmlúv podľa typu poistenia
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Long> rozdeleniePodlaTypu = new HashMap<>();
+
+    // Rozdelenie zmlúv podľa stavu
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Long> zmluvyPodlaStavu = new HashMap<>();
+}
@@ -0,0 +1,27 @@
+package projekt.poistenie.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Počítadlo poistných zmlúv pre jeden druh poistenia.
+ * Každý riadok tabuľky "statistiky_podla_typu" drží aktuálny počet zmlúv
+ * daného druhu a aktualizuje sa spolu s počítadlami v {@link Statistiky}.
+ */
+@Entity
+@Table(name = "statistiky_podla_typu")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistikyPodlaTypu {
+
+    // Druh poistenia (rovnaká hodnota ako PoistnaZmluva.druhPoistenia)
+    @Id
+    @Column(name = "druh_poistenia")
+    private String druhPoistenia;
+
+    // Počet zmlúv daného druhu
+    @Column(nullable = false)
+    private long pocet;
+}
@@ -0,0 +1,55 @@
+package projekt.poistenie.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Ročný súhrn denných košíkov pre jeden druh poistenia (tabuľka "statistiky_rok").
+ * Drží súčet začiatkov a koncov platnosti zo všetkých košíkov daného roka a upravuje sa
+ * spolu s denným košíkom v tej istej transakcii.
+ *
+ * Počet platných zmlúv k dňu sa tak skladá z ročných súhrnov predchádzajúcich rokov
+ * a denných košíkov bežného roka - cena dopytu nerastie s dĺžkou histórie po dňoch.
+ */
+@Entity
+@Table(name = "statistiky_rok")
+@IdClass(StatistikyRok.Kluc.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistikyRok {
+
+    // Rok súhrnu
+    @Id
+    @Column(nullable = false)
+    private int rok;
+
+    // Druh poistenia (rovnaká hodnota ako PoistnaZmluva.druhPoistenia)
+    @Id
+    @Column(name = "druh_poistenia", nullable = false)
+    private String druhPoistenia;
+
+    // Počet zmlúv s platnostOd v tomto roku
+    @Column(nullable = false)
+    private long zaciatky;
+
+    // Počet zmlúv s platnostDo v tomto roku
+    @Column(nullable = false)
+    private long konce;
+
+    /**
+     * Zložený primárny kľúč súhrnu (rok + druh poistenia).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Kluc implements Serializable {
+        private int rok;
+        private String druhPoistenia;
+    }
+}
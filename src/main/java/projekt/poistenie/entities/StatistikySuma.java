@@ -0,0 +1,33 @@
+package projekt.poistenie.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Presné súhrny poistných súm pre jeden druh poistenia (tabuľka "statistiky_suma").
+ * Počet a súčet sa dajú pri pridaní aj odobratí zmluvy upraviť presne;
+ * percentily a extrémy sa čítajú zo sketchu v {@link StatistikySumaKos}.
+ */
+@Entity
+@Table(name = "statistiky_suma")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistikySuma {
+
+    // Druh poistenia (rovnaká hodnota ako PoistnaZmluva.druhPoistenia)
+    @Id
+    @Column(name = "druh_poistenia")
+    private String druhPoistenia;
+
+    // Počet zmlúv daného druhu
+    @Column(nullable = false)
+    private long pocet;
+
+    // Súčet poistných súm daného druhu v eurách
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal sucet;
+}
@@ -0,0 +1,49 @@
+package projekt.poistenie.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Jeden košík sketchu poistných súm (tabuľka "statistiky_suma_kos").
+ * Košíky majú logaritmicky rastúcu šírku (pozri SumaSketch), takže počet riadkov
+ * na druh poistenia je malý a ohraničený, a keďže sa len sčítavajú, sketch
+ * podporuje pridanie aj odobratie zmluvy a dá sa zlúčiť naprieč druhmi poistenia.
+ */
+@Entity
+@Table(name = "statistiky_suma_kos")
+@IdClass(StatistikySumaKos.Kluc.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistikySumaKos {
+
+    // Druh poistenia
+    @Id
+    @Column(name = "druh_poistenia", nullable = false)
+    private String druhPoistenia;
+
+    // Index košíka
+    @Id
+    @Column(nullable = false)
+    private int kos;
+
+    // Počet zmlúv, ktorých poistná suma padne do košíka
+    @Column(nullable = false)
+    private long pocet;
+
+    /**
+     * Zložený primárny kľúč košíka (druh poistenia + index košíka).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Kluc implements Serializable {
+        private String druhPoistenia;
+        private int kos;
+    }
+}
@@ -1,6 +1,9 @@
 package projekt.poistenie.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import java.time.LocalDate;
 
 /**
@@ -16,10 +19,12 @@ public class Udalost {
 
     /**
      * Jedinečný identifikátor poistnej udalosti.
-     * Hodnota je generovaná automaticky databázou pri vložení nového záznamu.
+     * Hodnota sa prideľuje z bloku sekvencie (PoolovySekvencnyGenerator).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "udalosti_seq")
+    @GenericGenerator(name = "udalosti_seq", type = PoolovySekvencnyGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "udalosti_seq"))
     private Long id;
 
     /**
@@ -0,0 +1,16 @@
+package projekt.poistenie.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Udalosť o vytvorení alebo zmene používateľského účtu (napr. roly).
+ * Nie je ZmenaDat - účty nevstupujú do štatistík ani verzie dát.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AccountZmenenyEvent {
+
+    private final TypZmeny typ;
+    private final String email;
+}
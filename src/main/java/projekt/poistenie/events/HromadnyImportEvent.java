@@ -0,0 +1,42 @@
+package projekt.poistenie.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+
+import java.util.List;
+
+/**
+ * Doménová udalosť o zapísaní jednej dávky hromadného importu. Importované záznamy
+ * sa neohlasujú jednotlivo - dávka sa zverejní v transakcii, v ktorej sa zapísala,
+ * a poslucháči z nej naraz premietnu všetky jej riadky (jeden súhrnný prírastok
+ * namiesto prestavby odvodených údajov z celej tabuľky).
+ */
+@Getter
+@RequiredArgsConstructor
+public class HromadnyImportEvent implements ZmenaDat {
+
+    private final List<PoistenecDTO> poistenci;
+    private final List<PoistnaZmluvaDTO> zmluvy;
+
+    /**
+     * Udalosť o dávke importovaných poistencov.
+     *
+     * @param poistenci zapísaní poistenci s pridelenými ID
+     * @return udalosť bez zmlúv
+     */
+    public static HromadnyImportEvent poistenci(List<PoistenecDTO> poistenci) {
+        return new HromadnyImportEvent(List.copyOf(poistenci), List.of());
+    }
+
+    /**
+     * Udalosť o dávke importovaných zmlúv.
+     *
+     * @param zmluvy zapísané zmluvy s pridelenými ID
+     * @return udalosť bez poistencov
+     */
+    public static HromadnyImportEvent zmluvy(List<PoistnaZmluvaDTO> zmluvy) {
+        return new HromadnyImportEvent(List.of(), List.copyOf(zmluvy));
+    }
+}
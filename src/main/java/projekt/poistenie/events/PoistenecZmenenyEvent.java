@@ -0,0 +1,18 @@
+package projekt.poistenie.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import projekt.poistenie.dtos.PoistenecDTO;
+
+/**
+ * Doménová udalosť o vytvorení, úprave alebo vymazaní poistenca.
+ * Nesie stav pred zmenou a po nej (pri vytvorení je "pred" null, pri vymazaní "po").
+ */
+@Getter
+@RequiredArgsConstructor
+public class PoistenecZmenenyEvent implements ZmenaDat {
+
+    private final TypZmeny typ;
+    private final PoistenecDTO pred;
+    private final PoistenecDTO po;
+}
@@ -0,0 +1,18 @@
+package projekt.poistenie.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Doménová udalosť o pridaní poistnej udalosti k zmluve.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PoistnaUdalostPridanaEvent implements ZmenaDat {
+
+    private final Long zmluvaId;
+    private final String druhPoistenia;
+    private final LocalDate datum;
+}
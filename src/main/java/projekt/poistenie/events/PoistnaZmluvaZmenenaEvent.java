@@ -0,0 +1,37 @@
+package projekt.poistenie.events;
+
+import lombok.Getter;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Doménová udalosť o vytvorení, úprave alebo vymazaní poistnej zmluvy.
+ * Nesie stav pred zmenou a po nej (pri vytvorení je "pred" null, pri vymazaní "po").
+ * Zmluvy zmazané kaskádou spolu s poistencom sa ohlasujú tiež, každá samostatne.
+ *
+ * Pri vymazaní nesie aj počty poistných udalostí zmluvy po dňoch - tie zaniknú
+ * kaskádou a po vymazaní sa už nedajú zistiť.
+ */
+@Getter
+public class PoistnaZmluvaZmenenaEvent implements ZmenaDat {
+
+    private final TypZmeny typ;
+    private final PoistnaZmluvaDTO pred;
+    private final PoistnaZmluvaDTO po;
+    private final Map<LocalDate, Long> udalostiPodlaDna;
+
+    public PoistnaZmluvaZmenenaEvent(TypZmeny typ, PoistnaZmluvaDTO pred, PoistnaZmluvaDTO po) {
+        this(typ, pred, po, Collections.emptyMap());
+    }
+
+    public PoistnaZmluvaZmenenaEvent(TypZmeny typ, PoistnaZmluvaDTO pred, PoistnaZmluvaDTO po,
+                                     Map<LocalDate, Long> udalostiPodlaDna) {
+        this.typ = typ;
+        this.pred = pred;
+        this.po = po;
+        this.udalostiPodlaDna = udalostiPodlaDna;
+    }
+}
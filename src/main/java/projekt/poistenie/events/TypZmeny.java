@@ -0,0 +1,8 @@
+package projekt.poistenie.events;
+
+/**
+ * Druh zmeny, ktorú doménová udalosť popisuje.
+ */
+public enum TypZmeny {
+    VYTVORENIE, UPRAVA, VYMAZANIE
+}
@@ -0,0 +1,9 @@
+package projekt.poistenie.events;
+
+/**
+ * Spoločné rozhranie doménových udalostí o zmene dát poistencov a zmlúv.
+ * Poslucháči, ktorých nezaujíma konkrétny druh zmeny (napr. cache štatistík),
+ * počúvajú priamo na toto rozhranie.
+ */
+public interface ZmenaDat {
+}
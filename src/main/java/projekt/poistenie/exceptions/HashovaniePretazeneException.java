@@ -0,0 +1,22 @@
+package projekt.poistenie.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Výnimka, ktorá sa vyhodí, keď je fronta hashovania hesiel plná alebo sa heslo
+ * nepodarí zahashovať v stanovenom čase.
+ * Vďaka anotácii @ResponseStatus vráti HTTP stav 503 (Service Unavailable).
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class HashovaniePretazeneException extends RuntimeException {
+
+    /**
+     * Vytvorí výnimku s vlastnou chybovou správou.
+     *
+     * @param message text, ktorý popisuje, prečo sa heslo nepodarilo spracovať
+     */
+    public HashovaniePretazeneException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package projekt.poistenie.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Výnimka pre súbor importu, ktorý sa nedá spracovať ako celok
+ * (chýbajúci stĺpec v hlavičke, poškodený CSV formát).
+ * Chyby jednotlivých riadkov sa hlásia vo výsledku importu, nie touto výnimkou.
+ * Mapuje sa na HTTP status 400 BAD REQUEST.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class NeplatnyImportException extends RuntimeException {
+
+    /**
+     * Konštruktor s definovanou chybovou správou.
+     *
+     * @param message detailná správa
+     */
+    public NeplatnyImportException(String message) {
+        super(message);
+    }
+}
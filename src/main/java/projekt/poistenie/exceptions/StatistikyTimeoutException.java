@@ -0,0 +1,21 @@
+package projekt.poistenie.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Výnimka, ktorá sa vyhodí, keď sa štatistiky nepodarí vypočítať v stanovenom čase.
+ * Vďaka anotácii @ResponseStatus vráti HTTP stav 503 (Service Unavailable).
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StatistikyTimeoutException extends RuntimeException {
+
+    /**
+     * Vytvorí výnimku s vlastnou chybovou správou.
+     *
+     * @param message text, ktorý popisuje, prečo sa štatistiky nepodarilo načítať
+     */
+    public StatistikyTimeoutException(String message) {
+        super(message);
+    }
+}
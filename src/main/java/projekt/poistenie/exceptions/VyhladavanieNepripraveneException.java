@@ -0,0 +1,21 @@
+package projekt.poistenie.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Výnimka, ktorá sa vyhodí, keď sa vyhľadávací index po štarte aplikácie ešte zostavuje.
+ * Vďaka anotácii @ResponseStatus vráti HTTP stav 503 (Service Unavailable).
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class VyhladavanieNepripraveneException extends RuntimeException {
+
+    /**
+     * Vytvorí výnimku s vlastnou chybovou správou.
+     *
+     * @param message text, ktorý popisuje, prečo sa nedá vyhľadávať
+     */
+    public VyhladavanieNepripraveneException(String message) {
+        super(message);
+    }
+}
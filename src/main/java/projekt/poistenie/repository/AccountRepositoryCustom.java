@@ -0,0 +1,19 @@
+package projekt.poistenie.repository;
+
+import projekt.poistenie.entities.Account;
+
+import java.util.Optional;
+
+/**
+ * Vyhľadávanie účtov podľa prirodzeného kľúča (e-mailu) cez cache druhej úrovne.
+ */
+public interface AccountRepositoryCustom {
+
+    /**
+     * Nájde účet podľa jedinečného e-mailu.
+     *
+     * @param email e-mail používateľa
+     * @return Optional obsahujúci nájdený Account alebo prázdny, ak neexistuje
+     */
+    Optional<Account> findByEmail(String email);
+}
@@ -0,0 +1,27 @@
+package projekt.poistenie.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.entities.Account;
+
+import java.util.Optional;
+
+/**
+ * Implementácia AccountRepositoryCustom nad natural-id API Hibernate.
+ * Opakované prihlásenia toho istého používateľa sa obslúžia z cache.
+ */
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Account> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Account.class)
+                .loadOptional(email);
+    }
+}
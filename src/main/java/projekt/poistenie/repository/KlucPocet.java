@@ -0,0 +1,18 @@
+package projekt.poistenie.repository;
+
+/**
+ * Projekcia pre agregačné dopyty typu GROUP BY.
+ * Spring Data namapuje aliasy "kluc" a "pocet" z dopytu na gettery rozhrania.
+ */
+public interface KlucPocet {
+
+    /**
+     * @return hodnota, podľa ktorej sa zoskupovalo (napr. druh poistenia)
+     */
+    String getKluc();
+
+    /**
+     * @return počet záznamov v skupine
+     */
+    Long getPocet();
+}
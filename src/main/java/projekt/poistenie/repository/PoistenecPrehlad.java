@@ -0,0 +1,19 @@
+package projekt.poistenie.repository;
+
+/**
+ * Projekcia poistenca na čítanie - len stĺpce, ktoré zobrazujú zoznam a detail.
+ * Načíta sa konštruktorovým výrazom v dopyte, takže Hibernate nevytvára spravovanú
+ * entitu ani jej snímku pre dirty checking a nenačítava vzťah na zmluvy.
+ *
+ * @param id         ID poistenca
+ * @param meno       meno
+ * @param priezvisko priezvisko
+ * @param email      e-mail
+ * @param telefon    telefónne číslo
+ * @param ulica      ulica
+ * @param mesto      mesto
+ * @param psc        PSČ
+ */
+public record PoistenecPrehlad(Long id, String meno, String priezvisko, String email,
+                               String telefon, String ulica, String mesto, String psc) {
+}
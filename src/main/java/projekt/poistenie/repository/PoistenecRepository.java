@@ -1,33 +1,150 @@
 package projekt.poistenie.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import projekt.poistenie.entities.Poistenec;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pre prácu s entitami Poistenec v databáze.
  * Rozširuje JpaRepository, čím získa metódy pre základné CRUD operácie:
  * - save(), findById(), findAll(), deleteById() a ďalšie.
+ * Zoznamy a detail sa čítajú ako projekcia PoistenecPrehlad, entity len pri zápise.
+ * Vyhľadanie a kontroly podľa e-mailu idú cez cache prirodzených kľúčov (PoistenecRepositoryCustom).
  */
-public interface PoistenecRepository extends JpaRepository<Poistenec, Long> {
+public interface PoistenecRepository extends JpaRepository<Poistenec, Long>, PoistenecRepositoryCustom {
 
     /**
-     * Vyhľadá poistenca podľa jeho e-mailu.
+     * Začiatok dopytov, ktoré vracajú projekciu PoistenecPrehlad namiesto entity.
+     */
+    String PREHLAD = "select new projekt.poistenie.repository.PoistenecPrehlad(" +
+            "p.id, p.meno, p.priezvisko, p.email, p.telefon, p.ulica, p.mesto, p.psc) from Poistenec p ";
+
+    /**
+     * Načíta poistenca na zobrazenie podľa ID.
      *
-     * @param email e-mail poistenca
-     * @return Optional obsahujúci Poistenec, ak existuje, inak prázdny
+     * @param id ID poistenca
+     * @return Optional s projekciou poistenca
      */
-    Optional<Poistenec> findByEmail(String email);
+    @Query(PREHLAD + "where p.id = :id")
+    Optional<PoistenecPrehlad> findPrehladById(@Param("id") long id);
 
     /**
-     * Overí, či poistencovi s daným ID patrí práve zadaný e-mail.
-     * Používa sa napr. na kontrolu vlastníctva záznamu.
+     * Overí v databáze (mimo cache), či má poistenec s daným ID tento e-mail.
+     * Poistenec sa hľadá podľa primárneho kľúča.
      *
      * @param id    ID poistenca
-     * @param email e-mail na overenie
-     * @return true, ak poistencovo ID aj e-mail zodpovedajú záznamu v DB
+     * @param email e-mail prihláseného používateľa
+     * @return true, ak poistenec existuje a má tento e-mail
+     */
+    @Query("select case when count(p) > 0 then true else false end from Poistenec p " +
+            "where p.id = :id and p.email = :email")
+    boolean maEmail(@Param("id") long id, @Param("email") String email);
+
+    /**
+     * Načíta poistenca na zobrazenie podľa e-mailu.
+     * Výsledok je v cache dopytov - prihlásený poistenec ho číta na každej stránke.
+     *
+     * @param email e-mail poistenca
+     * @return Optional s projekciou poistenca
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(PREHLAD + "where p.email = :email")
+    Optional<PoistenecPrehlad> findPrehladByEmail(@Param("email") String email);
+
+    /**
+     * Načíta poistencov na zobrazenie podľa zoznamu ID (poradie nie je zaručené).
+     *
+     * @param ids ID poistencov
+     * @return projekcie nájdených poistencov
+     */
+    @Query(PREHLAD + "where p.id in :ids")
+    List<PoistenecPrehlad> findPrehladyByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Načíta poistencov podľa zoznamu e-mailov (hromadný import - kontrola duplicít
+     * a priradenie zmlúv k poistencom).
+     *
+     * @param emaily e-maily poistencov
+     * @return projekcie nájdených poistencov
+     */
+    @Query(PREHLAD + "where p.email in :emaily")
+    List<PoistenecPrehlad> findPrehladyByEmailIn(@Param("emaily") Collection<String> emaily);
+
+    /**
+     * Načíta všetkých poistencov na zobrazenie.
+     *
+     * @return projekcie všetkých poistencov zoradené podľa ID
+     */
+    @Query(PREHLAD + "order by p.id")
+    List<PoistenecPrehlad> findPrehlady();
+
+    /**
+     * Prvá strana poistencov zoradených podľa priezviska a ID.
+     *
+     * @param strana veľkosť strany (číslo strany sa ignoruje, vždy 0)
+     * @return strana poistencov s informáciou, či existuje ďalšia
+     */
+    @Query(PREHLAD + "order by p.priezvisko asc, p.id asc")
+    Slice<PoistenecPrehlad> findPrvaStrana(Pageable strana);
+
+    /**
+     * Posledná strana poistencov - v opačnom poradí (od konca zoznamu).
+     *
+     * @param strana veľkosť strany
+     * @return strana poistencov v zostupnom poradí
+     */
+    @Query(PREHLAD + "order by p.priezvisko desc, p.id desc")
+    Slice<PoistenecPrehlad> findPoslednaStrana(Pageable strana);
+
+    /**
+     * Prúdovo načíta všetkých poistencov ako projekcie databázovým kurzorom (export).
+     * Ovládač číta po dávkach (fetch size), projekcie sa do persistence contextu
+     * nedostanú, takže pamäť nerastie s počtom riadkov. Volajúci musí byť
+     * v transakcii a stream zatvoriť.
+     *
+     * @return stream projekcií zoradený podľa ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(PREHLAD + "order by p.id")
+    Stream<PoistenecPrehlad> streamPrehlady();
+
+    /**
+     * Strana poistencov nasledujúcich za kurzorom (keyset / seek stránkovanie).
+     * Databáza začne čítať index (priezvisko, id) priamo na pozícii kurzora,
+     * takže cena nezávisí od toho, koľko strán je pred ňou.
+     *
+     * @param priezvisko priezvisko posledného poistenca predchádzajúcej strany
+     * @param id         ID posledného poistenca predchádzajúcej strany
+     * @param strana     veľkosť strany
+     * @return strana poistencov vo vzostupnom poradí
+     */
+    @Query(PREHLAD + "where p.priezvisko > :priezvisko " +
+            "or (p.priezvisko = :priezvisko and p.id > :id) " +
+            "order by p.priezvisko asc, p.id asc")
+    Slice<PoistenecPrehlad> findZaKurzorom(@Param("priezvisko") String priezvisko, @Param("id") long id, Pageable strana);
+
+    /**
+     * Strana poistencov pred kurzorom - v opačnom poradí (najbližší ku kurzoru prvý).
+     *
+     * @param priezvisko priezvisko prvého poistenca nasledujúcej strany
+     * @param id         ID prvého poistenca nasledujúcej strany
+     * @param strana     veľkosť strany
+     * @return strana poistencov v zostupnom poradí
      */
-    boolean existsByIdAndEmail(Long id, String email);
+    @Query(PREHLAD + "where p.priezvisko < :priezvisko " +
+            "or (p.priezvisko = :priezvisko and p.id < :id) " +
+            "order by p.priezvisko desc, p.id desc")
+    Slice<PoistenecPrehlad> findPredKurzorom(@Param("priezvisko") String priezvisko, @Param("id") long id, Pageable strana);
 
 }
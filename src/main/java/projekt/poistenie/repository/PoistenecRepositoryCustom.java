@@ -0,0 +1,38 @@
+package projekt.poistenie.repository;
+
+import projekt.poistenie.entities.Poistenec;
+
+import java.util.Optional;
+
+/**
+ * Vyhľadávanie poistencov podľa prirodzeného kľúča (e-mailu) cez cache druhej úrovne.
+ * Odvodené metódy Spring Data by každé volanie posielali do databázy ako dopyt.
+ */
+public interface PoistenecRepositoryCustom {
+
+    /**
+     * Vyhľadá poistenca podľa jeho e-mailu.
+     *
+     * @param email e-mail poistenca
+     * @return Optional obsahujúci Poistenec, ak existuje, inak prázdny
+     */
+    Optional<Poistenec> findByEmail(String email);
+
+    /**
+     * Overí, či poistencovi s daným ID patrí práve zadaný e-mail.
+     * Používa sa napr. na kontrolu vlastníctva záznamu.
+     *
+     * @param id    ID poistenca
+     * @param email e-mail na overenie
+     * @return true, ak poistencovo ID aj e-mail zodpovedajú záznamu v DB
+     */
+    boolean existsByIdAndEmail(Long id, String email);
+
+    /**
+     * Overí, či existuje poistenec s daným e-mailom.
+     *
+     * @param email e-mail poistenca
+     * @return true, ak poistenec existuje
+     */
+    boolean existsByEmail(String email);
+}
@@ -0,0 +1,43 @@
+package projekt.poistenie.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.entities.Poistenec;
+
+import java.util.Optional;
+
+/**
+ * Implementácia PoistenecRepositoryCustom nad natural-id API Hibernate.
+ *
+ * Prevod e-mailu na id sa najprv hľadá v cache prirodzených kľúčov a entita
+ * potom v cache entít, databáza sa pýta len pri prvom načítaní.
+ */
+public class PoistenecRepositoryCustomImpl implements PoistenecRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Poistenec> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Poistenec.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByIdAndEmail(Long id, String email) {
+        return findByEmail(email)
+                .map(poistenec -> poistenec.getId().equals(id))
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+}
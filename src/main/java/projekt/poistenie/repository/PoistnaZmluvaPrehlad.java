@@ -0,0 +1,27 @@
+package projekt.poistenie.repository;
+
+import projekt.poistenie.entities.RelationType;
+
+import java.time.LocalDate;
+
+/**
+ * Projekcia poistnej zmluvy na čítanie - len stĺpce, ktoré zobrazujú zoznam a detail.
+ * Meno a priezvisko poistenca sa načítajú spojením v tom istom dopyte, takže
+ * zoznam nepotrebuje ďalší SELECT na každý riadok.
+ *
+ * @param id            ID zmluvy
+ * @param cisloZmluvy   číslo zmluvy
+ * @param druhPoistenia druh poistenia
+ * @param platnostOd    začiatok platnosti
+ * @param platnostDo    koniec platnosti
+ * @param suma          poistná suma
+ * @param relation      vzťah poistenca k zmluve
+ * @param poistenecId   ID poistenca
+ * @param poistenecMeno meno poistenca
+ * @param poistenecPriezvisko priezvisko poistenca
+ */
+public record PoistnaZmluvaPrehlad(Long id, String cisloZmluvy, String druhPoistenia,
+                                   LocalDate platnostOd, LocalDate platnostDo, Double suma,
+                                   RelationType relation, Long poistenecId,
+                                   String poistenecMeno, String poistenecPriezvisko) {
+}
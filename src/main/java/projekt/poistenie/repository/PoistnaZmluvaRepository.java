@@ -1,19 +1,41 @@
 package projekt.poistenie.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import projekt.poistenie.entities.Poistenec;
 import projekt.poistenie.entities.PoistnaZmluva;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository rozhranie pre prácu s entitou PoistnaZmluva.
  * Rozširuje JpaRepository, čím získava základné CRUD operácie (create, read, update, delete)
  * a ďalšie funkcie pre prístup k údajom.
+ * Filtrovaný a stránkovaný zoznam a vyhľadávanie cez cache druhej úrovne
+ * poskytuje PoistnaZmluvaRepositoryCustom.
+ * Zoznamy a detail sa čítajú ako projekcia PoistnaZmluvaPrehlad, entity len pri zápise.
  */
 @Repository
-public interface PoistnaZmluvaRepository extends JpaRepository<PoistnaZmluva, Long> {
+public interface PoistnaZmluvaRepository extends JpaRepository<PoistnaZmluva, Long>, PoistnaZmluvaRepositoryCustom {
+
+    /**
+     * Začiatok dopytov, ktoré vracajú projekciu PoistnaZmluvaPrehlad namiesto entity.
+     * Meno poistenca sa číta spojením s tabuľkou poistencov v tom istom dopyte.
+     */
+    String PREHLAD = "select new projekt.poistenie.repository.PoistnaZmluvaPrehlad(" +
+            "z.id, z.cisloZmluvy, z.druhPoistenia, z.platnostOd, z.platnostDo, z.suma, z.relation, " +
+            "p.id, p.meno, p.priezvisko) " +
+            "from PoistnaZmluva z join z.poistenec p ";
 
     /**
      * Vyhľadá všetky poistné zmluvy patriace konkrétnemu poistencovi.
@@ -24,15 +46,175 @@ public interface PoistnaZmluvaRepository extends JpaRepository<PoistnaZmluva, Lo
     List<PoistnaZmluva> findByPoistenec(Poistenec poistenec);
 
     /**
-     * Overí, či existuje poistná zmluva s daným ID a zároveň patrí poistencovi
-     * s daným emailom.
-     * Táto metóda sa používa na kontrolu oprávnení - či má prihlásený používateľ
-     * prístup ku konkrétnej zmluve.
+     * Načíta zmluvu na zápis spolu s jej poistencom jedným dopytom (entity graph),
+     * aby stav zmluvy v doménovej udalosti nenačítal poistenca ďalším SELECT-om.
+     *
+     * @param id ID zmluvy
+     * @return Optional so zmluvou
+     */
+    @EntityGraph(attributePaths = "poistenec")
+    Optional<PoistnaZmluva> findWithPoistenecById(Long id);
+
+    /**
+     * Načíta zmluvu na zobrazenie podľa ID.
+     *
+     * @param id ID zmluvy
+     * @return Optional s projekciou zmluvy
+     */
+    @Query(PREHLAD + "where z.id = :id")
+    Optional<PoistnaZmluvaPrehlad> findPrehladById(@Param("id") long id);
+
+    /**
+     * Overí v databáze (mimo cache), či zmluva patrí poistencovi s daným e-mailom.
+     * Zmluva aj poistenec sa hľadajú podľa primárneho kľúča.
+     *
+     * @param id    ID zmluvy
+     * @param email e-mail poistenca
+     * @return true, ak zmluva existuje a patrí poistencovi s týmto e-mailom
+     */
+    @Query("select case when count(z) > 0 then true else false end from PoistnaZmluva z " +
+            "where z.id = :id and z.poistenec.email = :email")
+    boolean patriPoistencovi(@Param("id") long id, @Param("email") String email);
+
+    /**
+     * Načíta zmluvy poistenca s daným e-mailom na zobrazenie.
+     * Výsledok je v cache dopytov - prihlásený poistenec ho číta na každej stránke.
+     *
+     * @param email e-mail poistenca
+     * @return projekcie zmlúv zoradené podľa ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(PREHLAD + "where p.email = :email order by z.id")
+    List<PoistnaZmluvaPrehlad> findPrehladyByPoistenecEmail(@Param("email") String email);
+
+    /**
+     * Načíta zmluvy poistenca pre jeho detail spolu s počtom poistných udalostí
+     * každej zmluvy. Jeden dopyt s LEFT JOIN a GROUP BY bez ohľadu na počet zmlúv.
+     *
+     * @param poistenecId ID poistenca
+     * @return projekcie zmlúv s počtami udalostí zoradené podľa ID
+     */
+    @Query("select new projekt.poistenie.repository.ZmluvaPoistencaPrehlad(" +
+            "z.id, z.cisloZmluvy, z.druhPoistenia, z.platnostOd, z.platnostDo, z.suma, z.relation, count(u)) " +
+            "from PoistnaZmluva z left join z.udalosti u where z.poistenec.id = :poistenecId " +
+            "group by z.id, z.cisloZmluvy, z.druhPoistenia, z.platnostOd, z.platnostDo, z.suma, z.relation " +
+            "order by z.id")
+    List<ZmluvaPoistencaPrehlad> findPrehladySUdalostamiByPoistenecId(@Param("poistenecId") long poistenecId);
+
+    /**
+     * Načíta zmluvy na zobrazenie podľa zoznamu ID (poradie nie je zaručené).
+     *
+     * @param ids ID zmlúv
+     * @return projekcie nájdených zmlúv
+     */
+    @Query(PREHLAD + "where z.id in :ids")
+    List<PoistnaZmluvaPrehlad> findPrehladyByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Načíta všetky zmluvy na zobrazenie.
+     *
+     * @return projekcie všetkých zmlúv zoradené podľa ID
+     */
+    @Query(PREHLAD + "order by z.id")
+    List<PoistnaZmluvaPrehlad> findPrehlady();
+
+    /**
+     * Prúdovo načíta všetky poistné zmluvy databázovým kurzorom.
+     * Ovládač číta po dávkach (fetch size) a entity sa načítajú len na čítanie
+     * (bez snímok pre dirty checking) a mimo cache druhej úrovne, aby prechod
+     * celou tabuľkou nevytlačil z regiónu "poistna-zmluva" často čítané zmluvy.
+     * Volajúci musí byť v transakcii, stream zatvoriť a spracované entity
+     * odpájať z persistence contextu.
      *
-     * @param id identifikátor poistnej zmluvy
-     * @param email email poistenca
-     * @return true ak existuje zmluva s daným ID patriaca poistencovi s daným emailom, inak false
+     * @return stream všetkých zmlúv
      */
-    boolean existsByIdAndPoistenecEmail(Long id, String email);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select z from PoistnaZmluva z")
+    Stream<PoistnaZmluva> streamAll();
 
-}
\ No newline at end of file
+    /**
+     * Vráti tie zo zadaných čísel zmlúv, ktoré už v databáze existujú (hromadný import).
+     *
+     * @param cisla čísla zmlúv
+     * @return existujúce čísla zmlúv
+     */
+    @Query("select z.cisloZmluvy from PoistnaZmluva z where z.cisloZmluvy in :cisla")
+    List<String> findExistujuceCisla(@Param("cisla") Collection<String> cisla);
+
+    /**
+     * Prúdovo načíta všetky zmluvy ako projekcie databázovým kurzorom (export).
+     * Ovládač číta po dávkach (fetch size), projekcie sa do persistence contextu
+     * nedostanú, takže pamäť nerastie s počtom riadkov. Volajúci musí byť
+     * v transakcii a stream zatvoriť.
+     *
+     * @return stream projekcií zoradený podľa ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(PREHLAD + "order by z.id")
+    Stream<PoistnaZmluvaPrehlad> streamPrehlady();
+
+    /**
+     * Spočíta zmluvy podľa druhu poistenia priamo v databáze.
+     *
+     * @return dvojice druh poistenia - počet zmlúv
+     */
+    @Query("select z.druhPoistenia as kluc, count(z) as pocet from PoistnaZmluva z group by z.druhPoistenia")
+    List<KlucPocet> countByDruhPoistenia();
+
+    /**
+     * Spočíta zmluvy daného poistenca podľa druhu poistenia.
+     *
+     * @param poistenecId ID poistenca
+     * @return dvojice druh poistenia - počet zmlúv
+     */
+    @Query("select z.druhPoistenia as kluc, count(z) as pocet from PoistnaZmluva z " +
+            "where z.poistenec.id = :poistenecId group by z.druhPoistenia")
+    List<KlucPocet> countByDruhPoisteniaForPoistenec(@Param("poistenecId") Long poistenecId);
+
+    /**
+     * Spočíta všetky poistné udalosti v systéme.
+     *
+     * @return počet poistných udalostí
+     */
+    @Query("select count(u) from Udalost u")
+    long countUdalosti();
+
+    /**
+     * Spočíta poistné udalosti jednej zmluvy po dňoch.
+     *
+     * @param zmluvaId ID poistnej zmluvy
+     * @return počty udalostí zmluvy podľa dátumu
+     */
+    @Query("select u.poistnaZmluva.id as zmluvaId, u.datum as datum, count(u) as pocet from Udalost u " +
+            "where u.poistnaZmluva.id = :zmluvaId group by u.poistnaZmluva.id, u.datum")
+    List<UdalostiPocet> countUdalostiPodlaDnaByZmluvaId(@Param("zmluvaId") Long zmluvaId);
+
+    /**
+     * Spočíta poistné udalosti na všetkých zmluvách poistenca po zmluvách a dňoch.
+     *
+     * @param poistenecId ID poistenca
+     * @return počty udalostí podľa zmluvy a dátumu
+     */
+    @Query("select u.poistnaZmluva.id as zmluvaId, u.datum as datum, count(u) as pocet from Udalost u " +
+            "where u.poistnaZmluva.poistenec.id = :poistenecId group by u.poistnaZmluva.id, u.datum")
+    List<UdalostiPocet> countUdalostiPodlaDnaByPoistenecId(@Param("poistenecId") Long poistenecId);
+
+    /**
+     * Rozdelí zmluvy podľa stavu voči zadanému dátumu priamo v databáze.
+     * Stav sa určuje výrazom CASE nad stĺpcami platnost_od a platnost_do,
+     * takže databáza vráti najviac tri riadky namiesto celej tabuľky.
+     *
+     * @param datum referenčný dátum (spravidla dnešný deň)
+     * @return dvojice stav (AKTIVNA, CAKAJUCA, EXPIROVANA) - počet zmlúv
+     */
+    @Query(value = "SELECT CASE " +
+            "WHEN platnost_od > :datum THEN 'CAKAJUCA' " +
+            "WHEN platnost_do < :datum THEN 'EXPIROVANA' " +
+            "ELSE 'AKTIVNA' END AS kluc, COUNT(*) AS pocet " +
+            "FROM poistne_zmluvy GROUP BY kluc", nativeQuery = true)
+    List<KlucPocet> countByStav(@Param("datum") LocalDate datum);
+}
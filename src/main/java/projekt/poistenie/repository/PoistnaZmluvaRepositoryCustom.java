@@ -0,0 +1,57 @@
+package projekt.poistenie.repository;
+
+import projekt.poistenie.dtos.ZmluvaFilterDTO;
+import projekt.poistenie.dtos.ZmluvaKurzor;
+import projekt.poistenie.entities.PoistnaZmluva;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Dopyty nad poistnými zmluvami s dynamickým filtrom, ktoré sa nedajú
+ * vyjadriť odvodenými metódami ani jedným pevným @Query, a čítania
+ * obsluhované z cache druhej úrovne.
+ */
+public interface PoistnaZmluvaRepositoryCustom {
+
+    /**
+     * Načíta jednu stranu zmlúv vyhovujúcich filtru podľa kurzora (keyset stránkovanie).
+     *
+     * @param filter filter a zoradenie
+     * @param kurzor pozícia, za ktorou (resp. pred ktorou) strana začína, alebo null
+     * @param dozadu true pre stranu pred kurzorom - vráti sa v opačnom poradí
+     * @param limit  najväčší počet načítaných zmlúv
+     * @return projekcie zmlúv v poradí čítania
+     */
+    List<PoistnaZmluvaPrehlad> findStrana(ZmluvaFilterDTO filter, ZmluvaKurzor kurzor, boolean dozadu, int limit);
+
+    /**
+     * Spočíta zmluvy vyhovujúce filtru, najviac však po limit. Databáza prestane
+     * čítať po limit-tej zhode, takže cena nezávisí od počtu všetkých zhôd.
+     *
+     * @param filter filter (zoradenie sa ignoruje)
+     * @param limit  najväčší vrátený počet
+     * @return počet zmlúv, najviac limit
+     */
+    long countByFilter(ZmluvaFilterDTO filter, int limit);
+
+    /**
+     * Vyhľadá zmluvu podľa jej čísla (prirodzený kľúč, cez cache).
+     *
+     * @param cisloZmluvy číslo poistnej zmluvy
+     * @return Optional so zmluvou alebo prázdny, ak neexistuje
+     */
+    Optional<PoistnaZmluva> findByCisloZmluvy(String cisloZmluvy);
+
+    /**
+     * Overí, či existuje poistná zmluva s daným ID a zároveň patrí poistencovi
+     * s daným emailom.
+     * Táto metóda sa používa na kontrolu oprávnení - či má prihlásený používateľ
+     * prístup ku konkrétnej zmluve.
+     *
+     * @param id identifikátor poistnej zmluvy
+     * @param email email poistenca
+     * @return true ak existuje zmluva s daným ID patriaca poistencovi s daným emailom, inak false
+     */
+    boolean existsByIdAndPoistenecEmail(Long id, String email);
+}
@@ -0,0 +1,155 @@
+package projekt.poistenie.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.dtos.ZmluvaFilterDTO;
+import projekt.poistenie.dtos.ZmluvaFilterDTO.Razenie;
+import projekt.poistenie.dtos.ZmluvaKurzor;
+import projekt.poistenie.entities.Poistenec;
+import projekt.poistenie.entities.PoistnaZmluva;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementácia PoistnaZmluvaRepositoryCustom pomocou Criteria API.
+ *
+ * Strana sa číta podmienkou "za kurzorom" nad dvojicou (stĺpec zoradenia, id)
+ * a LIMIT-om, nie posunom (OFFSET), takže databáza nemusí prechádzať riadky
+ * predchádzajúcich strán. Vyberajú sa len zobrazované stĺpce do projekcie
+ * PoistnaZmluvaPrehlad, nie celé entity, a meno poistenca sa pripojí v tom
+ * istom dopyte.
+ *
+ * Čítania podľa id a čísla zmluvy idú cez cache druhej úrovne (entita
+ * a prirodzený kľúč), preto potrebujú otvorenú session aj mimo služieb.
+ */
+public class PoistnaZmluvaRepositoryCustomImpl implements PoistnaZmluvaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PoistnaZmluvaPrehlad> findStrana(ZmluvaFilterDTO filter, ZmluvaKurzor kurzor, boolean dozadu, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PoistnaZmluvaPrehlad> query = cb.createQuery(PoistnaZmluvaPrehlad.class);
+        Root<PoistnaZmluva> zmluva = query.from(PoistnaZmluva.class);
+
+        // Pri čítaní dozadu sa poradie otočí a volajúci výsledok otočí späť
+        boolean zostupne = filter.isZostupne() != dozadu;
+        Path<?> stlpec = zmluva.get(filter.getRazenie().getAtribut());
+        Path<Long> id = zmluva.get("id");
+        Join<PoistnaZmluva, Poistenec> poistenec = zmluva.join("poistenec");
+
+        List<Predicate> podmienky = podmienky(cb, zmluva, filter);
+        if (kurzor != null && kurzor.getRazenie() == filter.getRazenie()) {
+            podmienky.add(zaKurzorom(cb, stlpec, id, kurzor, zostupne));
+        }
+
+        query.select(cb.construct(PoistnaZmluvaPrehlad.class,
+                        id,
+                        zmluva.get("cisloZmluvy"),
+                        zmluva.get("druhPoistenia"),
+                        zmluva.get("platnostOd"),
+                        zmluva.get("platnostDo"),
+                        zmluva.get("suma"),
+                        zmluva.get("relation"),
+                        poistenec.get("id"),
+                        poistenec.get("meno"),
+                        poistenec.get("priezvisko")))
+                .where(podmienky.toArray(new Predicate[0]))
+                .orderBy(zostupne ? cb.desc(stlpec) : cb.asc(stlpec),
+                        zostupne ? cb.desc(id) : cb.asc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Namiesto COUNT(*) nad všetkými zhodami sa čítajú id s LIMIT-om - najviac
+     * limit čísel z indexu.
+     */
+    @Override
+    public long countByFilter(ZmluvaFilterDTO filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<PoistnaZmluva> zmluva = query.from(PoistnaZmluva.class);
+        query.select(zmluva.get("id"))
+                .where(podmienky(cb, zmluva, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PoistnaZmluva> findByCisloZmluvy(String cisloZmluvy) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(PoistnaZmluva.class)
+                .loadOptional(cisloZmluvy);
+    }
+
+    /**
+     * Zmluva aj jej poistenec sa načítajú podľa id, teda z cache entít.
+     * E-mail sa porovnáva bez ohľadu na veľkosť písmen ako v databáze.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByIdAndPoistenecEmail(Long id, String email) {
+        PoistnaZmluva zmluva = entityManager.find(PoistnaZmluva.class, id);
+        return zmluva != null && zmluva.getPoistenec().getEmail().equalsIgnoreCase(email);
+    }
+
+    /**
+     * Preloží filter na podmienky WHERE. Obdobie platnosti sa porovnáva na prekrytie:
+     * zmluva vyhovuje, ak platí aspoň v jeden deň obdobia.
+     */
+    private static List<Predicate> podmienky(CriteriaBuilder cb, Root<PoistnaZmluva> zmluva, ZmluvaFilterDTO filter) {
+        List<Predicate> podmienky = new ArrayList<>();
+        if (filter.getDruhPoistenia() != null && !filter.getDruhPoistenia().isBlank()) {
+            podmienky.add(cb.equal(zmluva.get("druhPoistenia"), filter.getDruhPoistenia().trim()));
+        }
+        if (filter.getRelation() != null) {
+            podmienky.add(cb.equal(zmluva.get("relation"), filter.getRelation()));
+        }
+        if (filter.getPlatnaOd() != null) {
+            podmienky.add(cb.greaterThanOrEqualTo(zmluva.get("platnostDo"), filter.getPlatnaOd()));
+        }
+        if (filter.getPlatnaDo() != null) {
+            podmienky.add(cb.lessThanOrEqualTo(zmluva.get("platnostOd"), filter.getPlatnaDo()));
+        }
+        if (filter.getSumaOd() != null) {
+            podmienky.add(cb.greaterThanOrEqualTo(zmluva.get("suma"), filter.getSumaOd()));
+        }
+        if (filter.getSumaDo() != null) {
+            podmienky.add(cb.lessThanOrEqualTo(zmluva.get("suma"), filter.getSumaDo()));
+        }
+        return podmienky;
+    }
+
+    /**
+     * Podmienka "za kurzorom": (stĺpec, id) &gt; (hodnota, idKurzora), pri zostupnom poradí &lt;.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate zaKurzorom(CriteriaBuilder cb, Path<?> stlpec, Path<Long> id,
+                                        ZmluvaKurzor kurzor, boolean zostupne) {
+        Predicate zaId = zostupne ? cb.lessThan(id, kurzor.getId()) : cb.greaterThan(id, kurzor.getId());
+        if (kurzor.getRazenie() == Razenie.ID) {
+            return zaId;
+        }
+        Expression<Comparable> hodnotaStlpca = (Expression<Comparable>) stlpec;
+        Comparable hodnota = kurzor.getHodnota();
+        Predicate zaHodnotou = zostupne ? cb.lessThan(hodnotaStlpca, hodnota) : cb.greaterThan(hodnotaStlpca, hodnota);
+        return cb.or(zaHodnotou, cb.and(cb.equal(stlpec, hodnota), zaId));
+    }
+}
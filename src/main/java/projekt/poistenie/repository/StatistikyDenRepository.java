@@ -0,0 +1,173 @@
+package projekt.poistenie.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import projekt.poistenie.entities.StatistikyDen;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository pre denné košíky štatistík a ich ročné súhrny (tabuľka "statistiky_rok").
+ * Zápisy sú atomické upserty (MariaDB), čítania sčítavajú košíky za obdobie.
+ */
+public interface StatistikyDenRepository extends CrudRepository<StatistikyDen, StatistikyDen.Kluc> {
+
+    /**
+     * Atomicky zmení počítadlá košíka pre daný deň a druh poistenia, prípadne ho založí.
+     *
+     * @param den      deň košíka
+     * @param druh     druh poistenia
+     * @param zaciatky zmena počtu začínajúcich zmlúv
+     * @param konce    zmena počtu končiacich zmlúv
+     * @param udalosti zmena počtu udalostí
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_den"))
+    @Query(value = "INSERT INTO statistiky_den (den, druh_poistenia, zaciatky, konce, udalosti) " +
+            "VALUES (:den, :druh, :zaciatky, :konce, :udalosti) " +
+            "ON DUPLICATE KEY UPDATE zaciatky = zaciatky + :zaciatky, konce = konce + :konce, " +
+            "udalosti = udalosti + :udalosti", nativeQuery = true)
+    void increment(@Param("den") LocalDate den,
+                   @Param("druh") String druh,
+                   @Param("zaciatky") long zaciatky,
+                   @Param("konce") long konce,
+                   @Param("udalosti") long udalosti);
+
+    /**
+     * Atomicky zmení ročný súhrn začiatkov a koncov pre daný rok a druh poistenia,
+     * prípadne ho založí. Volá sa spolu s {@link #increment} pre deň z toho roka.
+     *
+     * @param rok      rok súhrnu
+     * @param druh     druh poistenia
+     * @param zaciatky zmena počtu začínajúcich zmlúv
+     * @param konce    zmena počtu končiacich zmlúv
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_rok"))
+    @Query(value = "INSERT INTO statistiky_rok (rok, druh_poistenia, zaciatky, konce) " +
+            "VALUES (:rok, :druh, :zaciatky, :konce) " +
+            "ON DUPLICATE KEY UPDATE zaciatky = zaciatky + :zaciatky, konce = konce + :konce", nativeQuery = true)
+    void incrementRok(@Param("rok") int rok,
+                      @Param("druh") String druh,
+                      @Param("zaciatky") long zaciatky,
+                      @Param("konce") long konce);
+
+    /**
+     * Spočíta zmluvy platné k danému dňu podľa druhu poistenia:
+     * začaté najneskôr v ten deň mínus skončené pred ním.
+     * Roky pred rokom dátumu sa berú z ročných súhrnov, z denných košíkov sa čítajú
+     * len dni bežného roka (najviac 366 košíkov na druh poistenia).
+     *
+     * @param datum deň, ku ktorému sa platnosť určuje
+     * @return dvojice druh poistenia - počet platných zmlúv
+     */
+    @Query(value = "SELECT druh_poistenia AS kluc, SUM(pocet) AS pocet FROM (" +
+            "SELECT druh_poistenia, zaciatky - konce AS pocet FROM statistiky_rok WHERE rok < YEAR(:datum) " +
+            "UNION ALL " +
+            "SELECT druh_poistenia, zaciatky - CASE WHEN den < :datum THEN konce ELSE 0 END AS pocet " +
+            "FROM statistiky_den WHERE den BETWEEN MAKEDATE(YEAR(:datum), 1) AND :datum" +
+            ") t GROUP BY druh_poistenia", nativeQuery = true)
+    List<KlucPocet> countAktivneKDatumu(@Param("datum") LocalDate datum);
+
+    /**
+     * Spočíta zmluvy, ktorým začala platnosť v danom období, podľa druhu poistenia.
+     *
+     * @param od     prvý deň obdobia (vrátane)
+     * @param doDna  posledný deň obdobia (vrátane)
+     * @return dvojice druh poistenia - počet nových zmlúv
+     */
+    @Query("select d.druhPoistenia as kluc, sum(d.zaciatky) as pocet from StatistikyDen d " +
+            "where d.den between :od and :doDna group by d.druhPoistenia")
+    List<KlucPocet> countNoveZmluvy(@Param("od") LocalDate od, @Param("doDna") LocalDate doDna);
+
+    /**
+     * Spočíta poistné udalosti v danom období podľa mesiacov (kľúč "RRRR-MM").
+     *
+     * @param od     prvý deň obdobia (vrátane)
+     * @param doDna  posledný deň obdobia (vrátane)
+     * @return dvojice mesiac - počet udalostí
+     */
+    @Query(value = "SELECT DATE_FORMAT(den, '%Y-%m') AS kluc, SUM(udalosti) AS pocet FROM statistiky_den " +
+            "WHERE den BETWEEN :od AND :doDna AND udalosti <> 0 GROUP BY kluc", nativeQuery = true)
+    List<KlucPocet> countUdalostiPodlaMesiacov(@Param("od") LocalDate od, @Param("doDna") LocalDate doDna);
+
+    /**
+     * Vráti ľubovoľný košík - slúži na zistenie, či už boli košíky zostavené.
+     *
+     * @return Optional s prvým košíkom alebo prázdny, ak je tabuľka prázdna
+     */
+    Optional<StatistikyDen> findFirstByOrderByDenAsc();
+
+    /**
+     * Zistí, či existuje aspoň jeden ročný súhrn.
+     *
+     * @return true, ak tabuľka "statistiky_rok" nie je prázdna
+     */
+    @Query("select case when count(r) > 0 then true else false end from StatistikyRok r")
+    boolean existujeRocnySuhrn();
+
+    /**
+     * Vymaže všetky košíky (pred prestavbou).
+     */
+    @Modifying
+    @Query("delete from StatistikyDen d")
+    void deleteVsetky();
+
+    /**
+     * Vymaže všetky ročné súhrny (pred prestavbou).
+     */
+    @Modifying
+    @Query("delete from StatistikyRok r")
+    void deleteVsetkyRoky();
+
+    /**
+     * Naplní začiatky platnosti zo zmlúv jedným agregačným dopytom.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_den"))
+    @Query(value = "INSERT INTO statistiky_den (den, druh_poistenia, zaciatky, konce, udalosti) " +
+            "SELECT platnost_od, druh_poistenia, COUNT(*), 0, 0 FROM poistne_zmluvy " +
+            "GROUP BY platnost_od, druh_poistenia " +
+            "ON DUPLICATE KEY UPDATE zaciatky = VALUES(zaciatky)", nativeQuery = true)
+    void rebuildZaciatky();
+
+    /**
+     * Naplní konce platnosti zo zmlúv jedným agregačným dopytom.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_den"))
+    @Query(value = "INSERT INTO statistiky_den (den, druh_poistenia, zaciatky, konce, udalosti) " +
+            "SELECT platnost_do, druh_poistenia, 0, COUNT(*), 0 FROM poistne_zmluvy " +
+            "GROUP BY platnost_do, druh_poistenia " +
+            "ON DUPLICATE KEY UPDATE konce = VALUES(konce)", nativeQuery = true)
+    void rebuildKonce();
+
+    /**
+     * Naplní počty poistných udalostí jedným agregačným dopytom.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_den"))
+    @Query(value = "INSERT INTO statistiky_den (den, druh_poistenia, zaciatky, konce, udalosti) " +
+            "SELECT u.datum, z.druh_poistenia, 0, 0, COUNT(*) FROM udalosti u " +
+            "JOIN poistne_zmluvy z ON z.id = u.zmluva_id " +
+            "GROUP BY u.datum, z.druh_poistenia " +
+            "ON DUPLICATE KEY UPDATE udalosti = VALUES(udalosti)", nativeQuery = true)
+    void rebuildUdalosti();
+
+    /**
+     * Naplní ročné súhrny z denných košíkov jedným agregačným dopytom.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_rok"))
+    @Query(value = "INSERT INTO statistiky_rok (rok, druh_poistenia, zaciatky, konce) " +
+            "SELECT YEAR(den), druh_poistenia, SUM(zaciatky), SUM(konce) FROM statistiky_den " +
+            "GROUP BY YEAR(den), druh_poistenia", nativeQuery = true)
+    void rebuildRoky();
+}
@@ -0,0 +1,71 @@
+package projekt.poistenie.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import projekt.poistenie.entities.StatistikyHistoria;
+import projekt.poistenie.entities.StatistikyHistoria.Granularita;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository pre historické snímky štatistík.
+ * Všetky dopyty idú len nad tabuľkou "statistiky_historia" (index granularita + čas),
+ * nikdy nie nad živými tabuľkami zmlúv.
+ */
+public interface StatistikyHistoriaRepository extends JpaRepository<StatistikyHistoria, Long> {
+
+    /**
+     * Vráti snímky danej granularity v zadanom časovom rozsahu zoradené podľa času.
+     *
+     * @param granularita granularita snímkov
+     * @param od          začiatok rozsahu (vrátane)
+     * @param doCasu      koniec rozsahu (vrátane)
+     * @return zoznam snímkov
+     */
+    List<StatistikyHistoria> findByGranularitaAndCasBetweenOrderByCasAsc(Granularita granularita,
+                                                                        LocalDateTime od,
+                                                                        LocalDateTime doCasu);
+
+    /**
+     * Overí, či snímok pre daný čas a granularitu už existuje.
+     *
+     * @param granularita granularita snímku
+     * @param cas         začiatok obdobia snímku
+     * @return true, ak snímok existuje
+     */
+    boolean existsByGranularitaAndCas(Granularita granularita, LocalDateTime cas);
+
+    /**
+     * Vráti najstarší snímok danej granularity.
+     *
+     * @param granularita granularita snímku
+     * @return Optional s najstarším snímkom
+     */
+    Optional<StatistikyHistoria> findFirstByGranularitaOrderByCasAsc(Granularita granularita);
+
+    /**
+     * Vráti posledný snímok danej granularity v polootvorenom intervale [od, doCasu).
+     *
+     * @param granularita granularita snímku
+     * @param od          začiatok intervalu (vrátane)
+     * @param doCasu      koniec intervalu (bez)
+     * @return Optional s posledným snímkom v intervale
+     */
+    Optional<StatistikyHistoria> findFirstByGranularitaAndCasGreaterThanEqualAndCasLessThanOrderByCasDesc(
+            Granularita granularita, LocalDateTime od, LocalDateTime doCasu);
+
+    /**
+     * Vymaže snímky danej granularity staršie ako zadaná hranica (retencia).
+     *
+     * @param granularita granularita snímkov
+     * @param hranica     snímky s časom pred touto hranicou sa vymažú
+     * @return počet vymazaných snímkov
+     */
+    @Modifying
+    @Query("delete from StatistikyHistoria h where h.granularita = :granularita and h.cas < :hranica")
+    int deleteOlderThan(@Param("granularita") Granularita granularita, @Param("hranica") LocalDateTime hranica);
+}
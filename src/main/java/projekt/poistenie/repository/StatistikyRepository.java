@@ -1,17 +1,117 @@
 package projekt.poistenie.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import projekt.poistenie.entities.Statistiky;
+import projekt.poistenie.entities.StatistikyPodlaTypu;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository rozhranie pre prácu s entitou Statistiky.
  * Rozširuje CrudRepository, čím získava základné CRUD operácie (create, read, update, delete).
  *
- * Toto rozhranie neobsahuje žiadne dodatočné metódy, pretože pre štatistiky
- * postačujú štandardné operácie poskytované CrudRepository.
- *
- * Entity Statistiky typicky reprezentujú agregované hodnoty, ktoré sú generované
- * na základe dát v iných tabuľkách a následne uložené pre rýchly prístup.
+ * Tabuľka "statistiky" obsahuje jediný riadok so živými počítadlami. Počítadlá sa
+ * menia atomickými UPDATE príkazmi (x = x + delta), aby sa pri súbežných zápisoch
+ * nestratila žiadna zmena.
  */
 public interface StatistikyRepository extends CrudRepository<Statistiky, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Načíta riadok so živými počítadlami.
+     *
+     * @return Optional s počítadlami alebo prázdny, ak ešte neboli inicializované
+     */
+    Optional<Statistiky> findFirstByOrderByIdAsc();
+
+    /**
+     * Načíta riadok so živými počítadlami a zamkne ho do konca transakcie (SELECT ... FOR UPDATE).
+     * Inkrementy čakajú na uvoľnenie zámku, takže prepočet ich nemôže prepísať.
+     *
+     * @return Optional s počítadlami alebo prázdny, ak ešte neboli inicializované
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Statistiky> findFirstForUpdateByOrderByIdAsc();
+
+    /**
+     * Atomicky zmení počet poistencov o zadanú hodnotu.
+     *
+     * @param delta kladná alebo záporná zmena
+     * @return počet upravených riadkov (0, ak počítadlá neexistujú)
+     */
+    @Modifying
+    @Query("update Statistiky s set s.pocetPoistenych = s.pocetPoistenych + :delta")
+    int incrementPocetPoistenych(@Param("delta") long delta);
+
+    /**
+     * Atomicky zmení počet poistných zmlúv o zadanú hodnotu.
+     *
+     * @param delta kladná alebo záporná zmena
+     * @return počet upravených riadkov (0, ak počítadlá neexistujú)
+     */
+    @Modifying
+    @Query("update Statistiky s set s.pocetPoisteni = s.pocetPoisteni + :delta")
+    int incrementPocetPoisteni(@Param("delta") long delta);
+
+    /**
+     * Atomicky zmení počet poistných udalostí o zadanú hodnotu.
+     *
+     * @param delta kladná alebo záporná zmena
+     * @return počet upravených riadkov (0, ak počítadlá neexistujú)
+     */
+    @Modifying
+    @Query("update Statistiky s set s.pocetUdalosti = s.pocetUdalosti + :delta")
+    int incrementPocetUdalosti(@Param("delta") long delta);
+
+    /**
+     * Atomicky zvýši verziu dát o jedna.
+     *
+     * @return počet upravených riadkov (0, ak počítadlá neexistujú)
+     */
+    @Modifying
+    @Query("update Statistiky s set s.verzia = s.verzia + 1")
+    int incrementVerzia();
+
+    /**
+     * Vráti aktuálnu verziu dát (čítanie jediného riadku).
+     *
+     * @return verzia dát alebo null, ak počítadlá ešte neexistujú
+     */
+    @Query("select max(s.verzia) from Statistiky s")
+    Long findVerzia();
+
+    /**
+     * Vráti nenulové počítadlá zmlúv podľa druhu poistenia.
+     *
+     * @return zoznam počítadiel podľa typu
+     */
+    @Query("select t from StatistikyPodlaTypu t where t.pocet > 0")
+    List<StatistikyPodlaTypu> findRozdeleniePodlaTypu();
+
+    /**
+     * Atomicky zmení počítadlo pre daný druh poistenia, prípadne ho založí (MariaDB upsert).
+     *
+     * @param druhPoistenia druh poistenia
+     * @param delta         kladná alebo záporná zmena
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_podla_typu"))
+    @Query(value = "INSERT INTO statistiky_podla_typu (druh_poistenia, pocet) VALUES (:druh, :delta) " +
+            "ON DUPLICATE KEY UPDATE pocet = pocet + :delta", nativeQuery = true)
+    void incrementPodlaTypu(@Param("druh") String druhPoistenia, @Param("delta") long delta);
+
+    /**
+     * Vymaže všetky počítadlá podľa typu (používa sa pri prepočte).
+     */
+    @Modifying
+    @Query("delete from StatistikyPodlaTypu t")
+    void deleteRozdeleniePodlaTypu();
+}
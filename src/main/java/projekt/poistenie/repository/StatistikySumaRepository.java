@@ -0,0 +1,90 @@
+package projekt.poistenie.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import projekt.poistenie.entities.StatistikySuma;
+import projekt.poistenie.entities.StatistikySumaKos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository pre súhrny a sketch poistných súm.
+ * Zápisy sú atomické upserty (MariaDB), takže súbežné zmeny zmlúv sa nestratia.
+ */
+public interface StatistikySumaRepository extends CrudRepository<StatistikySuma, String> {
+
+    /**
+     * Atomicky zmení počet a súčet poistných súm pre druh poistenia, prípadne ho založí.
+     *
+     * @param druh   druh poistenia
+     * @param pocet  zmena počtu zmlúv
+     * @param sucet  zmena súčtu poistných súm
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_suma"))
+    @Query(value = "INSERT INTO statistiky_suma (druh_poistenia, pocet, sucet) VALUES (:druh, :pocet, :sucet) " +
+            "ON DUPLICATE KEY UPDATE pocet = pocet + :pocet, sucet = sucet + :sucet", nativeQuery = true)
+    void increment(@Param("druh") String druh, @Param("pocet") long pocet, @Param("sucet") BigDecimal sucet);
+
+    /**
+     * Atomicky zmení počet v košíku sketchu, prípadne košík založí.
+     *
+     * @param druh  druh poistenia
+     * @param kos   index košíka
+     * @param delta zmena počtu
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "statistiky_suma_kos"))
+    @Query(value = "INSERT INTO statistiky_suma_kos (druh_poistenia, kos, pocet) VALUES (:druh, :kos, :delta) " +
+            "ON DUPLICATE KEY UPDATE pocet = pocet + :delta", nativeQuery = true)
+    void incrementKos(@Param("druh") String druh, @Param("kos") int kos, @Param("delta") long delta);
+
+    /**
+     * Vráti súhrny druhov poistenia, ktoré majú aspoň jednu zmluvu.
+     *
+     * @return súhrny podľa druhu poistenia
+     */
+    @Query("select s from StatistikySuma s where s.pocet > 0")
+    List<StatistikySuma> findNenulove();
+
+    /**
+     * Vráti neprázdne košíky sketchu zoradené podľa druhu poistenia a indexu košíka.
+     *
+     * @return košíky sketchu
+     */
+    @Query("select k from StatistikySumaKos k where k.pocet > 0 order by k.druhPoistenia, k.kos")
+    List<StatistikySumaKos> findNenuloveKose();
+
+    /**
+     * Uzamkne všetky súhrny (SELECT ... FOR UPDATE nad celou tabuľkou). V MariaDB
+     * (REPEATABLE READ) sa zamkne aj medzera za posledným riadkom, takže do konca
+     * transakcie čaká každý prírastok {@link #increment}, aj pre nový druh poistenia.
+     *
+     * @return všetky súhrny
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StatistikySuma s")
+    List<StatistikySuma> findAllForUpdate();
+
+    /**
+     * Vymaže všetky súhrny (pred prestavbou).
+     */
+    @Modifying
+    @Query("delete from StatistikySuma s")
+    void deleteSumy();
+
+    /**
+     * Vymaže všetky košíky sketchu (pred prestavbou).
+     */
+    @Modifying
+    @Query("delete from StatistikySumaKos k")
+    void deleteKose();
+}
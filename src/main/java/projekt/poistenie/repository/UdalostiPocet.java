@@ -0,0 +1,24 @@
+package projekt.poistenie.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projekcia pre počet poistných udalostí zmluvy v jednom dni.
+ */
+public interface UdalostiPocet {
+
+    /**
+     * @return ID poistnej zmluvy
+     */
+    Long getZmluvaId();
+
+    /**
+     * @return dátum udalostí
+     */
+    LocalDate getDatum();
+
+    /**
+     * @return počet udalostí zmluvy v danom dni
+     */
+    Long getPocet();
+}
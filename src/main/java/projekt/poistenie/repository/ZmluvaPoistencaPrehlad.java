@@ -0,0 +1,23 @@
+package projekt.poistenie.repository;
+
+import projekt.poistenie.entities.RelationType;
+
+import java.time.LocalDate;
+
+/**
+ * Projekcia zmluvy pre detail poistenca - zobrazované stĺpce zmluvy spolu
+ * s počtom jej poistných udalostí, načítané jedným dopytom pre všetky zmluvy poistenca.
+ *
+ * @param id             ID zmluvy
+ * @param cisloZmluvy    číslo zmluvy
+ * @param druhPoistenia  druh poistenia
+ * @param platnostOd     začiatok platnosti
+ * @param platnostDo     koniec platnosti
+ * @param suma           poistná suma
+ * @param relation       vzťah poistenca k zmluve
+ * @param pocetUdalosti  počet poistných udalostí zmluvy
+ */
+public record ZmluvaPoistencaPrehlad(Long id, String cisloZmluvy, String druhPoistenia,
+                                     LocalDate platnostOd, LocalDate platnostDo, Double suma,
+                                     RelationType relation, Long pocetUdalosti) {
+}
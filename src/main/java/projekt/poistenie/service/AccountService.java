@@ -1,5 +1,6 @@
 package projekt.poistenie.service;
 
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import projekt.poistenie.dtos.AccountDTO;
 import projekt.poistenie.entities.Account;
@@ -8,9 +9,10 @@ import java.util.Optional;
 
 /**
  * AccountService spravuje používateľské účty v aplikácii.
- * Rozširuje UserDetailsService, aby poskytovalo integráciu so Spring Security.
+ * Rozširuje UserDetailsService, aby poskytovalo integráciu so Spring Security,
+ * a UserDetailsPasswordService na prehashovanie hesla pri prihlásení.
  */
-public interface AccountService extends UserDetailsService {
+public interface AccountService extends UserDetailsService, UserDetailsPasswordService {
 
     /**
      * Vytvorí nový používateľský účet z údajov z DTO.
@@ -46,4 +48,5 @@ public interface AccountService extends UserDetailsService {
     Account registerAdmin(AccountDTO accountDTO);
 
     // Metóda loadUserByUsername() z UserDetailsService je dedičná a používa sa na autentifikáciu.
+    // Metóda updatePassword() z UserDetailsPasswordService uloží heslo prehashované s novou cenou.
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package projekt.poistenie.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -9,6 +10,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import projekt.poistenie.dtos.AccountDTO;
 import projekt.poistenie.entities.Account;
+import projekt.poistenie.events.AccountZmenenyEvent;
+import projekt.poistenie.events.TypZmeny;
 import projekt.poistenie.exceptions.DuplicateEmailException;
 import projekt.poistenie.exceptions.PasswordsDoNotEqualException;
 import projekt.poistenie.repository.AccountRepository;
@@ -24,16 +27,20 @@ public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AccountServiceImpl(AccountRepository accountRepository, PasswordEncoder passwordEncoder) {
+    public AccountServiceImpl(AccountRepository accountRepository, PasswordEncoder passwordEncoder,
+                              ApplicationEventPublisher eventPublisher) {
         this.accountRepository = accountRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Vytvorí nový účet (USER alebo ADMIN podľa parametra isAdmin).
-     * Metóda je v transakcii, aby sa pri chybe rollbackovali zmeny.
+     * Metóda nie je v transakcii - heslo sa hashuje pred ňou, aby pri čakaní na pool
+     * hashovania nedržala spojenie s databázou. Jediné uloženie má vlastnú transakciu.
      *
      * @param accountDTO DTO s údajmi z formulára (email, password, passwordConfirmation)
      * @param isAdmin    true = ADMIN rola, false = USER rola
@@ -42,7 +49,6 @@ public class AccountServiceImpl implements AccountService {
      * @throws DuplicateEmailException      ak už e-mail existuje alebo nastane porušenie unikátnosti
      */
     @Override
-    @Transactional
     public Account create(AccountDTO accountDTO, boolean isAdmin) {
         // 1) Validácia vstupných dát
         validateAccountData(accountDTO);
@@ -53,13 +59,18 @@ public class AccountServiceImpl implements AccountService {
         account.setPassword(passwordEncoder.encode(accountDTO.getPassword()));
         account.setRole(isAdmin ? Account.Role.ADMIN : Account.Role.USER);
 
+        Account ulozeny;
         try {
             // 3) Uloženie do DB
-            return accountRepository.save(account);
+            ulozeny = accountRepository.save(account);
         } catch (DataIntegrityViolationException e) {
             // Pri porušení unikátnosti e-mailu
             throw new DuplicateEmailException();
         }
+
+        // 4) Po potvrdení transakcie sa e-mail odstráni z cache prihlásených používateľov
+        eventPublisher.publishEvent(new AccountZmenenyEvent(TypZmeny.VYTVORENIE, ulozeny.getEmail()));
+        return ulozeny;
     }
 
     /**
@@ -116,7 +127,6 @@ public class AccountServiceImpl implements AccountService {
      * @return práve vytvorený Account
      */
     @Override
-    @Transactional
     public Account register(AccountDTO dto) {
         return create(dto, false);
     }
@@ -128,8 +138,27 @@ public class AccountServiceImpl implements AccountService {
      * @return práve vytvorený Account
      */
     @Override
-    @Transactional
     public Account registerAdmin(AccountDTO dto) {
         return create(dto, true);
     }
-}
\ No newline at end of file
+
+    /**
+     * Uloží heslo prehashované po prihlásení (zmena ceny BCrypt) a odstráni účet
+     * z cache prihlásených používateľov.
+     *
+     * @param user        prihlásený používateľ
+     * @param newPassword nový hash hesla
+     * @return účet s novým hashom alebo pôvodný používateľ, ak účet medzitým zanikol
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return accountRepository.findByEmail(user.getUsername())
+                .map(account -> {
+                    account.setPassword(newPassword);
+                    eventPublisher.publishEvent(new AccountZmenenyEvent(TypZmeny.UPRAVA, account.getEmail()));
+                    return (UserDetails) account;
+                })
+                .orElse(user);
+    }
+}
@@ -0,0 +1,108 @@
+package projekt.poistenie.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import projekt.poistenie.dtos.CacheStatistikyDTO.Region;
+import projekt.poistenie.events.AccountZmenenyEvent;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache prihlasovaných používateľov pred AccountServiceImpl.loadUserByUsername.
+ *
+ * DaoAuthenticationProvider sa najprv pozrie sem a účet načíta z databázy len pri
+ * minutí. Ak heslo nesedí s účtom z cache, načíta ho znova z databázy a porovná
+ * ešte raz, takže zastaraný záznam nikdy neodmietne správne heslo.
+ *
+ * Cache je ohraničená počtom záznamov aj dobou od vloženia a záznam sa odstráni
+ * po potvrdení transakcie, ktorá účet vytvorila alebo zmenila (AccountZmenenyEvent).
+ * Kľúčom je e-mail malými písmenami - databáza e-maily porovnáva bez ohľadu na veľkosť písmen.
+ */
+@Service
+public class AccountUserCache implements UserCache {
+
+    /**
+     * Názov cache v štatistikách.
+     */
+    public static final String NAZOV = "pouzivatelia";
+
+    private final Cache<String, UserDetails> cache;
+    private final LongAdder vlozenia = new LongAdder();
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param maxVelkost najväčší počet používateľov v cache
+     * @param ttl        doba platnosti záznamu od vloženia
+     */
+    @Autowired
+    public AccountUserCache(@Value("${poistenie.pouzivatelia-cache.max-velkost:1000}") long maxVelkost,
+                            @Value("${poistenie.pouzivatelia-cache.ttl:PT5M}") Duration ttl) {
+        this(maxVelkost, ttl, Ticker.systemTicker());
+    }
+
+    /**
+     * Konštruktor s vlastnými hodinami (pre testy).
+     *
+     * @param maxVelkost najväčší počet používateľov v cache
+     * @param ttl        doba platnosti záznamu od vloženia
+     * @param hodiny     zdroj času v nanosekundách
+     */
+    AccountUserCache(long maxVelkost, Duration ttl, Ticker hodiny) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxVelkost)
+                .expireAfterWrite(ttl)
+                .ticker(hodiny)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.getIfPresent(kluc(username));
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(kluc(user.getUsername()), user);
+        vlozenia.increment();
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(kluc(username));
+    }
+
+    /**
+     * Po potvrdení zmeny účtu ho odstráni z cache.
+     *
+     * @param zmena udalosť o vytvorení alebo zmene účtu
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountZmeneny(AccountZmenenyEvent zmena) {
+        removeUserFromCache(zmena.getEmail());
+    }
+
+    /**
+     * @return zásahy, minutia a vloženia od štartu aplikácie
+     */
+    public Region getStatistiky() {
+        CacheStats statistiky = cache.stats();
+        return new Region(NAZOV, statistiky.hitCount(), statistiky.missCount(), vlozenia.sum());
+    }
+
+    private static String kluc(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
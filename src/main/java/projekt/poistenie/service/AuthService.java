@@ -1,10 +1,13 @@
 package projekt.poistenie.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import projekt.poistenie.dtos.AccountDTO;
 import projekt.poistenie.entities.Account;
+import projekt.poistenie.events.AccountZmenenyEvent;
+import projekt.poistenie.events.TypZmeny;
 import projekt.poistenie.exceptions.DuplicateEmailException;
 import projekt.poistenie.exceptions.PasswordsDoNotEqualException;
 import projekt.poistenie.repository.AccountRepository;
@@ -27,16 +30,24 @@ public class AuthService {
      */
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * Publikovanie udalosti o novom účte (zneplatnenie cache používateľov).
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Konštruktor s dependency injection.
      *
      * @param accountRepository repository pre prístup k dátam používateľských účtov
      * @param passwordEncoder enkodér hesiel
+     * @param eventPublisher publikovanie udalosti o novom účte
      */
     @Autowired
-    public AuthService(AccountRepository accountRepository, PasswordEncoder passwordEncoder) {
+    public AuthService(AccountRepository accountRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher) {
         this.accountRepository = accountRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -64,5 +75,6 @@ public class AuthService {
         account.setEmail(accountDTO.getEmail());
         account.setPassword(passwordEncoder.encode(accountDTO.getPassword())); // Zahašovanie hesla
         accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountZmenenyEvent(TypZmeny.VYTVORENIE, account.getEmail()));
     }
 }
\ No newline at end of file
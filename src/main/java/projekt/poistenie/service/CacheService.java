@@ -0,0 +1,16 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.dtos.CacheStatistikyDTO;
+
+/**
+ * Služba nad cache druhej úrovne Hibernate (entity, prirodzené kľúče, dopyty).
+ */
+public interface CacheService {
+
+    /**
+     * Vráti zásahy a minutia regiónov cache od štartu aplikácie.
+     *
+     * @return štatistiky cache
+     */
+    CacheStatistikyDTO getStatistiky();
+}
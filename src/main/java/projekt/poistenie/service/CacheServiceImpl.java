@@ -0,0 +1,74 @@
+package projekt.poistenie.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import projekt.poistenie.dtos.CacheStatistikyDTO;
+import projekt.poistenie.dtos.CacheStatistikyDTO.Region;
+import projekt.poistenie.events.HromadnyImportEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementácia CacheService nad štatistikami Hibernate (hibernate.generate_statistics).
+ *
+ * Zmeny cez Hibernate udržiavajú cache samy. Hromadný import však zapisuje cez JDBC,
+ * o jeho riadkoch Hibernate nevie a cache dopytov by vracala výsledky bez nich -
+ * po importe sa preto vyprázdni. Regióny entít a prirodzených kľúčov import nemení
+ * (len vkladá nové riadky, ktoré v nich ešte nie sú).
+ *
+ * Medzi regióny patrí aj cache prihlásených používateľov (AccountUserCache),
+ * ktorá stojí mimo Hibernate.
+ */
+@Service
+public class CacheServiceImpl implements CacheService {
+
+    private final SessionFactory sessionFactory;
+    private final AccountUserCache accountUserCache;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param entityManagerFactory továreň JPA (Hibernate SessionFactory)
+     * @param accountUserCache     cache prihlásených používateľov
+     */
+    @Autowired
+    public CacheServiceImpl(EntityManagerFactory entityManagerFactory, AccountUserCache accountUserCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.accountUserCache = accountUserCache;
+    }
+
+    @Override
+    public CacheStatistikyDTO getStatistiky() {
+        Statistics statistiky = sessionFactory.getStatistics();
+        String[] nazvy = statistiky.getSecondLevelCacheRegionNames();
+
+        List<Region> regiony = new ArrayList<>(nazvy.length + 1);
+        for (String nazov : nazvy) {
+            CacheRegionStatistics region = statistiky.getCacheRegionStatistics(nazov);
+            if (region != null) {
+                regiony.add(new Region(nazov, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+        regiony.add(accountUserCache.getStatistiky());
+        regiony.sort(Comparator.comparing(Region::nazov));
+        return new CacheStatistikyDTO(regiony, statistiky.getQueryCacheHitCount(), statistiky.getQueryCacheMissCount());
+    }
+
+    /**
+     * Po potvrdení dávky importu vyprázdni cache dopytov (import obišiel Hibernate).
+     * Pred potvrdením by sa do cache mohol znova uložiť výsledok bez nových riadkov.
+     *
+     * @param importDat udalosť o zapísanej dávke importu
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHromadnyImport(HromadnyImportEvent importDat) {
+        sessionFactory.getCache().evictQueryRegions();
+    }
+}
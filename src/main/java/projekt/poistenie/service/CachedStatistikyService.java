@@ -0,0 +1,177 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import projekt.poistenie.dtos.StatistikyDTO;
+import projekt.poistenie.dtos.StatistikyObdobieDTO;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache pred StatistikyServiceImpl.
+ *
+ * Vypočítané štatistiky sa držia najviac po dobu TTL spolu s verziou dát
+ * (VerziaDatService), z ktorej vznikli. Každá požiadavka prečíta aktuálnu verziu
+ * z databázy (jeden riadok) a pri nezhode štatistiky vypočíta znova - zmena
+ * potvrdená na ktorejkoľvek inštancii tak zneplatní cache na všetkých.
+ * Súbežné požiadavky pri prázdnej cache sa zlúčia - výpočet pre rovnakú verziu
+ * beží len raz a ostatné vlákna čakajú na jeho výsledok bez otvorenej transakcie.
+ *
+ * Ako @Primary sa injektuje všade, kde sa žiada StatistikyService.
+ */
+@Service
+@Primary
+public class CachedStatistikyService implements StatistikyService {
+
+    private final StatistikyService delegate;
+    private final VerziaDatService verziaDatService;
+    private final long ttlNanos;
+    private final LongSupplier hodiny;
+
+    private final Object zamok = new Object();
+
+    // Platný záznam v cache alebo null; čítanie bez zámku je rýchla cesta
+    private volatile Zaznam zaznam;
+
+    // Práve bežiaci výpočet, na ktorý sa pripájajú ďalšie požiadavky (chránené zámkom)
+    private CompletableFuture<StatistikyDTO> vypocet;
+
+    // Verzia dát, pre ktorú beží výpočet (chránené zámkom)
+    private long vypocetVerzia;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param delegate         služba, ktorá štatistiky skutočne počíta
+     * @param verziaDatService služba s verziou dát
+     * @param ttl              maximálna doba platnosti vypočítaných štatistík
+     */
+    @Autowired
+    public CachedStatistikyService(StatistikyServiceImpl delegate,
+                                   VerziaDatService verziaDatService,
+                                   @Value("${statistiky.cache.ttl:PT30S}") Duration ttl) {
+        this(delegate, verziaDatService, ttl, System::nanoTime);
+    }
+
+    /**
+     * Konštruktor s vlastnými hodinami (pre testy).
+     *
+     * @param delegate         služba, ktorá štatistiky skutočne počíta
+     * @param verziaDatService služba s verziou dát
+     * @param ttl              maximálna doba platnosti vypočítaných štatistík
+     * @param hodiny           zdroj monotónneho času v nanosekundách
+     */
+    CachedStatistikyService(StatistikyService delegate, VerziaDatService verziaDatService,
+                            Duration ttl, LongSupplier hodiny) {
+        this.delegate = delegate;
+        this.verziaDatService = verziaDatService;
+        this.ttlNanos = ttl.toNanos();
+        this.hodiny = hodiny;
+    }
+
+    /**
+     * Vráti štatistiky z cache alebo ich vypočíta.
+     * Ak výpočet pre aktuálnu verziu dát už beží, počká na jeho výsledok namiesto
+     * spustenia ďalšieho. Verzia sa číta pred výpočtom: ak sa dáta počas neho zmenia,
+     * výsledok sa uloží so staršou verziou a ďalšia požiadavka ho vypočíta znova.
+     *
+     * @return objekt StatistikyDTO s agregovanými údajmi
+     */
+    @Override
+    public StatistikyDTO getGlobalStatistics() {
+        long verzia = verziaDatService.getVerzia();
+        Zaznam aktualny = zaznam;
+        if (aktualny != null && aktualny.platny(hodiny.getAsLong(), verzia)) {
+            return aktualny.data;
+        }
+
+        CompletableFuture<StatistikyDTO> buduci;
+        boolean vlastnik = false;
+        synchronized (zamok) {
+            aktualny = zaznam;
+            if (aktualny != null && aktualny.platny(hodiny.getAsLong(), verzia)) {
+                return aktualny.data;
+            }
+            if (vypocet == null || vypocetVerzia != verzia) {
+                vypocet = new CompletableFuture<>();
+                vypocetVerzia = verzia;
+                vlastnik = true;
+            }
+            buduci = vypocet;
+        }
+
+        if (!vlastnik) {
+            return cakaj(buduci);
+        }
+
+        try {
+            StatistikyDTO data = delegate.getGlobalStatistics();
+            synchronized (zamok) {
+                // Výsledok staršej verzie neprepíše novší záznam
+                if (zaznam == null || zaznam.verzia <= verzia) {
+                    zaznam = new Zaznam(data, verzia, hodiny.getAsLong() + ttlNanos);
+                }
+                if (vypocet == buduci) {
+                    vypocet = null;
+                }
+            }
+            buduci.complete(data);
+            return data;
+        } catch (RuntimeException | Error e) {
+            synchronized (zamok) {
+                if (vypocet == buduci) {
+                    vypocet = null;
+                }
+            }
+            buduci.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Štatistiky za obdobie sa necachujú - denné košíky sú lacné na čítanie.
+     */
+    @Override
+    public StatistikyObdobieDTO getStatistikyZaObdobie(LocalDate od, LocalDate doDatum) {
+        return delegate.getStatistikyZaObdobie(od, doDatum);
+    }
+
+    private static StatistikyDTO cakaj(CompletableFuture<StatistikyDTO> buduci) {
+        try {
+            return buduci.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Uložené štatistiky s verziou dát a časom expirácie.
+     */
+    private static final class Zaznam {
+        private final StatistikyDTO data;
+        private final long verzia;
+        private final long expiracia;
+
+        private Zaznam(StatistikyDTO data, long verzia, long expiracia) {
+            this.data = data;
+            this.verzia = verzia;
+            this.expiracia = expiracia;
+        }
+
+        private boolean platny(long teraz, long aktualnaVerzia) {
+            return verzia == aktualnaVerzia && teraz - expiracia < 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.exceptions.NeplatnyImportException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Jednoduchý čítač CSV podľa RFC 4180 (oddeľovač čiarka, hodnoty v úvodzovkách
+ * môžu obsahovať čiarku, zdvojené úvodzovky aj koniec riadku).
+ *
+ * Číta záznam po zázname, takže pamäť nezávisí od veľkosti súboru.
+ * Trieda nie je thread-safe.
+ */
+public final class CsvCitac {
+
+    private final Reader reader;
+    private int dalsiZnak = -2;
+    private long precitaneRiadky;
+    private long zaciatokZaznamu;
+
+    /**
+     * Vytvorí čítač nad zdrojom znakov. Volajúci zdroj bufferuje a zatvára.
+     *
+     * @param reader zdroj znakov
+     */
+    public CsvCitac(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return číslo riadku súboru (od 1), na ktorom začínal posledný prečítaný záznam
+     */
+    public long getRiadok() {
+        return zaciatokZaznamu;
+    }
+
+    /**
+     * Prečíta ďalší záznam.
+     *
+     * @return hodnoty záznamu alebo null na konci súboru
+     * @throws IOException pri chybe čítania
+     * @throws NeplatnyImportException pri neukončených úvodzovkách
+     */
+    public List<String> dalsi() throws IOException {
+        int znak = citaj();
+        if (znak == -1) {
+            return null;
+        }
+        precitaneRiadky++;
+        zaciatokZaznamu = precitaneRiadky;
+        List<String> hodnoty = new ArrayList<>();
+        StringBuilder hodnota = new StringBuilder();
+        boolean vUvodzovkach = false;
+        while (true) {
+            if (vUvodzovkach) {
+                if (znak == -1) {
+                    throw new NeplatnyImportException("Neukončené úvodzovky v zázname na riadku " + zaciatokZaznamu + ".");
+                }
+                if (znak == '"') {
+                    if (nahliadni() == '"') {
+                        citaj();
+                        hodnota.append('"');
+                    } else {
+                        vUvodzovkach = false;
+                    }
+                } else {
+                    if (znak == '\n') {
+                        precitaneRiadky++;
+                    }
+                    hodnota.append((char) znak);
+                }
+            } else if (znak == '"' && hodnota.isEmpty()) {
+                vUvodzovkach = true;
+            } else if (znak == ',') {
+                hodnoty.add(hodnota.toString());
+                hodnota.setLength(0);
+            } else if (znak == '\r' || znak == '\n' || znak == -1) {
+                if (znak == '\r' && nahliadni() == '\n') {
+                    citaj();
+                }
+                hodnoty.add(hodnota.toString());
+                return hodnoty;
+            } else {
+                hodnota.append((char) znak);
+            }
+            znak = citaj();
+        }
+    }
+
+    private int citaj() throws IOException {
+        if (dalsiZnak != -2) {
+            int znak = dalsiZnak;
+            dalsiZnak = -2;
+            return znak;
+        }
+        return reader.read();
+    }
+
+    private int nahliadni() throws IOException {
+        if (dalsiZnak == -2) {
+            dalsiZnak = reader.read();
+        }
+        return dalsiZnak;
+    }
+}
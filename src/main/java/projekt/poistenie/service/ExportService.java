@@ -0,0 +1,30 @@
+package projekt.poistenie.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Služba na export poistencov a poistných zmlúv do CSV.
+ * Riadky sa zapisujú priamo z databázového kurzora do výstupu, v pamäti je
+ * naraz najviac jedna dávka riadkov z ovládača.
+ */
+public interface ExportService {
+
+    /**
+     * Zapíše všetkých poistencov ako CSV (UTF-8, hlavička v prvom riadku).
+     *
+     * @param vystup cieľový prúd (volajúci ho zatvára)
+     * @return počet zapísaných poistencov
+     * @throws IOException pri chybe zápisu (napr. klient zrušil sťahovanie)
+     */
+    long exportPoistencov(OutputStream vystup) throws IOException;
+
+    /**
+     * Zapíše všetky poistné zmluvy ako CSV (UTF-8, hlavička v prvom riadku).
+     *
+     * @param vystup cieľový prúd (volajúci ho zatvára)
+     * @return počet zapísaných zmlúv
+     * @throws IOException pri chybe zápisu (napr. klient zrušil sťahovanie)
+     */
+    long exportZmluv(OutputStream vystup) throws IOException;
+}
@@ -0,0 +1,139 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.repository.PoistenecPrehlad;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaPrehlad;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementácia ExportService nad prúdovými dopytmi repozitárov.
+ *
+ * Dopyty vracajú projekcie (nie entity), takže persistence context počas exportu
+ * nerastie. Zapisuje sa cez buffer do výstupu odpovede, ktorý sa pri zaplnení
+ * odošle klientovi ako ďalší chunk - export tak beží s konštantnou pamäťou
+ * bez ohľadu na počet riadkov.
+ *
+ * Formát je CSV podľa RFC 4180: oddeľovač čiarka, riadky CRLF, hodnoty
+ * s čiarkou, úvodzovkami alebo koncom riadku v úvodzovkách.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final String[] HLAVICKA_POISTENCOV =
+            {"id", "meno", "priezvisko", "email", "telefon", "ulica", "mesto", "psc"};
+
+    private static final String[] HLAVICKA_ZMLUV =
+            {"id", "cislo_zmluvy", "druh_poistenia", "platnost_od", "platnost_do", "suma", "vztah",
+                    "poistenec_id", "poistenec_meno", "poistenec_priezvisko"};
+
+    private static final int VELKOST_BUFFERA = 64 * 1024;
+
+    // Znaky, ktorými tabuľkové procesory začínajú vzorec
+    private static final String ZACIATOK_VZORCA = "=+-@\t\r";
+
+    private final PoistenecRepository poistenecRepository;
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param poistenecRepository     repozitár poistencov
+     * @param poistnaZmluvaRepository repozitár zmlúv
+     */
+    @Autowired
+    public ExportServiceImpl(PoistenecRepository poistenecRepository,
+                             PoistnaZmluvaRepository poistnaZmluvaRepository) {
+        this.poistenecRepository = poistenecRepository;
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPoistencov(OutputStream vystup) throws IOException {
+        Writer csv = writer(vystup);
+        riadok(csv, (Object[]) HLAVICKA_POISTENCOV);
+        long pocet = 0;
+        try (Stream<PoistenecPrehlad> poistenci = poistenecRepository.streamPrehlady()) {
+            Iterator<PoistenecPrehlad> iterator = poistenci.iterator();
+            while (iterator.hasNext()) {
+                PoistenecPrehlad p = iterator.next();
+                riadok(csv, p.id(), p.meno(), p.priezvisko(), p.email(), p.telefon(), p.ulica(), p.mesto(), p.psc());
+                pocet++;
+            }
+        }
+        csv.flush();
+        return pocet;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportZmluv(OutputStream vystup) throws IOException {
+        Writer csv = writer(vystup);
+        riadok(csv, (Object[]) HLAVICKA_ZMLUV);
+        long pocet = 0;
+        try (Stream<PoistnaZmluvaPrehlad> zmluvy = poistnaZmluvaRepository.streamPrehlady()) {
+            Iterator<PoistnaZmluvaPrehlad> iterator = zmluvy.iterator();
+            while (iterator.hasNext()) {
+                PoistnaZmluvaPrehlad z = iterator.next();
+                riadok(csv, z.id(), z.cisloZmluvy(), z.druhPoistenia(), z.platnostOd(), z.platnostDo(), z.suma(),
+                        z.relation(), z.poistenecId(), z.poistenecMeno(), z.poistenecPriezvisko());
+                pocet++;
+            }
+        }
+        csv.flush();
+        return pocet;
+    }
+
+    private static Writer writer(OutputStream vystup) {
+        return new BufferedWriter(new OutputStreamWriter(vystup, StandardCharsets.UTF_8), VELKOST_BUFFERA);
+    }
+
+    private static void riadok(Writer csv, Object... hodnoty) throws IOException {
+        for (int i = 0; i < hodnoty.length; i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            if (hodnoty[i] instanceof String text) {
+                // Texty zadané používateľom (meno, adresa, ...) môžu obsahovať vzorec
+                csv.write(pole(text));
+            } else if (hodnoty[i] != null) {
+                csv.write(pole(hodnoty[i].toString(), false));
+            }
+        }
+        csv.write("\r\n");
+    }
+
+    /**
+     * Vráti textovú hodnotu poľa CSV, v úvodzovkách ak obsahuje oddeľovač, úvodzovky alebo koniec riadku.
+     *
+     * Text začínajúci znakom, ktorým Excel a LibreOffice začínajú vzorec (=, +, -, @,
+     * tabulátor, CR), dostane na začiatok apostrof a úvodzovky, aby sa pri otvorení
+     * exportu nevykonal ako vzorec (CSV injection).
+     */
+    static String pole(String hodnota) {
+        return pole(hodnota, true);
+    }
+
+    private static String pole(String hodnota, boolean text) {
+        if (text && !hodnota.isEmpty() && ZACIATOK_VZORCA.indexOf(hodnota.charAt(0)) >= 0) {
+            return "\"'" + hodnota.replace("\"", "\"\"") + '"';
+        }
+        if (hodnota.indexOf(',') < 0 && hodnota.indexOf('"') < 0
+                && hodnota.indexOf('\n') < 0 && hodnota.indexOf('\r') < 0) {
+            return hodnota;
+        }
+        return '"' + hodnota.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,37 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.dtos.ImportVysledokDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Služba na hromadný import poistencov a poistných zmlúv zo súborov CSV.
+ *
+ * Súbor má hlavičku s názvami stĺpcov (poradie nie je dôležité, ďalšie stĺpce
+ * sa ignorujú). Chybné riadky sa nevložia a vrátia sa vo výsledku s číslom
+ * riadku, ostatné riadky sa vložia.
+ */
+public interface ImportService {
+
+    /**
+     * Importuje poistencov. Povinné stĺpce: meno, priezvisko, email, telefon, ulica, mesto, psc.
+     * Poistenec s e-mailom, ktorý už existuje alebo sa v súbore opakuje, sa nevloží.
+     *
+     * @param csv obsah súboru v UTF-8 (volajúci ho zatvára)
+     * @return počty a chyby riadkov
+     * @throws IOException pri chybe čítania súboru
+     */
+    ImportVysledokDTO importujPoistencov(InputStream csv) throws IOException;
+
+    /**
+     * Importuje poistné zmluvy. Povinné stĺpce: cislo_zmluvy, druh_poistenia, platnost_od,
+     * platnost_do (RRRR-MM-DD), suma, vztah a poistenec_email existujúceho poistenca.
+     * Zmluva s číslom, ktoré už existuje alebo sa v súbore opakuje, sa nevloží.
+     *
+     * @param csv obsah súboru v UTF-8 (volajúci ho zatvára)
+     * @return počty a chyby riadkov
+     * @throws IOException pri chybe čítania súboru
+     */
+    ImportVysledokDTO importujZmluvy(InputStream csv) throws IOException;
+}
@@ -0,0 +1,482 @@
+package projekt.poistenie.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import projekt.poistenie.dtos.ImportVysledokDTO;
+import projekt.poistenie.dtos.ImportVysledokDTO.Chyba;
+import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.entities.RelationType;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.exceptions.NeplatnyImportException;
+import projekt.poistenie.repository.PoistenecPrehlad;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Implementácia ImportService.
+ *
+ * Import prebieha v krokoch:
+ * 1. súbor sa načíta záznam po zázname (CsvCitac),
+ * 2. riadky sa paralelne prevedú na DTO a overia Bean Validation (Validator je thread-safe),
+ * 3. duplicity (e-mail, číslo zmluvy) sa odfiltrujú v pamäti - v súbore mapou, voči
+ *    databáze niekoľkými dopytmi IN po DAVKA_DOPYTU hodnôt namiesto dopytu na každý riadok,
+ * 4. platné riadky sa zapíšu cez JdbcTemplate.batchUpdate po dávkach DAVKA, každá dávka
+ *    vo vlastnej transakcii spolu s počítadlami štatistík a udalosťou HromadnyImportEvent.
+ *
+ * Zápis ide priamo cez JDBC bez entít a persistence contextu. Identifikátory sa
+ * rezervujú po blokoch z tých istých sekvencií ako pri entitách (SekvencieService).
+ *
+ * Ak databáza odmietne dávku (napr. súbežne vložený e-mail), dávka sa odvolá
+ * a jej riadky sa zopakujú jednotlivo, aby sa chyba priradila konkrétnemu riadku.
+ * Importované záznamy sa neohlasujú jednotlivými doménovými udalosťami - každá dávka
+ * sa zverejní jednou HromadnyImportEvent so zapísanými riadkami. Poslucháči ju
+ * premietnu ako súhrnný prírastok v transakcii dávky (súhrny v databáze), resp. po jej
+ * potvrdení (indexy a cache v pamäti), takže import nikdy neprestavuje odvodené údaje
+ * z celej tabuľky a súbežné zmeny sa neprepíšu.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    /**
+     * Počet riadkov v jednej dávke INSERT-ov (a v jednej transakcii).
+     */
+    static final int DAVKA = 500;
+
+    /**
+     * Najväčší počet hodnôt v jednom dopyte IN pri kontrole duplicít.
+     */
+    private static final int DAVKA_DOPYTU = 1000;
+
+    private static final List<String> STLPCE_POISTENCA =
+            List.of("meno", "priezvisko", "email", "telefon", "ulica", "mesto", "psc");
+
+    private static final List<String> STLPCE_ZMLUVY =
+            List.of("cislo_zmluvy", "druh_poistenia", "platnost_od", "platnost_do", "suma", "vztah", "poistenec_email");
+
+    private static final String INSERT_POISTENCA = "insert into poistenec " +
+            "(id, meno, priezvisko, email, telefon, ulica, mesto, psc) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ZMLUVY = "insert into poistne_zmluvy " +
+            "(id, poistenec_id, cislo_zmluvy, druh_poistenia, platnost_od, platnost_do, suma, relation) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PoistenecRepository poistenecRepository;
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+    private final Validator validator;
+    private final SekvencieService sekvencieService;
+    private final StatistikyCounterService statistikyCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param jdbcTemplate             JDBC prístup pre dávkové INSERT-y
+     * @param transactionManager       správca transakcií (transakcia na každú dávku)
+     * @param poistenecRepository      repozitár poistencov (duplicity, priradenie zmlúv)
+     * @param poistnaZmluvaRepository  repozitár zmlúv (duplicity čísel zmlúv)
+     * @param validator                Bean Validation pre DTO
+     * @param sekvencieService         rezervácia identifikátorov
+     * @param statistikyCounterService počítadlá štatistík
+     * @param eventPublisher           publikovanie udalostí o zapísaných dávkach
+     */
+    @Autowired
+    public ImportServiceImpl(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PoistenecRepository poistenecRepository,
+                             PoistnaZmluvaRepository poistnaZmluvaRepository,
+                             Validator validator,
+                             SekvencieService sekvencieService,
+                             StatistikyCounterService statistikyCounterService,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.poistenecRepository = poistenecRepository;
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+        this.validator = validator;
+        this.sekvencieService = sekvencieService;
+        this.statistikyCounterService = statistikyCounterService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ImportVysledokDTO importujPoistencov(InputStream csv) throws IOException {
+        List<Zaznam> zaznamy = nacitaj(csv, STLPCE_POISTENCA);
+        List<Chyba> chyby = new ArrayList<>();
+
+        List<Overeny<PoistenecDTO>> overene = zaznamy.parallelStream()
+                .map(this::overPoistenca)
+                .toList();
+
+        // Duplicity v súbore - platí prvý výskyt e-mailu
+        Map<String, Overeny<PoistenecDTO>> podlaEmailu = new LinkedHashMap<>();
+        for (Overeny<PoistenecDTO> riadok : overene) {
+            if (riadok.chyba() != null) {
+                chyby.add(new Chyba(riadok.riadok(), riadok.chyba()));
+                continue;
+            }
+            Overeny<PoistenecDTO> prvy = podlaEmailu.putIfAbsent(kluc(riadok.hodnota().getEmail()), riadok);
+            if (prvy != null) {
+                chyby.add(new Chyba(riadok.riadok(), "E-mail " + riadok.hodnota().getEmail()
+                        + " je v súbore už na riadku " + prvy.riadok() + "."));
+            }
+        }
+
+        // Duplicity voči databáze
+        for (List<String> emaily : casti(new ArrayList<>(podlaEmailu.keySet()), DAVKA_DOPYTU)) {
+            for (PoistenecPrehlad existujuci : poistenecRepository.findPrehladyByEmailIn(emaily)) {
+                Overeny<PoistenecDTO> riadok = podlaEmailu.remove(kluc(existujuci.email()));
+                if (riadok != null) {
+                    chyby.add(new Chyba(riadok.riadok(), "Poistenec s e-mailom " + existujuci.email() + " už existuje."));
+                }
+            }
+        }
+
+        List<Overeny<PoistenecDTO>> naZapis = new ArrayList<>(podlaEmailu.values());
+        long[] id = sekvencieService.rezervuj(SekvencieService.POISTENEC, naZapis.size());
+        for (int i = 0; i < id.length; i++) {
+            naZapis.get(i).hodnota().setId(id[i]);
+        }
+
+        long vlozene = zapis(naZapis, INSERT_POISTENCA, (ps, p) -> {
+            ps.setLong(1, p.getId());
+            ps.setString(2, p.getMeno());
+            ps.setString(3, p.getPriezvisko());
+            ps.setString(4, p.getEmail());
+            ps.setString(5, p.getTelefon());
+            ps.setString(6, p.getUlica());
+            ps.setString(7, p.getMesto());
+            ps.setString(8, p.getPsc());
+        }, davka -> {
+            statistikyCounterService.incrementPoistenci(davka.size());
+            eventPublisher.publishEvent(HromadnyImportEvent.poistenci(davka));
+        }, chyby);
+
+        return vysledok(zaznamy.size(), vlozene, chyby);
+    }
+
+    @Override
+    public ImportVysledokDTO importujZmluvy(InputStream csv) throws IOException {
+        List<Zaznam> zaznamy = nacitaj(csv, STLPCE_ZMLUVY);
+        List<Chyba> chyby = new ArrayList<>();
+
+        List<Overeny<NovaZmluva>> overene = zaznamy.parallelStream()
+                .map(this::overZmluvu)
+                .toList();
+
+        // Duplicity v súbore - platí prvý výskyt čísla zmluvy
+        Map<String, Overeny<NovaZmluva>> podlaCisla = new LinkedHashMap<>();
+        for (Overeny<NovaZmluva> riadok : overene) {
+            if (riadok.chyba() != null) {
+                chyby.add(new Chyba(riadok.riadok(), riadok.chyba()));
+                continue;
+            }
+            String cislo = riadok.hodnota().zmluva().getCisloZmluvy();
+            Overeny<NovaZmluva> prvy = podlaCisla.putIfAbsent(kluc(cislo), riadok);
+            if (prvy != null) {
+                chyby.add(new Chyba(riadok.riadok(), "Číslo zmluvy " + cislo
+                        + " je v súbore už na riadku " + prvy.riadok() + "."));
+            }
+        }
+
+        // Duplicity voči databáze
+        for (List<String> cisla : casti(new ArrayList<>(podlaCisla.keySet()), DAVKA_DOPYTU)) {
+            for (String existujuce : poistnaZmluvaRepository.findExistujuceCisla(cisla)) {
+                Overeny<NovaZmluva> riadok = podlaCisla.remove(kluc(existujuce));
+                if (riadok != null) {
+                    chyby.add(new Chyba(riadok.riadok(), "Zmluva s číslom " + existujuce + " už existuje."));
+                }
+            }
+        }
+
+        // Priradenie poistencov podľa e-mailu
+        Set<String> emaily = podlaCisla.values().stream()
+                .map(riadok -> kluc(riadok.hodnota().emailPoistenca()))
+                .collect(Collectors.toSet());
+        Map<String, Long> poistenci = new HashMap<>();
+        for (List<String> cast : casti(new ArrayList<>(emaily), DAVKA_DOPYTU)) {
+            for (PoistenecPrehlad poistenec : poistenecRepository.findPrehladyByEmailIn(cast)) {
+                poistenci.put(kluc(poistenec.email()), poistenec.id());
+            }
+        }
+        List<Overeny<PoistnaZmluvaDTO>> naZapis = new ArrayList<>();
+        for (Overeny<NovaZmluva> riadok : podlaCisla.values()) {
+            Long poistenecId = poistenci.get(kluc(riadok.hodnota().emailPoistenca()));
+            if (poistenecId == null) {
+                chyby.add(new Chyba(riadok.riadok(), "Poistenec s e-mailom "
+                        + riadok.hodnota().emailPoistenca() + " neexistuje."));
+                continue;
+            }
+            PoistnaZmluvaDTO zmluva = riadok.hodnota().zmluva();
+            zmluva.setPoistenecId(poistenecId);
+            naZapis.add(new Overeny<>(riadok.riadok(), zmluva, null));
+        }
+        long[] id = sekvencieService.rezervuj(SekvencieService.POISTNA_ZMLUVA, naZapis.size());
+        for (int i = 0; i < id.length; i++) {
+            naZapis.get(i).hodnota().setId(id[i]);
+        }
+
+        long vlozene = zapis(naZapis, INSERT_ZMLUVY, (ps, z) -> {
+            ps.setLong(1, z.getId());
+            ps.setLong(2, z.getPoistenecId());
+            ps.setString(3, z.getCisloZmluvy());
+            ps.setString(4, z.getDruhPoistenia());
+            ps.setDate(5, Date.valueOf(z.getPlatnostOd()));
+            ps.setDate(6, Date.valueOf(z.getPlatnostDo()));
+            ps.setDouble(7, z.getSuma());
+            ps.setString(8, z.getRelation().name());
+        }, davka -> {
+            davka.stream()
+                    .collect(Collectors.groupingBy(PoistnaZmluvaDTO::getDruhPoistenia, Collectors.counting()))
+                    .forEach(statistikyCounterService::incrementZmluvy);
+            eventPublisher.publishEvent(HromadnyImportEvent.zmluvy(davka));
+        }, chyby);
+
+        return vysledok(zaznamy.size(), vlozene, chyby);
+    }
+
+    /**
+     * Zapíše záznamy po dávkach. Každá dávka je jedna transakcia s jedným
+     * batchUpdate, aktualizáciou počítadiel a ohlásením dávky (poZapise).
+     *
+     * @return počet vložených záznamov
+     */
+    private <T> long zapis(List<Overeny<T>> zaznamy, String sql, ParameterizedPreparedStatementSetter<T> nastavenie,
+                           Consumer<List<T>> poZapise, List<Chyba> chyby) {
+        long vlozene = 0;
+        for (List<Overeny<T>> davka : casti(zaznamy, DAVKA)) {
+            List<T> hodnoty = davka.stream().map(Overeny::hodnota).toList();
+            try {
+                transactionTemplate.executeWithoutResult(stav -> {
+                    jdbcTemplate.batchUpdate(sql, hodnoty, hodnoty.size(), nastavenie);
+                    poZapise.accept(hodnoty);
+                });
+                vlozene += hodnoty.size();
+            } catch (DataAccessException e) {
+                // Dávka sa odvolala celá - riadky sa zopakujú jednotlivo, aby sa našli chybné
+                for (Overeny<T> riadok : davka) {
+                    try {
+                        transactionTemplate.executeWithoutResult(stav -> {
+                            jdbcTemplate.batchUpdate(sql, List.of(riadok.hodnota()), 1, nastavenie);
+                            poZapise.accept(List.of(riadok.hodnota()));
+                        });
+                        vlozene++;
+                    } catch (DataAccessException chyba) {
+                        chyby.add(new Chyba(riadok.riadok(),
+                                "Databáza záznam odmietla: " + chyba.getMostSpecificCause().getMessage()));
+                    }
+                }
+            }
+        }
+        return vlozene;
+    }
+
+    private Overeny<PoistenecDTO> overPoistenca(Zaznam zaznam) {
+        String[] polia = zaznam.polia();
+        PoistenecDTO poistenec = new PoistenecDTO();
+        poistenec.setMeno(polia[0]);
+        poistenec.setPriezvisko(polia[1]);
+        poistenec.setEmail(polia[2]);
+        poistenec.setTelefon(polia[3]);
+        poistenec.setUlica(polia[4]);
+        poistenec.setMesto(polia[5]);
+        poistenec.setPsc(polia[6]);
+        return new Overeny<>(zaznam.riadok(), poistenec, porusenia(poistenec));
+    }
+
+    private Overeny<NovaZmluva> overZmluvu(Zaznam zaznam) {
+        String[] polia = zaznam.polia();
+        List<String> chyby = new ArrayList<>();
+        PoistnaZmluvaDTO zmluva = new PoistnaZmluvaDTO();
+        zmluva.setCisloZmluvy(povinne(polia[0], "cislo_zmluvy", chyby));
+        zmluva.setDruhPoistenia(povinne(polia[1], "druh_poistenia", chyby));
+        zmluva.setPlatnostOd(datum(povinne(polia[2], "platnost_od", chyby), "platnost_od", chyby));
+        zmluva.setPlatnostDo(datum(povinne(polia[3], "platnost_do", chyby), "platnost_do", chyby));
+        zmluva.setSuma(suma(povinne(polia[4], "suma", chyby), chyby));
+        zmluva.setRelation(vztah(povinne(polia[5], "vztah", chyby), chyby));
+        String email = povinne(polia[6], "poistenec_email", chyby);
+
+        if (chyby.isEmpty()) {
+            String porusenia = porusenia(zmluva);
+            if (porusenia != null) {
+                chyby.add(porusenia);
+            }
+        }
+        return new Overeny<>(zaznam.riadok(), new NovaZmluva(zmluva, email),
+                chyby.isEmpty() ? null : String.join("; ", chyby));
+    }
+
+    /**
+     * Overí DTO cez Bean Validation.
+     *
+     * @return popis porušení zoradený podľa poľa alebo null, ak je DTO platné
+     */
+    private String porusenia(Object dto) {
+        Set<ConstraintViolation<Object>> porusenia = validator.validate(dto);
+        if (porusenia.isEmpty()) {
+            return null;
+        }
+        return porusenia.stream()
+                .sorted(Comparator.comparing(porusenie -> porusenie.getPropertyPath().toString()))
+                .map(porusenie -> porusenie.getPropertyPath() + ": " + porusenie.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String povinne(String hodnota, String stlpec, List<String> chyby) {
+        if (hodnota == null) {
+            chyby.add(stlpec + ": hodnota je povinná");
+        }
+        return hodnota;
+    }
+
+    private static LocalDate datum(String hodnota, String stlpec, List<String> chyby) {
+        if (hodnota == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(hodnota);
+        } catch (DateTimeParseException e) {
+            chyby.add(stlpec + ": neplatný dátum " + hodnota + " (očakáva sa RRRR-MM-DD)");
+            return null;
+        }
+    }
+
+    private static Double suma(String hodnota, List<String> chyby) {
+        if (hodnota == null) {
+            return null;
+        }
+        try {
+            double suma = Double.parseDouble(hodnota);
+            if (!Double.isFinite(suma) || suma < 0) {
+                chyby.add("suma: musí byť nezáporné číslo");
+            }
+            return suma;
+        } catch (NumberFormatException e) {
+            chyby.add("suma: neplatné číslo " + hodnota);
+            return null;
+        }
+    }
+
+    /**
+     * Prevedie vzťah zadaný názvom konštanty (PAYER) alebo popisom (Platiteľ).
+     */
+    private static RelationType vztah(String hodnota, List<String> chyby) {
+        if (hodnota == null) {
+            return null;
+        }
+        for (RelationType typ : RelationType.values()) {
+            if (typ.name().equalsIgnoreCase(hodnota) || typ.getLabel().equalsIgnoreCase(hodnota)) {
+                return typ;
+            }
+        }
+        chyby.add("vztah: neznámy vzťah " + hodnota);
+        return null;
+    }
+
+    /**
+     * Načíta hlavičku a dátové riadky súboru. Prázdne riadky sa preskočia.
+     *
+     * @param stlpce povinné stĺpce - polia záznamu sú v tomto poradí
+     */
+    private static List<Zaznam> nacitaj(InputStream csv, List<String> stlpce) throws IOException {
+        CsvCitac citac = new CsvCitac(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+        List<String> hlavicka = citac.dalsi();
+        if (hlavicka == null) {
+            throw new NeplatnyImportException("Súbor je prázdny.");
+        }
+        Map<String, Integer> indexy = new HashMap<>();
+        for (int i = 0; i < hlavicka.size(); i++) {
+            // Excel ukladá UTF-8 s BOM na začiatku súboru
+            String nazov = hlavicka.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            indexy.putIfAbsent(nazov, i);
+        }
+        List<String> chybajuce = stlpce.stream().filter(stlpec -> !indexy.containsKey(stlpec)).toList();
+        if (!chybajuce.isEmpty()) {
+            throw new NeplatnyImportException("V hlavičke chýbajú stĺpce: " + String.join(", ", chybajuce) + ".");
+        }
+
+        List<Zaznam> zaznamy = new ArrayList<>();
+        List<String> hodnoty;
+        while ((hodnoty = citac.dalsi()) != null) {
+            if (hodnoty.size() == 1 && hodnoty.get(0).isBlank()) {
+                continue;
+            }
+            String[] polia = new String[stlpce.size()];
+            for (int i = 0; i < polia.length; i++) {
+                int index = indexy.get(stlpce.get(i));
+                String hodnota = index < hodnoty.size() ? hodnoty.get(index).trim() : "";
+                polia[i] = hodnota.isEmpty() ? null : hodnota;
+            }
+            zaznamy.add(new Zaznam(citac.getRiadok(), polia));
+        }
+        return zaznamy;
+    }
+
+    private static ImportVysledokDTO vysledok(long spracovane, long vlozene, List<Chyba> chyby) {
+        chyby.sort(Comparator.comparingLong(Chyba::riadok));
+        return new ImportVysledokDTO(spracovane, vlozene, chyby);
+    }
+
+    /**
+     * Kľúč na porovnanie e-mailov a čísel zmlúv bez ohľadu na veľkosť písmen
+     * (zhodne s predvoleným porovnávaním v MariaDB).
+     */
+    private static String kluc(String hodnota) {
+        return hodnota.toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> List<List<T>> casti(List<T> zoznam, int velkost) {
+        List<List<T>> casti = new ArrayList<>();
+        for (int i = 0; i < zoznam.size(); i += velkost) {
+            casti.add(zoznam.subList(i, Math.min(i + velkost, zoznam.size())));
+        }
+        return casti;
+    }
+
+    /**
+     * Dátový riadok súboru - hodnoty povinných stĺpcov v poradí podľa zoznamu stĺpcov.
+     */
+    private record Zaznam(long riadok, String[] polia) {
+    }
+
+    /**
+     * Výsledok overenia riadku - hodnota alebo popis chyby.
+     */
+    private record Overeny<T>(long riadok, T hodnota, String chyba) {
+    }
+
+    /**
+     * Zmluva zo súboru s e-mailom poistenca, ku ktorému sa má priradiť.
+     */
+    private record NovaZmluva(PoistnaZmluvaDTO zmluva, String emailPoistenca) {
+    }
+}
@@ -0,0 +1,229 @@
+package projekt.poistenie.service;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Intervalový strom nad dňami (epoch day) s podporou vkladania a odoberania.
+ *
+ * Je to treap zoradený podľa začiatku intervalu (a id pri zhode), kde si každý uzol
+ * pamätá najneskorší koniec a veľkosť svojho podstromu. Vďaka tomu:
+ * - počet intervalov so začiatkom najviac v daný deň je O(log n),
+ * - vyhľadanie k intervalov prekrývajúcich obdobie je O(log n + k) v očakávanom prípade,
+ *   lebo podstromy, ktoré všetky skončili pred obdobím, sa vôbec neprechádzajú.
+ *
+ * Trieda nie je thread-safe, synchronizáciu zabezpečuje volajúci.
+ */
+public final class IntervalovyStrom {
+
+    private final SplittableRandom random;
+    private Uzol koren;
+
+    /**
+     * Vytvorí prázdny strom s náhodnými prioritami uzlov.
+     */
+    public IntervalovyStrom() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Vytvorí prázdny strom s daným zdrojom priorít (pre testy).
+     *
+     * @param random zdroj priorít uzlov
+     */
+    IntervalovyStrom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Vloží interval. Dvojica (od, id) musí byť v strome jedinečná.
+     *
+     * @param id    identifikátor intervalu
+     * @param od    prvý deň intervalu (vrátane)
+     * @param doDen posledný deň intervalu (vrátane)
+     */
+    public void vloz(long id, int od, int doDen) {
+        koren = vloz(koren, new Uzol(id, od, doDen, random.nextInt()));
+    }
+
+    /**
+     * Odoberie interval.
+     *
+     * @param id identifikátor intervalu
+     * @param od prvý deň intervalu, pod ktorým bol vložený
+     */
+    public void odober(long id, int od) {
+        koren = odober(koren, od, id);
+    }
+
+    /**
+     * @return počet intervalov v strome
+     */
+    public int velkost() {
+        return velkost(koren);
+    }
+
+    /**
+     * Spočíta intervaly, ktoré začínajú najneskôr v daný deň.
+     *
+     * @param den deň (epoch day)
+     * @return počet intervalov so začiatkom &lt;= den
+     */
+    public int pocetZacinajucichDo(int den) {
+        int pocet = 0;
+        Uzol uzol = koren;
+        while (uzol != null) {
+            if (uzol.od <= den) {
+                pocet += velkost(uzol.lavy) + 1;
+                uzol = uzol.pravy;
+            } else {
+                uzol = uzol.lavy;
+            }
+        }
+        return pocet;
+    }
+
+    /**
+     * Odovzdá id všetkých intervalov, ktoré majú s obdobím aspoň jeden spoločný deň.
+     * Pre jeden deň (stabbing dopyt) stačí zadať od == doDen.
+     *
+     * @param od        prvý deň obdobia (vrátane)
+     * @param doDen     posledný deň obdobia (vrátane)
+     * @param vysledok  príjemca id nájdených intervalov (v poradí podľa začiatku)
+     */
+    public void prekryvajuce(int od, int doDen, LongConsumer vysledok) {
+        prekryvajuce(koren, od, doDen, vysledok);
+    }
+
+    private static void prekryvajuce(Uzol uzol, int od, int doDen, LongConsumer vysledok) {
+        if (uzol == null || uzol.maxDo < od) {
+            // Celý podstrom skončil pred obdobím
+            return;
+        }
+        prekryvajuce(uzol.lavy, od, doDen, vysledok);
+        if (uzol.od > doDen) {
+            // Tento uzol aj celý pravý podstrom začínajú až po období
+            return;
+        }
+        if (uzol.doDen >= od) {
+            vysledok.accept(uzol.id);
+        }
+        prekryvajuce(uzol.pravy, od, doDen, vysledok);
+    }
+
+    private static Uzol vloz(Uzol uzol, Uzol novy) {
+        if (uzol == null) {
+            return novy;
+        }
+        if (novy.priorita > uzol.priorita) {
+            Uzol[] casti = rozdel(uzol, novy.od, novy.id);
+            novy.lavy = casti[0];
+            novy.pravy = casti[1];
+            return aktualizuj(novy);
+        }
+        if (porovnaj(novy.od, novy.id, uzol) < 0) {
+            uzol.lavy = vloz(uzol.lavy, novy);
+        } else {
+            uzol.pravy = vloz(uzol.pravy, novy);
+        }
+        return aktualizuj(uzol);
+    }
+
+    private static Uzol odober(Uzol uzol, int od, long id) {
+        if (uzol == null) {
+            return null;
+        }
+        int porovnanie = porovnaj(od, id, uzol);
+        if (porovnanie == 0) {
+            return spoj(uzol.lavy, uzol.pravy);
+        }
+        if (porovnanie < 0) {
+            uzol.lavy = odober(uzol.lavy, od, id);
+        } else {
+            uzol.pravy = odober(uzol.pravy, od, id);
+        }
+        return aktualizuj(uzol);
+    }
+
+    /**
+     * Rozdelí podstrom na uzly menšie ako (od, id) a ostatné.
+     */
+    private static Uzol[] rozdel(Uzol uzol, int od, long id) {
+        if (uzol == null) {
+            return new Uzol[2];
+        }
+        Uzol[] casti;
+        if (porovnaj(od, id, uzol) > 0) {
+            casti = rozdel(uzol.pravy, od, id);
+            uzol.pravy = casti[0];
+            casti[0] = aktualizuj(uzol);
+        } else {
+            casti = rozdel(uzol.lavy, od, id);
+            uzol.lavy = casti[1];
+            casti[1] = aktualizuj(uzol);
+        }
+        return casti;
+    }
+
+    /**
+     * Spojí dva podstromy, kde všetky uzly prvého sú menšie ako uzly druhého.
+     */
+    private static Uzol spoj(Uzol mensi, Uzol vacsi) {
+        if (mensi == null) {
+            return vacsi;
+        }
+        if (vacsi == null) {
+            return mensi;
+        }
+        if (mensi.priorita > vacsi.priorita) {
+            mensi.pravy = spoj(mensi.pravy, vacsi);
+            return aktualizuj(mensi);
+        }
+        vacsi.lavy = spoj(mensi, vacsi.lavy);
+        return aktualizuj(vacsi);
+    }
+
+    private static int porovnaj(int od, long id, Uzol uzol) {
+        int porovnanie = Integer.compare(od, uzol.od);
+        return porovnanie != 0 ? porovnanie : Long.compare(id, uzol.id);
+    }
+
+    private static Uzol aktualizuj(Uzol uzol) {
+        uzol.velkost = 1 + velkost(uzol.lavy) + velkost(uzol.pravy);
+        uzol.maxDo = uzol.doDen;
+        if (uzol.lavy != null && uzol.lavy.maxDo > uzol.maxDo) {
+            uzol.maxDo = uzol.lavy.maxDo;
+        }
+        if (uzol.pravy != null && uzol.pravy.maxDo > uzol.maxDo) {
+            uzol.maxDo = uzol.pravy.maxDo;
+        }
+        return uzol;
+    }
+
+    private static int velkost(Uzol uzol) {
+        return uzol == null ? 0 : uzol.velkost;
+    }
+
+    /**
+     * Uzol stromu - jeden interval s údajmi o svojom podstrome.
+     */
+    private static final class Uzol {
+        private final long id;
+        private final int od;
+        private final int doDen;
+        private final int priorita;
+        private Uzol lavy;
+        private Uzol pravy;
+        private int maxDo;
+        private int velkost;
+
+        private Uzol(long id, int od, int doDen, int priorita) {
+            this.id = id;
+            this.od = od;
+            this.doDen = doDen;
+            this.priorita = priorita;
+            this.maxDo = doDen;
+            this.velkost = 1;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package projekt.poistenie.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Invertovaný index pre fulltextové vyhľadávanie v pamäti.
+ *
+ * Texty sa rozdelia na slová bez diakritiky a malými písmenami ("Ľubomír" aj
+ * "lubomir" dá "lubomir"). Každé slovo ukazuje na dokumenty, v ktorých sa
+ * vyskytuje, spolu s váhou poľa. Slová sú v zoradenej mape, takže všetky slová
+ * začínajúce na zadanú predponu sa nájdu jedným rozsahom mapy.
+ *
+ * Všetky slová dopytu musia v dokumente nájsť zhodu (AND). Skóre je súčet váh
+ * najlepšie zhodných polí, presná zhoda slova má dvojnásobnú váhu oproti zhode predpony.
+ *
+ * Trieda nie je thread-safe, synchronizáciu zabezpečuje volajúci.
+ */
+public final class InvertovanyIndex {
+
+    /**
+     * Najkratšia predpona, pre ktorú sa hľadajú aj dlhšie slová.
+     * Kratšie slová dopytu sa porovnávajú len presne, aby jedno písmeno
+     * neprechádzalo väčšinu indexu.
+     */
+    public static final int MIN_DLZKA_PREDPONY = 2;
+
+    private static final Pattern DIAKRITIKA = Pattern.compile("\\p{M}+");
+    private static final Pattern ODDELOVAC = Pattern.compile("[^\\p{Alnum}]+");
+
+    // Poradie výsledkov: vyššie skóre skôr, pri zhode menšie id
+    private static final Comparator<Zasah> PORADIE =
+            Comparator.comparingInt(Zasah::skore).reversed().thenComparingLong(Zasah::id);
+
+    // slovo -> (dokument -> najvyššia váha poľa, v ktorom sa slovo vyskytuje)
+    private final TreeMap<String, Map<Long, Integer>> slova = new TreeMap<>();
+
+    // dokument -> jeho slová (na odobratie pri zmene alebo vymazaní)
+    private final Map<Long, Set<String>> dokumenty = new HashMap<>();
+
+    /**
+     * Textové pole dokumentu s váhou pre skóre.
+     *
+     * @param text obsah poľa (môže byť null)
+     * @param vaha váha zhody v tomto poli
+     */
+    public record Pole(String text, int vaha) {
+    }
+
+    /**
+     * Nájdený dokument so skóre.
+     *
+     * @param id    identifikátor dokumentu
+     * @param skore skóre zhody
+     */
+    public record Zasah(long id, int skore) {
+    }
+
+    /**
+     * Najlepšie zásahy dopytu spolu s počtom všetkých zásahov.
+     *
+     * @param zasahy najlepšie zásahy zoradené podľa skóre
+     * @param celkom počet všetkých zásahov dopytu
+     */
+    public record Najlepsie(List<Zasah> zasahy, int celkom) {
+    }
+
+    /**
+     * Vloží dokument, prípadne nahradí jeho predchádzajúcu verziu.
+     *
+     * @param id    identifikátor dokumentu
+     * @param polia textové polia dokumentu
+     */
+    public void vloz(long id, List<Pole> polia) {
+        odober(id);
+        Set<String> slovaDokumentu = new HashSet<>();
+        for (Pole pole : polia) {
+            for (String slovo : tokenizuj(pole.text())) {
+                slova.computeIfAbsent(slovo, k -> new HashMap<>()).merge(id, pole.vaha(), Math::max);
+                slovaDokumentu.add(slovo);
+            }
+        }
+        if (!slovaDokumentu.isEmpty()) {
+            dokumenty.put(id, slovaDokumentu);
+        }
+    }
+
+    /**
+     * Odoberie dokument z indexu. Neexistujúci dokument sa ignoruje.
+     *
+     * @param id identifikátor dokumentu
+     */
+    public void odober(long id) {
+        Set<String> slovaDokumentu = dokumenty.remove(id);
+        if (slovaDokumentu == null) {
+            return;
+        }
+        for (String slovo : slovaDokumentu) {
+            Map<Long, Integer> vyskyty = slova.get(slovo);
+            vyskyty.remove(id);
+            if (vyskyty.isEmpty()) {
+                slova.remove(slovo);
+            }
+        }
+    }
+
+    /**
+     * @return počet dokumentov v indexe
+     */
+    public int velkost() {
+        return dokumenty.size();
+    }
+
+    /**
+     * Vyhľadá najviac limit najlepších dokumentov, ktoré obsahujú všetky slová dopytu
+     * (ako celé slová alebo predpony). Na rozdiel od zoradenia všetkých zásahov si drží
+     * len haldu s limit prvkami, krátka predpona s veľa zásahmi preto stojí O(k log limit).
+     *
+     * @param dotaz hľadaný text
+     * @param limit najväčší počet vrátených zásahov
+     * @return zásahy zoradené podľa skóre zostupne, pri zhode podľa id
+     */
+    public List<Zasah> hladaj(String dotaz, int limit) {
+        return najlepsie(dotaz, limit).zasahy();
+    }
+
+    /**
+     * Vyhľadá najviac limit najlepších dokumentov a spočíta všetky zásahy (pre stránkovanie:
+     * limit je koniec požadovanej strany, celkový počet sa len spočíta, nezoraďuje sa).
+     *
+     * @param dotaz hľadaný text
+     * @param limit najväčší počet vrátených zásahov
+     * @return najlepšie zásahy zoradené podľa skóre a celkový počet zásahov
+     */
+    public Najlepsie najlepsie(String dotaz, int limit) {
+        Map<Long, Integer> skore = skore(dotaz);
+        if (skore.size() <= limit) {
+            List<Zasah> zasahy = new ArrayList<>(skore.size());
+            skore.forEach((id, body) -> zasahy.add(new Zasah(id, body)));
+            zasahy.sort(PORADIE);
+            return new Najlepsie(zasahy, zasahy.size());
+        }
+
+        // Na vrchu haldy je najhorší z doteraz najlepších zásahov
+        PriorityQueue<Zasah> najlepsie = new PriorityQueue<>(limit + 1, PORADIE.reversed());
+        skore.forEach((id, body) -> {
+            najlepsie.add(new Zasah(id, body));
+            if (najlepsie.size() > limit) {
+                najlepsie.poll();
+            }
+        });
+        List<Zasah> zasahy = new ArrayList<>(najlepsie);
+        zasahy.sort(PORADIE);
+        return new Najlepsie(zasahy, skore.size());
+    }
+
+    /**
+     * Spočíta skóre dokumentov, ktoré obsahujú všetky slová dopytu.
+     */
+    private Map<Long, Integer> skore(String dotaz) {
+        Map<Long, Integer> skore = null;
+        for (String slovoDotazu : new HashSet<>(tokenizuj(dotaz))) {
+            Map<Long, Integer> zhody = zhody(slovoDotazu);
+            if (skore == null) {
+                skore = zhody;
+            } else {
+                Map<Long, Integer> prienik = new HashMap<>();
+                for (Map.Entry<Long, Integer> dokument : skore.entrySet()) {
+                    Integer body = zhody.get(dokument.getKey());
+                    if (body != null) {
+                        prienik.put(dokument.getKey(), dokument.getValue() + body);
+                    }
+                }
+                skore = prienik;
+            }
+            if (skore.isEmpty()) {
+                break;
+            }
+        }
+        return skore == null ? Map.of() : skore;
+    }
+
+    /**
+     * Nájde dokumenty so slovom zhodným so slovom dopytu alebo začínajúcim na neho.
+     */
+    private Map<Long, Integer> zhody(String slovoDotazu) {
+        Map<String, Map<Long, Integer>> kandidati = slovoDotazu.length() >= MIN_DLZKA_PREDPONY
+                ? slova.subMap(slovoDotazu, true, slovoDotazu + Character.MAX_VALUE, true)
+                : slova.containsKey(slovoDotazu) ? Map.of(slovoDotazu, slova.get(slovoDotazu)) : Map.of();
+
+        Map<Long, Integer> zhody = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> slovo : kandidati.entrySet()) {
+            int nasobok = slovo.getKey().equals(slovoDotazu) ? 2 : 1;
+            for (Map.Entry<Long, Integer> vyskyt : slovo.getValue().entrySet()) {
+                zhody.merge(vyskyt.getKey(), vyskyt.getValue() * nasobok, Math::max);
+            }
+        }
+        return zhody;
+    }
+
+    /**
+     * Rozdelí text na slová bez diakritiky a malými písmenami.
+     *
+     * @param text text (môže byť null)
+     * @return zoznam slov
+     */
+    public static List<String> tokenizuj(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalizovany = DIAKRITIKA.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> vysledok = new ArrayList<>();
+        for (String slovo : ODDELOVAC.split(normalizovany)) {
+            if (!slovo.isEmpty()) {
+                vysledok.add(slovo);
+            }
+        }
+        return vysledok;
+    }
+}
@@ -0,0 +1,31 @@
+package projekt.poistenie.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import projekt.poistenie.dtos.TokenDTO;
+
+/**
+ * Služba na vydávanie a overovanie podpísaných tokenov (JWT) pre klientov API.
+ */
+public interface JwtService {
+
+    /**
+     * Overí prihlasovacie údaje cez AccountService a vydá token s e-mailom a rolou účtu.
+     *
+     * @param email    e-mail používateľa
+     * @param password heslo v čitateľnej podobe
+     * @return podpísaný token
+     * @throws AuthenticationException ak sú údaje nesprávne
+     */
+    TokenDTO vydaj(String email, String password);
+
+    /**
+     * Overí podpis a platnosť tokenu a zostaví z neho prihláseného používateľa
+     * bez dopytu do databázy.
+     *
+     * @param token podpísaný token
+     * @return prihlásený používateľ s rolou z tokenu
+     * @throws AuthenticationException ak je token neplatný alebo vypršal
+     */
+    Authentication over(String token);
+}
@@ -0,0 +1,193 @@
+package projekt.poistenie.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.DecodingException;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import projekt.poistenie.dtos.TokenDTO;
+import projekt.poistenie.entities.Account;
+import projekt.poistenie.exceptions.HashovaniePretazeneException;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Implementácia JwtService s tokenmi podpísanými HMAC-SHA256.
+ *
+ * Token nesie e-mail účtu ("sub") a jeho rolu ("role"). Overenie je len kontrola
+ * podpisu a platnosti v pamäti - požiadavka s tokenom nesiaha do databázy ani
+ * do HTTP session, takže ju môže obslúžiť ktorákoľvek inštancia s rovnakým kľúčom.
+ * Zmena roly alebo zrušenie účtu sa preto prejaví až po vypršaní tokenu.
+ *
+ * Prihlasovacie údaje sa pri vydaní overia rovnakým AuthenticationProvider-om ako
+ * formulár (cache používateľov, ohraničený pool hashovania, prehashovanie hesla).
+ *
+ * Kľúč (poistenie.jwt.tajomstvo) je povinný a musí mať aspoň 256 bitov, inak aplikácia
+ * nenaštartuje. Náhodný kľúč platný len na jednej inštancii do reštartu sa pri chýbajúcom
+ * nastavení použije iba v profile "dev".
+ */
+@Service
+public class JwtServiceImpl implements JwtService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JwtServiceImpl.class);
+
+    /**
+     * Typ tokenu v hlavičke Authorization.
+     */
+    public static final String TYP = "Bearer";
+
+    /**
+     * Profil vývoja, v ktorom sa pri chýbajúcom kľúči vygeneruje náhodný.
+     */
+    public static final String PROFIL_VYVOJ = "dev";
+
+    // Najmenšia dĺžka kľúča HMAC-SHA256 v bajtoch (256 bitov)
+    private static final int MIN_DLZKA_KLUCA = 32;
+
+    private static final String ROLA = "role";
+
+    private final AuthenticationProvider authenticationProvider;
+    private final SecretKey kluc;
+    private final Duration platnost;
+    private final String vydavatel;
+    private final Clock hodiny;
+    private final JwtParser parser;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param authenticationProvider overenie prihlasovacích údajov cez AccountService
+     * @param tajomstvo              kľúč HMAC v Base64 (aspoň 256 bitov)
+     * @param platnost               doba platnosti tokenu od vydania
+     * @param vydavatel              hodnota "iss" vydaných a prijímaných tokenov
+     * @param prostredie             aktívne profily (prázdny kľúč je povolený len v profile "dev")
+     */
+    @Autowired
+    public JwtServiceImpl(AuthenticationProvider authenticationProvider,
+                          @Value("${poistenie.jwt.tajomstvo:}") String tajomstvo,
+                          @Value("${poistenie.jwt.platnost:PT1H}") Duration platnost,
+                          @Value("${poistenie.jwt.vydavatel:poistenie}") String vydavatel,
+                          Environment prostredie) {
+        this(authenticationProvider, kluc(tajomstvo, prostredie.acceptsProfiles(Profiles.of(PROFIL_VYVOJ))),
+                platnost, vydavatel, Clock.systemUTC());
+    }
+
+    /**
+     * Konštruktor s vlastným kľúčom a hodinami (pre testy).
+     *
+     * @param authenticationProvider overenie prihlasovacích údajov
+     * @param kluc                   kľúč HMAC
+     * @param platnost               doba platnosti tokenu od vydania
+     * @param vydavatel              hodnota "iss"
+     * @param hodiny                 zdroj aktuálneho času
+     */
+    JwtServiceImpl(AuthenticationProvider authenticationProvider, SecretKey kluc, Duration platnost,
+                   String vydavatel, Clock hodiny) {
+        this.authenticationProvider = authenticationProvider;
+        this.kluc = kluc;
+        this.platnost = platnost;
+        this.vydavatel = vydavatel;
+        this.hodiny = hodiny;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(kluc)
+                .requireIssuer(vydavatel)
+                .setClock(() -> Date.from(hodiny.instant()))
+                .build();
+    }
+
+    /**
+     * Vytvorí kľúč HMAC z nastavenia.
+     *
+     * @param tajomstvo kľúč v Base64
+     * @param vyvoj     true v profile "dev" - prázdny kľúč sa nahradí náhodným
+     * @return kľúč HMAC-SHA256
+     * @throws IllegalStateException ak kľúč chýba, nie je v Base64 alebo je kratší ako 256 bitov
+     */
+    static SecretKey kluc(String tajomstvo, boolean vyvoj) {
+        if (tajomstvo == null || tajomstvo.isBlank()) {
+            if (!vyvoj) {
+                throw new IllegalStateException("poistenie.jwt.tajomstvo (POISTENIE_JWT_TAJOMSTVO) nie je nastavené - "
+                        + "zadajte rovnaký kľúč v Base64 s aspoň 256 bitmi na všetkých inštanciách");
+            }
+            LOG.warn("poistenie.jwt.tajomstvo nie je nastavené - profil {}: tokeny budú platiť len na tejto "
+                    + "inštancii do reštartu", PROFIL_VYVOJ);
+            return Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        }
+        byte[] bajty;
+        try {
+            bajty = Decoders.BASE64.decode(tajomstvo.trim());
+        } catch (DecodingException e) {
+            throw new IllegalStateException("poistenie.jwt.tajomstvo nie je platný Base64", e);
+        }
+        if (bajty.length < MIN_DLZKA_KLUCA) {
+            throw new IllegalStateException("poistenie.jwt.tajomstvo má " + bajty.length * 8
+                    + " bitov, HMAC-SHA256 vyžaduje aspoň " + MIN_DLZKA_KLUCA * 8 + " bitov");
+        }
+        return Keys.hmacShaKeyFor(bajty);
+    }
+
+    @Override
+    public TokenDTO vydaj(String email, String password) {
+        Authentication prihlaseny;
+        try {
+            prihlaseny = authenticationProvider.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(email, password));
+        } catch (AuthenticationServiceException e) {
+            // Plný pool hashovania nie je chyba údajov - odpoveď 503, nie 401
+            if (e.getCause() instanceof HashovaniePretazeneException pretazene) {
+                throw pretazene;
+            }
+            throw e;
+        }
+        Account account = (Account) prihlaseny.getPrincipal();
+
+        Instant teraz = hodiny.instant();
+        String token = Jwts.builder()
+                .setSubject(account.getEmail())
+                .claim(ROLA, account.getRole().name())
+                .setIssuer(vydavatel)
+                .setIssuedAt(Date.from(teraz))
+                .setExpiration(Date.from(teraz.plus(platnost)))
+                .signWith(kluc, SignatureAlgorithm.HS256)
+                .compact();
+        return new TokenDTO(token, TYP, platnost.toSeconds());
+    }
+
+    @Override
+    public Authentication over(String token) {
+        Claims obsah;
+        try {
+            obsah = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Neplatný alebo expirovaný token.", e);
+        }
+
+        String rola = obsah.get(ROLA, String.class);
+        if (obsah.getSubject() == null || rola == null) {
+            throw new BadCredentialsException("Token neobsahuje e-mail alebo rolu.");
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(obsah.getSubject(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + rola)));
+    }
+}
@@ -0,0 +1,159 @@
+package projekt.poistenie.service;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import projekt.poistenie.exceptions.HashovaniePretazeneException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt enkodér, ktorý hashuje na vlastnom ohraničenom poole vlákien.
+ *
+ * Hashovanie je zámerne drahé na CPU. Keby bežalo priamo na vláknach Tomcatu, nával
+ * registrácií alebo prihlásení by ich obsadil všetky a zastavil aj stránky, ktoré
+ * s heslami nemajú nič spoločné. Tu naraz hashuje najviac "vlakna" vlákien, ďalších
+ * najviac "fronta" hesiel čaká a ostatné sa hneď odmietnu výnimkou
+ * HashovaniePretazeneException (HTTP 503) - klient to môže skúsiť znova, namiesto
+ * toho, aby sa rad predlžoval bez obmedzenia.
+ *
+ * upgradeEncoding hlási každý hash s inou cenou, než je nastavená (aj nižšou),
+ * aby sa heslá pri prihlásení prehashovali po zmene nastavenia oboma smermi.
+ */
+public class OhranicenyPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    // $2a$10$... - verzia a cena BCrypt na začiatku hashu
+    private static final Pattern CENA = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int sila;
+    private final ThreadPoolExecutor pool;
+    private final Duration cakanie;
+
+    /**
+     * Vytvorí enkodér s vlastným poolom vlákien.
+     *
+     * @param sila    cena BCrypt
+     * @param vlakna  počet vlákien, ktoré naraz hashujú
+     * @param fronta  najväčší počet hesiel čakajúcich na voľné vlákno
+     * @param cakanie najdlhšie čakanie na výsledok
+     */
+    public OhranicenyPasswordEncoder(int sila, int vlakna, int fronta, Duration cakanie) {
+        this(sila, pool(vlakna, fronta), cakanie);
+    }
+
+    /**
+     * Vytvorí enkodér nad zadaným poolom (pre testy).
+     *
+     * @param sila    cena BCrypt
+     * @param pool    pool vlákien na hashovanie
+     * @param cakanie najdlhšie čakanie na výsledok
+     */
+    OhranicenyPasswordEncoder(int sila, ThreadPoolExecutor pool, Duration cakanie) {
+        this.bcrypt = new BCryptPasswordEncoder(sila);
+        this.sila = sila;
+        this.pool = pool;
+        this.cakanie = cakanie;
+    }
+
+    private static ThreadPoolExecutor pool(int vlakna, int fronta) {
+        AtomicInteger cislo = new AtomicInteger();
+        return new ThreadPoolExecutor(vlakna, vlakna, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fronta),
+                uloha -> {
+                    Thread vlakno = new Thread(uloha, "hashovanie-" + cislo.incrementAndGet());
+                    vlakno.setDaemon(true);
+                    return vlakno;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return vykonaj(() -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return vykonaj(() -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher cena = CENA.matcher(encodedPassword);
+        return cena.find() && Integer.parseInt(cena.group(1)) != sila;
+    }
+
+    /**
+     * Zahashuje heslo na pozadí bez čakania na výsledok (prehashovanie po prihlásení).
+     *
+     * @param rawPassword heslo v čitateľnej podobe
+     * @return budúci hash
+     * @throws HashovaniePretazeneException ak je fronta plná
+     */
+    public CompletableFuture<String> encodeNaPozadi(CharSequence rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> bcrypt.encode(rawPassword), pool);
+        } catch (RejectedExecutionException e) {
+            throw plnaFronta();
+        }
+    }
+
+    /**
+     * Zastaví vlákna poolu (pri ukončení aplikácie).
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private <T> T vykonaj(Callable<T> uloha) {
+        Future<T> vysledok;
+        try {
+            vysledok = pool.submit(uloha);
+        } catch (RejectedExecutionException e) {
+            throw plnaFronta();
+        }
+
+        try {
+            return vysledok.get(cakanie.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Zrušená úloha by inak zaberala miesto vo fronte, kým sa k nej vlákno nedostane
+            vysledok.cancel(true);
+            pool.purge();
+            throw new HashovaniePretazeneException(
+                    "Heslo sa nepodarilo spracovať do " + cakanie.toMillis() + " ms.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            vysledok.cancel(true);
+            pool.purge();
+            throw new HashovaniePretazeneException("Spracovanie hesla bolo prerušené.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static HashovaniePretazeneException plnaFronta() {
+        return new HashovaniePretazeneException("Príliš veľa súčasných prihlásení a registrácií, skúste to o chvíľu.");
+    }
+}
@@ -0,0 +1,49 @@
+package projekt.poistenie.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Služba s indexom období platnosti poistných zmlúv v pamäti.
+ * Odpovedá na otázky "ktoré zmluvy platia v daný deň" a "ktoré zmluvy
+ * zasahujú do obdobia" bez prechodu tabuľky zmlúv.
+ */
+public interface PlatnostIndexService {
+
+    /**
+     * @return true, ak je index zostavený a odpovedá aktuálnym dátam
+     */
+    boolean isPripraveny();
+
+    /**
+     * Rozdelí zmluvy podľa stavu voči dátumu (AKTIVNA, CAKAJUCA, EXPIROVANA).
+     * Stavy bez zmlúv sa vo výsledku nenachádzajú.
+     *
+     * @param datum referenčný dátum
+     * @return stav - počet zmlúv
+     */
+    Map<String, Long> countByStav(LocalDate datum);
+
+    /**
+     * Vráti id zmlúv platných v daný deň.
+     *
+     * @param datum deň
+     * @return id zmlúv zoradené podľa začiatku platnosti
+     */
+    List<Long> findAktivne(LocalDate datum);
+
+    /**
+     * Vráti id zmlúv, ktorých platnosť má s obdobím aspoň jeden spoločný deň.
+     *
+     * @param od      prvý deň obdobia (vrátane)
+     * @param doDatum posledný deň obdobia (vrátane)
+     * @return id zmlúv zoradené podľa začiatku platnosti
+     */
+    List<Long> findPrekryvajuce(LocalDate od, LocalDate doDatum);
+
+    /**
+     * Zostaví index nanovo jedným prechodom tabuľky zmlúv.
+     */
+    void rebuild();
+}
@@ -0,0 +1,240 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.ZmenaDat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementácia PlatnostIndexService nad dvoma intervalovými stromami v pamäti.
+ *
+ * Strom podľa začiatku platnosti slúži na vyhľadávanie a na počet zmlúv, ktoré
+ * už začali; strom podľa konca platnosti na počet zmlúv, ktoré už skončili.
+ * Stav zmluvy sa tak určí dvomi dopytmi O(log n) namiesto GROUP BY nad tabuľkou.
+ *
+ * Index sa zostaví pri štarte prúdovým prechodom zmlúv a potom sa udržiava
+ * z doménových udalostí (aj z dávok importu) až po potvrdení transakcie, takže
+ * odvolaná zmena sa doň nikdy nedostane. Zmeny, ktoré prídu počas zostavovania, sa odložia
+ * a po jeho skončení zopakujú.
+ */
+@Service
+public class PlatnostIndexServiceImpl implements PlatnostIndexService {
+
+    private final PoistnaZmluvaScanService poistnaZmluvaScanService;
+
+    private final ReadWriteLock zamok = new ReentrantReadWriteLock();
+
+    // Aktuálny index (chránený zámkom)
+    private Index index = new Index();
+
+    // Zmeny prijaté počas zostavovania indexu alebo null, ak zostavovanie nebeží (chránené zámkom)
+    private List<ZmenaDat> odlozeneZmeny;
+
+    private volatile boolean pripraveny;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param poistnaZmluvaScanService prúdový prechod zmlúv (zostavenie indexu)
+     */
+    @Autowired
+    public PlatnostIndexServiceImpl(PoistnaZmluvaScanService poistnaZmluvaScanService) {
+        this.poistnaZmluvaScanService = poistnaZmluvaScanService;
+    }
+
+    /**
+     * Po štarte aplikácie zostaví index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        zamok.writeLock().lock();
+        try {
+            odlozeneZmeny = new ArrayList<>();
+        } finally {
+            zamok.writeLock().unlock();
+        }
+
+        Index novy = new Index();
+        try {
+            poistnaZmluvaScanService.scan(zmluva -> novy.vloz(zmluva.getId(),
+                    zmluva.getPlatnostOd().toEpochDay(), zmluva.getPlatnostDo().toEpochDay()));
+        } catch (RuntimeException e) {
+            zamok.writeLock().lock();
+            try {
+                odlozeneZmeny = null;
+            } finally {
+                zamok.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        zamok.writeLock().lock();
+        try {
+            // Prechod mohol zmenu už vidieť aj nevidieť; operácie indexu sú idempotentné,
+            // preto je bezpečné zopakovať všetky zmeny prijaté od začiatku prechodu.
+            for (ZmenaDat zmena : odlozeneZmeny) {
+                novy.aplikuj(zmena);
+            }
+            odlozeneZmeny = null;
+            index = novy;
+            pripraveny = true;
+        } finally {
+            zamok.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Premietne potvrdenú zmenu zmluvy do indexu.
+     *
+     * @param zmena udalosť o zmene zmluvy
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZmluvaZmenena(PoistnaZmluvaZmenenaEvent zmena) {
+        aplikuj(zmena);
+    }
+
+    /**
+     * Vloží do indexu zmluvy z potvrdenej dávky importu.
+     *
+     * @param importDat udalosť o zapísanej dávke importu
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHromadnyImport(HromadnyImportEvent importDat) {
+        if (!importDat.getZmluvy().isEmpty()) {
+            aplikuj(importDat);
+        }
+    }
+
+    private void aplikuj(ZmenaDat zmena) {
+        zamok.writeLock().lock();
+        try {
+            if (odlozeneZmeny != null) {
+                odlozeneZmeny.add(zmena);
+            }
+            index.aplikuj(zmena);
+        } finally {
+            zamok.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isPripraveny() {
+        return pripraveny;
+    }
+
+    @Override
+    public Map<String, Long> countByStav(LocalDate datum) {
+        int den = (int) datum.toEpochDay();
+        long spolu;
+        long zacali;
+        long skoncili;
+        zamok.readLock().lock();
+        try {
+            spolu = index.podlaZaciatku.velkost();
+            zacali = index.podlaZaciatku.pocetZacinajucichDo(den);
+            skoncili = index.podlaKonca.pocetZacinajucichDo(den - 1);
+        } finally {
+            zamok.readLock().unlock();
+        }
+
+        Map<String, Long> vysledok = new LinkedHashMap<>();
+        pridajNenulove(vysledok, "AKTIVNA", zacali - skoncili);
+        pridajNenulove(vysledok, "CAKAJUCA", spolu - zacali);
+        pridajNenulove(vysledok, "EXPIROVANA", skoncili);
+        return vysledok;
+    }
+
+    @Override
+    public List<Long> findAktivne(LocalDate datum) {
+        return findPrekryvajuce(datum, datum);
+    }
+
+    @Override
+    public List<Long> findPrekryvajuce(LocalDate od, LocalDate doDatum) {
+        if (od.isAfter(doDatum)) {
+            throw new IllegalArgumentException("Začiatok obdobia musí byť pred jeho koncom.");
+        }
+        List<Long> vysledok = new ArrayList<>();
+        zamok.readLock().lock();
+        try {
+            index.podlaZaciatku.prekryvajuce((int) od.toEpochDay(), (int) doDatum.toEpochDay(), vysledok::add);
+        } finally {
+            zamok.readLock().unlock();
+        }
+        return vysledok;
+    }
+
+    private static void pridajNenulove(Map<String, Long> vysledok, String stav, long pocet) {
+        if (pocet > 0) {
+            vysledok.put(stav, pocet);
+        }
+    }
+
+    /**
+     * Obsah indexu: oba stromy a obdobie platnosti každej zmluvy (na odoberanie podľa id).
+     */
+    private static final class Index {
+        private final IntervalovyStrom podlaZaciatku = new IntervalovyStrom();
+        private final IntervalovyStrom podlaKonca = new IntervalovyStrom();
+        private final Map<Long, long[]> obdobia = new HashMap<>();
+
+        private void aplikuj(ZmenaDat zmena) {
+            if (zmena instanceof PoistnaZmluvaZmenenaEvent zmluva) {
+                if (zmluva.getPred() != null) {
+                    odober(zmluva.getPred().getId());
+                }
+                if (zmluva.getPo() != null) {
+                    vloz(zmluva.getPo());
+                }
+            } else if (zmena instanceof HromadnyImportEvent importDat) {
+                importDat.getZmluvy().forEach(this::vloz);
+            }
+        }
+
+        private void vloz(PoistnaZmluvaDTO zmluva) {
+            vloz(zmluva.getId(), zmluva.getPlatnostOd().toEpochDay(), zmluva.getPlatnostDo().toEpochDay());
+        }
+
+        private void vloz(long id, long od, long doDen) {
+            odober(id);
+            obdobia.put(id, new long[]{od, doDen});
+            podlaZaciatku.vloz(id, (int) od, (int) doDen);
+            podlaKonca.vloz(id, koniecPreStav(od, doDen), koniecPreStav(od, doDen));
+        }
+
+        private void odober(long id) {
+            long[] obdobie = obdobia.remove(id);
+            if (obdobie != null) {
+                podlaZaciatku.odober(id, (int) obdobie[0]);
+                podlaKonca.odober(id, koniecPreStav(obdobie[0], obdobie[1]));
+            }
+        }
+
+        /**
+         * Deň, po ktorom sa zmluva počíta ako expirovaná. Zmluva s koncom pred začiatkom
+         * je podľa countByStav v repozitári expirovaná hneď od začiatku platnosti.
+         */
+        private static int koniecPreStav(long od, long doDen) {
+            return (int) (doDen >= od ? doDen : od - 1);
+        }
+    }
+}
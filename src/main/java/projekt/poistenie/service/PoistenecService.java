@@ -1,6 +1,9 @@
 package projekt.poistenie.service;
 
+import org.springframework.data.domain.Slice;
 import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistenecDetailDTO;
+import projekt.poistenie.dtos.PoistenecKurzor;
 
 import java.util.List;
 
@@ -25,6 +28,19 @@ public interface PoistenecService {
      */
     List<PoistenecDTO> findAll();
 
+    /**
+     * Načíta jednu stranu poistencov zoradených podľa priezviska a ID.
+     * Stránkuje sa podľa kurzora (keyset), nie posunom, takže každá strana
+     * stojí rovnako bez ohľadu na to, ako ďaleko v zozname je.
+     *
+     * @param kurzor  pozícia v zozname alebo null pre začiatok (pri dozadu pre koniec) zoznamu
+     * @param dozadu  true pre stranu pred kurzorom, false pre stranu za ním
+     * @param velkost počet poistencov na strane
+     * @return strana poistencov vždy vo vzostupnom poradí; hasNext() hovorí, či za ňou
+     *         v smere čítania nasledujú ďalší poistenci
+     */
+    Slice<PoistenecDTO> findStrana(PoistenecKurzor kurzor, boolean dozadu, int velkost);
+
     /**
      * Nájde a vráti poistenca podľa jeho ID.
      * Ak sa poistenca s daným ID nenájde, implementácia vyhodí
@@ -50,6 +66,16 @@ public interface PoistenecService {
      */
     void delete(long id);
 
+    /**
+     * Načíta detail poistenca spolu s jeho zmluvami a počtami poistných udalostí.
+     * Počet dopytov nezávisí od počtu zmlúv.
+     * Ak sa poistenec nenájde, vyhodí PoistenecNotFoundException.
+     *
+     * @param id ID poistenca
+     * @return detail poistenca
+     */
+    PoistenecDetailDTO findDetailById(long id);
+
     /**
      * Nájde a vráti poistenca podľa jeho e-mailu.
      * Používa sa pre overenie vlastníctva a zobrazenie vlastného profilu.
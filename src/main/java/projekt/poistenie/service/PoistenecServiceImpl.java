@@ -1,37 +1,78 @@
 package projekt.poistenie.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistenecDetailDTO;
+import projekt.poistenie.dtos.PoistenecKurzor;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.mappers.PoistnaZmluvaMapper;
 import projekt.poistenie.entities.Poistenec;
+import projekt.poistenie.events.PoistenecZmenenyEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
 import projekt.poistenie.exceptions.PoistenecNotFoundException;
 import projekt.poistenie.dtos.mappers.PoistenecMapper;
+import projekt.poistenie.repository.KlucPocet;
+import projekt.poistenie.repository.PoistenecPrehlad;
 import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.UdalostiPocet;
+import projekt.poistenie.repository.ZmluvaPoistencaPrehlad;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * Implementácia PoistenecService, ktorá spracováva biznis logiku
  * pre CRUD operácie s poistencami.
+ * Každá zmena sa ohlási doménovou udalosťou PoistenecZmenenyEvent.
  */
 @Service
 public class PoistenecServiceImpl implements PoistenecService {
 
     private final PoistenecRepository poistenecRepository;
     private final PoistenecMapper poistenecMapper;
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+    private final StatistikyCounterService statistikyCounterService;
+    private final PoistnaZmluvaMapper poistnaZmluvaMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Konštruktor pre injection závislostí.
      *
      * @param poistenecRepository repozitár pre operácie s entitou Poistenec
      * @param poistenecMapper mapper pre konverziu medzi DTO a entitou
+     * @param poistnaZmluvaRepository repozitár zmlúv (počty zmlúv mazaných spolu s poistencom)
+     * @param statistikyCounterService živé počítadlá štatistík
+     * @param poistnaZmluvaMapper mapper zmlúv (stav zmlúv mazaných spolu s poistencom)
+     * @param eventPublisher publikovanie doménových udalostí o zmenách
      */
     @Autowired
-    public PoistenecServiceImpl(PoistenecRepository poistenecRepository, PoistenecMapper poistenecMapper) {
+    public PoistenecServiceImpl(PoistenecRepository poistenecRepository,
+                                PoistenecMapper poistenecMapper,
+                                PoistnaZmluvaRepository poistnaZmluvaRepository,
+                                StatistikyCounterService statistikyCounterService,
+                                PoistnaZmluvaMapper poistnaZmluvaMapper,
+                                ApplicationEventPublisher eventPublisher) {
         this.poistenecRepository = poistenecRepository;
         this.poistenecMapper = poistenecMapper;
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+        this.statistikyCounterService = statistikyCounterService;
+        this.poistnaZmluvaMapper = poistnaZmluvaMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -51,6 +92,11 @@ public class PoistenecServiceImpl implements PoistenecService {
         // Konvertuje DTO na entitu a uloží do DB
         Poistenec poistenec = poistenecMapper.toEntity(poistenecDTO);
         poistenecRepository.save(poistenec);
+
+        // Aktualizácia počítadiel štatistík v tej istej transakcii
+        statistikyCounterService.incrementPoistenci(1);
+
+        eventPublisher.publishEvent(new PoistenecZmenenyEvent(TypZmeny.VYTVORENIE, null, poistenecMapper.toDto(poistenec)));
     }
 
     /**
@@ -59,12 +105,43 @@ public class PoistenecServiceImpl implements PoistenecService {
      * @return zoznam PoistenecDTO
      */
     @Override
+    @Transactional(readOnly = true)
     public List<PoistenecDTO> findAll() {
-        return poistenecRepository.findAll().stream()
+        return poistenecRepository.findPrehlady().stream()
                 .map(poistenecMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Načíta stranu poistencov podľa kurzora.
+     * Strana pred kurzorom sa z databázy číta v zostupnom poradí (od kurzora),
+     * preto sa pred vrátením otočí.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<PoistenecDTO> findStrana(PoistenecKurzor kurzor, boolean dozadu, int velkost) {
+        Pageable strana = PageRequest.of(0, velkost);
+        Slice<PoistenecPrehlad> vysledok;
+        if (dozadu) {
+            vysledok = kurzor == null
+                    ? poistenecRepository.findPoslednaStrana(strana)
+                    : poistenecRepository.findPredKurzorom(kurzor.getPriezvisko(), kurzor.getId(), strana);
+        } else {
+            vysledok = kurzor == null
+                    ? poistenecRepository.findPrvaStrana(strana)
+                    : poistenecRepository.findZaKurzorom(kurzor.getPriezvisko(), kurzor.getId(), strana);
+        }
+
+        List<PoistenecDTO> poistenci = new ArrayList<>(vysledok.getNumberOfElements());
+        for (PoistenecPrehlad poistenec : vysledok) {
+            poistenci.add(poistenecMapper.toDto(poistenec));
+        }
+        if (dozadu) {
+            Collections.reverse(poistenci);
+        }
+        return new SliceImpl<>(poistenci, strana, vysledok.hasNext());
+    }
+
     /**
      * Nájde poistenca podľa ID.
      * Ak neexistuje, vyhodí PoistenecNotFoundException.
@@ -74,8 +151,9 @@ public class PoistenecServiceImpl implements PoistenecService {
      * @throws PoistenecNotFoundException ak poistenec s daným ID neexistuje
      */
     @Override
+    @Transactional(readOnly = true)
     public PoistenecDTO findById(long id) {
-        return poistenecRepository.findById(id)
+        return poistenecRepository.findPrehladById(id)
                 .map(poistenecMapper::toDto)
                 .orElseThrow(() ->
                         new PoistenecNotFoundException(
@@ -84,6 +162,32 @@ public class PoistenecServiceImpl implements PoistenecService {
                 );
     }
 
+    /**
+     * Načíta detail poistenca dvomi dopytmi: projekcia poistenca a jeho zmluvy
+     * s počtami udalostí (LEFT JOIN a GROUP BY). Kolekcie entity sa nenačítavajú.
+     *
+     * @param id ID poistenca
+     * @return detail poistenca so zmluvami
+     * @throws PoistenecNotFoundException ak poistenec s daným ID neexistuje
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PoistenecDetailDTO findDetailById(long id) {
+        PoistenecPrehlad poistenec = poistenecRepository.findPrehladById(id)
+                .orElseThrow(() -> new PoistenecNotFoundException("Poistenec s ID " + id + " neexistuje."));
+        PoistenecDetailDTO detail = poistenecMapper.toDetailDto(poistenec);
+
+        for (ZmluvaPoistencaPrehlad zmluva : poistnaZmluvaRepository.findPrehladySUdalostamiByPoistenecId(id)) {
+            PoistnaZmluvaDTO dto = poistnaZmluvaMapper.toDto(zmluva);
+            dto.setPoistenecId(poistenec.id());
+            dto.setPoistenecMeno(poistenec.meno());
+            dto.setPoistenecPriezvisko(poistenec.priezvisko());
+            detail.getZmluvy().add(dto);
+            detail.getPocetUdalosti().put(zmluva.id(), zmluva.pocetUdalosti());
+        }
+        return detail;
+    }
+
     /**
      * Aktualizuje existujúceho poistenca.
      * Najprv nájde entitu, potom ju aktualizuje dátami z DTO a uloží.
@@ -102,15 +206,23 @@ public class PoistenecServiceImpl implements PoistenecService {
                         )
                 );
 
+        PoistenecDTO pred = poistenecMapper.toDto(existingPoistenec);
+
         // Skopírovanie zmien z DTO do entity
         poistenecMapper.updatePoistenec(poistenecDTO, existingPoistenec);
 
         // Uloženie aktualizovanej entity
         poistenecRepository.save(existingPoistenec);
+
+        eventPublisher.publishEvent(new PoistenecZmenenyEvent(TypZmeny.UPRAVA, pred, poistenecMapper.toDto(existingPoistenec)));
     }
 
     /**
      * Odstráni poistenca podľa ID.
+     * Spolu s poistencom sa kaskádovo mažú aj jeho zmluvy a udalosti, preto sa
+     * pred vymazaním zistia ich počty a o ne sa znížia počítadlá štatistík.
+     * Vymazanie každej zmluvy sa ohlási samostatnou udalosťou; jej stav sa načíta
+     * projekciou (rovnakou ako v detaile poistenca), nie ako entita.
      *
      * @param id ID poistenca na vymazanie
      * @throws PoistenecNotFoundException ak poistenec s daným ID neexistuje
@@ -118,12 +230,44 @@ public class PoistenecServiceImpl implements PoistenecService {
     @Override
     @Transactional
     public void delete(long id) {
-        // Overíme, či poistenec existuje pred jeho vymazaním
-        if (!poistenecRepository.existsById(id)) {
-            throw new PoistenecNotFoundException("Poistenec s ID " + id + " neexistuje.");
+        // Načítanie poistenca pred jeho vymazaním - jeho stav sa ohlási v udalosti
+        Poistenec poistenec = poistenecRepository.findById(id)
+                .orElseThrow(() -> new PoistenecNotFoundException("Poistenec s ID " + id + " neexistuje."));
+        PoistenecDTO pred = poistenecMapper.toDto(poistenec);
+
+        // Počty záznamov, ktoré zaniknú kaskádou
+        List<KlucPocet> zmluvyPodlaTypu = poistnaZmluvaRepository.countByDruhPoisteniaForPoistenec(id);
+
+        // Stav zmazaných zmlúv pre udalosti - len stĺpce zmluvy, poistenec je už načítaný
+        List<PoistnaZmluvaDTO> zmazaneZmluvy = new ArrayList<>();
+        for (ZmluvaPoistencaPrehlad zmluva : poistnaZmluvaRepository.findPrehladySUdalostamiByPoistenecId(id)) {
+            PoistnaZmluvaDTO dto = poistnaZmluvaMapper.toDto(zmluva);
+            dto.setPoistenecId(poistenec.getId());
+            dto.setPoistenecMeno(poistenec.getMeno());
+            dto.setPoistenecPriezvisko(poistenec.getPriezvisko());
+            zmazaneZmluvy.add(dto);
+        }
+        Map<Long, Map<LocalDate, Long>> udalostiZmluv = new HashMap<>();
+        long pocetUdalosti = 0;
+        for (UdalostiPocet udalosti : poistnaZmluvaRepository.countUdalostiPodlaDnaByPoistenecId(id)) {
+            udalostiZmluv.computeIfAbsent(udalosti.getZmluvaId(), k -> new TreeMap<>())
+                    .put(udalosti.getDatum(), udalosti.getPocet());
+            pocetUdalosti += udalosti.getPocet();
         }
 
         poistenecRepository.deleteById(id);
+
+        statistikyCounterService.incrementPoistenci(-1);
+        for (KlucPocet typ : zmluvyPodlaTypu) {
+            statistikyCounterService.incrementZmluvy(typ.getKluc(), -typ.getPocet());
+        }
+        statistikyCounterService.incrementUdalosti(-pocetUdalosti);
+
+        for (PoistnaZmluvaDTO zmluva : zmazaneZmluvy) {
+            Map<LocalDate, Long> udalostiPodlaDna = udalostiZmluv.getOrDefault(zmluva.getId(), Map.of());
+            eventPublisher.publishEvent(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYMAZANIE, zmluva, null, udalostiPodlaDna));
+        }
+        eventPublisher.publishEvent(new PoistenecZmenenyEvent(TypZmeny.VYMAZANIE, pred, null));
     }
 
     /**
@@ -134,8 +278,9 @@ public class PoistenecServiceImpl implements PoistenecService {
      * @throws PoistenecNotFoundException ak poistenec s daným emailom neexistuje
      */
     @Override
+    @Transactional(readOnly = true)
     public PoistenecDTO findByEmail(String email) {
-        return poistenecRepository.findByEmail(email)
+        return poistenecRepository.findPrehladByEmail(email)
                 .map(poistenecMapper::toDto)
                 .orElseThrow(() ->
                         new PoistenecNotFoundException(
@@ -0,0 +1,23 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.entities.PoistnaZmluva;
+
+import java.util.function.Consumer;
+
+/**
+ * Služba na jednorazový prechod celou tabuľkou poistných zmlúv s konštantnou pamäťou.
+ * Slúži výpočtom, ktoré sa nedajú vyjadriť agregačným dopytom v databáze.
+ */
+public interface PoistnaZmluvaScanService {
+
+    /**
+     * Postupne odovzdá každú poistnú zmluvu spracovaniu.
+     * Entita je platná len počas volania - po spracovaní sa odpojí z persistence contextu,
+     * lenivé vzťahy (poistenec, udalosti) sa preto nesmú v spracovaní načítavať.
+     * Prechod obchádza cache druhej úrovne - zmluvy sa z nej nečítajú ani sa do nej neukladajú.
+     *
+     * @param spracovanie spracovanie jednej zmluvy
+     * @return počet spracovaných zmlúv
+     */
+    long scan(Consumer<PoistnaZmluva> spracovanie);
+}
@@ -0,0 +1,55 @@
+package projekt.poistenie.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementácia PoistnaZmluvaScanService nad databázovým kurzorom
+ * (PoistnaZmluvaRepository.streamAll).
+ *
+ * Každá spracovaná entita sa hneď odpojí, takže persistence context nerastie
+ * a v pamäti je naraz najviac jedna dávka riadkov z ovládača.
+ */
+@Service
+public class PoistnaZmluvaScanServiceImpl implements PoistnaZmluvaScanService {
+
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param poistnaZmluvaRepository repozitár zmlúv
+     * @param entityManager           entity manager aktuálnej transakcie (na odpájanie entít)
+     */
+    @Autowired
+    public PoistnaZmluvaScanServiceImpl(PoistnaZmluvaRepository poistnaZmluvaRepository,
+                                        EntityManager entityManager) {
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long scan(Consumer<PoistnaZmluva> spracovanie) {
+        long pocet = 0;
+        try (Stream<PoistnaZmluva> zmluvy = poistnaZmluvaRepository.streamAll()) {
+            Iterator<PoistnaZmluva> iterator = zmluvy.iterator();
+            while (iterator.hasNext()) {
+                PoistnaZmluva zmluva = iterator.next();
+                spracovanie.accept(zmluva);
+                entityManager.detach(zmluva);
+                pocet++;
+            }
+        }
+        return pocet;
+    }
+}
@@ -1,7 +1,12 @@
 package projekt.poistenie.service;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.ZmluvaFilterDTO;
+import projekt.poistenie.dtos.ZmluvaKurzor;
+
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -24,6 +29,35 @@ public interface PoistnaZmluvaService {
      */
     List<PoistnaZmluvaDTO> findAll();
 
+    /**
+     * Načíta jednu stranu zmlúv vyhovujúcich filtru v zvolenom zoradení.
+     * Stránkuje sa podľa kurzora (keyset), takže každá strana stojí rovnako.
+     *
+     * @param filter  filter a zoradenie
+     * @param kurzor  pozícia v zozname alebo null pre začiatok (pri dozadu pre koniec) zoznamu
+     * @param dozadu  true pre stranu pred kurzorom, false pre stranu za ním
+     * @param velkost počet zmlúv na strane
+     * @return strana zmlúv v zvolenom zoradení; hasNext() hovorí, či za ňou
+     *         v smere čítania nasledujú ďalšie zmluvy
+     */
+    Slice<PoistnaZmluvaDTO> findStrana(ZmluvaFilterDTO filter, ZmluvaKurzor kurzor, boolean dozadu, int velkost);
+
+    /**
+     * Spočíta zmluvy vyhovujúce filtru.
+     * Bez filtra sa počet číta zo živých počítadiel štatistík, nie z tabuľky zmlúv.
+     * S filtrom sa zmluvy počítajú len do {@link #MAX_POCET} - väčší výsledok
+     * ({@code MAX_POCET + 1}) znamená "viac ako MAX_POCET".
+     *
+     * @param filter filter zoznamu
+     * @return počet zmlúv
+     */
+    long count(ZmluvaFilterDTO filter);
+
+    /**
+     * Najväčší presne počítaný počet zmlúv vyhovujúcich filtru.
+     */
+    long MAX_POCET = 10_000;
+
     /**
      * Vyhľadá poistnú zmluvu podľa ID.
      *
@@ -46,6 +80,15 @@ public interface PoistnaZmluvaService {
      */
     void delete(Long id);
 
+    /**
+     * Pridá k poistnej zmluve novú poistnú udalosť.
+     *
+     * @param zmluvaId identifikátor poistnej zmluvy
+     * @param datum dátum, kedy udalosť nastala
+     * @param popis popis udalosti
+     */
+    void addUdalost(Long zmluvaId, LocalDate datum, String popis);
+
     List<PoistnaZmluvaDTO> getAll();
 
     PoistnaZmluvaDTO getById(long id);
@@ -2,21 +2,40 @@ package projekt.poistenie.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.ZmluvaFilterDTO;
+import projekt.poistenie.dtos.ZmluvaKurzor;
 import projekt.poistenie.dtos.mappers.PoistnaZmluvaMapper;
 import projekt.poistenie.entities.Poistenec;
 import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.entities.Udalost;
+import projekt.poistenie.events.PoistnaUdalostPridanaEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
 import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaPrehlad;
 import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.UdalostiPocet;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * Implementácia služby pre správu poistných zmlúv.
  * Poskytuje biznis logiku a operácie nad poistnými zmluvami.
+ * Každá zmena sa ohlási doménovou udalosťou (PoistnaZmluvaZmenenaEvent,
+ * PoistnaUdalostPridanaEvent), na ktorú reagujú napr. cache štatistík.
  */
 @Service
 public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
@@ -24,6 +43,8 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
     private final PoistnaZmluvaRepository poistnaZmluvaRepository;
     private final PoistenecRepository poistenecRepository;
     private final PoistnaZmluvaMapper poistnaZmluvaMapper;
+    private final StatistikyCounterService statistikyCounterService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Konštruktor pre injection závislostí.
@@ -31,14 +52,20 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
      * @param poistnaZmluvaRepository repozitár pre operácie so zmluvami
      * @param poistenecRepository repozitár pre operácie s poistencami
      * @param poistnaZmluvaMapper mapper pre konverziu medzi DTO a entitou
+     * @param statistikyCounterService živé počítadlá štatistík
+     * @param eventPublisher publikovanie doménových udalostí o zmenách
      */
     @Autowired
     public PoistnaZmluvaServiceImpl(PoistnaZmluvaRepository poistnaZmluvaRepository,
                                     PoistenecRepository poistenecRepository,
-                                    PoistnaZmluvaMapper poistnaZmluvaMapper) {
+                                    PoistnaZmluvaMapper poistnaZmluvaMapper,
+                                    StatistikyCounterService statistikyCounterService,
+                                    ApplicationEventPublisher eventPublisher) {
         this.poistnaZmluvaRepository = poistnaZmluvaRepository;
         this.poistenecRepository = poistenecRepository;
         this.poistnaZmluvaMapper = poistnaZmluvaMapper;
+        this.statistikyCounterService = statistikyCounterService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -67,6 +94,11 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
 
         // Uloženie entity do databázy
         poistnaZmluvaRepository.save(poistnaZmluva);
+
+        // Aktualizácia počítadiel štatistík v tej istej transakcii
+        statistikyCounterService.incrementZmluvy(poistnaZmluva.getDruhPoistenia(), 1);
+
+        eventPublisher.publishEvent(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYTVORENIE, null, poistnaZmluvaMapper.toDto(poistnaZmluva)));
     }
 
     /**
@@ -75,12 +107,42 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
      * @return zoznam všetkých zmlúv
      */
     @Override
+    @Transactional(readOnly = true)
     public List<PoistnaZmluvaDTO> findAll() {
-        return poistnaZmluvaRepository.findAll().stream()
+        return poistnaZmluvaRepository.findPrehlady().stream()
                 .map(poistnaZmluvaMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Načíta stranu zmlúv podľa filtra a kurzora.
+     * Načíta sa o jednu zmluvu viac, aby bolo známe, či existuje ďalšia strana.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<PoistnaZmluvaDTO> findStrana(ZmluvaFilterDTO filter, ZmluvaKurzor kurzor, boolean dozadu, int velkost) {
+        List<PoistnaZmluvaPrehlad> zmluvy = poistnaZmluvaRepository.findStrana(filter, kurzor, dozadu, velkost + 1);
+        boolean dalsia = zmluvy.size() > velkost;
+
+        List<PoistnaZmluvaDTO> strana = new ArrayList<>(Math.min(zmluvy.size(), velkost));
+        for (PoistnaZmluvaPrehlad zmluva : zmluvy.subList(0, Math.min(zmluvy.size(), velkost))) {
+            strana.add(poistnaZmluvaMapper.toDto(zmluva));
+        }
+        if (dozadu) {
+            Collections.reverse(strana);
+        }
+        return new SliceImpl<>(strana, PageRequest.of(0, velkost), dalsia);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count(ZmluvaFilterDTO filter) {
+        if (filter.isPrazdny()) {
+            return statistikyCounterService.getCounters().getPocetPoisteni();
+        }
+        return poistnaZmluvaRepository.countByFilter(filter, (int) MAX_POCET + 1);
+    }
+
     /**
      * Nájde poistnú zmluvu podľa ID.
      *
@@ -89,11 +151,11 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
      * @throws EntityNotFoundException ak zmluva neexistuje
      */
     @Override
+    @Transactional(readOnly = true)
     public PoistnaZmluvaDTO findById(Long id) {
-        PoistnaZmluva poistnaZmluva = poistnaZmluvaRepository.findById(id)
+        return poistnaZmluvaRepository.findPrehladById(id)
+                .map(poistnaZmluvaMapper::toDto)
                 .orElseThrow(() -> new EntityNotFoundException("Poistná zmluva s ID " + id + " nebola nájdená"));
-
-        return poistnaZmluvaMapper.toDto(poistnaZmluva);
     }
 
     /**
@@ -106,15 +168,22 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
     @Transactional
     public void update(PoistnaZmluvaDTO poistnaZmluvaDTO) {
         // Nájdenie existujúcej entity
-        PoistnaZmluva existingPoistnaZmluva = poistnaZmluvaRepository.findById(poistnaZmluvaDTO.getId())
+        PoistnaZmluva existingPoistnaZmluva = poistnaZmluvaRepository.findWithPoistenecById(poistnaZmluvaDTO.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Poistná zmluva s ID " +
                         poistnaZmluvaDTO.getId() + " neexistuje"));
+        PoistnaZmluvaDTO pred = poistnaZmluvaMapper.toDto(existingPoistnaZmluva);
+        String povodnyDruh = existingPoistnaZmluva.getDruhPoistenia();
 
         // Aktualizácia entity novými údajmi
         poistnaZmluvaMapper.updatePoistnaZmluva(poistnaZmluvaDTO, existingPoistnaZmluva);
 
         // Uloženie aktualizovanej entity
         poistnaZmluvaRepository.save(existingPoistnaZmluva);
+
+        // Pri zmene druhu poistenia sa zmluva presunie do iného počítadla
+        statistikyCounterService.changeDruhPoistenia(povodnyDruh, existingPoistnaZmluva.getDruhPoistenia());
+
+        eventPublisher.publishEvent(new PoistnaZmluvaZmenenaEvent(TypZmeny.UPRAVA, pred, poistnaZmluvaMapper.toDto(existingPoistnaZmluva)));
     }
 
     /**
@@ -126,12 +195,55 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
     @Override
     @Transactional
     public void delete(Long id) {
-        // Overenie existencie pred vymazaním
-        if (!poistnaZmluvaRepository.existsById(id)) {
-            throw new EntityNotFoundException("Poistná zmluva s ID " + id + " neexistuje");
+        // Načítanie pred vymazaním - stav zmluvy sa ohlási v udalosti
+        PoistnaZmluva poistnaZmluva = poistnaZmluvaRepository.findWithPoistenecById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Poistná zmluva s ID " + id + " neexistuje"));
+        PoistnaZmluvaDTO pred = poistnaZmluvaMapper.toDto(poistnaZmluva);
+
+        // Udalosti zmluvy zaniknú kaskádou - ich počty po dňoch sa zistia vopred
+        Map<LocalDate, Long> udalostiPodlaDna = new TreeMap<>();
+        for (UdalostiPocet udalosti : poistnaZmluvaRepository.countUdalostiPodlaDnaByZmluvaId(id)) {
+            udalostiPodlaDna.put(udalosti.getDatum(), udalosti.getPocet());
         }
+        long pocetUdalosti = udalostiPodlaDna.values().stream().mapToLong(Long::longValue).sum();
 
         poistnaZmluvaRepository.deleteById(id);
+
+        statistikyCounterService.incrementZmluvy(poistnaZmluva.getDruhPoistenia(), -1);
+        statistikyCounterService.incrementUdalosti(-pocetUdalosti);
+
+        eventPublisher.publishEvent(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYMAZANIE, pred, null, udalostiPodlaDna));
+    }
+
+    /**
+     * Pridá k zmluve novú poistnú udalosť.
+     * Udalosť sa uloží kaskádou cez zmluvu a zvýši sa počítadlo udalostí.
+     *
+     * @param zmluvaId ID poistnej zmluvy
+     * @param datum dátum udalosti
+     * @param popis popis udalosti
+     * @throws EntityNotFoundException ak zmluva neexistuje
+     */
+    @Override
+    @Transactional
+    public void addUdalost(Long zmluvaId, LocalDate datum, String popis) {
+        PoistnaZmluva poistnaZmluva = poistnaZmluvaRepository.findById(zmluvaId)
+                .orElseThrow(() -> new EntityNotFoundException("Poistná zmluva s ID " + zmluvaId + " neexistuje"));
+
+        Udalost udalost = new Udalost();
+        udalost.setDatum(datum);
+        udalost.setPopis(popis);
+        udalost.setPoistnaZmluva(poistnaZmluva);
+
+        if (poistnaZmluva.getUdalosti() == null) {
+            poistnaZmluva.setUdalosti(new ArrayList<>());
+        }
+        poistnaZmluva.getUdalosti().add(udalost);
+        poistnaZmluvaRepository.save(poistnaZmluva);
+
+        statistikyCounterService.incrementUdalosti(1);
+
+        eventPublisher.publishEvent(new PoistnaUdalostPridanaEvent(zmluvaId, poistnaZmluva.getDruhPoistenia(), datum));
     }
 
     /**
@@ -174,11 +286,13 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
      * @throws EntityNotFoundException ak poistenec neexistuje
      */
     @Override
+    @Transactional(readOnly = true)
     public List<PoistnaZmluvaDTO> findByPoistenecEmail(String email) {
-        Poistenec poistenec = poistenecRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Poistenec s emailom " + email + " neexistuje."));
+        if (!poistenecRepository.existsByEmail(email)) {
+            throw new EntityNotFoundException("Poistenec s emailom " + email + " neexistuje.");
+        }
 
-        return poistnaZmluvaRepository.findByPoistenec(poistenec).stream()
+        return poistnaZmluvaRepository.findPrehladyByPoistenecEmail(email).stream()
                 .map(poistnaZmluvaMapper::toDto)
                 .collect(Collectors.toList());
     }
@@ -194,4 +308,4 @@ public class PoistnaZmluvaServiceImpl implements PoistnaZmluvaService {
     public boolean belongsToEmail(Long zmluvaId, String email) {
         return poistnaZmluvaRepository.existsByIdAndPoistenecEmail(zmluvaId, email);
     }
-}
\ No newline at end of file
+}
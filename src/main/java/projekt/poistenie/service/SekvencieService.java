@@ -0,0 +1,31 @@
+package projekt.poistenie.service;
+
+/**
+ * Služba nad sekvenciami, z ktorých sa prideľujú identifikátory entít
+ * (pozri PoolovySekvencnyGenerator).
+ */
+public interface SekvencieService {
+
+    /** Sekvencia tabuľky "poistenec". */
+    String POISTENEC = "poistenec_seq";
+
+    /** Sekvencia tabuľky "poistne_zmluvy". */
+    String POISTNA_ZMLUVA = "poistne_zmluvy_seq";
+
+    /**
+     * Posunie sekvencie za najvyššie existujúce id v ich tabuľkách, aby sa bloky
+     * pridelené Hibernate neprekryli s riadkami vloženými skôr (AUTO_INCREMENT,
+     * zásah do databázy mimo aplikácie).
+     */
+    void zosulad();
+
+    /**
+     * Rezervuje identifikátory pre zápis mimo Hibernate (JDBC). Bloky sa berú
+     * zo sekvencie rovnako ako v generátore entít, takže sa s ním neprekryjú.
+     *
+     * @param sekvencia názov sekvencie
+     * @param pocet     počet potrebných identifikátorov
+     * @return rezervované identifikátory vzostupne
+     */
+    long[] rezervuj(String sekvencia, int pocet);
+}
@@ -0,0 +1,86 @@
+package projekt.poistenie.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Implementácia SekvencieService nad sekvenciami MariaDB.
+ *
+ * Generátor s optimalizátorom "pooled" berie hodnotu h z NEXTVAL ako hornú hranicu
+ * bloku a prideľuje id (h - INCREMENT BY, h]. Ďalší blok tak vždy začína nad poslednou
+ * vydanou hodnotou sekvencie - stačí teda, aby sekvencia nebola pod najvyšším id v tabuľke.
+ *
+ * Zosúladenie beží hneď po vytvorení EntityManagerFactory (a teda po aktualizácii
+ * schémy), ešte pred poslucháčmi ApplicationReadyEvent, ktoré už môžu zapisovať.
+ */
+@Service
+@DependsOn("entityManagerFactory")
+public class SekvencieServiceImpl implements SekvencieService {
+
+    // tabuľka -> sekvencia jej identifikátorov (zhodne s anotáciami entít)
+    private static final Map<String, String> SEKVENCIE = Map.of(
+            "poistenec", POISTENEC,
+            "poistne_zmluvy", POISTNA_ZMLUVA,
+            "udalosti", "udalosti_seq",
+            "accounts", "accounts_seq",
+            "statistiky", "statistiky_seq",
+            "statistiky_historia", "statistiky_historia_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param jdbcTemplate JDBC prístup k sekvenciám
+     */
+    @Autowired
+    public SekvencieServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @PostConstruct
+    public void zosulad() {
+        SEKVENCIE.forEach((tabulka, sekvencia) -> {
+            long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + tabulka, Long.class);
+            if (dalsia(sekvencia) < maxId) {
+                // Najbližší blok bude (maxId, maxId + krok]
+                jdbcTemplate.execute("alter sequence " + sekvencia + " restart with " + (maxId + krok(sekvencia)));
+            }
+        });
+    }
+
+    @Override
+    public long[] rezervuj(String sekvencia, int pocet) {
+        if (!SEKVENCIE.containsValue(sekvencia)) {
+            throw new IllegalArgumentException("Neznáma sekvencia: " + sekvencia);
+        }
+        long[] id = new long[pocet];
+        if (pocet == 0) {
+            return id;
+        }
+        long krok = krok(sekvencia);
+        int i = 0;
+        while (i < pocet) {
+            long horna = dalsia(sekvencia);
+            for (long hodnota = horna - krok + 1; hodnota <= horna && i < pocet; hodnota++) {
+                id[i++] = hodnota;
+            }
+        }
+        return id;
+    }
+
+    private long dalsia(String sekvencia) {
+        return jdbcTemplate.queryForObject("select nextval(" + sekvencia + ")", Long.class);
+    }
+
+    private long krok(String sekvencia) {
+        return jdbcTemplate.queryForObject("select increment from " + sekvencia, Long.class);
+    }
+}
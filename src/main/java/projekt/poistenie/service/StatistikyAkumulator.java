@@ -0,0 +1,39 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.entities.PoistnaZmluva;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Jednoprechodový akumulátor počítadiel zmlúv.
+ * Pri jednom prechode (PoistnaZmluvaScanService) spočíta celkový počet zmlúv
+ * a ich rozdelenie podľa typu, s ktorými nočná kontrola porovná živé počítadlá.
+ * Pamäť závisí len od počtu rôznych typov poistenia, nie od počtu zmlúv.
+ */
+public class StatistikyAkumulator implements Consumer<PoistnaZmluva> {
+
+    private long pocetZmluv;
+    private final Map<String, Long> rozdeleniePodlaTypu = new TreeMap<>();
+
+    @Override
+    public void accept(PoistnaZmluva zmluva) {
+        pocetZmluv++;
+        rozdeleniePodlaTypu.merge(zmluva.getDruhPoistenia(), 1L, Long::sum);
+    }
+
+    /**
+     * @return počet spracovaných zmlúv
+     */
+    public long getPocetZmluv() {
+        return pocetZmluv;
+    }
+
+    /**
+     * @return rozdelenie zmlúv podľa druhu poistenia
+     */
+    public Map<String, Long> getRozdeleniePodlaTypu() {
+        return rozdeleniePodlaTypu;
+    }
+}
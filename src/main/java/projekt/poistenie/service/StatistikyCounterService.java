@@ -0,0 +1,69 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.entities.Statistiky;
+
+import java.util.Map;
+
+/**
+ * Služba pre živé počítadlá štatistík.
+ * Počítadlá sa menia v rámci transakcie volajúcej služby (PoistenecService,
+ * PoistnaZmluvaService), takže sa pri rollbacku vrátia spolu so zmenou dát.
+ */
+public interface StatistikyCounterService {
+
+    /**
+     * Zmení počet poistencov.
+     *
+     * @param delta kladná alebo záporná zmena
+     */
+    void incrementPoistenci(long delta);
+
+    /**
+     * Zmení počet poistných zmlúv a počítadlo pre ich druh poistenia.
+     *
+     * @param druhPoistenia druh poistenia zmluvy
+     * @param delta         kladná alebo záporná zmena
+     */
+    void incrementZmluvy(String druhPoistenia, long delta);
+
+    /**
+     * Presunie zmluvu z jedného druhu poistenia do iného (pri úprave zmluvy).
+     *
+     * @param povodnyDruh pôvodný druh poistenia
+     * @param novyDruh    nový druh poistenia
+     */
+    void changeDruhPoistenia(String povodnyDruh, String novyDruh);
+
+    /**
+     * Zmení počet poistných udalostí.
+     *
+     * @param delta kladná alebo záporná zmena
+     */
+    void incrementUdalosti(long delta);
+
+    /**
+     * Vráti aktuálne počítadlá (jeden riadok, bez ohľadu na objem dát).
+     *
+     * @return entita so živými počítadlami, prípadne nulové počítadlá pred inicializáciou
+     */
+    Statistiky getCounters();
+
+    /**
+     * Vráti aktuálne rozdelenie zmlúv podľa druhu poistenia.
+     *
+     * @return mapa druh poistenia - počet zmlúv
+     */
+    Map<String, Long> getRozdeleniePodlaTypu();
+
+    /**
+     * Prepočíta všetky počítadlá z databázy (inicializácia a oprava po výpadku).
+     */
+    void recalculate();
+
+    /**
+     * Overí počítadlá zmlúv oproti skutočnému stavu tabuľky zmlúv a pri odchýlke ich prepočíta.
+     *
+     * @return true, ak sa našla odchýlka a počítadlá sa prepočítali
+     */
+    boolean reconcile();
+}
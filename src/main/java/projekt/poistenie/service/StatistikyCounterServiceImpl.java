@@ -0,0 +1,180 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import projekt.poistenie.entities.Statistiky;
+import projekt.poistenie.entities.StatistikyPodlaTypu;
+import projekt.poistenie.repository.KlucPocet;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.StatistikyRepository;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Implementácia StatistikyCounterService nad tabuľkami "statistiky"
+ * a "statistiky_podla_typu".
+ *
+ * Ak riadok s počítadlami ešte neexistuje (napr. prvý zápis pred dokončením štartu),
+ * inkrement neupraví žiadny riadok a počítadlá sa namiesto toho prepočítajú
+ * v tej istej transakcii, takže zmena sa nestratí.
+ *
+ * V noci sa počítadlá porovnajú s jedným prúdovým prechodom tabuľkou zmlúv
+ * a pri odchýlke (napr. zásah do databázy mimo aplikácie) sa prepočítajú.
+ * Prechod beží bez zapisovacej transakcie; samotný prepočet je krátka samostatná
+ * transakcia, ktorá najprv zamkne riadok počítadiel. Súbežné inkrementy a presuny
+ * medzi druhmi poistenia zamykajú ten istý riadok, preto sa vykonajú buď celé pred
+ * prepočtom (a prepočet ich započíta), alebo až po ňom - žiadny sa neprepíše.
+ */
+@Service
+public class StatistikyCounterServiceImpl implements StatistikyCounterService {
+
+    private final StatistikyRepository statistikyRepository;
+    private final PoistenecRepository poistenecRepository;
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+    private final PoistnaZmluvaScanService poistnaZmluvaScanService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param statistikyRepository    repozitár počítadiel
+     * @param poistenecRepository     repozitár poistencov (pre prepočet)
+     * @param poistnaZmluvaRepository repozitár zmlúv (pre prepočet)
+     * @param poistnaZmluvaScanService prúdový prechod zmlúv (pre kontrolu počítadiel)
+     * @param transactionManager      správca transakcií (samostatná transakcia prepočtu pri kontrole)
+     */
+    @Autowired
+    public StatistikyCounterServiceImpl(StatistikyRepository statistikyRepository,
+                                        PoistenecRepository poistenecRepository,
+                                        PoistnaZmluvaRepository poistnaZmluvaRepository,
+                                        PoistnaZmluvaScanService poistnaZmluvaScanService,
+                                        PlatformTransactionManager transactionManager) {
+        this.statistikyRepository = statistikyRepository;
+        this.poistenecRepository = poistenecRepository;
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+        this.poistnaZmluvaScanService = poistnaZmluvaScanService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Po štarte aplikácie zosúladí počítadlá so skutočným stavom databázy
+     * (zmeny mimo aplikácie, prvé spustenie nad existujúcimi dátami).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        recalculate();
+    }
+
+    @Override
+    @Transactional
+    public void incrementPoistenci(long delta) {
+        if (statistikyRepository.incrementPocetPoistenych(delta) == 0) {
+            recalculate();
+        }
+    }
+
+    @Override
+    @Transactional
+    public void incrementZmluvy(String druhPoistenia, long delta) {
+        if (statistikyRepository.incrementPocetPoisteni(delta) == 0) {
+            // Prepočet už zahŕňa aj túto zmenu vrátane rozdelenia podľa typu
+            recalculate();
+            return;
+        }
+        if (druhPoistenia != null) {
+            statistikyRepository.incrementPodlaTypu(druhPoistenia, delta);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void changeDruhPoistenia(String povodnyDruh, String novyDruh) {
+        if (Objects.equals(povodnyDruh, novyDruh)) {
+            return;
+        }
+        // Rozdelenie podľa typu nemení riadok počítadiel, zámok ho radí za prípadný prepočet
+        statistikyRepository.findFirstForUpdateByOrderByIdAsc();
+        if (povodnyDruh != null) {
+            statistikyRepository.incrementPodlaTypu(povodnyDruh, -1);
+        }
+        if (novyDruh != null) {
+            statistikyRepository.incrementPodlaTypu(novyDruh, 1);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void incrementUdalosti(long delta) {
+        if (delta != 0 && statistikyRepository.incrementPocetUdalosti(delta) == 0) {
+            recalculate();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Statistiky getCounters() {
+        return statistikyRepository.findFirstByOrderByIdAsc().orElseGet(Statistiky::new);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> getRozdeleniePodlaTypu() {
+        Map<String, Long> rozdelenie = new TreeMap<>();
+        for (StatistikyPodlaTypu typ : statistikyRepository.findRozdeleniePodlaTypu()) {
+            rozdelenie.put(typ.getDruhPoistenia(), typ.getPocet());
+        }
+        return rozdelenie;
+    }
+
+    /**
+     * Prepočíta počítadlá pomocou COUNT a GROUP BY dopytov v databáze.
+     * Volá sa pri štarte, ako záchrana, keď počítadlá chýbajú, a pri nezhode v nočnej kontrole.
+     * Riadok počítadiel sa zamkne ešte pred COUNT dopytmi, takže tie vidia všetky
+     * inkrementy potvrdené pred získaním zámku a neskoršie čakajú na koniec prepočtu.
+     */
+    @Override
+    @Transactional
+    public void recalculate() {
+        Statistiky statistiky = statistikyRepository.findFirstForUpdateByOrderByIdAsc().orElseGet(Statistiky::new);
+        statistiky.setPocetPoistenych(poistenecRepository.count());
+        statistiky.setPocetPoisteni(poistnaZmluvaRepository.count());
+        statistiky.setPocetUdalosti(poistnaZmluvaRepository.countUdalosti());
+        // Prepočet môže počítadlá zmeniť - klienti so starým ETag-om ich načítajú znova
+        statistiky.setVerzia(statistiky.getVerzia() + 1);
+        statistikyRepository.save(statistiky);
+
+        statistikyRepository.deleteRozdeleniePodlaTypu();
+        for (KlucPocet typ : poistnaZmluvaRepository.countByDruhPoistenia()) {
+            statistikyRepository.incrementPodlaTypu(typ.getKluc(), typ.getPocet());
+        }
+    }
+
+    /**
+     * Porovná počítadlá zmlúv s jedným prechodom tabuľkou zmlúv (konštantná pamäť)
+     * a pri nezhode ich prepočíta v samostatnej krátkej transakcii.
+     * Nezhodu môže spôsobiť aj zápis počas prechodu; zbytočný prepočet je však neškodný.
+     */
+    @Override
+    @Scheduled(cron = "${statistiky.kontrola-cron:0 30 3 * * *}")
+    public boolean reconcile() {
+        StatistikyAkumulator akumulator = new StatistikyAkumulator();
+        poistnaZmluvaScanService.scan(akumulator);
+
+        if (akumulator.getPocetZmluv() == getCounters().getPocetPoisteni()
+                && akumulator.getRozdeleniePodlaTypu().equals(getRozdeleniePodlaTypu())) {
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(stav -> recalculate());
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.dtos.StatistikyObdobieDTO;
+
+import java.time.LocalDate;
+
+/**
+ * Služba pre denné košíky štatistík.
+ * Košíky sa udržiavajú pri každom zápise zmluvy alebo udalosti a odpovedajú
+ * na dopyty za ľubovoľné obdobie bez prechádzania tabuľky zmlúv.
+ */
+public interface StatistikyDenService {
+
+    /**
+     * Vráti štatistiky za zadané obdobie.
+     *
+     * @param od      prvý deň obdobia (vrátane)
+     * @param doDatum posledný deň obdobia (vrátane)
+     * @return štatistiky za obdobie
+     */
+    StatistikyObdobieDTO getStatistikyZaObdobie(LocalDate od, LocalDate doDatum);
+
+    /**
+     * Prestavia všetky košíky a ročné súhrny z tabuliek zmlúv a udalostí.
+     * Beží pod zámkom počítadiel štatistík - je určená na výslovnú opravu
+     * administrátorom, nie na pravidelné spúšťanie.
+     */
+    void rebuild();
+}
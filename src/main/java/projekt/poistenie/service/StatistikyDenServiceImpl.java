@@ -0,0 +1,217 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.StatistikyObdobieDTO;
+import projekt.poistenie.events.PoistnaUdalostPridanaEvent;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
+import projekt.poistenie.repository.KlucPocet;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.StatistikyDenRepository;
+import projekt.poistenie.repository.StatistikyRepository;
+import projekt.poistenie.repository.UdalostiPocet;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Implementácia StatistikyDenService nad tabuľkou "statistiky_den".
+ *
+ * Košíky sa upravujú synchrónne z doménových udalostí, teda v tej istej transakcii
+ * ako samotná zmena zmluvy alebo dávka importu; spolu s denným košíkom sa upraví aj
+ * ročný súhrn (tabuľka "statistiky_rok"). Agregačnými dopytmi sa celé prestavia len
+ * pri štarte nad prázdnymi tabuľkami (prvé spustenie) alebo na výslovnú žiadosť
+ * administrátora.
+ */
+@Service
+public class StatistikyDenServiceImpl implements StatistikyDenService {
+
+    private final StatistikyDenRepository statistikyDenRepository;
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+    private final StatistikyRepository statistikyRepository;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param statistikyDenRepository repozitár denných košíkov
+     * @param poistnaZmluvaRepository repozitár zmlúv (udalosti pri zmene druhu poistenia)
+     * @param statistikyRepository    repozitár počítadiel (zámok prestavby)
+     */
+    @Autowired
+    public StatistikyDenServiceImpl(StatistikyDenRepository statistikyDenRepository,
+                                    PoistnaZmluvaRepository poistnaZmluvaRepository,
+                                    StatistikyRepository statistikyRepository) {
+        this.statistikyDenRepository = statistikyDenRepository;
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+        this.statistikyRepository = statistikyRepository;
+    }
+
+    /**
+     * Po štarte aplikácie zostaví košíky, ak ešte neexistujú (prvé spustenie alebo
+     * nová tabuľka ročných súhrnov). Zostavené košíky sa pri štarte neprestavujú -
+     * udržiavajú sa prírastkami a nočná kontrola počítadiel ich nepotrebuje.
+     * Podmienka sa overuje až pod zámkom, aby pri súčasnom štarte viacerých inštancií
+     * košíky zostavila len jedna.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        zamkni();
+        if (statistikyDenRepository.findFirstByOrderByDenAsc().isEmpty()
+                || !statistikyDenRepository.existujeRocnySuhrn()) {
+            prestav();
+        }
+    }
+
+    /**
+     * Prestavia košíky pod zámkom riadku počítadiel (rovnako ako prepočet počítadiel).
+     * Súbežné zápisy zmlúv a udalostí, ktoré menia počítadlá, čakajú na koniec prestavby
+     * a ich prírastky sa pripočítajú k už prestavaným košíkom.
+     */
+    @Override
+    @Transactional
+    public void rebuild() {
+        zamkni();
+        prestav();
+    }
+
+    /**
+     * Uzamkne riadok počítadiel štatistík. Kým počítadlá ešte neexistujú (prázdna
+     * databáza), niet čo zamykať a prestavba prázdnych tabuliek je okamžitá.
+     */
+    private void zamkni() {
+        statistikyRepository.findFirstForUpdateByOrderByIdAsc();
+    }
+
+    private void prestav() {
+        statistikyDenRepository.deleteVsetky();
+        statistikyDenRepository.deleteVsetkyRoky();
+        statistikyDenRepository.rebuildZaciatky();
+        statistikyDenRepository.rebuildKonce();
+        statistikyDenRepository.rebuildUdalosti();
+        statistikyDenRepository.rebuildRoky();
+    }
+
+    /**
+     * Pripočíta dávku importovaných zmlúv do košíkov v transakcii dávky. Zmluvy
+     * s rovnakým dňom a druhom poistenia sa zlúčia do jedného prírastku.
+     * Importovaná zmluva ešte nemá poistné udalosti.
+     *
+     * @param importDat udalosť o zapísanej dávke importu
+     */
+    @EventListener
+    @Transactional
+    public void onHromadnyImport(HromadnyImportEvent importDat) {
+        Map<KosDna, long[]> prirastky = new HashMap<>();
+        for (PoistnaZmluvaDTO zmluva : importDat.getZmluvy()) {
+            prirastky.computeIfAbsent(new KosDna(zmluva.getPlatnostOd(), zmluva.getDruhPoistenia()),
+                    k -> new long[2])[0]++;
+            prirastky.computeIfAbsent(new KosDna(zmluva.getPlatnostDo(), zmluva.getDruhPoistenia()),
+                    k -> new long[2])[1]++;
+        }
+        prirastky.forEach((kos, pocty) -> zapis(kos.den(), kos.druh(), pocty[0], pocty[1], 0));
+    }
+
+    /**
+     * Premietne zmenu zmluvy do košíkov: pôvodný stav sa odpočíta, nový pripočíta.
+     *
+     * @param zmena udalosť o zmene zmluvy
+     */
+    @EventListener
+    @Transactional
+    public void onZmluvaZmenena(PoistnaZmluvaZmenenaEvent zmena) {
+        PoistnaZmluvaDTO pred = zmena.getPred();
+        PoistnaZmluvaDTO po = zmena.getPo();
+
+        if (pred != null && po != null
+                && Objects.equals(pred.getDruhPoistenia(), po.getDruhPoistenia())
+                && Objects.equals(pred.getPlatnostOd(), po.getPlatnostOd())
+                && Objects.equals(pred.getPlatnostDo(), po.getPlatnostDo())) {
+            return;
+        }
+        if (pred != null) {
+            zapisZmluvu(pred, -1);
+        }
+        if (po != null) {
+            zapisZmluvu(po, 1);
+        }
+
+        // Udalosti zmluvy patria pod jej druh poistenia
+        if (zmena.getTyp() == TypZmeny.VYMAZANIE && pred != null) {
+            zmena.getUdalostiPodlaDna().forEach((den, pocet) ->
+                    zapis(den, pred.getDruhPoistenia(), 0, 0, -pocet));
+        } else if (pred != null && po != null && !Objects.equals(pred.getDruhPoistenia(), po.getDruhPoistenia())) {
+            for (UdalostiPocet udalosti : poistnaZmluvaRepository.countUdalostiPodlaDnaByZmluvaId(po.getId())) {
+                zapis(udalosti.getDatum(), pred.getDruhPoistenia(), 0, 0, -udalosti.getPocet());
+                zapis(udalosti.getDatum(), po.getDruhPoistenia(), 0, 0, udalosti.getPocet());
+            }
+        }
+    }
+
+    /**
+     * Pripočíta novú poistnú udalosť do košíka jej dňa.
+     *
+     * @param udalost udalosť o pridaní poistnej udalosti
+     */
+    @EventListener
+    @Transactional
+    public void onUdalostPridana(PoistnaUdalostPridanaEvent udalost) {
+        zapis(udalost.getDatum(), udalost.getDruhPoistenia(), 0, 0, 1);
+    }
+
+    private void zapisZmluvu(PoistnaZmluvaDTO zmluva, long znamienko) {
+        zapis(zmluva.getPlatnostOd(), zmluva.getDruhPoistenia(), znamienko, 0, 0);
+        zapis(zmluva.getPlatnostDo(), zmluva.getDruhPoistenia(), 0, znamienko, 0);
+    }
+
+    /**
+     * Zmení denný košík a pri zmene začiatkov alebo koncov aj ročný súhrn jeho roka.
+     */
+    private void zapis(LocalDate den, String druh, long zaciatky, long konce, long udalosti) {
+        statistikyDenRepository.increment(den, druh, zaciatky, konce, udalosti);
+        if (zaciatky != 0 || konce != 0) {
+            statistikyDenRepository.incrementRok(den.getYear(), druh, zaciatky, konce);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatistikyObdobieDTO getStatistikyZaObdobie(LocalDate od, LocalDate doDatum) {
+        if (od.isAfter(doDatum)) {
+            throw new IllegalArgumentException("Začiatok obdobia musí byť pred jeho koncom.");
+        }
+        return new StatistikyObdobieDTO(
+                od,
+                doDatum,
+                toMap(statistikyDenRepository.countNoveZmluvy(od, doDatum)),
+                toMap(statistikyDenRepository.countAktivneKDatumu(doDatum)),
+                toMap(statistikyDenRepository.countUdalostiPodlaMesiacov(od, doDatum))
+        );
+    }
+
+    /**
+     * Kľúč košíka - deň a druh poistenia.
+     */
+    private record KosDna(LocalDate den, String druh) {
+    }
+
+    private static Map<String, Long> toMap(List<KlucPocet> riadky) {
+        Map<String, Long> mapa = new TreeMap<>();
+        for (KlucPocet riadok : riadky) {
+            if (riadok.getPocet() != null && riadok.getPocet() != 0) {
+                mapa.put(riadok.getKluc(), riadok.getPocet());
+            }
+        }
+        return mapa;
+    }
+}
@@ -0,0 +1,37 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.dtos.StatistikyHistoriaDTO;
+import projekt.poistenie.entities.StatistikyHistoria.Granularita;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Služba pre históriu štatistík.
+ * Periodicky ukladá snímky štatistík, zhŕňa hodinové snímky do denných,
+ * uplatňuje retenciu a poskytuje trend za zvolené obdobie.
+ */
+public interface StatistikyHistoriaService {
+
+    /**
+     * Uloží hodinový snímok aktuálnych štatistík (ak pre aktuálnu hodinu ešte neexistuje).
+     */
+    void takeSnapshot();
+
+    /**
+     * Zhrnie hodinové snímky uplynulých dní do denných a vymaže snímky po uplynutí retencie.
+     */
+    void downsample();
+
+    /**
+     * Vráti trend štatistík za zadané obdobie.
+     * Ak granularita nie je zadaná, pre krátke obdobia sa použijú hodinové snímky,
+     * pre dlhšie denné.
+     *
+     * @param od          prvý deň obdobia (vrátane)
+     * @param doDatum     posledný deň obdobia (vrátane)
+     * @param granularita požadovaná granularita alebo null pre automatický výber
+     * @return snímky zoradené podľa času
+     */
+    List<StatistikyHistoriaDTO> findHistory(LocalDate od, LocalDate doDatum, Granularita granularita);
+}
@@ -0,0 +1,134 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.dtos.StatistikyHistoriaDTO;
+import projekt.poistenie.dtos.mappers.StatistikyMapper;
+import projekt.poistenie.entities.StatistikyHistoria;
+import projekt.poistenie.entities.StatistikyHistoria.Granularita;
+import projekt.poistenie.repository.StatistikyHistoriaRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementácia StatistikyHistoriaService.
+ *
+ * Retencia je odstupňovaná: hodinové snímky sa držia niekoľko dní (predvolene 7),
+ * denné roky (predvolene 10). Denný snímok je stav na konci dňa, teda posledný
+ * hodinový snímok daného dňa - všetky hodnoty sú okamžité stavy, nie prírastky.
+ */
+@Service
+public class StatistikyHistoriaServiceImpl implements StatistikyHistoriaService {
+
+    private final StatistikyHistoriaRepository historiaRepository;
+    private final StatistikyService statistikyService;
+    private final StatistikyMapper statistikyMapper;
+    private final int hodinoveDni;
+    private final int denneRoky;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param historiaRepository repozitár historických snímkov
+     * @param statistikyService  služba s aktuálnymi štatistikami
+     * @param statistikyMapper   mapper štatistík
+     * @param hodinoveDni        počet dní, počas ktorých sa držia hodinové snímky
+     * @param denneRoky          počet rokov, počas ktorých sa držia denné snímky
+     */
+    @Autowired
+    public StatistikyHistoriaServiceImpl(StatistikyHistoriaRepository historiaRepository,
+                                         StatistikyService statistikyService,
+                                         StatistikyMapper statistikyMapper,
+                                         @Value("${statistiky.historia.hodinove-dni:7}") int hodinoveDni,
+                                         @Value("${statistiky.historia.denne-roky:10}") int denneRoky) {
+        this.historiaRepository = historiaRepository;
+        this.statistikyService = statistikyService;
+        this.statistikyMapper = statistikyMapper;
+        this.hodinoveDni = hodinoveDni;
+        this.denneRoky = denneRoky;
+    }
+
+    @Override
+    @Scheduled(cron = "${statistiky.historia.snapshot-cron:0 0 * * * *}")
+    @Transactional
+    public void takeSnapshot() {
+        takeSnapshot(LocalDateTime.now());
+    }
+
+    /**
+     * Uloží hodinový snímok pre hodinu, do ktorej patrí zadaný čas.
+     *
+     * @param teraz aktuálny čas
+     */
+    void takeSnapshot(LocalDateTime teraz) {
+        LocalDateTime hodina = teraz.truncatedTo(ChronoUnit.HOURS);
+        if (historiaRepository.existsByGranularitaAndCas(Granularita.HODINA, hodina)) {
+            return;
+        }
+        historiaRepository.save(statistikyMapper.toHistoria(
+                statistikyService.getGlobalStatistics(), Granularita.HODINA, hodina));
+    }
+
+    @Override
+    @Scheduled(cron = "${statistiky.historia.downsample-cron:0 5 0 * * *}")
+    @Transactional
+    public void downsample() {
+        downsample(LocalDateTime.now());
+    }
+
+    /**
+     * Vytvorí chýbajúce denné snímky pre dni pred dneškom a uplatní retenciu.
+     *
+     * @param teraz aktuálny čas
+     */
+    void downsample(LocalDateTime teraz) {
+        LocalDate dnes = teraz.toLocalDate();
+
+        // Denné snímky z hodinových - pre každý ukončený deň, ktorý ešte denný snímok nemá
+        Optional<StatistikyHistoria> najstarsi = historiaRepository.findFirstByGranularitaOrderByCasAsc(Granularita.HODINA);
+        if (najstarsi.isPresent()) {
+            for (LocalDate den = najstarsi.get().getCas().toLocalDate(); den.isBefore(dnes); den = den.plusDays(1)) {
+                LocalDateTime zaciatokDna = den.atStartOfDay();
+                if (historiaRepository.existsByGranularitaAndCas(Granularita.DEN, zaciatokDna)) {
+                    continue;
+                }
+                historiaRepository
+                        .findFirstByGranularitaAndCasGreaterThanEqualAndCasLessThanOrderByCasDesc(
+                                Granularita.HODINA, zaciatokDna, zaciatokDna.plusDays(1))
+                        .ifPresent(posledny -> historiaRepository.save(
+                                statistikyMapper.copyHistoria(posledny, Granularita.DEN, zaciatokDna)));
+            }
+        }
+
+        // Retencia
+        historiaRepository.deleteOlderThan(Granularita.HODINA, dnes.minusDays(hodinoveDni).atStartOfDay());
+        historiaRepository.deleteOlderThan(Granularita.DEN, dnes.minusYears(denneRoky).atStartOfDay());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StatistikyHistoriaDTO> findHistory(LocalDate od, LocalDate doDatum, Granularita granularita) {
+        if (od.isAfter(doDatum)) {
+            throw new IllegalArgumentException("Začiatok obdobia musí byť pred jeho koncom.");
+        }
+
+        // Hodinové snímky existujú len počas retencie, pre dlhšie obdobia sa čítajú denné
+        Granularita zvolena = granularita != null ? granularita :
+                (ChronoUnit.DAYS.between(od, doDatum) >= hodinoveDni ? Granularita.DEN : Granularita.HODINA);
+
+        return historiaRepository
+                .findByGranularitaAndCasBetweenOrderByCasAsc(zvolena, od.atStartOfDay(), doDatum.atTime(LocalTime.MAX))
+                .stream()
+                .map(statistikyMapper::toHistoriaDto)
+                .collect(Collectors.toList());
+    }
+}
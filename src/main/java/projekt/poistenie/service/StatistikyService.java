@@ -1,6 +1,9 @@
 package projekt.poistenie.service;
 
 import projekt.poistenie.dtos.StatistikyDTO;
+import projekt.poistenie.dtos.StatistikyObdobieDTO;
+
+import java.time.LocalDate;
 
 /**
  * Služba pre získavanie štatistických údajov o systéme poistenia.
@@ -17,4 +20,14 @@ public interface StatistikyService {
      * @return objekt StatistikyDTO obsahujúci agregované štatistické údaje
      */
     StatistikyDTO getGlobalStatistics();
-}
\ No newline at end of file
+
+    /**
+     * Získa štatistiky za zadané obdobie - nové zmluvy, zmluvy platné
+     * k poslednému dňu obdobia a poistné udalosti podľa mesiacov.
+     *
+     * @param od      prvý deň obdobia (vrátane)
+     * @param doDatum posledný deň obdobia (vrátane)
+     * @return objekt StatistikyObdobieDTO so štatistikami za obdobie
+     */
+    StatistikyObdobieDTO getStatistikyZaObdobie(LocalDate od, LocalDate doDatum);
+}
@@ -1,94 +1,248 @@
 package projekt.poistenie.service;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import projekt.poistenie.dtos.StatistikyDTO;
-import projekt.poistenie.entities.PoistnaZmluva;
-import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.dtos.StatistikyObdobieDTO;
+import projekt.poistenie.dtos.StatistikySumyDTO;
+import projekt.poistenie.entities.Statistiky;
+import projekt.poistenie.exceptions.StatistikyTimeoutException;
+import projekt.poistenie.repository.KlucPocet;
 import projekt.poistenie.repository.PoistnaZmluvaRepository;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Implementácia služby pre získavanie štatistických údajov.
- * Agreguje dáta z rôznych repository a pripravuje ich na zobrazenie.
+ * Počty a rozdelenie podľa typu číta zo živých počítadiel (StatistikyCounterService),
+ * rozdelenie podľa stavu z indexu platnosti v pamäti (PlatnostIndexService), kým
+ * sa index zostavuje, agreguje ho databáza - do aplikácie sa nikdy nenačítavajú
+ * entity zmlúv.
+ *
+ * Jednotlivé časti sú na sebe nezávislé, preto bežia súbežne na virtuálnych vláknach,
+ * každá vo vlastnej read-only transakcii (a teda s vlastným spojením). Celková doba
+ * je tak daná najpomalšou časťou, nie ich súčtom, a je ohraničená limitom
+ * "statistiky.timeout".
+ *
+ * Konzistencia: časti nečítajú jeden spoločný snímok databázy (každé spojenie má
+ * vlastný) a rozdelenie podľa stavu pochádza z indexu v pamäti. Zmena zapísaná počas
+ * výpočtu sa preto môže prejaviť len v niektorých častiach odpovede - napr. počet zmlúv
+ * už zahŕňa novú zmluvu, súčet poistných súm ešte nie. Rozdiel je najviac o zmeny
+ * potvrdené počas jedného výpočtu a ďalšie načítanie ho odstráni; štatistiky sú
+ * prehľadové a presnú zhodu medzi časťami nezaručujú.
+ *
+ * Limit platí aj v databáze - transakcie častí majú timeout "statistiky.timeout",
+ * ktorý Hibernate premietne do query timeoutu príkazov. Nedokončené časti sa preto
+ * rušia bez prerušenia vlákna (prerušenie vlákna uprostred JDBC volania môže zavrieť
+ * spojenie z poolu) a dopyt ukončí sama databáza.
  */
 @Service
-@RequiredArgsConstructor
 public class StatistikyServiceImpl implements StatistikyService {
 
     /**
-     * Repository pre prístup k dátam poistencov.
+     * Služba so živými počítadlami štatistík.
      */
-    private final PoistenecRepository poistenecRepo;
+    private final StatistikyCounterService counterService;
 
     /**
      * Repository pre prístup k dátam poistných zmlúv.
      */
     private final PoistnaZmluvaRepository zmluvaRepo;
 
+    /**
+     * Služba s dennými košíkmi pre štatistiky za obdobie.
+     */
+    private final StatistikyDenService statistikyDenService;
+
+    /**
+     * Služba s finančnými ukazovateľmi poistných súm.
+     */
+    private final StatistikySumaService statistikySumaService;
+
+    /**
+     * Index období platnosti zmlúv v pamäti.
+     */
+    private final PlatnostIndexService platnostIndexService;
+
+    /**
+     * Maximálna doba výpočtu všetkých častí štatistík.
+     */
+    private final Duration timeout;
+
+    /**
+     * Executor s jedným virtuálnym vláknom na každú čiastkovú úlohu.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Read-only transakcia čiastkovej úlohy s timeoutom výpočtu štatistík.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param counterService služba so živými počítadlami štatistík
+     * @param zmluvaRepo     repozitár poistných zmlúv
+     * @param statistikyDenService služba s dennými košíkmi štatistík
+     * @param statistikySumaService služba s ukazovateľmi poistných súm
+     * @param platnostIndexService  index období platnosti zmlúv
+     * @param timeout        maximálna doba výpočtu štatistík
+     * @param transactionManager    správca transakcií čiastkových úloh
+     */
+    @Autowired
+    public StatistikyServiceImpl(StatistikyCounterService counterService,
+                                 PoistnaZmluvaRepository zmluvaRepo,
+                                 StatistikyDenService statistikyDenService,
+                                 StatistikySumaService statistikySumaService,
+                                 PlatnostIndexService platnostIndexService,
+                                 @Value("${statistiky.timeout:PT5S}") Duration timeout,
+                                 PlatformTransactionManager transactionManager) {
+        this.counterService = counterService;
+        this.zmluvaRepo = zmluvaRepo;
+        this.statistikyDenService = statistikyDenService;
+        this.statistikySumaService = statistikySumaService;
+        this.platnostIndexService = platnostIndexService;
+        this.timeout = timeout;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Timeout transakcie je v celých sekundách - zaokrúhľuje sa nahor
+        this.transactionTemplate.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+    }
+
     /**
      * Získanie globálnych štatistík zo systému.
-     * Metóda je označená ako @Transactional(readOnly = true), čo optimalizuje
-     * databázový prístup, keďže ide len o čítanie dát bez modifikácie.
+     * Metóda sama transakciu neotvára - každá čiastková úloha beží vo vlastnej
+     * read-only transakcii na svojom vlákne, volajúce vlákno len čaká na výsledky.
+     * Časti nečítajú spoločný snímok (pozri popis triedy).
      *
      * @return objekt StatistikyDTO s agregovanými údajmi
+     * @throws StatistikyTimeoutException ak výpočet nestihne dobehnúť v stanovenom čase
      */
     @Override
-    @Transactional(readOnly = true)
     public StatistikyDTO getGlobalStatistics() {
-        // Základné počty entít
-        long pocetPoistenych = poistenecRepo.count();
-        long pocetPoisteni = zmluvaRepo.count();
-
-        // Načítanie všetkých zmlúv - optimalizované na jedno načítanie z databázy
-        final LocalDate dnesnyDatum = LocalDate.now();
-        final var vsetkyZmluvy = zmluvaRepo.findAll();
-
-        // Počet udalostí - spočítame pre každú zmluvu
-        long pocetUdalosti = vsetkyZmluvy.stream()
-                .mapToLong(z -> z.getUdalosti() != null ? z.getUdalosti().size() : 0)
-                .sum();
-
-        // Rozdelenie poistných zmlúv podľa typu
-        Map<String, Long> rozdeleniePodlaTypu = vsetkyZmluvy.stream()
-                .collect(Collectors.groupingBy(
-                        PoistnaZmluva::getDruhPoistenia,
-                        Collectors.counting()
-                ));
-
-        // Aktívne zmluvy - počet zmlúv s platnosťou zahŕňajúcou dnešný dátum
-        long aktivneZmluvy = vsetkyZmluvy.stream()
-                .filter(z -> dnesnyDatum.compareTo(z.getPlatnostOd()) >= 0 &&
-                        dnesnyDatum.compareTo(z.getPlatnostDo()) <= 0)
-                .count();
-
-        // Rozdelenie podľa stavu zmlúv (aktívne, čakajúce, ukončené, expirované)
-        Map<String, Long> zmluvyPodlaStavu = vsetkyZmluvy.stream()
-                .collect(Collectors.groupingBy(
-                        zmluva -> {
-                            if (dnesnyDatum.isBefore(zmluva.getPlatnostOd())) {
-                                return "CAKAJUCA"; // Zmluva ešte nezačala platiť
-                            } else if (dnesnyDatum.isAfter(zmluva.getPlatnostDo())) {
-                                return "EXPIROVANA"; // Zmluva už skončila
-                            } else {
-                                return "AKTIVNA"; // Zmluva je aktívna
-                            }
-                        },
-                        Collectors.counting()
-                ));
-
-        // Vytvorenie kompletného DTO so všetkými štatistikami
-        return new StatistikyDTO(
-                pocetPoistenych,
-                pocetPoisteni,
-                pocetUdalosti,
-                rozdeleniePodlaTypu,
-                aktivneZmluvy,
-                zmluvyPodlaStavu
-        );
+        LocalDate dnes = LocalDate.now();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        // Základné počty a rozdelenie podľa typu - riadky počítadiel.
+        // Stav zmluvy závisí od dnešného dátumu, preto sa nedá udržiavať ako počítadlo;
+        // rozdelenie podľa stavu (aktívne, čakajúce, expirované) dá intervalový index.
+        Future<Statistiky> pocitadlaUloha = submit(counterService::getCounters);
+        Future<Map<String, Long>> podlaTypuUloha = submit(counterService::getRozdeleniePodlaTypu);
+        Future<Map<String, Long>> podlaStavuUloha = submit(() -> zmluvyPodlaStavu(dnes));
+        // Finančné ukazovatele - súhrny a sketch poistných súm, bez prechodu zmlúv
+        Future<StatistikySumyDTO> sumyUloha = submit(statistikySumaService::getSumy);
+
+        try {
+            Statistiky pocitadla = await(pocitadlaUloha, deadline);
+            Map<String, Long> rozdeleniePodlaTypu = await(podlaTypuUloha, deadline);
+
+            Map<String, Long> zmluvyPodlaStavu = await(podlaStavuUloha, deadline);
+            long aktivneZmluvy = zmluvyPodlaStavu.getOrDefault("AKTIVNA", 0L);
+
+            // Vytvorenie kompletného DTO so všetkými štatistikami
+            return new StatistikyDTO(
+                    pocitadla.getPocetPoistenych(),
+                    pocitadla.getPocetPoisteni(),
+                    pocitadla.getPocetUdalosti(),
+                    rozdeleniePodlaTypu,
+                    aktivneZmluvy,
+                    zmluvyPodlaStavu,
+                    await(sumyUloha, deadline)
+            );
+        } finally {
+            // Pri chybe alebo prekročení limitu sa nedokončené úlohy zrušia bez prerušenia
+            // vlákna - bežiaci dopyt ukončí query timeout transakcie
+            pocitadlaUloha.cancel(false);
+            podlaTypuUloha.cancel(false);
+            podlaStavuUloha.cancel(false);
+            sumyUloha.cancel(false);
+        }
+    }
+
+    /**
+     * Spustí čiastkovú úlohu na vlastnom virtuálnom vlákne v read-only transakcii
+     * s timeoutom výpočtu štatistík.
+     *
+     * @param uloha čiastková úloha
+     * @return výsledok úlohy
+     */
+    private <T> Future<T> submit(Supplier<T> uloha) {
+        return executor.submit(() -> transactionTemplate.execute(stav -> uloha.get()));
+    }
+
+    /**
+     * Rozdelí zmluvy podľa stavu voči dátumu. Kým nie je index platnosti zostavený
+     * (krátko po štarte), spočíta rozdelenie databáza jedným GROUP BY.
+     *
+     * @param datum referenčný dátum
+     * @return stav - počet zmlúv
+     */
+    private Map<String, Long> zmluvyPodlaStavu(LocalDate datum) {
+        if (platnostIndexService.isPripraveny()) {
+            return platnostIndexService.countByStav(datum);
+        }
+        Map<String, Long> zmluvyPodlaStavu = new LinkedHashMap<>();
+        for (KlucPocet stav : zmluvaRepo.countByStav(datum)) {
+            zmluvyPodlaStavu.put(stav.getKluc(), stav.getPocet());
+        }
+        return zmluvyPodlaStavu;
+    }
+
+    /**
+     * Štatistiky za obdobie sa čítajú z denných košíkov, nie z tabuľky zmlúv.
+     */
+    @Override
+    public StatistikyObdobieDTO getStatistikyZaObdobie(LocalDate od, LocalDate doDatum) {
+        return statistikyDenService.getStatistikyZaObdobie(od, doDatum);
+    }
+
+    /**
+     * Počká na výsledok čiastkovej úlohy najviac do spoločného termínu.
+     *
+     * @param uloha    čiastková úloha
+     * @param deadline termín v nanosekundách (System.nanoTime)
+     * @return výsledok úlohy
+     */
+    private <T> T await(Future<T> uloha, long deadline) {
+        try {
+            return uloha.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new StatistikyTimeoutException(
+                    "Štatistiky sa nepodarilo vypočítať do " + timeout.toMillis() + " ms.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StatistikyTimeoutException("Výpočet štatistík bol prerušený.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Ukončí executor pri zastavení aplikácie.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
     }
-}
\ No newline at end of file
+}
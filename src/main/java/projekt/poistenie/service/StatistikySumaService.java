@@ -0,0 +1,24 @@
+package projekt.poistenie.service;
+
+import projekt.poistenie.dtos.StatistikySumyDTO;
+
+/**
+ * Služba pre finančné ukazovatele poistných súm.
+ * Súhrny a kvantilový sketch sa udržiavajú pri každej zmene zmluvy,
+ * takže čítanie nevyžaduje triedenie ani prechod celého portfólia.
+ */
+public interface StatistikySumaService {
+
+    /**
+     * Vráti počet, súčet, priemer, extrémy a percentily poistných súm
+     * celkovo a podľa druhu poistenia.
+     *
+     * @return finančné ukazovatele
+     */
+    StatistikySumyDTO getSumy();
+
+    /**
+     * Prestavia súhrny a sketch jedným prechodom tabuľkou zmlúv.
+     */
+    void rebuild();
+}
@@ -0,0 +1,207 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.StatistikySumaDTO;
+import projekt.poistenie.dtos.StatistikySumyDTO;
+import projekt.poistenie.entities.StatistikySuma;
+import projekt.poistenie.entities.StatistikySumaKos;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.StatistikySumaRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Implementácia StatistikySumaService nad tabuľkami "statistiky_suma"
+ * a "statistiky_suma_kos".
+ *
+ * Zmeny zmlúv aj dávky importu sa premietajú synchrónne z doménových udalostí
+ * v tej istej transakcii.
+ * Pri štarte sa súhrny prestavia prúdovým prechodom zmlúv, ak nesedí ich počet
+ * s tabuľkou zmlúv (prvé spustenie, zásah do databázy mimo aplikácie).
+ *
+ * Zmluva bez poistnej sumy sa počíta v počte s nulovou sumou, do sketchu
+ * (kvantily, minimum, maximum) sa nezapisuje.
+ */
+@Service
+public class StatistikySumaServiceImpl implements StatistikySumaService {
+
+    private final StatistikySumaRepository statistikySumaRepository;
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+    private final PoistnaZmluvaScanService poistnaZmluvaScanService;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param statistikySumaRepository repozitár súhrnov a sketchu
+     * @param poistnaZmluvaRepository  repozitár zmlúv (kontrola počtu pri štarte)
+     * @param poistnaZmluvaScanService prúdový prechod zmlúv (prestavba)
+     */
+    @Autowired
+    public StatistikySumaServiceImpl(StatistikySumaRepository statistikySumaRepository,
+                                     PoistnaZmluvaRepository poistnaZmluvaRepository,
+                                     PoistnaZmluvaScanService poistnaZmluvaScanService) {
+        this.statistikySumaRepository = statistikySumaRepository;
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+        this.poistnaZmluvaScanService = poistnaZmluvaScanService;
+    }
+
+    /**
+     * Po štarte aplikácie prestavia súhrny, ak nezodpovedajú tabuľke zmlúv.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        long pocetVSuhrnoch = statistikySumaRepository.findNenulove().stream()
+                .mapToLong(StatistikySuma::getPocet)
+                .sum();
+        if (pocetVSuhrnoch != poistnaZmluvaRepository.count()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Prestavia súhrny prúdovým prechodom zmlúv. Pred prechodom sa uzamknú všetky
+     * súhrny: prírastky, ktoré už stihli zapísať, sa potvrdia skôr, ako prechod začne
+     * čítať (a prechod ich zmluvy vidí), ostatné čakajú na koniec prestavby a pripočítajú
+     * sa k nej. Prechod tak nič nezapočíta dvakrát ani nevynechá.
+     */
+    @Override
+    @Transactional
+    public void rebuild() {
+        statistikySumaRepository.findAllForUpdate();
+
+        Prirastky prirastky = new Prirastky();
+        poistnaZmluvaScanService.scan(zmluva -> prirastky.pridaj(zmluva.getDruhPoistenia(), zmluva.getSuma()));
+
+        statistikySumaRepository.deleteSumy();
+        statistikySumaRepository.deleteKose();
+        prirastky.zapis();
+    }
+
+    /**
+     * Pripočíta dávku importovaných zmlúv do súhrnov v transakcii dávky - jeden
+     * prírastok na druh poistenia a jeden na každý dotknutý košík sketchu.
+     *
+     * @param importDat udalosť o zapísanej dávke importu
+     */
+    @EventListener
+    @Transactional
+    public void onHromadnyImport(HromadnyImportEvent importDat) {
+        Prirastky prirastky = new Prirastky();
+        for (PoistnaZmluvaDTO zmluva : importDat.getZmluvy()) {
+            prirastky.pridaj(zmluva.getDruhPoistenia(), zmluva.getSuma());
+        }
+        prirastky.zapis();
+    }
+
+    /**
+     * Premietne zmenu zmluvy do súhrnov: pôvodná suma sa odoberie, nová pridá.
+     *
+     * @param zmena udalosť o zmene zmluvy
+     */
+    @EventListener
+    @Transactional
+    public void onZmluvaZmenena(PoistnaZmluvaZmenenaEvent zmena) {
+        PoistnaZmluvaDTO pred = zmena.getPred();
+        PoistnaZmluvaDTO po = zmena.getPo();
+
+        if (pred != null && po != null
+                && Objects.equals(pred.getDruhPoistenia(), po.getDruhPoistenia())
+                && Objects.equals(pred.getSuma(), po.getSuma())) {
+            return;
+        }
+        if (pred != null) {
+            zapis(pred, -1);
+        }
+        if (po != null) {
+            zapis(po, 1);
+        }
+    }
+
+    private void zapis(PoistnaZmluvaDTO zmluva, int znamienko) {
+        BigDecimal suma = suma(zmluva.getSuma());
+        statistikySumaRepository.increment(zmluva.getDruhPoistenia(), znamienko,
+                znamienko < 0 ? suma.negate() : suma);
+        if (zmluva.getSuma() != null) {
+            statistikySumaRepository.incrementKos(zmluva.getDruhPoistenia(), SumaSketch.kos(zmluva.getSuma()), znamienko);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatistikySumyDTO getSumy() {
+        Map<String, SumaSketch> sketche = new TreeMap<>();
+        SumaSketch celkovy = new SumaSketch();
+        for (StatistikySumaKos kos : statistikySumaRepository.findNenuloveKose()) {
+            sketche.computeIfAbsent(kos.getDruhPoistenia(), k -> new SumaSketch()).pridaj(kos.getKos(), kos.getPocet());
+            celkovy.pridaj(kos.getKos(), kos.getPocet());
+        }
+
+        Map<String, StatistikySumaDTO> podlaTypu = new TreeMap<>();
+        long pocetCelkom = 0;
+        BigDecimal sucetCelkom = BigDecimal.ZERO;
+        for (StatistikySuma suhrn : statistikySumaRepository.findNenulove()) {
+            SumaSketch sketch = sketche.getOrDefault(suhrn.getDruhPoistenia(), new SumaSketch());
+            podlaTypu.put(suhrn.getDruhPoistenia(), toDto(suhrn.getPocet(), suhrn.getSucet(), sketch));
+            pocetCelkom += suhrn.getPocet();
+            sucetCelkom = sucetCelkom.add(suhrn.getSucet());
+        }
+
+        return new StatistikySumyDTO(toDto(pocetCelkom, sucetCelkom, celkovy), podlaTypu);
+    }
+
+    private static StatistikySumaDTO toDto(long pocet, BigDecimal sucet, SumaSketch sketch) {
+        if (pocet <= 0) {
+            return StatistikySumaDTO.prazdne();
+        }
+        return new StatistikySumaDTO(
+                pocet,
+                sucet,
+                sucet.divide(BigDecimal.valueOf(pocet), 2, RoundingMode.HALF_UP).doubleValue(),
+                sketch.min(),
+                sketch.max(),
+                sketch.kvantil(0.50),
+                sketch.kvantil(0.90),
+                sketch.kvantil(0.99)
+        );
+    }
+
+    private static BigDecimal suma(Double suma) {
+        return suma == null ? BigDecimal.ZERO : BigDecimal.valueOf(suma).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Súhrnné prírastky viacerých zmlúv - jeden zápis na druh poistenia a na košík sketchu.
+     */
+    private final class Prirastky {
+        private final Map<String, Long> pocty = new HashMap<>();
+        private final Map<String, BigDecimal> sucty = new HashMap<>();
+        private final Map<String, Map<Integer, Long>> kose = new HashMap<>();
+
+        private void pridaj(String druh, Double suma) {
+            pocty.merge(druh, 1L, Long::sum);
+            sucty.merge(druh, suma(suma), BigDecimal::add);
+            if (suma != null) {
+                kose.computeIfAbsent(druh, k -> new HashMap<>()).merge(SumaSketch.kos(suma), 1L, Long::sum);
+            }
+        }
+
+        private void zapis() {
+            pocty.forEach((druh, pocet) -> statistikySumaRepository.increment(druh, pocet, sucty.get(druh)));
+            kose.forEach((druh, koseDruhu) -> koseDruhu.forEach((kos, pocet) ->
+                    statistikySumaRepository.incrementKos(druh, kos, pocet)));
+        }
+    }
+}
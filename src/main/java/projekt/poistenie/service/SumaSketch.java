@@ -0,0 +1,120 @@
+package projekt.poistenie.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Kvantilový sketch poistných súm s logaritmickými košíkmi (princíp DDSketch).
+ *
+ * Hodnota x padne do košíka i = ceil(log_γ(x)), kde γ = (1 + α) / (1 - α).
+ * Reprezentant košíka je od každej hodnoty v ňom vzdialený najviac o relatívnu
+ * chybu α (1 %). Sketch je len mapa počtov, preto sa dá zlúčiť sčítaním
+ * a zmluvu z neho možno aj odobrať - na rozdiel od t-digest či KLL.
+ * Pri sumách od 1 centu po miliardu eur vznikne najviac približne 1 500 košíkov.
+ */
+public final class SumaSketch {
+
+    /**
+     * Relatívna presnosť odhadov (1 %).
+     */
+    public static final double RELATIVNA_PRESNOST = 0.01;
+
+    /**
+     * Sumy menšie ako táto hodnota sa počítajú v nulovom košíku.
+     */
+    public static final double MIN_HODNOTA = 0.01;
+
+    /**
+     * Index košíka pre nulové (a zanedbateľné) sumy.
+     */
+    public static final int NULOVY_KOS = Integer.MIN_VALUE;
+
+    private static final double GAMA = (1 + RELATIVNA_PRESNOST) / (1 - RELATIVNA_PRESNOST);
+    private static final double LN_GAMA = Math.log(GAMA);
+
+    private final TreeMap<Integer, Long> kose = new TreeMap<>();
+    private long pocet;
+
+    /**
+     * Určí index košíka pre danú sumu.
+     *
+     * @param hodnota poistná suma
+     * @return index košíka
+     */
+    public static int kos(double hodnota) {
+        if (hodnota < MIN_HODNOTA) {
+            return NULOVY_KOS;
+        }
+        return (int) Math.ceil(Math.log(hodnota) / LN_GAMA);
+    }
+
+    /**
+     * Vráti reprezentanta košíka (hodnotu s najmenšou relatívnou chybou voči hraniciam košíka).
+     *
+     * @param kos index košíka
+     * @return odhad sumy
+     */
+    public static double hodnota(int kos) {
+        if (kos == NULOVY_KOS) {
+            return 0;
+        }
+        return 2 * Math.pow(GAMA, kos) / (GAMA + 1);
+    }
+
+    /**
+     * Pripočíta počet do košíka (zlúčenie s iným sketchom je opakované volanie).
+     * Záporný počet hodnoty odoberá; vyprázdnený košík sa zahodí.
+     *
+     * @param kos   index košíka
+     * @param pocet počet hodnôt v košíku
+     */
+    public void pridaj(int kos, long pocet) {
+        if (pocet == 0) {
+            return;
+        }
+        kose.merge(kos, pocet, (povodny, zmena) -> povodny + zmena == 0 ? null : povodny + zmena);
+        this.pocet += pocet;
+    }
+
+    /**
+     * @return počet hodnôt v sketchi
+     */
+    public long getPocet() {
+        return pocet;
+    }
+
+    /**
+     * Odhadne kvantil.
+     *
+     * @param q kvantil v rozsahu 0 až 1
+     * @return odhad hodnoty kvantilu alebo null pre prázdny sketch
+     */
+    public Double kvantil(double q) {
+        if (pocet <= 0) {
+            return null;
+        }
+        long poradie = (long) Math.floor(q * (pocet - 1));
+        long kumulativne = 0;
+        for (Map.Entry<Integer, Long> kos : kose.entrySet()) {
+            kumulativne += kos.getValue();
+            if (kumulativne > poradie) {
+                return hodnota(kos.getKey());
+            }
+        }
+        return hodnota(kose.lastKey());
+    }
+
+    /**
+     * @return odhad najmenšej hodnoty alebo null pre prázdny sketch
+     */
+    public Double min() {
+        return pocet <= 0 ? null : hodnota(kose.firstKey());
+    }
+
+    /**
+     * @return odhad najväčšej hodnoty alebo null pre prázdny sketch
+     */
+    public Double max() {
+        return pocet <= 0 ? null : hodnota(kose.lastKey());
+    }
+}
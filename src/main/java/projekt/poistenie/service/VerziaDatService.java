@@ -0,0 +1,26 @@
+package projekt.poistenie.service;
+
+import java.time.LocalDate;
+
+/**
+ * Služba s verziou dát, z ktorých sa počítajú štatistiky.
+ * Verzia sa zvýši s každou potvrdenou zmenou poistenca, zmluvy alebo udalosti
+ * a je uložená v databáze, takže klient vie overiť aktuálnosť svojich údajov
+ * jedným čítaním riadku namiesto výpočtu štatistík - na ktorejkoľvek inštancii.
+ */
+public interface VerziaDatService {
+
+    /**
+     * @return aktuálna verzia dát
+     */
+    long getVerzia();
+
+    /**
+     * Vráti silný ETag pre štatistiky platné k danému dňu.
+     * Deň je súčasťou značky, lebo stav zmlúv sa mení aj bez zmeny dát.
+     *
+     * @param datum referenčný dátum štatistík
+     * @return hodnota ETag vrátane úvodzoviek
+     */
+    String getEtag(LocalDate datum);
+}
@@ -0,0 +1,68 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.events.ZmenaDat;
+import projekt.poistenie.repository.StatistikyRepository;
+
+import java.time.LocalDate;
+
+/**
+ * Implementácia VerziaDatService nad stĺpcom "verzia" riadku počítadiel štatistík.
+ *
+ * Verzia sa zvyšuje synchrónne v transakcii zmeny, teda spolu s počítadlami, a je
+ * spoločná pre všetky inštancie aplikácie - ETag vydaný jednou inštanciou platí aj
+ * na ostatných a po zmene na ktorejkoľvek z nich sa na všetkých zmení. Zmena, ktorá
+ * sa vráti (rollback), verziu nezvýši.
+ *
+ * Zvýšenie zamkne riadok počítadiel do konca transakcie zmeny; zápisy, ktoré menia
+ * počítadlá, ho zamykajú aj tak.
+ */
+@Service
+public class VerziaDatServiceImpl implements VerziaDatService {
+
+    private final StatistikyRepository statistikyRepository;
+    private final StatistikyCounterService counterService;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param statistikyRepository repozitár riadku počítadiel s verziou
+     * @param counterService       služba počítadiel (založenie riadku, ak ešte neexistuje)
+     */
+    @Autowired
+    public VerziaDatServiceImpl(StatistikyRepository statistikyRepository,
+                                StatistikyCounterService counterService) {
+        this.statistikyRepository = statistikyRepository;
+        this.counterService = counterService;
+    }
+
+    /**
+     * Zvýši verziu v transakcii, ktorá zmenila dáta.
+     * Bez transakcie sa zvýši vo vlastnej transakcii.
+     *
+     * @param zmena doménová udalosť o zmene dát
+     */
+    @EventListener
+    @Transactional
+    public void onZmenaDat(ZmenaDat zmena) {
+        if (statistikyRepository.incrementVerzia() == 0) {
+            // Prepočet založí riadok počítadiel a zvýši aj verziu
+            counterService.recalculate();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getVerzia() {
+        Long verzia = statistikyRepository.findVerzia();
+        return verzia == null ? 0 : verzia;
+    }
+
+    @Override
+    public String getEtag(LocalDate datum) {
+        return "\"" + getVerzia() + "-" + datum.toEpochDay() + "\"";
+    }
+}
@@ -0,0 +1,26 @@
+package projekt.poistenie.service;
+
+/**
+ * Overovanie, či poistenec alebo poistná zmluva patrí prihlásenému používateľovi.
+ * Slúži na kontrolu oprávnení bežných používateľov (administrátor má prístup ku všetkému).
+ */
+public interface VlastnictvoService {
+
+    /**
+     * Overí, či je poistenec profilom používateľa s daným e-mailom.
+     *
+     * @param email       e-mail prihláseného používateľa
+     * @param poistenecId ID poistenca
+     * @return true ak poistenec patrí používateľovi
+     */
+    boolean vlastniPoistenca(String email, Long poistenecId);
+
+    /**
+     * Overí, či zmluva patrí poistencovi používateľa s daným e-mailom.
+     *
+     * @param email    e-mail prihláseného používateľa
+     * @param zmluvaId ID poistnej zmluvy
+     * @return true ak zmluva patrí používateľovi
+     */
+    boolean vlastniZmluvu(String email, Long zmluvaId);
+}
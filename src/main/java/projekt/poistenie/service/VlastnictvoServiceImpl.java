@@ -0,0 +1,53 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+
+/**
+ * Implementácia VlastnictvoService jedným dopytom do databázy pri každej kontrole.
+ *
+ * Poistenec aj zmluva sa hľadajú podľa primárneho kľúča a e-mail sa porovná v tom
+ * istom dopyte, takže kontrola je lacná. Výsledok sa zámerne neukladá do cache
+ * v pamäti ani do cache druhej úrovne - zmena vlastníka alebo e-mailu (aj na inej
+ * inštancii aplikácie či mimo nej) sa v oprávneniach prejaví okamžite.
+ */
+@Service
+public class VlastnictvoServiceImpl implements VlastnictvoService {
+
+    private final PoistenecRepository poistenecRepository;
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param poistenecRepository     repozitár poistencov (e-mail poistenca)
+     * @param poistnaZmluvaRepository repozitár zmlúv (vlastník zmluvy)
+     */
+    @Autowired
+    public VlastnictvoServiceImpl(PoistenecRepository poistenecRepository,
+                                  PoistnaZmluvaRepository poistnaZmluvaRepository) {
+        this.poistenecRepository = poistenecRepository;
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean vlastniPoistenca(String email, Long poistenecId) {
+        if (email == null || poistenecId == null) {
+            return false;
+        }
+        return poistenecRepository.maEmail(poistenecId, email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean vlastniZmluvu(String email, Long zmluvaId) {
+        if (email == null || zmluvaId == null) {
+            return false;
+        }
+        return poistnaZmluvaRepository.patriPoistencovi(zmluvaId, email);
+    }
+}
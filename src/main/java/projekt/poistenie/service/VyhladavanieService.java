@@ -0,0 +1,68 @@
+package projekt.poistenie.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.VysledkyHladaniaDTO;
+import projekt.poistenie.dtos.VysledokHladaniaDTO;
+
+import java.util.List;
+
+/**
+ * Služba na fulltextové vyhľadávanie poistencov a poistných zmlúv.
+ * Hľadá sa bez ohľadu na diakritiku a veľkosť písmen, každé slovo dopytu
+ * môže byť aj začiatkom slova ("nov bra" nájde "Nováková, Bratislava").
+ * Výsledky sú zoradené podľa skóre zhody.
+ */
+public interface VyhladavanieService {
+
+    /**
+     * Kým index nie je zostavený, vyhľadávacie metódy vyhodia
+     * VyhladavanieNepripraveneException (HTTP 503).
+     *
+     * @return true, ak je index zostavený a odpovedá aktuálnym dátam
+     */
+    boolean isPripraveny();
+
+    /**
+     * Vyhľadá poistencov podľa mena, priezviska, e-mailu, mesta a PSČ.
+     *
+     * @param dotaz hľadaný text
+     * @param strana číslo a veľkosť strany
+     * @return strana poistencov zoradených podľa skóre
+     */
+    Page<PoistenecDTO> hladajPoistencov(String dotaz, Pageable strana);
+
+    /**
+     * Vyhľadá poistné zmluvy podľa čísla zmluvy a druhu poistenia.
+     *
+     * @param dotaz hľadaný text
+     * @param strana číslo a veľkosť strany
+     * @return strana zmlúv zoradených podľa skóre
+     */
+    Page<PoistnaZmluvaDTO> hladajZmluvy(String dotaz, Pageable strana);
+
+    /**
+     * Vyhľadá poistencov aj zmluvy naraz, bez prístupu do databázy.
+     *
+     * @param dotaz hľadaný text
+     * @param strana číslo a veľkosť strany
+     * @return strana výsledkov oboch typov zoradených podľa skóre
+     */
+    VysledkyHladaniaDTO hladaj(String dotaz, Pageable strana);
+
+    /**
+     * Vráti najlepšie zhody poistencov pre našepkávač vo formulároch, bez prístupu do databázy.
+     *
+     * @param dotaz začiatok mena, priezviska alebo e-mailu
+     * @param limit najväčší počet výsledkov
+     * @return poistenci zoradení podľa skóre
+     */
+    List<VysledokHladaniaDTO> naseptajPoistencov(String dotaz, int limit);
+
+    /**
+     * Zostaví index nanovo z tabuliek poistencov a zmlúv.
+     */
+    void rebuild();
+}
@@ -0,0 +1,403 @@
+package projekt.poistenie.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.VysledkyHladaniaDTO;
+import projekt.poistenie.dtos.VysledokHladaniaDTO;
+import projekt.poistenie.dtos.mappers.PoistenecMapper;
+import projekt.poistenie.dtos.mappers.PoistnaZmluvaMapper;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.events.PoistenecZmenenyEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.ZmenaDat;
+import projekt.poistenie.exceptions.VyhladavanieNepripraveneException;
+import projekt.poistenie.repository.PoistenecPrehlad;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.service.InvertovanyIndex.Najlepsie;
+import projekt.poistenie.service.InvertovanyIndex.Pole;
+import projekt.poistenie.service.InvertovanyIndex.Zasah;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Implementácia VyhladavanieService nad invertovanými indexmi v pamäti.
+ *
+ * Index sa zostaví pri štarte jedným prechodom poistencov (po stranách podľa kurzora)
+ * a zmlúv (prúdovo) a potom sa udržiava z doménových udalostí (aj z dávok importu)
+ * až po potvrdení transakcie. Zmeny, ktoré prídu počas zostavovania, sa odložia a po jeho skončení
+ * zopakujú. Z databázy sa pri hľadaní načíta len práve zobrazená strana podľa primárneho kľúča
+ * (ako projekcia, bez entít).
+ */
+@Service
+public class VyhladavanieServiceImpl implements VyhladavanieService {
+
+    /**
+     * Počet poistencov načítaných naraz pri zostavovaní indexu.
+     */
+    private static final int DAVKA = 1000;
+
+    // Váhy polí - zhoda v priezvisku alebo čísle zmluvy je dôležitejšia ako v meste
+    private static final int VAHA_PRIEZVISKO = 4;
+    private static final int VAHA_MENO = 3;
+    private static final int VAHA_EMAIL = 2;
+    private static final int VAHA_ADRESA = 1;
+    private static final int VAHA_CISLO_ZMLUVY = 4;
+    private static final int VAHA_DRUH_POISTENIA = 1;
+
+    private final PoistenecRepository poistenecRepository;
+    private final PoistnaZmluvaRepository poistnaZmluvaRepository;
+    private final PoistnaZmluvaScanService poistnaZmluvaScanService;
+    private final PoistenecMapper poistenecMapper;
+    private final PoistnaZmluvaMapper poistnaZmluvaMapper;
+
+    private final ReadWriteLock zamok = new ReentrantReadWriteLock();
+
+    // Aktuálny index (chránený zámkom)
+    private Indexy indexy = new Indexy();
+
+    // Zmeny prijaté počas zostavovania indexu alebo null, ak zostavovanie nebeží (chránené zámkom)
+    private List<ZmenaDat> odlozeneZmeny;
+
+    private volatile boolean pripraveny;
+
+    /**
+     * Konštruktor pre injection závislostí.
+     *
+     * @param poistenecRepository      repozitár poistencov
+     * @param poistnaZmluvaRepository  repozitár zmlúv
+     * @param poistnaZmluvaScanService prúdový prechod zmlúv (zostavenie indexu)
+     * @param poistenecMapper          mapper poistencov
+     * @param poistnaZmluvaMapper      mapper zmlúv
+     */
+    @Autowired
+    public VyhladavanieServiceImpl(PoistenecRepository poistenecRepository,
+                                   PoistnaZmluvaRepository poistnaZmluvaRepository,
+                                   PoistnaZmluvaScanService poistnaZmluvaScanService,
+                                   PoistenecMapper poistenecMapper,
+                                   PoistnaZmluvaMapper poistnaZmluvaMapper) {
+        this.poistenecRepository = poistenecRepository;
+        this.poistnaZmluvaRepository = poistnaZmluvaRepository;
+        this.poistnaZmluvaScanService = poistnaZmluvaScanService;
+        this.poistenecMapper = poistenecMapper;
+        this.poistnaZmluvaMapper = poistnaZmluvaMapper;
+    }
+
+    /**
+     * Po štarte aplikácie zostaví index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        zamok.writeLock().lock();
+        try {
+            odlozeneZmeny = new ArrayList<>();
+        } finally {
+            zamok.writeLock().unlock();
+        }
+
+        Indexy nove = new Indexy();
+        try {
+            Slice<PoistenecPrehlad> strana = poistenecRepository.findPrvaStrana(PageRequest.of(0, DAVKA));
+            while (true) {
+                strana.forEach(poistenec -> nove.vlozPoistenca(poistenec.id(), poistenec.meno(),
+                        poistenec.priezvisko(), poistenec.email(), poistenec.mesto(), poistenec.psc()));
+                if (!strana.hasNext() || strana.isEmpty()) {
+                    break;
+                }
+                PoistenecPrehlad posledny = strana.getContent().get(strana.getNumberOfElements() - 1);
+                strana = poistenecRepository.findZaKurzorom(posledny.priezvisko(), posledny.id(),
+                        PageRequest.of(0, DAVKA));
+            }
+            poistnaZmluvaScanService.scan(zmluva ->
+                    nove.vlozZmluvu(zmluva.getId(), zmluva.getCisloZmluvy(), zmluva.getDruhPoistenia()));
+        } catch (RuntimeException e) {
+            zamok.writeLock().lock();
+            try {
+                odlozeneZmeny = null;
+            } finally {
+                zamok.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        zamok.writeLock().lock();
+        try {
+            // Prechod mohol zmenu už vidieť aj nevidieť; vloženie nahrádza predchádzajúcu
+            // verziu dokumentu, preto je bezpečné zopakovať všetky zmeny od začiatku prechodu.
+            for (ZmenaDat zmena : odlozeneZmeny) {
+                nove.aplikuj(zmena);
+            }
+            odlozeneZmeny = null;
+            indexy = nove;
+            pripraveny = true;
+        } finally {
+            zamok.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Premietne potvrdenú zmenu poistenca do indexu.
+     *
+     * @param zmena udalosť o zmene poistenca
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoistenecZmeneny(PoistenecZmenenyEvent zmena) {
+        aplikuj(zmena);
+    }
+
+    /**
+     * Premietne potvrdenú zmenu zmluvy do indexu.
+     *
+     * @param zmena udalosť o zmene zmluvy
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZmluvaZmenena(PoistnaZmluvaZmenenaEvent zmena) {
+        aplikuj(zmena);
+    }
+
+    /**
+     * Vloží do indexu poistencov a zmluvy z potvrdenej dávky importu.
+     *
+     * @param importDat udalosť o zapísanej dávke importu
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHromadnyImport(HromadnyImportEvent importDat) {
+        aplikuj(importDat);
+    }
+
+    private void aplikuj(ZmenaDat zmena) {
+        zamok.writeLock().lock();
+        try {
+            if (odlozeneZmeny != null) {
+                odlozeneZmeny.add(zmena);
+            }
+            indexy.aplikuj(zmena);
+        } finally {
+            zamok.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isPripraveny() {
+        return pripraveny;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PoistenecDTO> hladajPoistencov(String dotaz, Pageable strana) {
+        overPripravenost();
+        Najlepsie najlepsie;
+        zamok.readLock().lock();
+        try {
+            najlepsie = indexy.poistenci.najlepsie(dotaz, koniecStrany(strana));
+        } finally {
+            zamok.readLock().unlock();
+        }
+        List<Long> idStrany = idStrany(najlepsie.zasahy(), strana);
+        List<PoistenecDTO> poistenci = vPoradi(idStrany,
+                poistenecRepository.findPrehladyByIdIn(idStrany), poistenecMapper::toDto, PoistenecDTO::getId);
+        return new PageImpl<>(poistenci, strana, najlepsie.celkom());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PoistnaZmluvaDTO> hladajZmluvy(String dotaz, Pageable strana) {
+        overPripravenost();
+        Najlepsie najlepsie;
+        zamok.readLock().lock();
+        try {
+            najlepsie = indexy.zmluvy.najlepsie(dotaz, koniecStrany(strana));
+        } finally {
+            zamok.readLock().unlock();
+        }
+        List<Long> idStrany = idStrany(najlepsie.zasahy(), strana);
+        List<PoistnaZmluvaDTO> zmluvy = vPoradi(idStrany,
+                poistnaZmluvaRepository.findPrehladyByIdIn(idStrany), poistnaZmluvaMapper::toDto, PoistnaZmluvaDTO::getId);
+        return new PageImpl<>(zmluvy, strana, najlepsie.celkom());
+    }
+
+    /**
+     * Strana zlúčeného zoznamu leží v prvých (offset + veľkosť) zásahoch každého
+     * z oboch indexov, preto sa z nich viac nezoraďuje.
+     */
+    @Override
+    public VysledkyHladaniaDTO hladaj(String dotaz, Pageable strana) {
+        overPripravenost();
+        List<VysledokHladaniaDTO> vysledky = new ArrayList<>();
+        long celkom;
+        zamok.readLock().lock();
+        try {
+            Najlepsie najlepsiPoistenci = indexy.poistenci.najlepsie(dotaz, koniecStrany(strana));
+            Najlepsie najlepsieZmluvy = indexy.zmluvy.najlepsie(dotaz, koniecStrany(strana));
+            List<Zasah> poistenci = najlepsiPoistenci.zasahy();
+            List<Zasah> zmluvy = najlepsieZmluvy.zasahy();
+            celkom = najlepsiPoistenci.celkom() + najlepsieZmluvy.celkom();
+
+            // Zlúčenie dvoch zoznamov zoradených podľa skóre; pri rovnakom skóre má prednosť poistenec
+            long preskocit = strana.getOffset();
+            int i = 0;
+            int j = 0;
+            while (vysledky.size() < strana.getPageSize() && (i < poistenci.size() || j < zmluvy.size())) {
+                boolean poistenec = j >= zmluvy.size()
+                        || (i < poistenci.size() && poistenci.get(i).skore() >= zmluvy.get(j).skore());
+                Zasah zasah = poistenec ? poistenci.get(i++) : zmluvy.get(j++);
+                if (preskocit > 0) {
+                    preskocit--;
+                } else {
+                    vysledky.add(poistenec ? indexy.vysledokPoistenca(zasah) : indexy.vysledokZmluvy(zasah));
+                }
+            }
+        } finally {
+            zamok.readLock().unlock();
+        }
+        return new VysledkyHladaniaDTO(dotaz, celkom, strana.getPageNumber(), strana.getPageSize(), vysledky);
+    }
+
+    @Override
+    public List<VysledokHladaniaDTO> naseptajPoistencov(String dotaz, int limit) {
+        overPripravenost();
+        zamok.readLock().lock();
+        try {
+            return indexy.poistenci.hladaj(dotaz, limit).stream()
+                    .map(indexy::vysledokPoistenca)
+                    .toList();
+        } finally {
+            zamok.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kým sa index po štarte zostavuje, neúplný index by vracal chýbajúce výsledky
+     * ako platné - požiadavka sa preto odmietne so stavom 503.
+     */
+    private void overPripravenost() {
+        if (!pripraveny) {
+            throw new VyhladavanieNepripraveneException("Vyhľadávanie sa práve pripravuje, skúste to o chvíľu znova.");
+        }
+    }
+
+    /**
+     * @return počet zásahov po koniec strany (offset + veľkosť)
+     */
+    private static int koniecStrany(Pageable strana) {
+        return (int) Math.min(Integer.MAX_VALUE, strana.getOffset() + strana.getPageSize());
+    }
+
+    private static List<Long> idStrany(List<Zasah> zasahy, Pageable strana) {
+        int od = (int) Math.min(strana.getOffset(), zasahy.size());
+        int po = Math.min(od + strana.getPageSize(), zasahy.size());
+        return zasahy.subList(od, po).stream().map(Zasah::id).toList();
+    }
+
+    /**
+     * Zoradí načítané záznamy podľa poradia id z indexu. Záznamy vymazané medzi
+     * hľadaním a načítaním sa vynechajú.
+     */
+    private static <E, D> List<D> vPoradi(List<Long> id, Iterable<E> entity,
+                                          Function<E, D> mapovanie, Function<D, Long> idDto) {
+        Map<Long, D> podlaId = new HashMap<>();
+        for (E e : entity) {
+            D dto = mapovanie.apply(e);
+            podlaId.put(idDto.apply(dto), dto);
+        }
+        List<D> vysledok = new ArrayList<>(id.size());
+        for (Long i : id) {
+            D dto = podlaId.get(i);
+            if (dto != null) {
+                vysledok.add(dto);
+            }
+        }
+        return vysledok;
+    }
+
+    /**
+     * Obsah indexu: invertované indexy poistencov a zmlúv a texty na zobrazenie výsledkov.
+     */
+    private static final class Indexy {
+        private final InvertovanyIndex poistenci = new InvertovanyIndex();
+        private final InvertovanyIndex zmluvy = new InvertovanyIndex();
+        private final Map<Long, String[]> textyPoistencov = new HashMap<>();
+        private final Map<Long, String[]> textyZmluv = new HashMap<>();
+
+        private void aplikuj(ZmenaDat zmena) {
+            if (zmena instanceof PoistenecZmenenyEvent poistenec) {
+                if (poistenec.getPo() != null) {
+                    PoistenecDTO po = poistenec.getPo();
+                    vlozPoistenca(po.getId(), po.getMeno(), po.getPriezvisko(), po.getEmail(), po.getMesto(), po.getPsc());
+                } else if (poistenec.getPred() != null) {
+                    poistenci.odober(poistenec.getPred().getId());
+                    textyPoistencov.remove(poistenec.getPred().getId());
+                }
+            } else if (zmena instanceof PoistnaZmluvaZmenenaEvent zmluva) {
+                if (zmluva.getPo() != null) {
+                    PoistnaZmluvaDTO po = zmluva.getPo();
+                    vlozZmluvu(po.getId(), po.getCisloZmluvy(), po.getDruhPoistenia());
+                } else if (zmluva.getPred() != null) {
+                    zmluvy.odober(zmluva.getPred().getId());
+                    textyZmluv.remove(zmluva.getPred().getId());
+                }
+            } else if (zmena instanceof HromadnyImportEvent importDat) {
+                for (PoistenecDTO poistenec : importDat.getPoistenci()) {
+                    vlozPoistenca(poistenec.getId(), poistenec.getMeno(), poistenec.getPriezvisko(),
+                            poistenec.getEmail(), poistenec.getMesto(), poistenec.getPsc());
+                }
+                for (PoistnaZmluvaDTO zmluva : importDat.getZmluvy()) {
+                    vlozZmluvu(zmluva.getId(), zmluva.getCisloZmluvy(), zmluva.getDruhPoistenia());
+                }
+            }
+        }
+
+        private void vlozPoistenca(long id, String meno, String priezvisko, String email, String mesto, String psc) {
+            poistenci.vloz(id, List.of(
+                    new Pole(priezvisko, VAHA_PRIEZVISKO),
+                    new Pole(meno, VAHA_MENO),
+                    new Pole(email, VAHA_EMAIL),
+                    new Pole(mesto, VAHA_ADRESA),
+                    new Pole(psc, VAHA_ADRESA),
+                    // PSČ "811 01" sa dá hľadať aj ako "81101"
+                    new Pole(psc == null ? null : psc.replace(" ", ""), VAHA_ADRESA)));
+            textyPoistencov.put(id, new String[]{meno + " " + priezvisko, email + ", " + mesto});
+        }
+
+        private void vlozZmluvu(long id, String cisloZmluvy, String druhPoistenia) {
+            zmluvy.vloz(id, List.of(
+                    new Pole(cisloZmluvy, VAHA_CISLO_ZMLUVY),
+                    new Pole(druhPoistenia, VAHA_DRUH_POISTENIA)));
+            textyZmluv.put(id, new String[]{cisloZmluvy, druhPoistenia});
+        }
+
+        private VysledokHladaniaDTO vysledokPoistenca(Zasah zasah) {
+            String[] texty = textyPoistencov.get(zasah.id());
+            return new VysledokHladaniaDTO(VysledokHladaniaDTO.Typ.POISTENEC, zasah.id(), texty[0], texty[1],
+                    "/poistenci/" + zasah.id(), zasah.skore());
+        }
+
+        private VysledokHladaniaDTO vysledokZmluvy(Zasah zasah) {
+            String[] texty = textyZmluv.get(zasah.id());
+            return new VysledokHladaniaDTO(VysledokHladaniaDTO.Typ.ZMLUVA, zasah.id(), texty[0], texty[1],
+                    "/poistnezmluvy/" + zasah.id(), zasah.skore());
+        }
+    }
+}
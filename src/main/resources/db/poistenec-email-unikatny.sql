@@ -0,0 +1,41 @@
+-- Jedinecny e-mail poistenca (prirodzeny kluc Poistenec.email, obmedzenie uk_poistenec_email).
+--
+-- Spusta sa rucne pred nasadenim verzie s prirodzenym klucom na databazu, kde
+-- mozu byt e-maily duplicitne. Bez neho aplikacia pri starte odmietne bezat
+-- (PoistenecEmailKontrola).
+--
+-- 1. Zoznam duplicit - rozhodnite, ktory zaznam je platny. Zmluvy duplicitneho
+--    poistenca presunte na platny zaznam (krok 2) alebo e-mail opravte rucne.
+SELECT email, COUNT(*) AS pocet, GROUP_CONCAT(id ORDER BY id) AS id_poistencov
+FROM poistenec
+WHERE email IS NOT NULL
+GROUP BY email
+HAVING COUNT(*) > 1;
+
+-- 2. Zlucenie: zmluvy vsetkych duplicit sa presunu na poistenca s najnizsim id
+--    a duplicitne zaznamy sa zmazu.
+START TRANSACTION;
+
+CREATE TEMPORARY TABLE poistenec_zlucenie AS
+SELECT p.id AS duplicita, z.platny
+FROM poistenec p
+JOIN (SELECT email, MIN(id) AS platny
+      FROM poistenec
+      WHERE email IS NOT NULL
+      GROUP BY email
+      HAVING COUNT(*) > 1) z ON z.email = p.email
+WHERE p.id <> z.platny;
+
+UPDATE poistne_zmluvy pz
+JOIN poistenec_zlucenie zl ON zl.duplicita = pz.poistenec_id
+SET pz.poistenec_id = zl.platny;
+
+DELETE p FROM poistenec p
+JOIN poistenec_zlucenie zl ON zl.duplicita = p.id;
+
+DROP TEMPORARY TABLE poistenec_zlucenie;
+
+COMMIT;
+
+-- 3. Obmedzenie (ak ho ddl-auto=update este nevytvoril)
+ALTER TABLE poistenec ADD CONSTRAINT uk_poistenec_email UNIQUE (email);
@@ -0,0 +1,39 @@
+/*
+ * Našepkávač poistencov: pole s atribútom data-naseptavac="<id selectu>" a data-url
+ * po zadaní aspoň dvoch znakov načíta najlepšie zhody a ponúkne ich vo výbere.
+ * Aktuálne vybraný poistenec a prázdna voľba "— Vyber poistenca —" sa zachovajú.
+ */
+(function () {
+    'use strict';
+    document.querySelectorAll('[data-naseptavac]').forEach(vstup => {
+        const vyber = document.getElementById(vstup.dataset.naseptavac);
+        let casovac;
+        let poslednyDotaz = '';
+
+        vstup.addEventListener('input', () => {
+            clearTimeout(casovac);
+            const dotaz = vstup.value.trim();
+            if (dotaz.length < 2 || dotaz === poslednyDotaz) {
+                return;
+            }
+            // Počká na prestávku v písaní, aby každé písmeno neposlalo požiadavku
+            casovac = setTimeout(() => {
+                poslednyDotaz = dotaz;
+                fetch(vstup.dataset.url + '?q=' + encodeURIComponent(dotaz), {headers: {'Accept': 'application/json'}})
+                    .then(odpoved => odpoved.ok ? odpoved.json() : [])
+                    .then(navrhy => {
+                        if (dotaz !== poslednyDotaz) {
+                            return;
+                        }
+                        const vybrany = vyber.value;
+                        Array.from(vyber.options)
+                            .filter(moznost => moznost.value && moznost.value !== vybrany)
+                            .forEach(moznost => moznost.remove());
+                        navrhy
+                            .filter(navrh => String(navrh.id) !== vybrany)
+                            .forEach(navrh => vyber.add(new Option(navrh.titulok + ' (' + navrh.popis + ')', navrh.id)));
+                    });
+            }, 200);
+        });
+    });
+})();
@@ -0,0 +1,87 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.poistenie.dtos.CacheStatistikyDTO.Region;
+import projekt.poistenie.entities.Account;
+import projekt.poistenie.events.AccountZmenenyEvent;
+import projekt.poistenie.events.TypZmeny;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountUserCacheTest {
+
+    AtomicLong nanos = new AtomicLong();
+    AccountUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AccountUserCache(2, Duration.ofMinutes(5), nanos::get);
+    }
+
+    @Test
+    void get_ignoresEmailCase() {
+        Account account = account("Jan.Novak@example.com");
+        cache.putUserInCache(account);
+
+        assertSame(account, cache.getUserFromCache("jan.novak@EXAMPLE.com"));
+        assertNull(cache.getUserFromCache("iny@example.com"));
+    }
+
+    @Test
+    void get_expiresAfterTtl() {
+        Account account = account("jan@example.com");
+        cache.putUserInCache(account);
+
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertSame(account, cache.getUserFromCache("jan@example.com"));
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertNull(cache.getUserFromCache("jan@example.com"));
+    }
+
+    @Test
+    void put_keepsAtMostMaxVelkost() {
+        cache.putUserInCache(account("a@example.com"));
+        cache.putUserInCache(account("b@example.com"));
+        cache.putUserInCache(account("c@example.com"));
+
+        int najdene = 0;
+        for (String email : new String[]{"a@example.com", "b@example.com", "c@example.com"}) {
+            if (cache.getUserFromCache(email) != null) {
+                najdene++;
+            }
+        }
+        assertEquals(2, najdene);
+    }
+
+    @Test
+    void onAccountZmeneny_removesAccount() {
+        cache.putUserInCache(account("jan@example.com"));
+
+        cache.onAccountZmeneny(new AccountZmenenyEvent(TypZmeny.UPRAVA, "JAN@example.com"));
+
+        assertNull(cache.getUserFromCache("jan@example.com"));
+    }
+
+    @Test
+    void getStatistiky_countsHitsMissesAndPuts() {
+        cache.putUserInCache(account("jan@example.com"));
+        cache.getUserFromCache("jan@example.com");
+        cache.getUserFromCache("jan@example.com");
+        cache.getUserFromCache("iny@example.com");
+
+        assertEquals(new Region(AccountUserCache.NAZOV, 2, 1, 1), cache.getStatistiky());
+    }
+
+    private static Account account(String email) {
+        Account account = new Account();
+        account.setEmail(email);
+        account.setPassword("hash");
+        account.setRole(Account.Role.USER);
+        return account;
+    }
+}
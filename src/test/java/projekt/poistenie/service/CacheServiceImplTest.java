@@ -0,0 +1,76 @@
+package projekt.poistenie.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.dtos.CacheStatistikyDTO;
+import projekt.poistenie.dtos.CacheStatistikyDTO.Region;
+import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.events.HromadnyImportEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheServiceImplTest {
+
+    @Mock EntityManagerFactory entityManagerFactory;
+    @Mock SessionFactory sessionFactory;
+    @Mock Statistics statistics;
+    @Mock AccountUserCache accountUserCache;
+    CacheServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        service = new CacheServiceImpl(entityManagerFactory, accountUserCache);
+    }
+
+    @Test
+    void getStatistiky_reportsRegionsSortedByName() {
+        CacheRegionStatistics poistenec = region(90, 10, 10);
+        CacheRegionStatistics account = region(40, 2, 2);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"poistenec", "account"});
+        when(statistics.getCacheRegionStatistics("poistenec")).thenReturn(poistenec);
+        when(statistics.getCacheRegionStatistics("account")).thenReturn(account);
+        when(statistics.getQueryCacheHitCount()).thenReturn(7L);
+        when(statistics.getQueryCacheMissCount()).thenReturn(3L);
+        when(accountUserCache.getStatistiky()).thenReturn(new Region(AccountUserCache.NAZOV, 120, 5, 5));
+
+        CacheStatistikyDTO vysledok = service.getStatistiky();
+
+        assertEquals(List.of(new Region("account", 40, 2, 2), new Region("poistenec", 90, 10, 10),
+                        new Region(AccountUserCache.NAZOV, 120, 5, 5)),
+                vysledok.getRegiony());
+        assertEquals(7, vysledok.getZasahyDopytov());
+        assertEquals(3, vysledok.getMinutiaDopytov());
+    }
+
+    @Test
+    void onHromadnyImport_evictsQueryCache() {
+        Cache cache = mock(Cache.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        service.onHromadnyImport(HromadnyImportEvent.poistenci(List.of(new PoistenecDTO())));
+
+        verify(cache).evictQueryRegions();
+    }
+
+    private static CacheRegionStatistics region(long zasahy, long minutia, long vlozenia) {
+        CacheRegionStatistics region = mock(CacheRegionStatistics.class);
+        when(region.getHitCount()).thenReturn(zasahy);
+        when(region.getMissCount()).thenReturn(minutia);
+        when(region.getPutCount()).thenReturn(vlozenia);
+        return region;
+    }
+}
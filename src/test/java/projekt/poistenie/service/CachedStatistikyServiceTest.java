@@ -0,0 +1,103 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.dtos.StatistikyDTO;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedStatistikyServiceTest {
+
+    @Mock StatistikyService delegate;
+    @Mock VerziaDatService verziaDatService;
+
+    final AtomicLong cas = new AtomicLong();
+    final AtomicLong verzia = new AtomicLong();
+    CachedStatistikyService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(verziaDatService.getVerzia()).thenAnswer(inv -> verzia.get());
+        service = new CachedStatistikyService(delegate, verziaDatService, Duration.ofSeconds(30), cas::get);
+    }
+
+    @Test
+    void cachedWithinTtl_recomputedAfter() {
+        when(delegate.getGlobalStatistics()).thenReturn(new StatistikyDTO(1, 2, 3));
+
+        service.getGlobalStatistics();
+        cas.addAndGet(Duration.ofSeconds(29).toNanos());
+        service.getGlobalStatistics();
+        verify(delegate, times(1)).getGlobalStatistics();
+
+        cas.addAndGet(Duration.ofSeconds(2).toNanos());
+        service.getGlobalStatistics();
+        verify(delegate, times(2)).getGlobalStatistics();
+    }
+
+    @Test
+    void newDataVersion_forcesRecomputation() {
+        when(delegate.getGlobalStatistics()).thenReturn(new StatistikyDTO(1, 2, 3), new StatistikyDTO(4, 5, 6));
+
+        assertEquals(1, service.getGlobalStatistics().getPocetPoistenych());
+        assertEquals(1, service.getGlobalStatistics().getPocetPoistenych());
+        // Zmena potvrdená na inej inštancii zvýši verziu v databáze
+        verzia.incrementAndGet();
+        assertEquals(4, service.getGlobalStatistics().getPocetPoistenych());
+        verify(delegate, times(2)).getGlobalStatistics();
+    }
+
+    @Test
+    void concurrentMisses_computeOnce() throws Exception {
+        CountDownLatch vypocetBezi = new CountDownLatch(1);
+        CountDownLatch uvolni = new CountDownLatch(1);
+        StatistikyDTO data = new StatistikyDTO(7, 8, 9);
+        when(delegate.getGlobalStatistics()).thenAnswer(inv -> {
+            vypocetBezi.countDown();
+            assertTrue(uvolni.await(5, TimeUnit.SECONDS));
+            return data;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<StatistikyDTO> prvy = executor.submit(service::getGlobalStatistics);
+            assertTrue(vypocetBezi.await(5, TimeUnit.SECONDS));
+            Future<?>[] ostatne = new Future<?>[4];
+            for (int i = 0; i < ostatne.length; i++) {
+                ostatne[i] = executor.submit(service::getGlobalStatistics);
+            }
+            uvolni.countDown();
+
+            assertSame(data, prvy.get(5, TimeUnit.SECONDS));
+            for (Future<?> f : ostatne) {
+                assertSame(data, f.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).getGlobalStatistics();
+    }
+
+    @Test
+    void failedComputation_notCached() {
+        when(delegate.getGlobalStatistics())
+                .thenThrow(new IllegalStateException("db"))
+                .thenReturn(new StatistikyDTO(1, 1, 1));
+
+        assertThrows(IllegalStateException.class, service::getGlobalStatistics);
+        assertEquals(1, service.getGlobalStatistics().getPocetPoistenych());
+    }
+}
@@ -0,0 +1,93 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.entities.RelationType;
+import projekt.poistenie.repository.PoistenecPrehlad;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaPrehlad;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock PoistenecRepository poistenecRepo;
+    @Mock PoistnaZmluvaRepository zmluvaRepo;
+    @InjectMocks ExportServiceImpl service;
+
+    @Test
+    void exportPoistencov_writesHeaderAndEscapedRows_closesCursor() throws Exception {
+        AtomicBoolean zatvoreny = new AtomicBoolean();
+        when(poistenecRepo.streamPrehlady()).thenReturn(Stream.of(
+                new PoistenecPrehlad(1L, "Ján", "Novák", "jan@x.sk", "+421 900 000 000", "Hlavná 1, byt 2", "Žilina", "010 01"),
+                new PoistenecPrehlad(2L, "Eva", "O\"Neil", null, null, null, null, null)
+        ).onClose(() -> zatvoreny.set(true)));
+        ByteArrayOutputStream vystup = new ByteArrayOutputStream();
+
+        long pocet = service.exportPoistencov(vystup);
+
+        assertEquals(2, pocet);
+        assertEquals("id,meno,priezvisko,email,telefon,ulica,mesto,psc\r\n"
+                        + "1,Ján,Novák,jan@x.sk,\"'+421 900 000 000\",\"Hlavná 1, byt 2\",Žilina,010 01\r\n"
+                        + "2,Eva,\"O\"\"Neil\",,,,,\r\n",
+                vystup.toString(StandardCharsets.UTF_8));
+        assertTrue(zatvoreny.get());
+        verify(poistenecRepo, never()).findAll();
+    }
+
+    @Test
+    void exportZmluv_includesOwner() throws Exception {
+        when(zmluvaRepo.streamPrehlady()).thenReturn(Stream.of(new PoistnaZmluvaPrehlad(5L, "Z-5", "Auto",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 1500.5, RelationType.values()[0],
+                1L, "Ján", "Novák")));
+        ByteArrayOutputStream vystup = new ByteArrayOutputStream();
+
+        assertEquals(1, service.exportZmluv(vystup));
+
+        String[] riadky = vystup.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, riadky.length);
+        assertEquals("5,Z-5,Auto,2024-01-01,2024-12-31,1500.5," + RelationType.values()[0].name() + ",1,Ján,Novák",
+                riadky[1]);
+    }
+
+    @Test
+    void pole_quotesOnlyWhenNeeded() {
+        assertEquals("abc", ExportServiceImpl.pole("abc"));
+        assertEquals("\"a\nb\"", ExportServiceImpl.pole("a\nb"));
+    }
+
+    @Test
+    void pole_neutralizesFormulas() {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", ExportServiceImpl.pole("=HYPERLINK(\"http://x\")"));
+        assertEquals("\"'+1+1\"", ExportServiceImpl.pole("+1+1"));
+        assertEquals("\"'-2\"", ExportServiceImpl.pole("-2"));
+        assertEquals("\"'@SUM(A1)\"", ExportServiceImpl.pole("@SUM(A1)"));
+        assertEquals("\"'\tx\"", ExportServiceImpl.pole("\tx"));
+        assertEquals("\"'\rx\"", ExportServiceImpl.pole("\rx"));
+        assertEquals("a=b", ExportServiceImpl.pole("a=b"));
+    }
+
+    @Test
+    void exportPoistencov_neutralizesFormulaInName() throws Exception {
+        when(poistenecRepo.streamPrehlady()).thenReturn(Stream.of(
+                new PoistenecPrehlad(3L, "=cmd|' /C calc'!A0", "Novák", "n@x.sk", null, "@ulica", "-Mesto", null)));
+        ByteArrayOutputStream vystup = new ByteArrayOutputStream();
+
+        service.exportPoistencov(vystup);
+
+        String[] riadky = vystup.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("3,\"'=cmd|' /C calc'!A0\",Novák,n@x.sk,,\"'@ulica\",\"'-Mesto\",", riadky[1]);
+    }
+}
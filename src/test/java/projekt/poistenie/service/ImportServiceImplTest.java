@@ -0,0 +1,162 @@
+package projekt.poistenie.service;
+
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import projekt.poistenie.dtos.ImportVysledokDTO;
+import projekt.poistenie.dtos.ImportVysledokDTO.Chyba;
+import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.entities.RelationType;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.exceptions.NeplatnyImportException;
+import projekt.poistenie.repository.PoistenecPrehlad;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceImplTest {
+
+    @Mock JdbcTemplate jdbc;
+    @Mock PlatformTransactionManager transactionManager;
+    @Mock PoistenecRepository poistenecRepo;
+    @Mock PoistnaZmluvaRepository zmluvaRepo;
+    @Mock Validator validator;
+    @Mock SekvencieService sekvencieService;
+    @Mock StatistikyCounterService counterService;
+    @Mock ApplicationEventPublisher eventPublisher;
+    ImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImportServiceImpl(jdbc, transactionManager, poistenecRepo, zmluvaRepo,
+                validator, sekvencieService, counterService, eventPublisher);
+    }
+
+    @Test
+    void importujPoistencov_skipsDuplicatesAndWritesOneBatch() throws Exception {
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(sekvencieService.rezervuj(anyString(), anyInt()))
+                .thenAnswer(inv -> LongStream.rangeClosed(101, 100 + inv.<Integer>getArgument(1)).toArray());
+        when(poistenecRepo.findPrehladyByEmailIn(anyCollection()))
+                .thenReturn(List.of(new PoistenecPrehlad(9L, "B", "B", "B@x.sk", null, null, null, null)));
+
+        ImportVysledokDTO vysledok = service.importujPoistencov(csv(
+                "id,email,meno,priezvisko,telefon,ulica,mesto,psc\n"
+                        + ",a@x.sk,Ján,Novák,+421900000000,Hlavná 1,Žilina,01001\n"
+                        + ",A@x.sk,Ján,Novák,+421900000000,Hlavná 1,Žilina,01001\n"
+                        + ",b@x.sk,Eva,Malá,+421900000001,Dlhá 2,Nitra,94901\n"
+                        + "\n"
+                        + ",c@x.sk,\"Peter, ml.\",Veľký,+421900000002,Krátka 3,Trnava,91701\n"));
+
+        assertEquals(4, vysledok.getSpracovane());
+        assertEquals(2, vysledok.getVlozene());
+        assertEquals(List.of(3L, 4L), vysledok.getChyby().stream().map(Chyba::riadok).toList());
+
+        List<PoistenecDTO> zapisane = zapisane(PoistenecDTO.class);
+        assertEquals(List.of("a@x.sk", "c@x.sk"), zapisane.stream().map(PoistenecDTO::getEmail).toList());
+        assertEquals("Peter, ml.", zapisane.get(1).getMeno());
+        assertEquals(List.of(101L, 102L), zapisane.stream().map(PoistenecDTO::getId).toList());
+        verify(sekvencieService).rezervuj(SekvencieService.POISTENEC, 2);
+        verify(counterService).incrementPoistenci(2);
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof HromadnyImportEvent i && i.getPoistenci().equals(zapisane) && i.getZmluvy().isEmpty()));
+    }
+
+    @Test
+    void importujZmluvy_reportsParseErrorsAndUnknownOwner() throws Exception {
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(sekvencieService.rezervuj(anyString(), anyInt()))
+                .thenAnswer(inv -> LongStream.rangeClosed(101, 100 + inv.<Integer>getArgument(1)).toArray());
+        when(zmluvaRepo.findExistujuceCisla(anyCollection())).thenReturn(List.of());
+        when(poistenecRepo.findPrehladyByEmailIn(anyCollection()))
+                .thenReturn(List.of(new PoistenecPrehlad(5L, "A", "A", "a@x.sk", null, null, null, null)));
+
+        ImportVysledokDTO vysledok = service.importujZmluvy(csv(
+                "cislo_zmluvy,druh_poistenia,platnost_od,platnost_do,suma,vztah,poistenec_email\n"
+                        + "Z-1,Auto,2024-01-01,2024-12-31,1500.5,Platiteľ,a@x.sk\n"
+                        + "Z-2,Auto,01.01.2024,2024-12-31,abc,COVERED,a@x.sk\n"
+                        + "Z-3,Auto,2024-01-01,2024-12-31,100,COVERED,nikto@x.sk\n"));
+
+        assertEquals(1, vysledok.getVlozene());
+        assertEquals(List.of(3L, 4L), vysledok.getChyby().stream().map(Chyba::riadok).toList());
+        assertTrue(vysledok.getChyby().get(0).sprava().contains("platnost_od"));
+        assertTrue(vysledok.getChyby().get(0).sprava().contains("suma"));
+
+        PoistnaZmluvaDTO zmluva = zapisane(PoistnaZmluvaDTO.class).get(0);
+        assertEquals(5L, zmluva.getPoistenecId());
+        assertEquals(RelationType.PAYER, zmluva.getRelation());
+        verify(counterService).incrementZmluvy("Auto", 1L);
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof HromadnyImportEvent i && i.getZmluvy().equals(List.of(zmluva)) && i.getPoistenci().isEmpty()));
+    }
+
+    @Test
+    void failedBatch_retriesRowsOneByOne() throws Exception {
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(sekvencieService.rezervuj(anyString(), anyInt()))
+                .thenAnswer(inv -> LongStream.rangeClosed(101, 100 + inv.<Integer>getArgument(1)).toArray());
+        when(poistenecRepo.findPrehladyByEmailIn(anyCollection())).thenReturn(List.of());
+        when(jdbc.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(inv -> {
+                    Collection<?> hodnoty = inv.getArgument(1);
+                    boolean konflikt = hodnoty.stream().anyMatch(h -> "b@x.sk".equals(((PoistenecDTO) h).getEmail()));
+                    if (konflikt) {
+                        throw new DataIntegrityViolationException("Duplicate entry 'b@x.sk'");
+                    }
+                    return new int[][]{{1}};
+                });
+
+        ImportVysledokDTO vysledok = service.importujPoistencov(csv(
+                "meno,priezvisko,email,telefon,ulica,mesto,psc\n"
+                        + "Ján,Novák,a@x.sk,+421900000000,Hlavná 1,Žilina,01001\n"
+                        + "Eva,Malá,b@x.sk,+421900000001,Dlhá 2,Nitra,94901\n"));
+
+        assertEquals(1, vysledok.getVlozene());
+        assertEquals(1, vysledok.getChyby().size());
+        assertEquals(3L, vysledok.getChyby().get(0).riadok());
+        verify(counterService).incrementPoistenci(1);
+        // Ohlási sa len riadok, ktorý sa pri opakovaní zapísal
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof HromadnyImportEvent i
+                && i.getPoistenci().size() == 1 && "a@x.sk".equals(i.getPoistenci().get(0).getEmail())));
+    }
+
+    @Test
+    void missingColumn_rejectsWholeFile() {
+        assertThrows(NeplatnyImportException.class,
+                () -> service.importujPoistencov(csv("meno,priezvisko\nJán,Novák\n")));
+        verifyNoInteractions(jdbc, eventPublisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> zapisane(Class<T> typ) {
+        ArgumentCaptor<Collection<T>> hodnoty = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbc).batchUpdate(anyString(), hodnoty.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        return List.copyOf(hodnoty.getValue());
+    }
+
+    private static InputStream csv(String obsah) {
+        return new ByteArrayInputStream(obsah.getBytes(StandardCharsets.UTF_8));
+    }
+}
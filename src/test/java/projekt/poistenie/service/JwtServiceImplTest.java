@@ -0,0 +1,131 @@
+package projekt.poistenie.service;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import projekt.poistenie.dtos.TokenDTO;
+import projekt.poistenie.entities.Account;
+import projekt.poistenie.exceptions.HashovaniePretazeneException;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtServiceImplTest {
+
+    static final Instant TERAZ = Instant.parse("2026-01-15T10:00:00Z");
+
+    @Mock AuthenticationProvider authenticationProvider;
+    SecretKey kluc = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    JwtServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(kluc, TERAZ);
+    }
+
+    @Test
+    void vydaj_tokenCarriesEmailAndRole() {
+        Account account = new Account();
+        account.setEmail("admin@example.com");
+        account.setRole(Account.Role.ADMIN);
+        when(authenticationProvider.authenticate(any())).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated(account, null, account.getAuthorities()));
+
+        TokenDTO token = service.vydaj("admin@example.com", "heslo123");
+        Authentication prihlaseny = service.over(token.getToken());
+
+        assertEquals("Bearer", token.getTyp());
+        assertEquals(3600, token.getPlatnost());
+        assertEquals("admin@example.com", prihlaseny.getName());
+        assertTrue(prihlaseny.isAuthenticated());
+        assertEquals(List.of("ROLE_ADMIN"),
+                prihlaseny.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(authenticationProvider).authenticate(argThat(a ->
+                "admin@example.com".equals(a.getName()) && "heslo123".equals(a.getCredentials())));
+    }
+
+    @Test
+    void vydaj_wrongPasswordPropagates() {
+        when(authenticationProvider.authenticate(any())).thenThrow(new BadCredentialsException("zlé heslo"));
+
+        assertThrows(BadCredentialsException.class, () -> service.vydaj("jan@example.com", "zle"));
+    }
+
+    @Test
+    void vydaj_fullHashingPoolIs503() {
+        when(authenticationProvider.authenticate(any())).thenThrow(new AuthenticationServiceException("plné",
+                new HashovaniePretazeneException("plné")));
+
+        assertThrows(HashovaniePretazeneException.class, () -> service.vydaj("jan@example.com", "heslo"));
+    }
+
+    @Test
+    void over_rejectsExpiredToken() {
+        String token = token(service);
+
+        JwtServiceImpl neskor = service(kluc, TERAZ.plus(Duration.ofHours(2)));
+
+        assertThrows(BadCredentialsException.class, () -> neskor.over(token));
+    }
+
+    @Test
+    void over_rejectsTokenSignedWithOtherKey() {
+        String token = token(service(Keys.secretKeyFor(SignatureAlgorithm.HS256), TERAZ));
+
+        assertThrows(BadCredentialsException.class, () -> service.over(token));
+        assertThrows(BadCredentialsException.class, () -> service.over("nie-je-token"));
+    }
+
+    @Test
+    void kluc_blankSecretFailsOutsideDevProfile() {
+        assertThrows(IllegalStateException.class, () -> JwtServiceImpl.kluc("", false));
+        assertThrows(IllegalStateException.class, () -> JwtServiceImpl.kluc(null, false));
+        assertNotNull(JwtServiceImpl.kluc(" ", true));
+    }
+
+    @Test
+    void kluc_rejectsKeysShorterThan256Bits() {
+        String kratky = Base64.getEncoder().encodeToString(new byte[31]);
+        String dostatocny = Base64.getEncoder().encodeToString(new byte[32]);
+
+        IllegalStateException chyba = assertThrows(IllegalStateException.class,
+                () -> JwtServiceImpl.kluc(kratky, true));
+        assertTrue(chyba.getMessage().contains("248 bitov"));
+        assertThrows(IllegalStateException.class, () -> JwtServiceImpl.kluc("nie je base64!", false));
+        assertEquals(32, JwtServiceImpl.kluc(dostatocny, false).getEncoded().length);
+    }
+
+    private String token(JwtServiceImpl vydavatel) {
+        Account account = new Account();
+        account.setEmail("jan@example.com");
+        account.setRole(Account.Role.USER);
+        when(authenticationProvider.authenticate(any())).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated(account, null, account.getAuthorities()));
+        return vydavatel.vydaj("jan@example.com", "heslo").getToken();
+    }
+
+    private JwtServiceImpl service(SecretKey kluc, Instant cas) {
+        return new JwtServiceImpl(authenticationProvider, kluc, Duration.ofHours(1), "poistenie",
+                Clock.fixed(cas, ZoneOffset.UTC));
+    }
+}
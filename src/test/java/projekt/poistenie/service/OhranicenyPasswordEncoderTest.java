@@ -0,0 +1,74 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import projekt.poistenie.exceptions.HashovaniePretazeneException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OhranicenyPasswordEncoderTest {
+
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    CountDownLatch uvolni = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        uvolni.countDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void encode_matchesOnPool() {
+        OhranicenyPasswordEncoder encoder = new OhranicenyPasswordEncoder(4, pool, Duration.ofSeconds(5));
+
+        String hash = encoder.encode("heslo123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("heslo123", hash));
+        assertFalse(encoder.matches("ine", hash));
+    }
+
+    @Test
+    void encode_rejectsWhenQueueFull() {
+        OhranicenyPasswordEncoder encoder = new OhranicenyPasswordEncoder(4, pool, Duration.ofSeconds(5));
+        pool.execute(this::cakaj);
+        pool.execute(this::cakaj);
+
+        assertThrows(HashovaniePretazeneException.class, () -> encoder.encode("heslo123"));
+        assertThrows(HashovaniePretazeneException.class, () -> encoder.encodeNaPozadi("heslo123"));
+    }
+
+    @Test
+    void encode_timesOutWhileQueued() {
+        OhranicenyPasswordEncoder encoder = new OhranicenyPasswordEncoder(4, pool, Duration.ofMillis(50));
+        pool.execute(this::cakaj);
+
+        assertThrows(HashovaniePretazeneException.class, () -> encoder.encode("heslo123"));
+        assertTrue(pool.getQueue().isEmpty(), "zrušená úloha nesmie ostať vo fronte");
+    }
+
+    @Test
+    void upgradeEncoding_whenCostDiffers() {
+        OhranicenyPasswordEncoder encoder = new OhranicenyPasswordEncoder(6, pool, Duration.ofSeconds(5));
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("heslo")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(8).encode("heslo")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("heslo")));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    private void cakaj() {
+        try {
+            uvolni.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
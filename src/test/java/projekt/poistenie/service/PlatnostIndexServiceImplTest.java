@@ -0,0 +1,130 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlatnostIndexServiceImplTest {
+
+    static final LocalDate D = LocalDate.of(2024, 6, 1);
+
+    @Mock PoistnaZmluvaScanService scanService;
+    @InjectMocks PlatnostIndexServiceImpl service;
+
+    @Test
+    void countByStav_matchesDatabaseSemantics() {
+        rebuildWith(
+                entita(1L, D.minusDays(10), D.plusDays(10)),   // aktívna
+                entita(2L, D, D),                              // aktívna (hranica)
+                entita(3L, D.plusDays(1), D.plusDays(30)),     // čakajúca
+                entita(4L, D.minusDays(30), D.minusDays(1)));  // expirovaná
+
+        assertTrue(service.isPripraveny());
+        assertEquals(Map.of("AKTIVNA", 2L, "CAKAJUCA", 1L, "EXPIROVANA", 1L), service.countByStav(D));
+        assertEquals(List.of(1L, 2L), service.findAktivne(D));
+        assertEquals(List.of(4L, 1L, 2L), service.findPrekryvajuce(D.minusDays(5), D));
+    }
+
+    @Test
+    void events_keepIndexInSync() {
+        rebuildWith(entita(1L, D.minusDays(10), D.plusDays(10)));
+
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYTVORENIE, null,
+                zmluva(2L, D.plusDays(5), D.plusDays(50))));
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.UPRAVA,
+                zmluva(1L, D.minusDays(10), D.plusDays(10)), zmluva(1L, D.minusDays(10), D.minusDays(2))));
+
+        assertEquals(Map.of("CAKAJUCA", 1L, "EXPIROVANA", 1L), service.countByStav(D));
+        assertEquals(List.of(2L), service.findAktivne(D.plusDays(20)));
+
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYMAZANIE,
+                zmluva(2L, D.plusDays(5), D.plusDays(50)), null));
+
+        assertTrue(service.findPrekryvajuce(D, D.plusDays(100)).isEmpty());
+    }
+
+    @Test
+    void importBatch_insertsWithoutRescan() {
+        rebuildWith(entita(1L, D.minusDays(10), D.plusDays(10)));
+
+        service.onHromadnyImport(HromadnyImportEvent.zmluvy(List.of(
+                zmluva(2L, D.plusDays(5), D.plusDays(50)), zmluva(3L, D.minusDays(30), D.minusDays(1)))));
+
+        assertEquals(Map.of("AKTIVNA", 1L, "CAKAJUCA", 1L, "EXPIROVANA", 1L), service.countByStav(D));
+        verify(scanService, times(1)).scan(any());
+    }
+
+    @Test
+    void randomIntervals_matchLinearScan() {
+        Random random = new Random(7);
+        List<PoistnaZmluva> zmluvy = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            LocalDate od = D.plusDays(random.nextInt(2_000) - 1_000);
+            zmluvy.add(entita(id, od, od.plusDays(random.nextInt(800))));
+        }
+        rebuildWith(zmluvy.toArray(new PoistnaZmluva[0]));
+
+        for (int i = 0; i < 50; i++) {
+            LocalDate od = D.plusDays(random.nextInt(2_400) - 1_200);
+            LocalDate doDatum = od.plusDays(random.nextInt(60));
+            List<Long> ocakavane = zmluvy.stream()
+                    .filter(z -> !z.getPlatnostOd().isAfter(doDatum) && !z.getPlatnostDo().isBefore(od))
+                    .map(PoistnaZmluva::getId)
+                    .sorted()
+                    .toList();
+            assertEquals(ocakavane, service.findPrekryvajuce(od, doDatum).stream().sorted().toList());
+        }
+    }
+
+    @Test
+    void notBuilt_notReady() {
+        assertFalse(service.isPripraveny());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuildWith(PoistnaZmluva... zmluvy) {
+        doAnswer(inv -> {
+            Consumer<PoistnaZmluva> konzument = inv.getArgument(0);
+            for (PoistnaZmluva zmluva : zmluvy) {
+                konzument.accept(zmluva);
+            }
+            return (long) zmluvy.length;
+        }).when(scanService).scan(any(Consumer.class));
+        service.rebuild();
+    }
+
+    private static PoistnaZmluva entita(Long id, LocalDate od, LocalDate doDatum) {
+        PoistnaZmluva zmluva = new PoistnaZmluva();
+        zmluva.setId(id);
+        zmluva.setPlatnostOd(od);
+        zmluva.setPlatnostDo(doDatum);
+        return zmluva;
+    }
+
+    private static PoistnaZmluvaDTO zmluva(Long id, LocalDate od, LocalDate doDatum) {
+        PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO();
+        dto.setId(id);
+        dto.setPlatnostOd(od);
+        dto.setPlatnostDo(doDatum);
+        return dto;
+    }
+}
@@ -4,12 +4,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistenecDetailDTO;
+import projekt.poistenie.dtos.PoistenecKurzor;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.mappers.PoistnaZmluvaMapper;
 import projekt.poistenie.entities.Poistenec;
+import projekt.poistenie.events.PoistenecZmenenyEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
 import projekt.poistenie.exceptions.PoistenecNotFoundException;
 import projekt.poistenie.dtos.mappers.PoistenecMapper;
+import projekt.poistenie.repository.KlucPocet;
+import projekt.poistenie.repository.PoistenecPrehlad;
 import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.UdalostiPocet;
+import projekt.poistenie.repository.ZmluvaPoistencaPrehlad;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,6 +39,10 @@ class PoistenecServiceImplTest {
 
     @Mock PoistenecRepository repo;
     @Mock PoistenecMapper mapper;
+    @Mock PoistnaZmluvaRepository zmluvaRepo;
+    @Mock StatistikyCounterService counterService;
+    @Mock PoistnaZmluvaMapper zmluvaMapper;
+    @Mock ApplicationEventPublisher eventPublisher;
     @InjectMocks PoistenecServiceImpl service;
 
     @Test
@@ -39,6 +62,9 @@ class PoistenecServiceImplTest {
         verify(repo).findByEmail("test@example.com");
         verify(mapper).toEntity(dto);
         verify(repo).save(entity);
+        verify(counterService).incrementPoistenci(1);
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof PoistenecZmenenyEvent z && z.getTyp() == TypZmeny.VYTVORENIE));
     }
 
     @Test
@@ -53,24 +79,55 @@ class PoistenecServiceImplTest {
     }
 
     @Test
-    void findById_success() {
-        Poistenec e = new Poistenec(); e.setId(2L);
-        when(repo.findById(2L)).thenReturn(Optional.of(e));
+    void findById_readsProjection() {
+        PoistenecPrehlad e = poistenec(2L, "Malý");
+        when(repo.findPrehladById(2L)).thenReturn(Optional.of(e));
         PoistenecDTO dto = new PoistenecDTO(); dto.setId(2L);
         when(mapper.toDto(e)).thenReturn(dto);
 
         PoistenecDTO result = service.findById(2L);
         assertEquals(2L, result.getId());
-        verify(repo).findById(2L);
+        verify(repo, never()).findById(anyLong());
         verify(mapper).toDto(e);
     }
 
     @Test
     void findById_notFound_throws() {
-        when(repo.findById(3L)).thenReturn(Optional.empty());
+        when(repo.findPrehladById(3L)).thenReturn(Optional.empty());
         assertThrows(PoistenecNotFoundException.class, () -> service.findById(3L));
     }
 
+    @Test
+    void findDetailById_readsContractsWithClaimCountsInOneQuery() {
+        PoistenecPrehlad e = poistenec(2L, "Kováč");
+        when(repo.findPrehladById(2L)).thenReturn(Optional.of(e));
+        PoistenecDetailDTO detail = new PoistenecDetailDTO(); detail.setId(2L);
+        when(mapper.toDetailDto(e)).thenReturn(detail);
+        ZmluvaPoistencaPrehlad z1 = new ZmluvaPoistencaPrehlad(10L, "A-1", "Auto", null, null, 100.0, null, 3L);
+        ZmluvaPoistencaPrehlad z2 = new ZmluvaPoistencaPrehlad(11L, "A-2", "Auto", null, null, 200.0, null, 0L);
+        when(zmluvaRepo.findPrehladySUdalostamiByPoistenecId(2L)).thenReturn(List.of(z1, z2));
+        when(zmluvaMapper.toDto(any(ZmluvaPoistencaPrehlad.class))).thenAnswer(inv -> {
+            PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO();
+            dto.setId(inv.<ZmluvaPoistencaPrehlad>getArgument(0).id());
+            return dto;
+        });
+
+        PoistenecDetailDTO result = service.findDetailById(2L);
+
+        assertEquals(List.of(10L, 11L), result.getZmluvy().stream().map(PoistnaZmluvaDTO::getId).toList());
+        assertEquals("Kováč", result.getZmluvy().get(0).getPoistenecPriezvisko());
+        assertEquals(Map.of(10L, 3L, 11L, 0L), result.getPocetUdalosti());
+        assertEquals(3L, result.getPocetUdalostiSpolu());
+        verify(zmluvaRepo, never()).findByPoistenec(any());
+    }
+
+    @Test
+    void findDetailById_notFound_throws() {
+        when(repo.findPrehladById(3L)).thenReturn(Optional.empty());
+        assertThrows(PoistenecNotFoundException.class, () -> service.findDetailById(3L));
+        verifyNoInteractions(zmluvaRepo);
+    }
+
     @Test
     void update_success() {
         PoistenecDTO dto = new PoistenecDTO(); dto.setId(4L); dto.setEmail("new@mail");
@@ -103,33 +160,58 @@ class PoistenecServiceImplTest {
 
     @Test
     void delete_existing_success() {
-        when(repo.existsById(6L)).thenReturn(true);
+        Poistenec p = new Poistenec(); p.setId(6L); p.setPriezvisko("Malý");
+        ZmluvaPoistencaPrehlad z1 = new ZmluvaPoistencaPrehlad(1L, "A-1", "Auto", null, null, 100.0, null, 2L);
+        ZmluvaPoistencaPrehlad z2 = new ZmluvaPoistencaPrehlad(2L, "A-2", "Auto", null, null, 200.0, null, 1L);
+        when(repo.findById(6L)).thenReturn(Optional.of(p));
+        when(zmluvaRepo.countByDruhPoisteniaForPoistenec(6L)).thenReturn(List.of(kp("Auto", 2)));
+        when(zmluvaRepo.findPrehladySUdalostamiByPoistenecId(6L)).thenReturn(List.of(z1, z2));
+        when(zmluvaMapper.toDto(any(ZmluvaPoistencaPrehlad.class))).thenAnswer(inv -> {
+            PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO();
+            dto.setId(inv.<ZmluvaPoistencaPrehlad>getArgument(0).id());
+            return dto;
+        });
+        when(zmluvaRepo.countUdalostiPodlaDnaByPoistenecId(6L)).thenReturn(List.of(up(1L, 2L), up(2L, 1L)));
+
         service.delete(6L);
+
         verify(repo).deleteById(6L);
+        verify(counterService).incrementPoistenci(-1);
+        verify(counterService).incrementZmluvy("Auto", -2L);
+        verify(counterService).incrementUdalosti(-3L);
+        // Každá kaskádovo zmazaná zmluva sa ohlási samostatne, potom samotný poistenec
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof PoistnaZmluvaZmenenaEvent z
+                && z.getPred().getId() == 1L && "Malý".equals(z.getPred().getPoistenecPriezvisko())
+                && z.getUdalostiPodlaDna().values().stream().mapToLong(Long::longValue).sum() == 2));
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof PoistnaZmluvaZmenenaEvent z
+                && z.getPred().getId() == 2L));
+        verify(eventPublisher).publishEvent(any(PoistenecZmenenyEvent.class));
+        verify(zmluvaRepo, never()).findByPoistenec(any());
     }
 
     @Test
     void delete_notFound_throws() {
-        when(repo.existsById(7L)).thenReturn(false);
+        when(repo.findById(7L)).thenReturn(Optional.empty());
         assertThrows(PoistenecNotFoundException.class, () -> service.delete(7L));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void findByEmail_success() {
-        Poistenec e = new Poistenec(); e.setEmail("e@mail");
-        when(repo.findByEmail("e@mail")).thenReturn(Optional.of(e));
+        PoistenecPrehlad e = new PoistenecPrehlad(1L, "E", "Mail", "e@mail", null, null, null, null);
+        when(repo.findPrehladByEmail("e@mail")).thenReturn(Optional.of(e));
         PoistenecDTO dto = new PoistenecDTO(); dto.setEmail("e@mail");
         when(mapper.toDto(e)).thenReturn(dto);
 
         PoistenecDTO result = service.findByEmail("e@mail");
         assertEquals("e@mail", result.getEmail());
-        verify(repo).findByEmail("e@mail");
+        verify(repo).findPrehladByEmail("e@mail");
         verify(mapper).toDto(e);
     }
 
     @Test
     void findByEmail_notFound_throws() {
-        when(repo.findByEmail("x@mail")).thenReturn(Optional.empty());
+        when(repo.findPrehladByEmail("x@mail")).thenReturn(Optional.empty());
         assertThrows(PoistenecNotFoundException.class, () -> service.findByEmail("x@mail"));
     }
 
@@ -144,4 +226,70 @@ class PoistenecServiceImplTest {
         when(repo.existsByIdAndEmail(9L, "no@mail")).thenReturn(false);
         assertFalse(service.isOwnedByEmail(9L, "no@mail"));
     }
+
+    private static UdalostiPocet up(Long zmluvaId, long pocet) {
+        return new UdalostiPocet() {
+            @Override public Long getZmluvaId() { return zmluvaId; }
+            @Override public LocalDate getDatum() { return LocalDate.of(2024, 1, 1); }
+            @Override public Long getPocet() { return pocet; }
+        };
+    }
+
+    private static KlucPocet kp(String kluc, long pocet) {
+        return new KlucPocet() {
+            @Override public String getKluc() { return kluc; }
+            @Override public Long getPocet() { return pocet; }
+        };
+    }
+
+    @Test
+    void findStrana_forward_seeksPastCursor() {
+        PoistenecPrehlad p1 = poistenec(5L, "Novák");
+        PoistenecPrehlad p2 = poistenec(9L, "Novák");
+        when(repo.findZaKurzorom(eq("Kováč"), eq(3L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(p1, p2), Pageable.ofSize(2), true));
+        when(mapper.toDto(any(PoistenecPrehlad.class))).thenAnswer(inv -> dto(inv.getArgument(0)));
+
+        Slice<PoistenecDTO> strana = service.findStrana(new PoistenecKurzor("Kováč", 3L), false, 2);
+
+        assertEquals(List.of(5L, 9L), strana.getContent().stream().map(PoistenecDTO::getId).toList());
+        assertTrue(strana.hasNext());
+        verify(repo, never()).findAll();
+    }
+
+    @Test
+    void findStrana_backward_returnsAscendingOrder() {
+        // Databáza vracia stranu pred kurzorom zostupne
+        PoistenecPrehlad p1 = poistenec(9L, "Novák");
+        PoistenecPrehlad p2 = poistenec(5L, "Novák");
+        when(repo.findPredKurzorom(eq("Rak"), eq(1L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(p1, p2), Pageable.ofSize(2), false));
+        when(mapper.toDto(any(PoistenecPrehlad.class))).thenAnswer(inv -> dto(inv.getArgument(0)));
+
+        Slice<PoistenecDTO> strana = service.findStrana(new PoistenecKurzor("Rak", 1L), true, 2);
+
+        assertEquals(List.of(5L, 9L), strana.getContent().stream().map(PoistenecDTO::getId).toList());
+        assertFalse(strana.hasNext());
+    }
+
+    @Test
+    void kurzor_roundTripsDiacritics_invalidIsNull() {
+        PoistenecKurzor kurzor = PoistenecKurzor.decode(new PoistenecKurzor("Šťastný: Ľubo", 42L).encode());
+
+        assertEquals("Šťastný: Ľubo", kurzor.getPriezvisko());
+        assertEquals(42L, kurzor.getId());
+        assertNull(PoistenecKurzor.decode("%%%"));
+        assertNull(PoistenecKurzor.decode(null));
+    }
+
+    private static PoistenecPrehlad poistenec(Long id, String priezvisko) {
+        return new PoistenecPrehlad(id, "Ján", priezvisko, null, null, null, null, null);
+    }
+
+    private static PoistenecDTO dto(PoistenecPrehlad poistenec) {
+        PoistenecDTO dto = new PoistenecDTO();
+        dto.setId(poistenec.id());
+        dto.setPriezvisko(poistenec.priezvisko());
+        return dto;
+    }
 }
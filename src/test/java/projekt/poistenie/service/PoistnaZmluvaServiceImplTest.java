@@ -6,13 +6,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.ZmluvaFilterDTO;
+import projekt.poistenie.dtos.ZmluvaKurzor;
 import projekt.poistenie.entities.Poistenec;
 import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.entities.Statistiky;
 import projekt.poistenie.dtos.mappers.PoistnaZmluvaMapper;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
 import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaPrehlad;
 import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.UdalostiPocet;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +35,8 @@ class PoistnaZmluvaServiceImplTest {
     @Mock PoistnaZmluvaRepository zmluvaRepo;
     @Mock PoistenecRepository poistenecRepo;
     @Mock PoistnaZmluvaMapper mapper;
+    @Mock StatistikyCounterService counterService;
+    @Mock ApplicationEventPublisher eventPublisher;
     @InjectMocks PoistnaZmluvaServiceImpl service;
 
     @Test
@@ -37,6 +49,7 @@ class PoistnaZmluvaServiceImplTest {
         when(poistenecRepo.findById(1L)).thenReturn(Optional.of(p));
 
         PoistnaZmluva entity = new PoistnaZmluva();
+        entity.setDruhPoistenia("Auto");
         when(mapper.toEntity(dto)).thenReturn(entity);
 
         PoistnaZmluva saved = new PoistnaZmluva(); saved.setId(2L);
@@ -49,6 +62,9 @@ class PoistnaZmluvaServiceImplTest {
         verify(mapper).toEntity(dto);
         verify(poistenecRepo).findById(1L);
         verify(zmluvaRepo).save(entity);
+        verify(counterService).incrementZmluvy("Auto", 1);
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof PoistnaZmluvaZmenenaEvent z && z.getTyp() == TypZmeny.VYTVORENIE));
     }
 
     @Test
@@ -68,8 +84,8 @@ class PoistnaZmluvaServiceImplTest {
 
     @Test
     void findAll_returnsMappedList() {
-        PoistnaZmluva e1 = new PoistnaZmluva(), e2 = new PoistnaZmluva();
-        when(zmluvaRepo.findAll()).thenReturn(List.of(e1, e2));
+        PoistnaZmluvaPrehlad e1 = zmluva(1L), e2 = zmluva(2L);
+        when(zmluvaRepo.findPrehlady()).thenReturn(List.of(e1, e2));
         PoistnaZmluvaDTO d1 = new PoistnaZmluvaDTO(), d2 = new PoistnaZmluvaDTO();
         when(mapper.toDto(e1)).thenReturn(d1);
         when(mapper.toDto(e2)).thenReturn(d2);
@@ -79,26 +95,26 @@ class PoistnaZmluvaServiceImplTest {
         assertEquals(2, result.size());
         assertSame(d1, result.get(0));
         assertSame(d2, result.get(1));
-        verify(zmluvaRepo).findAll();
+        verify(zmluvaRepo, never()).findAll();
     }
 
     @Test
-    void findById_success() {
-        PoistnaZmluva e = new PoistnaZmluva(); e.setId(10L);
-        when(zmluvaRepo.findById(10L)).thenReturn(Optional.of(e));
+    void findById_readsProjection() {
+        PoistnaZmluvaPrehlad e = zmluva(10L);
+        when(zmluvaRepo.findPrehladById(10L)).thenReturn(Optional.of(e));
         PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO(); dto.setId(10L);
         when(mapper.toDto(e)).thenReturn(dto);
 
         PoistnaZmluvaDTO result = service.findById(10L);
 
         assertEquals(10L, result.getId());
-        verify(zmluvaRepo).findById(10L);
         verify(mapper).toDto(e);
+        verify(zmluvaRepo, never()).findById(anyLong());
     }
 
     @Test
     void findById_notFound_throws() {
-        when(zmluvaRepo.findById(99L)).thenReturn(Optional.empty());
+        when(zmluvaRepo.findPrehladById(99L)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> service.findById(99L));
     }
 
@@ -106,14 +122,14 @@ class PoistnaZmluvaServiceImplTest {
     void update_success() {
         PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO(); dto.setId(20L);
         PoistnaZmluva existing = new PoistnaZmluva(); existing.setId(20L);
-        when(zmluvaRepo.findById(20L)).thenReturn(Optional.of(existing));
+        when(zmluvaRepo.findWithPoistenecById(20L)).thenReturn(Optional.of(existing));
 
         doNothing().when(mapper).updatePoistnaZmluva(dto, existing);
         when(zmluvaRepo.save(existing)).thenReturn(existing);
 
         service.update(dto);
 
-        verify(zmluvaRepo).findById(20L);
+        verify(zmluvaRepo).findWithPoistenecById(20L);
         verify(mapper).updatePoistnaZmluva(dto, existing);
         verify(zmluvaRepo).save(existing);
     }
@@ -121,29 +137,35 @@ class PoistnaZmluvaServiceImplTest {
     @Test
     void update_notFound_throws() {
         PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO(); dto.setId(30L);
-        when(zmluvaRepo.findById(30L)).thenReturn(Optional.empty());
+        when(zmluvaRepo.findWithPoistenecById(30L)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> service.update(dto));
     }
 
     @Test
     void delete_success() {
-        when(zmluvaRepo.existsById(40L)).thenReturn(true);
+        PoistnaZmluva existing = new PoistnaZmluva(); existing.setId(40L); existing.setDruhPoistenia("Auto");
+        when(zmluvaRepo.findWithPoistenecById(40L)).thenReturn(Optional.of(existing));
+        when(zmluvaRepo.countUdalostiPodlaDnaByZmluvaId(40L)).thenReturn(List.of(up(40L, 2L)));
         service.delete(40L);
         verify(zmluvaRepo).deleteById(40L);
+        verify(counterService).incrementZmluvy("Auto", -1);
+        verify(counterService).incrementUdalosti(-2L);
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof PoistnaZmluvaZmenenaEvent z && z.getTyp() == TypZmeny.VYMAZANIE));
     }
 
     @Test
     void delete_notFound_throws() {
-        when(zmluvaRepo.existsById(50L)).thenReturn(false);
+        when(zmluvaRepo.findWithPoistenecById(50L)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> service.delete(50L));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void findByPoistenecEmail_success() {
-        Poistenec p = new Poistenec(); p.setId(7L);
-        when(poistenecRepo.findByEmail("x@y")).thenReturn(Optional.of(p));
-        PoistnaZmluva z = new PoistnaZmluva(); z.setId(8L);
-        when(zmluvaRepo.findByPoistenec(p)).thenReturn(List.of(z));
+        when(poistenecRepo.existsByEmail("x@y")).thenReturn(true);
+        PoistnaZmluvaPrehlad z = zmluva(8L);
+        when(zmluvaRepo.findPrehladyByPoistenecEmail("x@y")).thenReturn(List.of(z));
         PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO(); dto.setId(8L);
         when(mapper.toDto(z)).thenReturn(dto);
 
@@ -155,8 +177,9 @@ class PoistnaZmluvaServiceImplTest {
 
     @Test
     void findByPoistenecEmail_notFound_throws() {
-        when(poistenecRepo.findByEmail("no")).thenReturn(Optional.empty());
+        when(poistenecRepo.existsByEmail("no")).thenReturn(false);
         assertThrows(EntityNotFoundException.class, () -> service.findByPoistenecEmail("no"));
+        verifyNoInteractions(zmluvaRepo);
     }
 
     @Test
@@ -166,4 +189,91 @@ class PoistnaZmluvaServiceImplTest {
         when(zmluvaRepo.existsByIdAndPoistenecEmail(70L, "x@x")).thenReturn(false);
         assertFalse(service.belongsToEmail(70L, "x@x"));
     }
-}
\ No newline at end of file
+
+    private static UdalostiPocet up(Long zmluvaId, long pocet) {
+        return new UdalostiPocet() {
+            @Override public Long getZmluvaId() { return zmluvaId; }
+            @Override public LocalDate getDatum() { return LocalDate.of(2024, 1, 1); }
+            @Override public Long getPocet() { return pocet; }
+        };
+    }
+
+    @Test
+    void findStrana_fetchesOneExtraToDetectNextPage() {
+        ZmluvaFilterDTO filter = new ZmluvaFilterDTO();
+        List<PoistnaZmluvaPrehlad> zmluvy = List.of(zmluva(1L), zmluva(2L), zmluva(3L));
+        when(zmluvaRepo.findStrana(filter, null, false, 3)).thenReturn(zmluvy);
+        when(mapper.toDto(any(PoistnaZmluvaPrehlad.class))).thenAnswer(inv -> dto(inv.getArgument(0)));
+
+        Slice<PoistnaZmluvaDTO> strana = service.findStrana(filter, null, false, 2);
+
+        assertEquals(List.of(1L, 2L), strana.getContent().stream().map(PoistnaZmluvaDTO::getId).toList());
+        assertTrue(strana.hasNext());
+        verify(zmluvaRepo, never()).findAll();
+    }
+
+    @Test
+    void findStrana_backward_reversesToDisplayOrder() {
+        ZmluvaFilterDTO filter = new ZmluvaFilterDTO();
+        filter.setRazenie(ZmluvaFilterDTO.Razenie.SUMA);
+        ZmluvaKurzor kurzor = new ZmluvaKurzor(ZmluvaFilterDTO.Razenie.SUMA, 500.0, 7L);
+        when(zmluvaRepo.findStrana(filter, kurzor, true, 3)).thenReturn(List.of(zmluva(6L), zmluva(4L)));
+        when(mapper.toDto(any(PoistnaZmluvaPrehlad.class))).thenAnswer(inv -> dto(inv.getArgument(0)));
+
+        Slice<PoistnaZmluvaDTO> strana = service.findStrana(filter, kurzor, true, 2);
+
+        assertEquals(List.of(4L, 6L), strana.getContent().stream().map(PoistnaZmluvaDTO::getId).toList());
+        assertFalse(strana.hasNext());
+    }
+
+    @Test
+    void count_withoutFilter_readsCounters() {
+        when(counterService.getCounters()).thenReturn(new Statistiky(1L, 0L, 42L, 0L, 0L));
+
+        assertEquals(42L, service.count(new ZmluvaFilterDTO()));
+        verify(zmluvaRepo, never()).countByFilter(any(), anyInt());
+    }
+
+    @Test
+    void count_withFilter_queriesDatabase() {
+        ZmluvaFilterDTO filter = new ZmluvaFilterDTO();
+        filter.setSumaOd(1000.0);
+        when(zmluvaRepo.countByFilter(filter, 10_001)).thenReturn(5L);
+
+        assertEquals(5L, service.count(filter));
+        verifyNoInteractions(counterService);
+    }
+
+    @Test
+    void count_withFilter_isCappedAboveLimit() {
+        ZmluvaFilterDTO filter = new ZmluvaFilterDTO();
+        filter.setDruhPoistenia("Auto");
+        when(zmluvaRepo.countByFilter(filter, 10_001)).thenReturn(10_001L);
+
+        assertTrue(service.count(filter) > PoistnaZmluvaService.MAX_POCET);
+    }
+
+    @Test
+    void kurzor_roundTripsTypedValue() {
+        PoistnaZmluvaDTO zmluva = dto(zmluva(9L));
+        zmluva.setPlatnostDo(LocalDate.of(2025, 12, 31));
+
+        ZmluvaKurzor kurzor = ZmluvaKurzor.decode(
+                ZmluvaKurzor.of(ZmluvaFilterDTO.Razenie.PLATNOST_DO, zmluva).encode(), ZmluvaFilterDTO.Razenie.PLATNOST_DO);
+
+        assertEquals(LocalDate.of(2025, 12, 31), kurzor.getHodnota());
+        assertEquals(9L, kurzor.getId());
+        // Kurzor iného zoradenia sa ignoruje
+        assertNull(ZmluvaKurzor.decode(kurzor.encode(), ZmluvaFilterDTO.Razenie.SUMA));
+    }
+
+    private static PoistnaZmluvaPrehlad zmluva(Long id) {
+        return new PoistnaZmluvaPrehlad(id, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static PoistnaZmluvaDTO dto(PoistnaZmluvaPrehlad zmluva) {
+        PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO();
+        dto.setId(zmluva.id());
+        return dto;
+    }
+}
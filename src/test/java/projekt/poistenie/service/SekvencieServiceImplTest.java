@@ -0,0 +1,47 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SekvencieServiceImplTest {
+
+    @Mock JdbcTemplate jdbc;
+    @InjectMocks SekvencieServiceImpl service;
+
+    @Test
+    void rezervuj_takesIdsFromPooledBlocks() {
+        when(jdbc.queryForObject("select increment from poistenec_seq", Long.class)).thenReturn(3L);
+        when(jdbc.queryForObject("select nextval(poistenec_seq)", Long.class)).thenReturn(3L, 6L);
+
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5}, service.rezervuj(SekvencieService.POISTENEC, 5));
+        verify(jdbc, times(2)).queryForObject("select nextval(poistenec_seq)", Long.class);
+    }
+
+    @Test
+    void rezervuj_rejectsUnknownSequence() {
+        assertThrows(IllegalArgumentException.class, () -> service.rezervuj("poistenec; drop table poistenec", 1));
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void zosulad_restartsOnlySequencesBehindTheirTable() {
+        when(jdbc.queryForObject(startsWith("select coalesce(max(id), 0) from "), eq(Long.class))).thenReturn(0L);
+        when(jdbc.queryForObject("select coalesce(max(id), 0) from poistenec", Long.class)).thenReturn(1200L);
+        when(jdbc.queryForObject(startsWith("select nextval("), eq(Long.class))).thenReturn(1L);
+        when(jdbc.queryForObject("select increment from poistenec_seq", Long.class)).thenReturn(50L);
+
+        service.zosulad();
+
+        verify(jdbc).execute("alter sequence poistenec_seq restart with 1250");
+        verify(jdbc, times(1)).execute(anyString());
+    }
+}
@@ -0,0 +1,129 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.entities.Statistiky;
+import projekt.poistenie.entities.StatistikyPodlaTypu;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.StatistikyRepository;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatistikyCounterServiceImplTest {
+
+    @Mock StatistikyRepository statistikyRepo;
+    @Mock PoistenecRepository poistenecRepo;
+    @Mock PoistnaZmluvaRepository zmluvaRepo;
+    @Mock PoistnaZmluvaScanService scanService;
+    @Mock PlatformTransactionManager transactionManager;
+    @InjectMocks StatistikyCounterServiceImpl service;
+
+    @Test
+    void incrementZmluvy_updatesTotalAndType() {
+        when(statistikyRepo.incrementPocetPoisteni(1)).thenReturn(1);
+
+        service.incrementZmluvy("Auto", 1);
+
+        verify(statistikyRepo).incrementPodlaTypu("Auto", 1);
+        verify(zmluvaRepo, never()).count();
+    }
+
+    @Test
+    void incrementZmluvy_missingRow_recalculates() {
+        when(statistikyRepo.incrementPocetPoisteni(1)).thenReturn(0);
+        when(statistikyRepo.findFirstForUpdateByOrderByIdAsc()).thenReturn(Optional.empty());
+        when(poistenecRepo.count()).thenReturn(2L);
+        when(zmluvaRepo.count()).thenReturn(1L);
+        when(zmluvaRepo.countByDruhPoistenia()).thenReturn(Collections.emptyList());
+
+        service.incrementZmluvy("Auto", 1);
+
+        verify(statistikyRepo).save(argThat(s -> s.getPocetPoistenych() == 2 && s.getPocetPoisteni() == 1));
+        // Prepočet už zahŕňa novú zmluvu, typové počítadlo sa nesmie zvýšiť druhýkrát
+        verify(statistikyRepo, never()).incrementPodlaTypu(anyString(), anyLong());
+    }
+
+    @Test
+    void changeDruhPoistenia_sameType_noop() {
+        service.changeDruhPoistenia("Auto", "Auto");
+        verifyNoInteractions(statistikyRepo);
+    }
+
+    @Test
+    void changeDruhPoistenia_movesCounter() {
+        service.changeDruhPoistenia("Auto", "Cestovné");
+        verify(statistikyRepo).findFirstForUpdateByOrderByIdAsc();
+        verify(statistikyRepo).incrementPodlaTypu("Auto", -1);
+        verify(statistikyRepo).incrementPodlaTypu("Cestovné", 1);
+    }
+
+    @Test
+    void getCounters_beforeInit_returnsZeros() {
+        when(statistikyRepo.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+        Statistiky s = service.getCounters();
+        assertEquals(0, s.getPocetPoisteni());
+    }
+
+    @Test
+    void reconcile_countersMatch_noRecalculation() {
+        stubScan(zmluva("Auto"), zmluva("Auto"));
+        when(statistikyRepo.findFirstByOrderByIdAsc()).thenReturn(Optional.of(new Statistiky(1L, 5, 2, 0, 0)));
+        when(statistikyRepo.findRozdeleniePodlaTypu()).thenReturn(List.of(new StatistikyPodlaTypu("Auto", 2)));
+
+        assertFalse(service.reconcile());
+        verify(statistikyRepo, never()).deleteRozdeleniePodlaTypu();
+    }
+
+    @Test
+    void reconcile_drift_recalculates() {
+        stubScan(zmluva("Auto"), zmluva("Cestovné"));
+        when(statistikyRepo.findFirstByOrderByIdAsc()).thenReturn(Optional.of(new Statistiky(1L, 5, 2, 0, 0)));
+        when(statistikyRepo.findRozdeleniePodlaTypu()).thenReturn(List.of(new StatistikyPodlaTypu("Auto", 2)));
+        when(statistikyRepo.findFirstForUpdateByOrderByIdAsc()).thenReturn(Optional.of(new Statistiky(1L, 5, 2, 0, 0)));
+        when(zmluvaRepo.countByDruhPoistenia()).thenReturn(Collections.emptyList());
+
+        assertTrue(service.reconcile());
+        // Zámok riadku počítadiel a prepočet v samostatnej transakcii až po prechode
+        InOrder poradie = inOrder(scanService, transactionManager, statistikyRepo);
+        poradie.verify(scanService).scan(any());
+        poradie.verify(transactionManager).getTransaction(any());
+        poradie.verify(statistikyRepo).findFirstForUpdateByOrderByIdAsc();
+        poradie.verify(statistikyRepo).deleteRozdeleniePodlaTypu();
+        poradie.verify(transactionManager).commit(any());
+    }
+
+    private void stubScan(PoistnaZmluva... zmluvy) {
+        when(scanService.scan(any())).thenAnswer(inv -> {
+            Consumer<PoistnaZmluva> spracovanie = inv.getArgument(0);
+            for (PoistnaZmluva z : zmluvy) {
+                spracovanie.accept(z);
+            }
+            return (long) zmluvy.length;
+        });
+    }
+
+    private static PoistnaZmluva zmluva(String druh) {
+        PoistnaZmluva z = new PoistnaZmluva();
+        z.setDruhPoistenia(druh);
+        z.setPlatnostOd(LocalDate.now().minusYears(1));
+        z.setPlatnostDo(LocalDate.now().plusYears(1));
+        return z;
+    }
+}
@@ -0,0 +1,168 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.StatistikyObdobieDTO;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.events.PoistnaUdalostPridanaEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
+import projekt.poistenie.repository.KlucPocet;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.entities.StatistikyDen;
+import projekt.poistenie.repository.StatistikyDenRepository;
+import projekt.poistenie.repository.StatistikyRepository;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatistikyDenServiceImplTest {
+
+    static final LocalDate OD = LocalDate.of(2024, 1, 1);
+    static final LocalDate DO = LocalDate.of(2024, 12, 31);
+
+    @Mock StatistikyDenRepository denRepo;
+    @Mock PoistnaZmluvaRepository zmluvaRepo;
+    @Mock StatistikyRepository statistikyRepo;
+    @InjectMocks StatistikyDenServiceImpl service;
+
+    @Test
+    void create_addsStartAndEnd() {
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYTVORENIE, null, zmluva("Auto", OD, DO)));
+
+        verify(denRepo).increment(OD, "Auto", 1, 0, 0);
+        verify(denRepo).increment(DO, "Auto", 0, 1, 0);
+        verify(denRepo).incrementRok(2024, "Auto", 1, 0);
+        verify(denRepo).incrementRok(2024, "Auto", 0, 1);
+    }
+
+    @Test
+    void updateWithoutRelevantChange_noop() {
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.UPRAVA,
+                zmluva("Auto", OD, DO), zmluva("Auto", OD, DO)));
+
+        verifyNoInteractions(denRepo);
+    }
+
+    @Test
+    void delete_removesContractAndItsClaims() {
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYMAZANIE,
+                zmluva("Auto", OD, DO), null, Map.of(LocalDate.of(2024, 3, 5), 2L)));
+
+        verify(denRepo).increment(OD, "Auto", -1, 0, 0);
+        verify(denRepo).increment(DO, "Auto", 0, -1, 0);
+        verify(denRepo).increment(LocalDate.of(2024, 3, 5), "Auto", 0, 0, -2);
+        // Udalosti sa v ročných súhrnoch nevedú
+        verify(denRepo, never()).incrementRok(anyInt(), any(), eq(0L), eq(0L));
+    }
+
+    @Test
+    void typeChange_movesClaims() {
+        PoistnaZmluvaDTO po = zmluva("Cestovné", OD, DO);
+        po.setId(9L);
+        when(zmluvaRepo.countUdalostiPodlaDnaByZmluvaId(9L)).thenReturn(Collections.emptyList());
+
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.UPRAVA, zmluva("Auto", OD, DO), po));
+
+        verify(denRepo).increment(OD, "Auto", -1, 0, 0);
+        verify(denRepo).increment(OD, "Cestovné", 1, 0, 0);
+        verify(zmluvaRepo).countUdalostiPodlaDnaByZmluvaId(9L);
+    }
+
+    @Test
+    void importBatch_addsOneDeltaPerDayAndType() {
+        service.onHromadnyImport(HromadnyImportEvent.zmluvy(List.of(
+                zmluva("Auto", OD, DO), zmluva("Auto", OD, DO), zmluva("Cestovné", DO, DO))));
+
+        verify(denRepo).increment(OD, "Auto", 2, 0, 0);
+        verify(denRepo).increment(DO, "Auto", 0, 2, 0);
+        verify(denRepo).increment(DO, "Cestovné", 1, 1, 0);
+        verify(denRepo).incrementRok(2024, "Auto", 2, 0);
+        verify(denRepo).incrementRok(2024, "Auto", 0, 2);
+        verify(denRepo).incrementRok(2024, "Cestovné", 1, 1);
+        verify(denRepo, never()).deleteVsetky();
+        verifyNoMoreInteractions(denRepo);
+    }
+
+    @Test
+    void claimAdded_incrementsDay() {
+        service.onUdalostPridana(new PoistnaUdalostPridanaEvent(1L, "Auto", OD));
+        verify(denRepo).increment(OD, "Auto", 0, 0, 1);
+    }
+
+    @Test
+    void initialize_existingBuckets_skipsRebuild() {
+        when(denRepo.findFirstByOrderByDenAsc()).thenReturn(Optional.of(new StatistikyDen()));
+        when(denRepo.existujeRocnySuhrn()).thenReturn(true);
+
+        service.initialize();
+
+        verify(statistikyRepo).findFirstForUpdateByOrderByIdAsc();
+        verify(denRepo, never()).deleteVsetky();
+        verify(denRepo, never()).rebuildZaciatky();
+    }
+
+    @Test
+    void initialize_missingYearTotals_rebuildsUnderLock() {
+        when(denRepo.findFirstByOrderByDenAsc()).thenReturn(Optional.of(new StatistikyDen()));
+        when(denRepo.existujeRocnySuhrn()).thenReturn(false);
+
+        service.initialize();
+
+        InOrder poradie = inOrder(statistikyRepo, denRepo);
+        poradie.verify(statistikyRepo).findFirstForUpdateByOrderByIdAsc();
+        poradie.verify(denRepo).deleteVsetky();
+        poradie.verify(denRepo).deleteVsetkyRoky();
+        poradie.verify(denRepo).rebuildZaciatky();
+        poradie.verify(denRepo).rebuildKonce();
+        poradie.verify(denRepo).rebuildUdalosti();
+        poradie.verify(denRepo).rebuildRoky();
+    }
+
+    @Test
+    void getStatistikyZaObdobie_readsBucketsOnly() {
+        when(denRepo.countNoveZmluvy(OD, DO)).thenReturn(List.of(kp("Auto", 3L), kp("Cestovné", 0L)));
+        when(denRepo.countAktivneKDatumu(DO)).thenReturn(List.of(kp("Auto", 10L)));
+        when(denRepo.countUdalostiPodlaMesiacov(OD, DO)).thenReturn(List.of(kp("2024-03", 4L)));
+
+        StatistikyObdobieDTO dto = service.getStatistikyZaObdobie(OD, DO);
+
+        assertEquals(Map.of("Auto", 3L), dto.getNoveZmluvy());
+        assertEquals(10, dto.getAktivneZmluvySpolu());
+        assertEquals(4L, dto.getUdalostiPodlaMesiacov().get("2024-03"));
+        verifyNoInteractions(zmluvaRepo);
+    }
+
+    @Test
+    void getStatistikyZaObdobie_invalidRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> service.getStatistikyZaObdobie(DO, OD));
+        verify(denRepo, never()).countAktivneKDatumu(any());
+    }
+
+    private static PoistnaZmluvaDTO zmluva(String druh, LocalDate od, LocalDate doDatum) {
+        PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO();
+        dto.setDruhPoistenia(druh);
+        dto.setPlatnostOd(od);
+        dto.setPlatnostDo(doDatum);
+        return dto;
+    }
+
+    private static KlucPocet kp(String kluc, long pocet) {
+        return new KlucPocet() {
+            @Override public String getKluc() { return kluc; }
+            @Override public Long getPocet() { return pocet; }
+        };
+    }
+}
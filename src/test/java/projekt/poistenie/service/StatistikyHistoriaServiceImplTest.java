@@ -0,0 +1,97 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.dtos.StatistikyDTO;
+import projekt.poistenie.dtos.mappers.StatistikyMapper;
+import projekt.poistenie.entities.StatistikyHistoria;
+import projekt.poistenie.entities.StatistikyHistoria.Granularita;
+import projekt.poistenie.repository.StatistikyHistoriaRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatistikyHistoriaServiceImplTest {
+
+    @Mock StatistikyHistoriaRepository historiaRepo;
+    @Mock StatistikyService statistikyService;
+
+    StatistikyHistoriaServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StatistikyHistoriaServiceImpl(historiaRepo, statistikyService, new StatistikyMapper(), 7, 10);
+    }
+
+    @Test
+    void takeSnapshot_truncatesToHourAndSaves() {
+        LocalDateTime hodina = LocalDateTime.of(2024, 3, 1, 10, 0);
+        when(historiaRepo.existsByGranularitaAndCas(Granularita.HODINA, hodina)).thenReturn(false);
+        when(statistikyService.getGlobalStatistics()).thenReturn(new StatistikyDTO(5, 3, 1));
+
+        service.takeSnapshot(hodina.plusMinutes(17));
+
+        verify(historiaRepo).save(argThat(h -> h.getGranularita() == Granularita.HODINA
+                && h.getCas().equals(hodina) && h.getPocetPoistenych() == 5 && h.getPocetPoisteni() == 3));
+    }
+
+    @Test
+    void takeSnapshot_existing_skips() {
+        when(historiaRepo.existsByGranularitaAndCas(eq(Granularita.HODINA), any())).thenReturn(true);
+
+        service.takeSnapshot(LocalDateTime.of(2024, 3, 1, 10, 5));
+
+        verify(historiaRepo, never()).save(any());
+        verifyNoInteractions(statistikyService);
+    }
+
+    @Test
+    void downsample_createsDailyFromLastHourlyAndAppliesRetention() {
+        LocalDateTime teraz = LocalDateTime.of(2024, 3, 2, 0, 5);
+        StatistikyHistoria posledny = new StatistikyHistoria();
+        posledny.setGranularita(Granularita.HODINA);
+        posledny.setCas(LocalDateTime.of(2024, 3, 1, 23, 0));
+        posledny.setPocetPoisteni(42);
+
+        when(historiaRepo.findFirstByGranularitaOrderByCasAsc(Granularita.HODINA)).thenReturn(Optional.of(posledny));
+        when(historiaRepo.existsByGranularitaAndCas(Granularita.DEN, LocalDate.of(2024, 3, 1).atStartOfDay())).thenReturn(false);
+        when(historiaRepo.findFirstByGranularitaAndCasGreaterThanEqualAndCasLessThanOrderByCasDesc(
+                Granularita.HODINA, LocalDate.of(2024, 3, 1).atStartOfDay(), LocalDate.of(2024, 3, 2).atStartOfDay()))
+                .thenReturn(Optional.of(posledny));
+
+        service.downsample(teraz);
+
+        verify(historiaRepo).save(argThat(h -> h.getGranularita() == Granularita.DEN
+                && h.getCas().equals(LocalDate.of(2024, 3, 1).atStartOfDay()) && h.getPocetPoisteni() == 42));
+        verify(historiaRepo).deleteOlderThan(Granularita.HODINA, LocalDate.of(2024, 2, 24).atStartOfDay());
+        verify(historiaRepo).deleteOlderThan(Granularita.DEN, LocalDate.of(2014, 3, 2).atStartOfDay());
+    }
+
+    @Test
+    void findHistory_longRange_usesDailySnapshots() {
+        LocalDate od = LocalDate.of(2023, 1, 1);
+        LocalDate doDatum = LocalDate.of(2023, 12, 31);
+        when(historiaRepo.findByGranularitaAndCasBetweenOrderByCasAsc(eq(Granularita.DEN), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        assertTrue(service.findHistory(od, doDatum, null).isEmpty());
+        verify(historiaRepo, never()).findByGranularitaAndCasBetweenOrderByCasAsc(eq(Granularita.HODINA), any(), any());
+    }
+
+    @Test
+    void findHistory_invalidRange_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findHistory(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), null));
+    }
+}
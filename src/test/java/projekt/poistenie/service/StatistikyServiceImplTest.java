@@ -1,43 +1,56 @@
 package projekt.poistenie.service;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import projekt.poistenie.dtos.StatistikyDTO;
-import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.dtos.StatistikySumyDTO;
+import projekt.poistenie.entities.Statistiky;
+import projekt.poistenie.exceptions.StatistikyTimeoutException;
+import projekt.poistenie.repository.KlucPocet;
 import projekt.poistenie.repository.PoistnaZmluvaRepository;
-import projekt.poistenie.repository.PoistenecRepository;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class StatistikyServiceImplTest {
 
-    @Mock PoistenecRepository poRepo;
+    @Mock StatistikyCounterService counterService;
     @Mock PoistnaZmluvaRepository zRepo;
-    @InjectMocks StatistikyServiceImpl service;
+    @Mock StatistikyDenService denService;
+    @Mock StatistikySumaService sumaService;
+    @Mock PlatnostIndexService indexService;
+    @Mock PlatformTransactionManager transactionManager;
+    StatistikyServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StatistikyServiceImpl(counterService, zRepo, denService, sumaService, indexService, Duration.ofSeconds(5), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
 
     @Test
     void getGlobalStatistics_nonEmpty() {
-        when(poRepo.count()).thenReturn(5L);
-        when(zRepo.count()).thenReturn(3L);
-
-        PoistnaZmluva z1 = new PoistnaZmluva();
-        z1.setDruhPoistenia("A");
-        z1.setUdalosti(List.of(new Udalost(), new Udalost()));
-        PoistnaZmluva z2 = new PoistnaZmluva();
-        z2.setDruhPoistenia("B");
-        z2.setUdalosti(List.of(new Udalost()));
-        PoistnaZmluva z3 = new PoistnaZmluva();
-        z3.setDruhPoistenia("A");
-        z3.setUdalosti(Collections.emptyList());
-        when(zRepo.findAll()).thenReturn(List.of(z1, z2, z3));
+        when(counterService.getCounters()).thenReturn(new Statistiky(1L, 5L, 3L, 3L, 0L));
+        when(counterService.getRozdeleniePodlaTypu()).thenReturn(Map.of("A", 2L, "B", 1L));
+        when(zRepo.countByStav(any())).thenReturn(List.of(kp("AKTIVNA", 2L), kp("CAKAJUCA", 1L)));
+        StatistikySumyDTO sumy = StatistikySumyDTO.prazdne();
+        when(sumaService.getSumy()).thenReturn(sumy);
 
         StatistikyDTO dto = service.getGlobalStatistics();
 
@@ -48,13 +61,21 @@ class StatistikyServiceImplTest {
         assertEquals(2, map.size());
         assertEquals(2L, map.get("A"));
         assertEquals(1L, map.get("B"));
+        assertEquals(2, dto.getAktivneZmluvy());
+        assertEquals(2L, dto.getZmluvyPodlaStavu().get("AKTIVNA"));
+        assertEquals(1L, dto.getZmluvyPodlaStavu().get("CAKAJUCA"));
+        assertFalse(dto.getZmluvyPodlaStavu().containsKey("EXPIROVANA"));
+        assertSame(sumy, dto.getSumy());
+
+        // Štatistiky sa nesmú počítať prechodom cez všetky zmluvy
+        verify(zRepo, never()).findAll();
     }
 
     @Test
     void getGlobalStatistics_empty() {
-        when(poRepo.count()).thenReturn(0L);
-        when(zRepo.count()).thenReturn(0L);
-        when(zRepo.findAll()).thenReturn(Collections.emptyList());
+        when(counterService.getCounters()).thenReturn(new Statistiky());
+        when(counterService.getRozdeleniePodlaTypu()).thenReturn(Collections.emptyMap());
+        when(zRepo.countByStav(any())).thenReturn(Collections.emptyList());
 
         StatistikyDTO dto = service.getGlobalStatistics();
 
@@ -62,5 +83,51 @@ class StatistikyServiceImplTest {
         assertEquals(0, dto.getPocetPoisteni());
         assertEquals(0, dto.getPocetUdalosti());
         assertTrue(dto.getRozdeleniePodlaTypu().isEmpty());
+        assertTrue(dto.getZmluvyPodlaStavu().isEmpty());
+        assertEquals(0, dto.getAktivneZmluvy());
+    }
+
+    @Test
+    void getGlobalStatistics_indexReady_statusFromIndex() {
+        when(counterService.getCounters()).thenReturn(new Statistiky());
+        when(counterService.getRozdeleniePodlaTypu()).thenReturn(Collections.emptyMap());
+        when(indexService.isPripraveny()).thenReturn(true);
+        when(indexService.countByStav(any())).thenReturn(Map.of("AKTIVNA", 4L, "EXPIROVANA", 1L));
+
+        StatistikyDTO dto = service.getGlobalStatistics();
+
+        assertEquals(4, dto.getAktivneZmluvy());
+        assertEquals(1L, dto.getZmluvyPodlaStavu().get("EXPIROVANA"));
+        verify(zRepo, never()).countByStav(any());
+    }
+
+    @Test
+    void getGlobalStatistics_slowPart_timesOut() {
+        service.shutdown();
+        service = new StatistikyServiceImpl(counterService, zRepo, denService, sumaService, indexService, Duration.ofMillis(50), transactionManager);
+        when(counterService.getCounters()).thenAnswer(inv -> {
+            Thread.sleep(5_000);
+            return new Statistiky();
+        });
+        lenient().when(counterService.getRozdeleniePodlaTypu()).thenReturn(Collections.emptyMap());
+        lenient().when(zRepo.countByStav(any())).thenReturn(Collections.emptyList());
+
+        assertThrows(StatistikyTimeoutException.class, () -> service.getGlobalStatistics());
+    }
+
+    @Test
+    void getGlobalStatistics_failingPart_propagates() {
+        when(counterService.getCounters()).thenThrow(new IllegalStateException("db"));
+        lenient().when(counterService.getRozdeleniePodlaTypu()).thenReturn(Collections.emptyMap());
+        lenient().when(zRepo.countByStav(any())).thenReturn(Collections.emptyList());
+
+        assertThrows(IllegalStateException.class, () -> service.getGlobalStatistics());
+    }
+
+    private static KlucPocet kp(String kluc, long pocet) {
+        return new KlucPocet() {
+            @Override public String getKluc() { return kluc; }
+            @Override public Long getPocet() { return pocet; }
+        };
     }
 }
@@ -0,0 +1,166 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.StatistikySumyDTO;
+import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.entities.StatistikySuma;
+import projekt.poistenie.entities.StatistikySumaKos;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+import projekt.poistenie.repository.StatistikySumaRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatistikySumaServiceImplTest {
+
+    @Mock StatistikySumaRepository sumaRepo;
+    @Mock PoistnaZmluvaRepository zmluvaRepo;
+    @Mock PoistnaZmluvaScanService scanService;
+    @InjectMocks StatistikySumaServiceImpl service;
+
+    @Test
+    void create_addsSumAndBucket() {
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYTVORENIE, null, zmluva("Auto", 1500.0)));
+
+        verify(sumaRepo).increment("Auto", 1, new BigDecimal("1500.00"));
+        verify(sumaRepo).incrementKos("Auto", SumaSketch.kos(1500.0), 1);
+    }
+
+    @Test
+    void update_movesSum() {
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.UPRAVA,
+                zmluva("Auto", 1500.0), zmluva("Auto", 2500.0)));
+
+        verify(sumaRepo).increment("Auto", -1, new BigDecimal("-1500.00"));
+        verify(sumaRepo).increment("Auto", 1, new BigDecimal("2500.00"));
+        verify(sumaRepo).incrementKos("Auto", SumaSketch.kos(1500.0), -1);
+        verify(sumaRepo).incrementKos("Auto", SumaSketch.kos(2500.0), 1);
+    }
+
+    @Test
+    void updateWithoutRelevantChange_noop() {
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.UPRAVA,
+                zmluva("Auto", 1500.0), zmluva("Auto", 1500.0)));
+
+        verifyNoInteractions(sumaRepo);
+    }
+
+    @Test
+    void importBatch_addsAggregatedDeltas() {
+        service.onHromadnyImport(HromadnyImportEvent.zmluvy(List.of(
+                zmluva("Auto", 1500.0), zmluva("Auto", 1500.0), zmluva("Cestovné", 100.0))));
+
+        verify(sumaRepo).increment("Auto", 2, new BigDecimal("3000.00"));
+        verify(sumaRepo).increment("Cestovné", 1, new BigDecimal("100.00"));
+        verify(sumaRepo).incrementKos("Auto", SumaSketch.kos(1500.0), 2);
+        verify(sumaRepo).incrementKos("Cestovné", SumaSketch.kos(100.0), 1);
+        verifyNoMoreInteractions(sumaRepo);
+        verifyNoInteractions(scanService);
+    }
+
+    @Test
+    void getSumy_exactTotalsAndApproximateQuantiles() {
+        when(sumaRepo.findNenulove()).thenReturn(List.of(
+                new StatistikySuma("Auto", 3, new BigDecimal("6000.00")),
+                new StatistikySuma("Cestovné", 1, new BigDecimal("100.00"))));
+        when(sumaRepo.findNenuloveKose()).thenReturn(List.of(
+                new StatistikySumaKos("Auto", SumaSketch.kos(1000), 1),
+                new StatistikySumaKos("Auto", SumaSketch.kos(2000), 1),
+                new StatistikySumaKos("Auto", SumaSketch.kos(3000), 1),
+                new StatistikySumaKos("Cestovné", SumaSketch.kos(100), 1)));
+
+        StatistikySumyDTO sumy = service.getSumy();
+
+        assertEquals(4, sumy.getCelkom().getPocet());
+        assertEquals(new BigDecimal("6100.00"), sumy.getCelkom().getSucet());
+        assertEquals(1525.0, sumy.getCelkom().getPriemer());
+        assertEquals(100, sumy.getCelkom().getMin(), 1);
+        assertEquals(3000, sumy.getCelkom().getMax(), 30);
+        assertEquals(2000.0, sumy.getPodlaTypu().get("Auto").getPriemer());
+        assertEquals(2000, sumy.getPodlaTypu().get("Auto").getP50(), 20);
+        // Stav zmlúv sa na čítanie nenačítava
+        verifyNoInteractions(scanService, zmluvaRepo);
+    }
+
+    @Test
+    void initialize_countsMatch_skipsRebuild() {
+        when(sumaRepo.findNenulove()).thenReturn(List.of(new StatistikySuma("Auto", 2, new BigDecimal("10.00"))));
+        when(zmluvaRepo.count()).thenReturn(2L);
+
+        service.initialize();
+
+        verifyNoInteractions(scanService);
+        verify(sumaRepo, never()).deleteSumy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_aggregatesScannedContracts() {
+        doAnswer(inv -> {
+            Consumer<PoistnaZmluva> konzument = inv.getArgument(0);
+            konzument.accept(entita("Auto", 1000.0));
+            konzument.accept(entita("Auto", 1000.0));
+            konzument.accept(entita("Cestovné", 50.5));
+            return 3L;
+        }).when(scanService).scan(any(Consumer.class));
+
+        service.rebuild();
+
+        InOrder poradie = inOrder(sumaRepo, scanService);
+        poradie.verify(sumaRepo).findAllForUpdate();
+        poradie.verify(scanService).scan(any(Consumer.class));
+        poradie.verify(sumaRepo).deleteSumy();
+        verify(sumaRepo).deleteKose();
+        verify(sumaRepo).increment("Auto", 2, new BigDecimal("2000.00"));
+        verify(sumaRepo).increment("Cestovné", 1, new BigDecimal("50.50"));
+        verify(sumaRepo).incrementKos("Auto", SumaSketch.kos(1000.0), 2);
+    }
+
+    @Test
+    void createWithoutSum_countsContractButSkipsSketch() {
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYTVORENIE, null, zmluva("Auto", null)));
+
+        verify(sumaRepo).increment("Auto", 1, BigDecimal.ZERO);
+        verify(sumaRepo, never()).incrementKos(any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void importWithoutSum_countsContractButSkipsSketch() {
+        service.onHromadnyImport(HromadnyImportEvent.zmluvy(List.of(zmluva("Auto", null), zmluva("Auto", 100.0))));
+
+        verify(sumaRepo).increment("Auto", 2, new BigDecimal("100.00"));
+        verify(sumaRepo).incrementKos("Auto", SumaSketch.kos(100.0), 1);
+        verifyNoMoreInteractions(sumaRepo);
+    }
+
+    private static PoistnaZmluvaDTO zmluva(String druh, Double suma) {
+        PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO();
+        dto.setDruhPoistenia(druh);
+        dto.setSuma(suma);
+        return dto;
+    }
+
+    private static PoistnaZmluva entita(String druh, Double suma) {
+        PoistnaZmluva zmluva = new PoistnaZmluva();
+        zmluva.setDruhPoistenia(druh);
+        zmluva.setSuma(suma);
+        return zmluva;
+    }
+}
@@ -0,0 +1,50 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SumaSketchTest {
+
+    @Test
+    void quantiles_withinRelativeError() {
+        Random random = new Random(42);
+        double[] sumy = new double[100_000];
+        SumaSketch sketch = new SumaSketch();
+        for (int i = 0; i < sumy.length; i++) {
+            // Log-normálne rozdelenie - typický tvar poistných súm s dlhým chvostom
+            sumy[i] = Math.round(Math.exp(10 + 1.5 * random.nextGaussian()) * 100) / 100.0;
+            sketch.pridaj(SumaSketch.kos(sumy[i]), 1);
+        }
+        Arrays.sort(sumy);
+
+        for (double q : new double[]{0.0, 0.5, 0.9, 0.99, 1.0}) {
+            double presna = sumy[(int) Math.floor(q * (sumy.length - 1))];
+            assertEquals(presna, sketch.kvantil(q), presna * SumaSketch.RELATIVNA_PRESNOST, "q=" + q);
+        }
+        assertEquals(sumy[0], sketch.min(), sumy[0] * SumaSketch.RELATIVNA_PRESNOST);
+        assertEquals(sumy[sumy.length - 1], sketch.max(), sumy[sumy.length - 1] * SumaSketch.RELATIVNA_PRESNOST);
+    }
+
+    @Test
+    void removal_restoresPreviousState() {
+        SumaSketch sketch = new SumaSketch();
+        sketch.pridaj(SumaSketch.kos(1_000), 1);
+        sketch.pridaj(SumaSketch.kos(1_000_000), 1);
+        sketch.pridaj(SumaSketch.kos(1_000_000), -1);
+
+        assertEquals(1, sketch.getPocet());
+        assertEquals(1_000, sketch.kvantil(0.99), 10);
+    }
+
+    @Test
+    void zeroAndEmpty() {
+        assertEquals(SumaSketch.NULOVY_KOS, SumaSketch.kos(0));
+        assertEquals(0, SumaSketch.hodnota(SumaSketch.NULOVY_KOS));
+        assertNull(new SumaSketch().kvantil(0.5));
+        assertNull(new SumaSketch().max());
+    }
+}
@@ -0,0 +1,67 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.events.PoistnaUdalostPridanaEvent;
+import projekt.poistenie.repository.StatistikyRepository;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerziaDatServiceImplTest {
+
+    static final LocalDate DNES = LocalDate.of(2024, 6, 1);
+
+    @Mock StatistikyRepository statistikyRepo;
+    @Mock StatistikyCounterService counterService;
+    @InjectMocks VerziaDatServiceImpl service;
+
+    @Test
+    void etag_stableWithoutChanges() {
+        when(statistikyRepo.findVerzia()).thenReturn(7L);
+
+        assertEquals(service.getEtag(DNES), service.getEtag(DNES));
+        assertTrue(service.getEtag(DNES).startsWith("\"") && service.getEtag(DNES).endsWith("\""));
+    }
+
+    @Test
+    void etag_changesWithDataAndDay() {
+        when(statistikyRepo.findVerzia()).thenReturn(7L, 7L, 8L);
+        String povodny = service.getEtag(DNES);
+
+        assertNotEquals(povodny, service.getEtag(DNES.plusDays(1)));
+        assertNotEquals(povodny, service.getEtag(DNES));
+    }
+
+    @Test
+    void getVerzia_withoutCounters_isZero() {
+        when(statistikyRepo.findVerzia()).thenReturn(null);
+
+        assertEquals(0, service.getVerzia());
+    }
+
+    @Test
+    void onZmenaDat_bumpsVersionInDatabase() {
+        when(statistikyRepo.incrementVerzia()).thenReturn(1);
+
+        service.onZmenaDat(new PoistnaUdalostPridanaEvent(1L, "Auto", DNES));
+
+        verify(statistikyRepo).incrementVerzia();
+        verifyNoInteractions(counterService);
+    }
+
+    @Test
+    void onZmenaDat_withoutCounters_recalculates() {
+        when(statistikyRepo.incrementVerzia()).thenReturn(0);
+
+        service.onZmenaDat(new PoistnaUdalostPridanaEvent(1L, "Auto", DNES));
+
+        verify(counterService).recalculate();
+    }
+}
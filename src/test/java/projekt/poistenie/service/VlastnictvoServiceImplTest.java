@@ -0,0 +1,56 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VlastnictvoServiceImplTest {
+
+    @Mock PoistenecRepository poistenecRepo;
+    @Mock PoistnaZmluvaRepository zmluvaRepo;
+    @InjectMocks VlastnictvoServiceImpl service;
+
+    @Test
+    void vlastniPoistenca_checksDatabaseEveryTime() {
+        when(poistenecRepo.maEmail(5L, "jan@example.com")).thenReturn(true, false);
+
+        assertTrue(service.vlastniPoistenca("jan@example.com", 5L));
+        // Zmena e-mailu sa prejaví hneď pri ďalšej kontrole
+        assertFalse(service.vlastniPoistenca("jan@example.com", 5L));
+
+        verify(poistenecRepo, times(2)).maEmail(5L, "jan@example.com");
+    }
+
+    @Test
+    void vlastniPoistenca_falseWithoutEmailOrId() {
+        assertFalse(service.vlastniPoistenca(null, 5L));
+        assertFalse(service.vlastniPoistenca("jan@example.com", null));
+
+        verifyNoInteractions(poistenecRepo);
+    }
+
+    @Test
+    void vlastniZmluvu_checksOwnerInDatabase() {
+        when(zmluvaRepo.patriPoistencovi(10L, "jan@example.com")).thenReturn(true);
+        when(zmluvaRepo.patriPoistencovi(11L, "jan@example.com")).thenReturn(false);
+
+        assertTrue(service.vlastniZmluvu("jan@example.com", 10L));
+        assertFalse(service.vlastniZmluvu("jan@example.com", 11L));
+    }
+
+    @Test
+    void vlastniZmluvu_falseWithoutEmailOrId() {
+        assertFalse(service.vlastniZmluvu(null, 10L));
+        assertFalse(service.vlastniZmluvu("jan@example.com", null));
+
+        verifyNoInteractions(zmluvaRepo);
+    }
+}
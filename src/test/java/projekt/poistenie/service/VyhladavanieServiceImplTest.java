@@ -0,0 +1,205 @@
+package projekt.poistenie.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import projekt.poistenie.dtos.PoistenecDTO;
+import projekt.poistenie.dtos.PoistnaZmluvaDTO;
+import projekt.poistenie.dtos.VysledkyHladaniaDTO;
+import projekt.poistenie.dtos.VysledokHladaniaDTO;
+import projekt.poistenie.dtos.mappers.PoistenecMapper;
+import projekt.poistenie.dtos.mappers.PoistnaZmluvaMapper;
+import projekt.poistenie.entities.PoistnaZmluva;
+import projekt.poistenie.events.HromadnyImportEvent;
+import projekt.poistenie.events.PoistenecZmenenyEvent;
+import projekt.poistenie.events.PoistnaZmluvaZmenenaEvent;
+import projekt.poistenie.events.TypZmeny;
+import projekt.poistenie.exceptions.VyhladavanieNepripraveneException;
+import projekt.poistenie.repository.PoistenecPrehlad;
+import projekt.poistenie.repository.PoistenecRepository;
+import projekt.poistenie.repository.PoistnaZmluvaRepository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VyhladavanieServiceImplTest {
+
+    static final Pageable PRVA = PageRequest.of(0, 10);
+
+    @Mock PoistenecRepository poistenecRepo;
+    @Mock PoistnaZmluvaRepository zmluvaRepo;
+    @Mock PoistnaZmluvaScanService scanService;
+    @Mock PoistenecMapper poistenecMapper;
+    @Mock PoistnaZmluvaMapper zmluvaMapper;
+    @InjectMocks VyhladavanieServiceImpl service;
+
+    @Test
+    void search_ignoresDiacriticsAndCase_matchesPrefixes() {
+        rebuildWith(List.of(
+                poistenec(1L, "Ľubomír", "Nováček", "lubo@example.sk", "Žilina", "010 01"),
+                poistenec(2L, "Jana", "Horváthová", "jana@example.sk", "Bratislava", "811 01")));
+
+        assertEquals(List.of(1L), ids(service.hladaj("lubomir novacek", PRVA)));
+        assertEquals(List.of(1L), ids(service.hladaj("ZILI", PRVA)));
+        assertEquals(List.of(2L), ids(service.hladaj("81101", PRVA)));
+        assertEquals(List.of(2L), ids(service.hladaj("hor bra", PRVA)));
+        assertTrue(service.hladaj("jana zilina", PRVA).getVysledky().isEmpty());
+    }
+
+    @Test
+    void search_ranksExactAndWeightedFieldsFirst() {
+        rebuildWith(List.of(
+                poistenec(1L, "Peter", "Kova", "peter@example.sk", "Košice", "040 01"),
+                poistenec(2L, "Kovalík", "Mráz", "mraz@example.sk", "Nitra", "949 01"),
+                poistenec(3L, "Anna", "Kovalová", "anna@example.sk", "Nitra", "949 01")),
+                zmluva(10L, "KOVA-001", "Auto"));
+
+        VysledkyHladaniaDTO vysledky = service.hladaj("kova", PRVA);
+
+        // presné slovo (poistenec pred zmluvou) > predpona v priezvisku > predpona v mene
+        assertEquals(List.of(1L, 10L, 3L, 2L), ids(vysledky));
+        assertEquals(4, vysledky.getCelkom());
+        assertEquals(VysledokHladaniaDTO.Typ.ZMLUVA, vysledky.getVysledky().get(1).getTyp());
+        assertEquals(List.of(3L, 2L), ids(service.hladaj("kova", PageRequest.of(1, 2))));
+    }
+
+    @Test
+    void naseptajPoistencov_returnsTopMatchesFromMemory() {
+        rebuildWith(List.of(
+                poistenec(1L, "Peter", "Novotný", "peter@example.sk", "Nitra", "949 01"),
+                poistenec(2L, "Nora", "Malá", "nora@example.sk", "Nitra", "949 01"),
+                poistenec(3L, "Eva", "No", "eva@example.sk", "Nitra", "949 01"),
+                poistenec(4L, "Ivan", "Nováček", "ivan@example.sk", "Nitra", "949 01")));
+
+        List<VysledokHladaniaDTO> navrhy = service.naseptajPoistencov("no", 2);
+
+        assertEquals(List.of(3L, 1L), navrhy.stream().map(VysledokHladaniaDTO::getId).toList());
+        assertEquals("Eva No", navrhy.get(0).getTitulok());
+        verifyNoInteractions(poistenecMapper);
+    }
+
+    @Test
+    void events_keepIndexInSync() {
+        rebuildWith(List.of(poistenec(1L, "Ján", "Malý", "jan@example.sk", "Trnava", "917 01")));
+
+        service.onPoistenecZmeneny(new PoistenecZmenenyEvent(TypZmeny.UPRAVA,
+                dto(1L, "Ján", "Malý", "Trnava"), dto(1L, "Ján", "Veľký", "Trnava")));
+        service.onZmluvaZmenena(new PoistnaZmluvaZmenenaEvent(TypZmeny.VYTVORENIE, null,
+                zmluvaDto(5L, "Z-500", "Cestovné")));
+
+        assertTrue(service.hladaj("maly", PRVA).getVysledky().isEmpty());
+        assertEquals(List.of(1L), ids(service.hladaj("velky", PRVA)));
+        assertEquals(List.of(5L), ids(service.hladaj("cestovne", PRVA)));
+
+        service.onPoistenecZmeneny(new PoistenecZmenenyEvent(TypZmeny.VYMAZANIE,
+                dto(1L, "Ján", "Veľký", "Trnava"), null));
+
+        assertEquals(0, service.hladaj("jan", PRVA).getCelkom());
+    }
+
+    @Test
+    void importBatch_addsRowsWithoutRebuild() {
+        rebuildWith(List.of(poistenec(1L, "Ján", "Malý", "jan@example.sk", "Trnava", "917 01")));
+
+        service.onHromadnyImport(HromadnyImportEvent.poistenci(List.of(dto(2L, "Eva", "Nová", "Nitra"))));
+        service.onHromadnyImport(HromadnyImportEvent.zmluvy(List.of(zmluvaDto(6L, "Z-600", "Auto"))));
+
+        assertEquals(List.of(2L), ids(service.hladaj("nova", PRVA)));
+        assertEquals(List.of(6L), ids(service.hladaj("auto", PRVA)));
+        verify(poistenecRepo, times(1)).findPrvaStrana(any());
+        verify(scanService, times(1)).scan(any());
+    }
+
+    @Test
+    void hladajPoistencov_loadsOnlyPageInRankOrder() {
+        PoistenecPrehlad novak = poistenec(1L, "Eva", "Nováková", "eva@example.sk", "Nitra", "949 01");
+        PoistenecPrehlad nov = poistenec(2L, "Ivan", "Nov", "ivan@example.sk", "Nitra", "949 01");
+        rebuildWith(List.of(novak, nov));
+        when(poistenecRepo.findPrehladyByIdIn(List.of(2L))).thenReturn(List.of(nov));
+        when(poistenecMapper.toDto(nov)).thenReturn(dto(2L, "Ivan", "Nov", "Nitra"));
+
+        Page<PoistenecDTO> strana = service.hladajPoistencov("nov", PageRequest.of(0, 1));
+
+        assertEquals(2, strana.getTotalElements());
+        assertEquals(List.of(2L), strana.getContent().stream().map(PoistenecDTO::getId).toList());
+        verify(poistenecRepo).findPrehladyByIdIn(List.of(2L));
+    }
+
+    @Test
+    void search_beforeIndexBuilt_isUnavailable() {
+        assertFalse(service.isPripraveny());
+        assertThrows(VyhladavanieNepripraveneException.class, () -> service.hladaj("jan", PRVA));
+        assertThrows(VyhladavanieNepripraveneException.class, () -> service.naseptajPoistencov("jan", 5));
+        verifyNoInteractions(poistenecRepo);
+    }
+
+    @Test
+    void rebuild_readsInsuredInKeysetBatches() {
+        PoistenecPrehlad posledny = poistenec(7L, "A", "Zeman", "z@example.sk", "Nitra", "949 01");
+        when(poistenecRepo.findPrvaStrana(any())).thenReturn(new SliceImpl<>(List.of(posledny), PageRequest.of(0, 1), true));
+        when(poistenecRepo.findZaKurzorom(eq("Zeman"), eq(7L), any())).thenReturn(new SliceImpl<>(List.of()));
+
+        service.rebuild();
+
+        assertTrue(service.isPripraveny());
+        verify(poistenecRepo).findZaKurzorom(eq("Zeman"), eq(7L), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuildWith(List<PoistenecPrehlad> poistenci, PoistnaZmluva... zmluvy) {
+        when(poistenecRepo.findPrvaStrana(any())).thenReturn(new SliceImpl<>(poistenci));
+        doAnswer(inv -> {
+            Consumer<PoistnaZmluva> konzument = inv.getArgument(0);
+            for (PoistnaZmluva zmluva : zmluvy) {
+                konzument.accept(zmluva);
+            }
+            return (long) zmluvy.length;
+        }).when(scanService).scan(any(Consumer.class));
+        service.rebuild();
+    }
+
+    private static List<Long> ids(VysledkyHladaniaDTO vysledky) {
+        return vysledky.getVysledky().stream().map(VysledokHladaniaDTO::getId).toList();
+    }
+
+    private static PoistenecPrehlad poistenec(Long id, String meno, String priezvisko, String email, String mesto, String psc) {
+        return new PoistenecPrehlad(id, meno, priezvisko, email, null, null, mesto, psc);
+    }
+
+    private static PoistenecDTO dto(Long id, String meno, String priezvisko, String mesto) {
+        PoistenecDTO dto = new PoistenecDTO();
+        dto.setId(id);
+        dto.setMeno(meno);
+        dto.setPriezvisko(priezvisko);
+        dto.setEmail(meno.toLowerCase() + "@example.sk");
+        dto.setMesto(mesto);
+        return dto;
+    }
+
+    private static PoistnaZmluva zmluva(Long id, String cislo, String druh) {
+        PoistnaZmluva zmluva = new PoistnaZmluva();
+        zmluva.setId(id);
+        zmluva.setCisloZmluvy(cislo);
+        zmluva.setDruhPoistenia(druh);
+        return zmluva;
+    }
+
+    private static PoistnaZmluvaDTO zmluvaDto(Long id, String cislo, String druh) {
+        PoistnaZmluvaDTO dto = new PoistnaZmluvaDTO();
+        dto.setId(id);
+        dto.setCisloZmluvy(cislo);
+        dto.setDruhPoistenia(druh);
+        return dto;
+    }
+}